@@ -0,0 +1,89 @@
+package fr.shop.perf;
+
+import fr.shop.managers.ShopBackupManager;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression des colonnes de beacon en ranges, encodage des ranges en chaînes
+ * (format compressed_v2) et décodage
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackupCompressionBenchmark {
+
+    private static final Material[] LAYERS = {
+            Material.STONE, Material.STONE, Material.DIRT, Material.GRASS_BLOCK,
+            Material.OAK_PLANKS, Material.OAK_PLANKS, Material.GLASS, Material.OAK_PLANKS
+    };
+
+    @Param({"9", "100"})
+    public int columnCount;
+
+    private ShopBackupManager backupManager;
+    private List<List<Object>> columns;  // ShopBackupManager.CompressedBlock
+    private List<Object> compressed;     // ShopBackupManager.CompressedColumn
+    private List<List<String>> encoded;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState state) {
+        backupManager = state.plugin.getShopBackupManager();
+
+        // Colonnes de 22 blocs (de beaconY - 1 à beaconY + 20), en couches puis en blocs variés
+        columns = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            List<Object> blocks = new ArrayList<>();
+            for (int y = 63; y <= 84; y++) {
+                Material material = y < 72 ? LAYERS[(y - 63) / 2 % LAYERS.length] : LAYERS[(y + c) % LAYERS.length];
+                blocks.add(PluginInternals.newCompressedBlock(y, material, "minecraft:" + material.name().toLowerCase()));
+            }
+            columns.add(blocks);
+        }
+
+        compressed = compress();
+        encoded = encode();
+    }
+
+    @Benchmark
+    public List<Object> compress() {
+        List<Object> result = new ArrayList<>(columns.size());
+        for (List<Object> column : columns) {
+            // compressColumn trie la liste reçue : copie à chaque appel
+            result.add(PluginInternals.compressColumn(backupManager, new ArrayList<>(column)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<List<String>> encode() {
+        List<List<String>> result = new ArrayList<>(compressed.size());
+        for (Object column : compressed) {
+            List<Object> columnRanges = PluginInternals.rangesOf(column);
+            List<String> ranges = new ArrayList<>(columnRanges.size());
+            for (Object range : columnRanges) {
+                ranges.add(PluginInternals.encodeBlockRange(backupManager, range));
+            }
+            result.add(ranges);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> decode() {
+        List<Object> result = new ArrayList<>();
+        for (List<String> column : encoded) {
+            for (String range : column) {
+                result.add(PluginInternals.parseBlockRange(backupManager, range));
+            }
+        }
+        return result;
+    }
+}
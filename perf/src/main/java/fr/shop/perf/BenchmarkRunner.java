@@ -0,0 +1,33 @@
+package fr.shop.perf;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lance les benchmarks et exporte les résultats en JSON (avec l'allocation par opération),
+ * pour comparer les versions entre elles
+ * Usage : java -jar benchmarks.jar [regex] (-Dperf.output=fichier.json)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "fr\\.shop\\.perf\\..*Benchmark";
+        String output = System.getProperty("perf.output", "jmh-result.json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package fr.shop.perf;
+
+import fr.shop.managers.CommerceManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparaison d'items des chest shops (nom + lore), comptage sur un inventaire plein
+ * et (dé)sérialisation des items en chaîne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMatchingBenchmark {
+
+    private CommerceManager commerce;
+    private ItemStack target;
+    private ItemStack similar;
+    private ItemStack different;
+    private Inventory fullInventory;
+    private String serialized;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState state) {
+        commerce = state.plugin.getCommerceManager();
+
+        target = namedItem(Material.DIAMOND_PICKAXE, 1, "§bPioche du marché", List.of("§7Efficacité V", "§7Solidité III"));
+        similar = target.clone();
+        different = namedItem(Material.DIAMOND_PICKAXE, 1, "§bPioche du marché", List.of("§7Efficacité IV", "§7Solidité III"));
+
+        // 36 slots occupés : une moitié identique à l'item du shop, l'autre avec une lore différente
+        fullInventory = Bukkit.createInventory(null, 36);
+        for (int slot = 0; slot < 36; slot++) {
+            fullInventory.setItem(slot, (slot % 2 == 0 ? target : different).clone());
+        }
+
+        serialized = PluginInternals.itemToString(commerce, target);
+    }
+
+    private static ItemStack namedItem(Material material, int amount, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material, amount);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setLore(lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    @Benchmark
+    public boolean areItemsSimilarMatch() {
+        return PluginInternals.areItemsSimilarForShop(commerce, target, similar);
+    }
+
+    @Benchmark
+    public boolean areItemsSimilarMismatch() {
+        return PluginInternals.areItemsSimilarForShop(commerce, target, different);
+    }
+
+    @Benchmark
+    public int countItemsFullInventory() {
+        return PluginInternals.countItems(commerce, fullInventory, target);
+    }
+
+    @Benchmark
+    public String itemToString() {
+        return PluginInternals.itemToString(commerce, target);
+    }
+
+    @Benchmark
+    public ItemStack itemFromString() {
+        return PluginInternals.itemFromString(commerce, serialized);
+    }
+}
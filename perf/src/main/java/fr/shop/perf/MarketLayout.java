@@ -0,0 +1,72 @@
+package fr.shop.perf;
+
+import fr.shop.data.Zone;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Disposition synthétique d'un marché : des zones de 3x3 beacons alignées sur une grille,
+ * séparées par des allées (hors zone)
+ */
+public final class MarketLayout {
+
+    public static final int ZONE_WIDTH = 3;
+    public static final int ZONE_SPACING = 8;
+    public static final int BEACON_Y = 64;
+
+    private MarketLayout() {
+    }
+
+    /**
+     * Beacons de la zone d'index donné (coin nord-ouest de sa case de grille)
+     */
+    public static List<Location> beaconsOf(World world, int index, int zoneCount) {
+        int side = (int) Math.ceil(Math.sqrt(zoneCount));
+        int originX = (index % side) * ZONE_SPACING;
+        int originZ = (index / side) * ZONE_SPACING;
+
+        List<Location> beacons = new ArrayList<>(ZONE_WIDTH * ZONE_WIDTH);
+        for (int dx = 0; dx < ZONE_WIDTH; dx++) {
+            for (int dz = 0; dz < ZONE_WIDTH; dz++) {
+                beacons.add(new Location(world, originX + dx, BEACON_Y, originZ + dz));
+            }
+        }
+        return beacons;
+    }
+
+    public static Zone createZone(World world, int index, int zoneCount) {
+        Zone zone = new Zone("perf_" + index, world.getName());
+        for (Location beacon : beaconsOf(world, index, zoneCount)) {
+            zone.addBeacon(beacon);
+        }
+        return zone;
+    }
+
+    public static List<Zone> createZones(World world, int zoneCount) {
+        List<Zone> zones = new ArrayList<>(zoneCount);
+        for (int i = 0; i < zoneCount; i++) {
+            zones.add(createZone(world, i, zoneCount));
+        }
+        return zones;
+    }
+
+    /**
+     * Position à l'intérieur de la zone (au-dessus d'un de ses beacons)
+     */
+    public static Location insideZone(World world, int index, int zoneCount, int offset) {
+        List<Location> beacons = beaconsOf(world, index, zoneCount);
+        Location beacon = beacons.get(Math.floorMod(offset, beacons.size()));
+        return beacon.clone().add(0.5, 1 + Math.floorMod(offset, 4), 0.5);
+    }
+
+    /**
+     * Position dans l'allée qui suit la zone (aucune zone ne la contient)
+     */
+    public static Location besideZone(World world, int index, int zoneCount) {
+        Location origin = beaconsOf(world, index, zoneCount).get(0);
+        return origin.clone().add(ZONE_WIDTH + 1.5, 1, 0.5);
+    }
+}
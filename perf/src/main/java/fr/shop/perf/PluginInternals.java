@@ -0,0 +1,211 @@
+package fr.shop.perf;
+
+import fr.shop.data.Zone;
+import fr.shop.managers.CommerceManager;
+import fr.shop.managers.ShopBackupManager;
+import fr.shop.managers.ZoneScanner;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Accès aux méthodes privées du plugin mesurées par les benchmarks, sans élargir leur visibilité
+ * Les handles sont résolus une seule fois ; les types internes (colonnes, ranges, résultats de scan)
+ * circulent en Object
+ */
+public final class PluginInternals {
+
+    private static final MethodHandle COUNT_ITEMS;
+    private static final MethodHandle ARE_ITEMS_SIMILAR;
+    private static final MethodHandle ITEM_TO_STRING;
+    private static final MethodHandle ITEM_FROM_STRING;
+
+    private static final MethodHandle NEW_COMPRESSED_BLOCK;
+    private static final MethodHandle COMPRESS_COLUMN;
+    private static final MethodHandle COLUMN_RANGES;
+    private static final MethodHandle ENCODE_BLOCK_RANGE;
+    private static final MethodHandle PARSE_BLOCK_RANGE;
+
+    private static final MethodHandle NEW_SCAN_RESULTS;
+    private static final MethodHandle SCAN_BEACONS;
+    private static final MethodHandle SCAN_BAMBOO_MOSAICS;
+    private static final MethodHandle CREATE_ZONES;
+
+    static {
+        try {
+            MethodHandles.Lookup commerce = lookupIn(CommerceManager.class);
+            COUNT_ITEMS = commerce.findVirtual(CommerceManager.class, "countItems",
+                    MethodType.methodType(int.class, Inventory.class, ItemStack.class));
+            ARE_ITEMS_SIMILAR = commerce.findVirtual(CommerceManager.class, "areItemsSimilarForShop",
+                    MethodType.methodType(boolean.class, ItemStack.class, ItemStack.class));
+            ITEM_TO_STRING = commerce.findVirtual(CommerceManager.class, "itemToString",
+                    MethodType.methodType(String.class, ItemStack.class));
+            ITEM_FROM_STRING = commerce.findVirtual(CommerceManager.class, "itemFromString",
+                    MethodType.methodType(ItemStack.class, String.class));
+
+            MethodHandles.Lookup backup = lookupIn(ShopBackupManager.class);
+            Class<?> compressedBlock = backup.findClass(ShopBackupManager.class.getName() + "$CompressedBlock");
+            Class<?> compressedColumn = backup.findClass(ShopBackupManager.class.getName() + "$CompressedColumn");
+            Class<?> blockRange = backup.findClass(ShopBackupManager.class.getName() + "$BlockRange");
+            NEW_COMPRESSED_BLOCK = backup.findConstructor(compressedBlock,
+                    MethodType.methodType(void.class, int.class, Material.class, String.class));
+            COMPRESS_COLUMN = backup.findVirtual(ShopBackupManager.class, "compressColumn",
+                    MethodType.methodType(compressedColumn, List.class));
+            COLUMN_RANGES = backup.findGetter(compressedColumn, "ranges", List.class);
+            ENCODE_BLOCK_RANGE = backup.findVirtual(ShopBackupManager.class, "encodeBlockRange",
+                    MethodType.methodType(String.class, blockRange));
+            PARSE_BLOCK_RANGE = backup.findVirtual(ShopBackupManager.class, "parseBlockRange",
+                    MethodType.methodType(blockRange, String.class));
+
+            MethodHandles.Lookup scanner = lookupIn(ZoneScanner.class);
+            Class<?> scanResults = scanner.findClass(ZoneScanner.class.getName() + "$ScanResults");
+            NEW_SCAN_RESULTS = scanner.findConstructor(scanResults, MethodType.methodType(void.class));
+            SCAN_BEACONS = scanner.findGetter(scanResults, "beacons", Set.class);
+            SCAN_BAMBOO_MOSAICS = scanner.findGetter(scanResults, "bambooMosaics", Set.class);
+            CREATE_ZONES = scanner.findVirtual(ZoneScanner.class, "createZonesFromBeacons",
+                    MethodType.methodType(List.class, scanResults, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private PluginInternals() {
+    }
+
+    private static MethodHandles.Lookup lookupIn(Class<?> target) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(target, MethodHandles.lookup());
+    }
+
+    // ===============================
+    // CHEST SHOPS
+    // ===============================
+
+    public static int countItems(CommerceManager commerce, Inventory inventory, ItemStack target) {
+        try {
+            return (int) COUNT_ITEMS.invoke(commerce, inventory, target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static boolean areItemsSimilarForShop(CommerceManager commerce, ItemStack item1, ItemStack item2) {
+        try {
+            return (boolean) ARE_ITEMS_SIMILAR.invoke(commerce, item1, item2);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static String itemToString(CommerceManager commerce, ItemStack item) {
+        try {
+            return (String) ITEM_TO_STRING.invoke(commerce, item);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static ItemStack itemFromString(CommerceManager commerce, String serialized) {
+        try {
+            return (ItemStack) ITEM_FROM_STRING.invoke(commerce, serialized);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // ===============================
+    // SAUVEGARDES
+    // ===============================
+
+    public static Object newCompressedBlock(int y, Material material, String blockData) {
+        try {
+            return NEW_COMPRESSED_BLOCK.invoke(y, material, blockData);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static Object compressColumn(ShopBackupManager backupManager, List<Object> blocks) {
+        try {
+            return COMPRESS_COLUMN.invoke(backupManager, blocks);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> rangesOf(Object column) {
+        try {
+            return (List<Object>) COLUMN_RANGES.invoke(column);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static String encodeBlockRange(ShopBackupManager backupManager, Object range) {
+        try {
+            return (String) ENCODE_BLOCK_RANGE.invoke(backupManager, range);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static Object parseBlockRange(ShopBackupManager backupManager, String range) {
+        try {
+            return PARSE_BLOCK_RANGE.invoke(backupManager, range);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // ===============================
+    // SCAN DES ZONES
+    // ===============================
+
+    public static Object newScanResults() {
+        try {
+            return NEW_SCAN_RESULTS.invoke();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Set<Location> beaconsOf(Object scanResults) {
+        try {
+            return (Set<Location>) SCAN_BEACONS.invoke(scanResults);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Set<Location> bambooMosaicsOf(Object scanResults) {
+        try {
+            return (Set<Location>) SCAN_BAMBOO_MOSAICS.invoke(scanResults);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Zone> createZonesFromBeacons(ZoneScanner scanner, Object scanResults, String worldName) {
+        try {
+            return (List<Zone>) CREATE_ZONES.invoke(scanner, scanResults, worldName);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException runtime) return runtime;
+        if (t instanceof Error error) throw error;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,50 @@
+package fr.shop.perf;
+
+import fr.shop.PlayerShops;
+import fr.shop.managers.RateLimiter;
+import org.bukkit.World;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Serveur simulé partagé par les benchmarks d'un même fork : le plugin est chargé
+ * sur MockBukkit avec l'économie locale (PrisonTycoon absent), le monde simulé servant de marché
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+
+    public static final String WORLD_NAME = "perf";
+
+    public ServerMock server;
+    public PlayerShops plugin;
+    public World world;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = MockBukkit.mock();
+        MockBukkit.createMockPlugin("FastAsyncWorldEdit");
+
+        // Premier chargement sans PrisonTycoon : le plugin se désactive après avoir écrit sa config
+        plugin = MockBukkit.load(PlayerShops.class);
+        if (!plugin.isEnabled()) {
+            plugin.getConfig().set("settings.economy.provider", "local");
+            plugin.getConfig().set("settings.world.market_world", WORLD_NAME);
+            plugin.getConfig().set("settings.config.watch_file", false);
+
+            // Les joueurs simulés cliquent bien plus vite qu'un joueur réel : aucune limitation
+            for (RateLimiter.Action action : RateLimiter.Action.values()) {
+                plugin.getConfig().set("settings.rate_limits." + action.getKey() + ".rate", 0);
+            }
+            plugin.saveConfig();
+            server.getPluginManager().enablePlugin(plugin);
+        }
+
+        world = server.addSimpleWorld(WORLD_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        MockBukkit.unmock();
+    }
+}
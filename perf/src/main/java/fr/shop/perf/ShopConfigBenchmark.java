@@ -0,0 +1,66 @@
+package fr.shop.perf;
+
+import fr.shop.data.Shop;
+import fr.shop.data.ShopAdvertisement;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation d'un shop complet (membres, textes flottants, annonce) :
+ * vers une section, aller-retour en mémoire et aller-retour par le texte YAML
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShopConfigBenchmark {
+
+    private Shop shop;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState state) {
+        shop = new Shop("perf_shop", "perf_0");
+        shop.setOwnerId(UUID.randomUUID());
+        shop.setOwnerName("PerfOwner");
+        shop.setRented(true);
+        shop.setRentExpiry(System.currentTimeMillis() + 86_400_000L);
+        shop.setCustomMessage("&aBienvenue dans le shop de test!");
+        for (int i = 0; i < 5; i++) {
+            shop.addMember(UUID.randomUUID());
+        }
+        for (int i = 0; i < 3; i++) {
+            shop.addFloatingText(new Shop.FloatingText("&6Texte " + i, new Location(state.world, i, 66, 0)));
+        }
+        shop.setAdvertisement(new ShopAdvertisement("Minerais", "Diamants et émeraudes au meilleur prix", "minerais"));
+    }
+
+    @Benchmark
+    public ConfigurationSection saveToConfig() {
+        ConfigurationSection section = new YamlConfiguration().createSection("shop");
+        shop.saveToConfig(section);
+        return section;
+    }
+
+    @Benchmark
+    public Shop sectionRoundTrip() {
+        return Shop.loadFromConfig(shop.getId(), saveToConfig());
+    }
+
+    @Benchmark
+    public Shop yamlRoundTrip() throws InvalidConfigurationException {
+        YamlConfiguration out = new YamlConfiguration();
+        shop.saveToConfig(out.createSection("shop"));
+
+        YamlConfiguration in = new YamlConfiguration();
+        in.loadFromString(out.saveToString());
+        return Shop.loadFromConfig(shop.getId(), in.getConfigurationSection("shop"));
+    }
+}
@@ -0,0 +1,48 @@
+package fr.shop.perf;
+
+import fr.shop.data.Zone;
+import fr.shop.managers.ZoneScanner;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regroupement des beacons trouvés par un scan en zones (9 beacons et une téléportation par zone)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ZoneClusteringBenchmark {
+
+    @Param({"100", "500", "1000"})
+    public int zoneCount;
+
+    private ZoneScanner scanner;
+    private Object scanResults; // ZoneScanner.ScanResults
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState state) {
+        scanner = state.plugin.getZoneScanner();
+
+        scanResults = PluginInternals.newScanResults();
+        Set<Location> beacons = PluginInternals.beaconsOf(scanResults);
+        Set<Location> bambooMosaics = PluginInternals.bambooMosaicsOf(scanResults);
+        for (int i = 0; i < zoneCount; i++) {
+            beacons.addAll(MarketLayout.beaconsOf(state.world, i, zoneCount));
+
+            Location teleport = MarketLayout.besideZone(state.world, i, zoneCount);
+            bambooMosaics.add(new Location(state.world, teleport.getBlockX(), MarketLayout.BEACON_Y, teleport.getBlockZ()));
+        }
+    }
+
+    @Benchmark
+    public List<Zone> createZonesFromBeacons() {
+        return PluginInternals.createZonesFromBeacons(scanner, scanResults, ServerState.WORLD_NAME);
+    }
+}
@@ -0,0 +1,70 @@
+package fr.shop.perf;
+
+import fr.shop.data.Zone;
+import fr.shop.managers.ZoneManager;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche de la zone d'une position : balayage des zones (Zone.containsLocation)
+ * et ZoneManager.getZoneAtLocation (cache des positions trouvées + index par monde)
+ * Une sonde sur deux est hors zone : les échecs ne sont jamais mis en cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneLookupBenchmark {
+
+    private static final int PROBES = 1024; // Puissance de deux
+
+    @Param({"10", "100", "1000"})
+    public int zoneCount;
+
+    private ZoneManager zoneManager;
+    private List<Zone> zones;
+    private Location[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState state) {
+        zoneManager = state.plugin.getZoneManager();
+        zones = MarketLayout.createZones(state.world, zoneCount);
+        zones.forEach(zoneManager::addZone);
+
+        SplittableRandom random = new SplittableRandom(42);
+        probes = new Location[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            int zone = random.nextInt(zoneCount);
+            probes[i] = i % 2 == 0
+                    ? MarketLayout.insideZone(state.world, zone, zoneCount, random.nextInt(64))
+                    : MarketLayout.besideZone(state.world, zone, zoneCount);
+        }
+    }
+
+    private Location nextProbe() {
+        return probes[next++ & (PROBES - 1)];
+    }
+
+    @Benchmark
+    public Zone containsLocationScan() {
+        Location probe = nextProbe();
+        for (Zone zone : zones) {
+            if (zone.containsLocation(probe)) {
+                return zone;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Zone getZoneAtLocation() {
+        return zoneManager.getZoneAtLocation(nextProbe());
+    }
+}
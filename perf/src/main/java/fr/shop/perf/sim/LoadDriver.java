@@ -0,0 +1,189 @@
+package fr.shop.perf.sim;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.ChestShop;
+import fr.shop.hooks.EconomyProvider;
+import fr.shop.perf.ServerState;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.Chest;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Rejoue les sessions d'un script avec des joueurs simulés, sur le thread principal du serveur simulé
+ * Chaque étape est mesurée (durée et octets alloués par le thread courant) ; la préparation
+ * (réassort des coffres, items et coins des joueurs) est faite hors mesure
+ * Les tâches asynchrones du plugin tournent sur d'autres threads : leurs allocations ne sont pas comptées
+ */
+public class LoadDriver {
+
+    private static final long MIN_BALANCE = 1_000_000L;
+
+    private final ServerState state;
+    private final PlayerShops plugin;
+    private final EconomyProvider economy;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<PlayerMock> customers;
+    private final Map<SessionScript.Operation, OperationMeter> meters;
+
+    public LoadDriver(ServerState state, int customerCount) {
+        this.state = state;
+        this.plugin = state.plugin;
+        this.economy = plugin.getEconomyManager().getProvider();
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.customers = new ArrayList<>(customerCount);
+        this.meters = new EnumMap<>(SessionScript.Operation.class);
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < customerCount; i++) {
+            customers.add(state.server.addPlayer("Customer" + i));
+        }
+        reset();
+    }
+
+    /**
+     * Efface les mesures (après l'échauffement)
+     */
+    public void reset() {
+        meters.clear();
+        for (SessionScript.Operation operation : SessionScript.Operation.values()) {
+            meters.put(operation, new OperationMeter(operation.getId()));
+        }
+    }
+
+    // ===============================
+    // EXÉCUTION
+    // ===============================
+
+    /**
+     * Rejoue toutes les sessions, réparties à tour de rôle entre les joueurs simulés
+     */
+    public void run(SessionScript script) {
+        List<List<SessionScript.Step>> sessions = script.getSessions();
+        for (int i = 0; i < sessions.size(); i++) {
+            PlayerMock customer = customers.get(i % customers.size());
+
+            // Chaque session repart d'un inventaire vide
+            customer.getInventory().clear();
+            customer.setSneaking(false);
+
+            for (SessionScript.Step step : sessions.get(i)) {
+                execute(customer, step);
+            }
+
+            SyntheticMarket.drainMessages(customer);
+        }
+    }
+
+    private void execute(PlayerMock customer, SessionScript.Step step) {
+        SyntheticMarket.Site site = step.getSite();
+
+        switch (step.getOperation()) {
+            case MOVE -> {
+                Location target = site.getSign().getLocation().add(0.5, 0, 0.5);
+                measure(SessionScript.Operation.MOVE, () -> customer.teleport(target));
+            }
+            case INTERACT -> measure(SessionScript.Operation.INTERACT,
+                    () -> click(customer, site.getSign(), Action.RIGHT_CLICK_BLOCK));
+            case BUY -> {
+                prepareBuy(customer, site.getChestShop());
+                customer.setSneaking(step.isBulk());
+                measure(SessionScript.Operation.BUY, () -> click(customer, site.getSign(), Action.LEFT_CLICK_BLOCK));
+                customer.setSneaking(false);
+            }
+            case SELL -> {
+                prepareSell(customer, site.getChestShop());
+                customer.setSneaking(step.isBulk());
+                measure(SessionScript.Operation.SELL, () -> click(customer, site.getSign(), Action.LEFT_CLICK_BLOCK));
+                customer.setSneaking(false);
+            }
+            case GUI_OPEN -> {
+                if (step.getVariant() == 0) {
+                    measure(SessionScript.Operation.GUI_OPEN, () -> plugin.getShopGUI().openShopListGUI(customer));
+                } else {
+                    measure(SessionScript.Operation.GUI_OPEN, () -> plugin.getShopGUI().openAdvertisementListGUI(customer));
+                }
+                customer.closeInventory();
+            }
+            case TICK -> measure(SessionScript.Operation.TICK, () -> state.server.getScheduler().performOneTick());
+        }
+    }
+
+    private void measure(SessionScript.Operation operation, Runnable action) {
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        action.run();
+
+        long nanos = System.nanoTime() - start;
+        meters.get(operation).record(nanos, threads.getCurrentThreadAllocatedBytes() - bytes);
+    }
+
+    /**
+     * Clic sur un panneau, distribué comme par le serveur (listeners compris)
+     */
+    private void click(PlayerMock player, Block block, Action action) {
+        PlayerInteractEvent event = new PlayerInteractEvent(player, action, player.getInventory().getItemInMainHand(), block, BlockFace.NORTH);
+        state.server.getPluginManager().callEvent(event);
+    }
+
+    // ===============================
+    // PRÉPARATION (HORS MESURE)
+    // ===============================
+
+    private void prepareBuy(PlayerMock customer, ChestShop chestShop) {
+        topUp(customer.getUniqueId());
+
+        // Réassort : toujours au moins quelques lots en stock
+        Inventory chest = chestInventory(chestShop);
+        if (!chest.containsAtLeast(chestShop.getItem(), chestShop.getItem().getAmount() * 4)) {
+            chest.clear();
+            for (int i = 0; i < 8; i++) {
+                chest.addItem(chestShop.getItem().clone());
+            }
+        }
+    }
+
+    private void prepareSell(PlayerMock customer, ChestShop chestShop) {
+        topUp(chestShop.getOwnerId());
+
+        // Coffre vidé lorsqu'il ne reste plus de place pour quelques lots
+        Inventory chest = chestInventory(chestShop);
+        if (chest.firstEmpty() == -1 || chest.firstEmpty() > chest.getSize() - 4) {
+            chest.clear();
+        }
+
+        ItemStack lot = chestShop.getItem();
+        for (int i = 0; i < 4; i++) {
+            customer.getInventory().addItem(lot.clone());
+        }
+    }
+
+    private Inventory chestInventory(ChestShop chestShop) {
+        return ((Chest) chestShop.getChestLocation().getBlock().getState()).getInventory();
+    }
+
+    private void topUp(UUID playerId) {
+        long balance = economy.getCoins(playerId);
+        if (balance < MIN_BALANCE) {
+            economy.addCoins(playerId, MIN_BALANCE - balance);
+            plugin.getEconomyManager().invalidate(playerId);
+        }
+    }
+
+    // ===============================
+    // RÉSULTATS
+    // ===============================
+
+    public Collection<OperationMeter> getMeters() {
+        return meters.values();
+    }
+}
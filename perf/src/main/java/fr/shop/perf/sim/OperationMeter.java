@@ -0,0 +1,62 @@
+package fr.shop.perf.sim;
+
+import fr.shop.metrics.LatencyHistogram;
+
+/**
+ * Mesures d'une opération simulée : latences (histogramme du plugin) et octets alloués
+ * par le thread qui l'exécute
+ */
+public class OperationMeter {
+
+    private final String name;
+    private final LatencyHistogram latencies;
+    private long allocatedBytes;
+
+    public OperationMeter(String name) {
+        this.name = name;
+        this.latencies = new LatencyHistogram();
+    }
+
+    public void record(long nanos, long bytes) {
+        latencies.record(nanos);
+        allocatedBytes += Math.max(0, bytes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    public long getTotalNanos() {
+        return latencies.getTotalNanos();
+    }
+
+    public long getPercentileNanos(double percentile) {
+        return latencies.getPercentileNanos(percentile);
+    }
+
+    public long getMaxNanos() {
+        return latencies.getMaxNanos();
+    }
+
+    /**
+     * Opérations par seconde de temps passé dans l'opération (hors préparation)
+     */
+    public double getThroughput() {
+        long total = getTotalNanos();
+        return total == 0 ? 0 : getCount() * 1_000_000_000.0 / total;
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    public double getBytesPerOperation() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) allocatedBytes / count;
+    }
+}
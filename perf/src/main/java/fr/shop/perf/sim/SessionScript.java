@@ -0,0 +1,130 @@
+package fr.shop.perf.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sessions de joueurs scriptées, rejouables à l'identique pour une même graine :
+ * le joueur se rend à un chest shop, consulte le panneau, achète ou vend (parfois en gros),
+ * ouvre de temps en temps un menu, et le serveur avance d'un tick entre deux visites
+ */
+public class SessionScript {
+
+    private final List<List<Step>> sessions;
+
+    private SessionScript(List<List<Step>> sessions) {
+        this.sessions = sessions;
+    }
+
+    public static SessionScript generate(SyntheticMarket market, int sessionCount, int visitsPerSession, long seed) {
+        List<SyntheticMarket.Site> buySites = market.getBuySites();
+        List<SyntheticMarket.Site> sellSites = market.getSellSites();
+        if (buySites.isEmpty() && sellSites.isEmpty()) {
+            throw new IllegalArgumentException("Le marché ne contient aucun chest shop");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<List<Step>> sessions = new ArrayList<>(sessionCount);
+
+        for (int s = 0; s < sessionCount; s++) {
+            List<Step> steps = new ArrayList<>();
+            for (int v = 0; v < visitsPerSession; v++) {
+                // 70 % d'achats, 30 % de ventes (selon les chest shops disponibles)
+                boolean sell;
+                if (buySites.isEmpty()) {
+                    sell = true;
+                } else if (sellSites.isEmpty()) {
+                    sell = false;
+                } else {
+                    sell = random.nextInt(10) < 3;
+                }
+                List<SyntheticMarket.Site> sites = sell ? sellSites : buySites;
+                SyntheticMarket.Site site = sites.get(random.nextInt(sites.size()));
+
+                steps.add(new Step(Operation.MOVE, site, false, 0));
+                if (random.nextInt(3) == 0) {
+                    steps.add(new Step(Operation.INTERACT, site, false, 0));
+                }
+                steps.add(new Step(sell ? Operation.SELL : Operation.BUY, site, random.nextInt(5) == 0, 0));
+                if (random.nextInt(4) == 0) {
+                    steps.add(new Step(Operation.GUI_OPEN, site, false, random.nextInt(2)));
+                }
+                steps.add(new Step(Operation.TICK, site, false, 0));
+            }
+            sessions.add(Collections.unmodifiableList(steps));
+        }
+
+        return new SessionScript(Collections.unmodifiableList(sessions));
+    }
+
+    public List<List<Step>> getSessions() {
+        return sessions;
+    }
+
+    public int getStepCount() {
+        int count = 0;
+        for (List<Step> session : sessions) {
+            count += session.size();
+        }
+        return count;
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    public enum Operation {
+        MOVE("move"),
+        INTERACT("interact"),
+        BUY("buy"),
+        SELL("sell"),
+        GUI_OPEN("gui_open"),
+        TICK("tick");
+
+        private final String id;
+
+        Operation(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Étape d'une session : l'opération, le chest shop visé, l'achat/vente en gros
+     * et la variante de menu (0 = liste des shops, 1 = annonces)
+     */
+    public static class Step {
+        private final Operation operation;
+        private final SyntheticMarket.Site site;
+        private final boolean bulk;
+        private final int variant;
+
+        Step(Operation operation, SyntheticMarket.Site site, boolean bulk, int variant) {
+            this.operation = operation;
+            this.site = site;
+            this.bulk = bulk;
+            this.variant = variant;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public SyntheticMarket.Site getSite() {
+            return site;
+        }
+
+        public boolean isBulk() {
+            return bulk;
+        }
+
+        public int getVariant() {
+            return variant;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package fr.shop.perf.sim;
+
+import fr.shop.metrics.MetricsRegistry;
+import fr.shop.perf.ServerState;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Simulation hors serveur : marché synthétique sur MockBukkit, sessions scriptées rejouées,
+ * puis débit et allocations par opération (console et JSON)
+ * <p>
+ * java -cp target/benchmarks.jar fr.shop.perf.sim.SimulationRunner
+ * [--zones 100] [--shops 80] [--chests 400] [--players 50] [--sessions 2000] [--visits 5]
+ * [--warmup 500] [--seed 42] [--output sim-result.json]
+ */
+public class SimulationRunner {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "zones", "100",
+            "shops", "80",
+            "chests", "400",
+            "players", "50",
+            "sessions", "2000",
+            "visits", "5",
+            "warmup", "500",
+            "seed", "42",
+            "output", "sim-result.json"
+    );
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int zones = intOption(options, "zones");
+        int shops = intOption(options, "shops");
+        int chests = intOption(options, "chests");
+        int players = intOption(options, "players");
+        int sessions = intOption(options, "sessions");
+        int visits = intOption(options, "visits");
+        int warmup = intOption(options, "warmup");
+        long seed = Long.parseLong(options.get("seed"));
+
+        ServerState state = new ServerState();
+        state.start();
+        try {
+            SyntheticMarket market = SyntheticMarket.generate(state, zones, shops, chests, seed);
+            LoadDriver driver = new LoadDriver(state, players);
+
+            // Échauffement (JIT, caches du plugin) avec un script distinct, mesures effacées ensuite
+            if (warmup > 0) {
+                driver.run(SessionScript.generate(market, warmup, visits, seed + 1));
+                driver.reset();
+            }
+
+            SessionScript script = SessionScript.generate(market, sessions, visits, seed);
+            MetricsRegistry metrics = state.plugin.getMetrics();
+            metrics.start();
+
+            long start = System.nanoTime();
+            driver.run(script);
+            long elapsed = System.nanoTime() - start;
+
+            metrics.stop();
+
+            printReport(options, script, elapsed, driver.getMeters(), metrics);
+            writeJson(Path.of(options.get("output")), options, script, elapsed, driver.getMeters());
+        } finally {
+            state.stop();
+        }
+    }
+
+    // ===============================
+    // OPTIONS
+    // ===============================
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new TreeMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Option invalide: " + arg + " (attendu: --nom valeur)");
+            }
+
+            String name = arg.substring(2);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Option inconnue: " + name + " (options: " + DEFAULTS.keySet() + ")");
+            }
+            options.put(name, args[++i]);
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name) {
+        int value = Integer.parseInt(options.get(name));
+        if (value < 0) {
+            throw new IllegalArgumentException("--" + name + " doit être positif");
+        }
+        return value;
+    }
+
+    // ===============================
+    // RAPPORT
+    // ===============================
+
+    private static void printReport(Map<String, String> options, SessionScript script, long elapsedNanos,
+                                    Collection<OperationMeter> meters, MetricsRegistry metrics) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        System.out.println();
+        System.out.println("=== Simulation PlayerShops " + options + " ===");
+        System.out.printf(Locale.ROOT, "%d sessions, %d étapes en %.2f s (%.0f sessions/s, %.0f étapes/s)%n",
+                script.getSessions().size(), script.getStepCount(), seconds,
+                script.getSessions().size() / seconds, script.getStepCount() / seconds);
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-10s %9s %12s %10s %10s %10s %10s %12s%n",
+                "opération", "nombre", "ops/s", "moy µs", "p50 µs", "p99 µs", "max µs", "octets/op");
+        for (OperationMeter meter : meters) {
+            if (meter.getCount() == 0) continue;
+            System.out.printf(Locale.ROOT, "%-10s %9d %12.0f %10.1f %10.1f %10.1f %10.1f %12.0f%n",
+                    meter.getName(), meter.getCount(), meter.getThroughput(), meter.getMeanNanos() / 1000.0,
+                    meter.getPercentileNanos(0.50) / 1000.0, meter.getPercentileNanos(0.99) / 1000.0,
+                    meter.getMaxNanos() / 1000.0, meter.getBytesPerOperation());
+        }
+
+        // Détail interne : temps passé par le plugin dans chaque sous-opération
+        System.out.println();
+        System.out.println("--- Mesures du plugin ---");
+        for (MetricsRegistry.OperationStats stats : metrics.getOperationStats()) {
+            System.out.printf(Locale.ROOT, "%-28s %9d appels, total %9.1f ms, p99 %8.1f µs%n",
+                    stats.getName(), stats.getCount(), stats.getTotalNanos() / 1_000_000.0, stats.getP99Nanos() / 1000.0);
+        }
+        metrics.getCounters().forEach((name, value) -> System.out.printf(Locale.ROOT, "%-28s %9d%n", name, value));
+    }
+
+    private static void writeJson(Path output, Map<String, String> options, SessionScript script, long elapsedNanos,
+                                  Collection<OperationMeter> meters) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"options\": {");
+            StringJoiner optionsJson = new StringJoiner(", ");
+            options.forEach((name, value) -> optionsJson.add("\"" + name + "\": \"" + value + "\""));
+            writer.write(optionsJson + "},\n");
+
+            writer.write(String.format(Locale.ROOT, "  \"sessions\": %d,%n  \"steps\": %d,%n  \"elapsedNanos\": %d,%n",
+                    script.getSessions().size(), script.getStepCount(), elapsedNanos));
+
+            writer.write("  \"operations\": [\n");
+            StringJoiner operations = new StringJoiner(",\n");
+            for (OperationMeter meter : meters) {
+                operations.add(String.format(Locale.ROOT,
+                        "    {\"name\": \"%s\", \"count\": %d, \"opsPerSecond\": %.1f, \"meanNanos\": %.1f, "
+                                + "\"p50Nanos\": %d, \"p99Nanos\": %d, \"maxNanos\": %d, \"bytesPerOp\": %.1f}",
+                        meter.getName(), meter.getCount(), meter.getThroughput(), meter.getMeanNanos(),
+                        meter.getPercentileNanos(0.50), meter.getPercentileNanos(0.99), meter.getMaxNanos(),
+                        meter.getBytesPerOperation()));
+            }
+            writer.write(operations + "\n  ]\n}\n");
+        }
+
+        System.out.println();
+        System.out.println("Résultats écrits dans " + output.toAbsolutePath());
+    }
+}
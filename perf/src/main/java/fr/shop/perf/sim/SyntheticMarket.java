@@ -0,0 +1,202 @@
+package fr.shop.perf.sim;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.ChestShop;
+import fr.shop.data.Shop;
+import fr.shop.data.Zone;
+import fr.shop.managers.CommerceManager;
+import fr.shop.managers.ShopManager;
+import fr.shop.perf.MarketLayout;
+import fr.shop.perf.ServerState;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.*;
+
+/**
+ * Marché synthétique : N zones, M shops loués et K chest shops, créés par les mêmes chemins
+ * que sur un serveur réel (synchronisation des zones, location, création au coffre puis saisie du prix)
+ * Les chest shops alternent achat et vente, répartis sur les colonnes de beacon des shops loués
+ */
+public class SyntheticMarket {
+
+    private static final Material[] CATALOG = {
+            Material.DIAMOND, Material.IRON_INGOT, Material.EMERALD, Material.COAL,
+            Material.GOLD_INGOT, Material.OAK_LOG, Material.COBBLESTONE, Material.REDSTONE
+    };
+
+    private final List<Zone> zones;
+    private final List<Shop> shops;
+    private final List<PlayerMock> owners;
+    private final List<Site> buySites;
+    private final List<Site> sellSites;
+
+    private SyntheticMarket() {
+        this.zones = new ArrayList<>();
+        this.shops = new ArrayList<>();
+        this.owners = new ArrayList<>();
+        this.buySites = new ArrayList<>();
+        this.sellSites = new ArrayList<>();
+    }
+
+    // ===============================
+    // GÉNÉRATION
+    // ===============================
+
+    /**
+     * @param shopCount      plafonné au nombre de zones (un shop par zone)
+     * @param chestShopCount plafonné à une colonne de beacon par chest shop
+     */
+    public static SyntheticMarket generate(ServerState state, int zoneCount, int shopCount, int chestShopCount, long seed) {
+        SyntheticMarket market = new SyntheticMarket();
+        PlayerShops plugin = state.plugin;
+        ShopManager shopManager = plugin.getShopManager();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Zones puis shops (créés par la synchronisation automatique)
+        for (Zone zone : MarketLayout.createZones(state.world, zoneCount)) {
+            plugin.getZoneManager().addZone(zone);
+            market.zones.add(zone);
+        }
+        shopManager.resynchronizeWithZones();
+
+        Map<String, Shop> shopsByZone = new HashMap<>();
+        for (Shop shop : shopManager.getAllShops()) {
+            shopsByZone.put(shop.getZoneId(), shop);
+        }
+
+        int rented = Math.min(shopCount, zoneCount);
+        for (int i = 0; i < rented; i++) {
+            Shop shop = shopsByZone.get(market.zones.get(i).getId());
+            PlayerMock owner = state.server.addPlayer("Owner" + i);
+            if (shop == null || !shopManager.claimShop(owner, shop.getId())) {
+                throw new IllegalStateException("Impossible de louer le shop de la zone " + market.zones.get(i).getId());
+            }
+            market.shops.add(shop);
+            market.owners.add(owner);
+        }
+
+        int columns = MarketLayout.ZONE_WIDTH * MarketLayout.ZONE_WIDTH;
+        int chestShops = rented == 0 ? 0 : Math.min(chestShopCount, rented * columns);
+        for (int i = 0; i < chestShops; i++) {
+            int shopIndex = i % rented;
+            int column = i / rented;
+            boolean sellMode = i % 2 == 1;
+
+            Location beacon = MarketLayout.beaconsOf(state.world, shopIndex, zoneCount).get(column);
+            Site site = market.createChestShop(plugin, market.owners.get(shopIndex), beacon.clone().add(0, 1, 0),
+                    randomItem(random), 10 + random.nextInt(990), sellMode);
+            (sellMode ? market.sellSites : market.buySites).add(site);
+        }
+
+        // Messages de création sans intérêt pour la simulation
+        market.owners.forEach(SyntheticMarket::drainMessages);
+
+        plugin.getLogger().info("Marché synthétique: " + market.zones.size() + " zones, " + market.shops.size()
+                + " shops, " + (market.buySites.size() + market.sellSites.size()) + " chest shops");
+        return market;
+    }
+
+    private Site createChestShop(PlayerShops plugin, PlayerMock owner, Location chestLocation, ItemStack item, long price, boolean sellMode) {
+        CommerceManager commerce = plugin.getCommerceManager();
+
+        chestLocation.getBlock().setType(Material.CHEST);
+        owner.getInventory().setItemInMainHand(item);
+
+        commerce.startChestShopCreation(owner, item, chestLocation);
+        commerce.handlePriceInput(owner, price + (sellMode ? " sell" : " buy"));
+
+        ChestShop chestShop = commerce.getChestShop(chestLocation);
+        Block sign = findSign(chestLocation.getBlock());
+        if (chestShop == null || sign == null) {
+            throw new IllegalStateException("Chest shop non créé à " + chestLocation);
+        }
+        return new Site(chestShop, sign, owner);
+    }
+
+    private static Block findSign(Block chest) {
+        for (BlockFace face : new BlockFace[]{BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST, BlockFace.UP}) {
+            Block relative = chest.getRelative(face);
+            if (Tag.ALL_SIGNS.isTagged(relative.getType())) {
+                return relative;
+            }
+        }
+        return null;
+    }
+
+    private static ItemStack randomItem(SplittableRandom random) {
+        ItemStack item = new ItemStack(CATALOG[random.nextInt(CATALOG.length)], 1 + random.nextInt(16));
+
+        // Un quart des lots sont renommés (comparaison nom + lore)
+        if (random.nextInt(4) == 0) {
+            ItemMeta meta = item.getItemMeta();
+            meta.setDisplayName("§bLot #" + random.nextInt(1000));
+            meta.setLore(List.of("§7Qualité " + (1 + random.nextInt(5))));
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Vide la file des messages reçus par un joueur simulé (elle grandit sans fin sinon)
+     */
+    static void drainMessages(PlayerMock player) {
+        String message;
+        do {
+            message = player.nextMessage();
+        } while (message != null);
+    }
+
+    // ===============================
+    // GETTERS
+    // ===============================
+
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    public List<Shop> getShops() {
+        return shops;
+    }
+
+    public List<Site> getBuySites() {
+        return buySites;
+    }
+
+    public List<Site> getSellSites() {
+        return sellSites;
+    }
+
+    /**
+     * Chest shop prêt à l'emploi : son panneau (cible des clics) et son propriétaire
+     */
+    public static class Site {
+        private final ChestShop chestShop;
+        private final Block sign;
+        private final PlayerMock owner;
+
+        Site(ChestShop chestShop, Block sign, PlayerMock owner) {
+            this.chestShop = chestShop;
+            this.sign = sign;
+            this.owner = owner;
+        }
+
+        public ChestShop getChestShop() {
+            return chestShop;
+        }
+
+        public Block getSign() {
+            return sign;
+        }
+
+        public PlayerMock getOwner() {
+            return owner;
+        }
+    }
+}
@@ -2,23 +2,42 @@ package fr.shop;
 
 import fr.shop.commands.ShopAdminCommand;
 import fr.shop.commands.ShopCommand;
+import fr.shop.gui.GuiListener;
 import fr.shop.gui.ShopGUI;
+import fr.shop.hooks.EconomyProvider;
+import fr.shop.hooks.LocalEconomyProvider;
 import fr.shop.hooks.PrisonTycoonHook;
 import fr.shop.listeners.ShopListeners;
 import fr.shop.managers.*;
+import fr.shop.metrics.MetricsExporter;
+import fr.shop.metrics.MetricsRegistry;
+import fr.shop.scheduler.ShopScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+
 public class PlayerShops extends JavaPlugin {
 
     private static PlayerShops instance;
 
+    private ShopScheduler shopScheduler;
+    private MetricsRegistry metrics;
+    private MetricsExporter metricsExporter;
+    private RateLimiter rateLimiter;
     private PrisonTycoonHook prisonTycoonHook;
     private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
+    private MessageManager messageManager;
+    private EconomyManager economyManager;
+    private TradeJournal tradeJournal;
+    private SalesAnalyticsManager salesAnalyticsManager;
+    private NotificationManager notificationManager;
     private ZoneManager zoneManager;
     private ZoneScanner zoneScanner;
     private ShopManager shopManager;
     private CommerceManager commerceManager;
     private VisualManager visualManager;
+    private TeleportManager teleportManager;
     private ShopGUI shopGUI;
     private ShopBackupManager shopBackupManager;
     private MarketZoneBackupManager marketZoneBackupManager;
@@ -32,15 +51,25 @@ public class PlayerShops extends JavaPlugin {
     public void onEnable() {
         instance = this;
 
-        // Initialisation du hook avec PrisonTycoon
-        if (!initializePrisonTycoonHook()) {
+        // Ordonnanceur (Paper ou Folia) avant tout manager qui planifie des tâches
+        this.shopScheduler = ShopScheduler.create(this);
+        this.metrics = new MetricsRegistry(shopScheduler);
+
+        // 1. ConfigManager en premier (pas de dépendances)
+        this.configManager = new ConfigManager(this);
+        this.messageManager = new MessageManager(this);
+
+        // Initialisation du hook avec PrisonTycoon et de l'économie
+        if (!initializeEconomy()) {
             getLogger().severe("PrisonTycoon non trouvé ! Le plugin se désactive.");
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
 
-        // 1. ConfigManager en premier (pas de dépendances)
-        this.configManager = new ConfigManager(this);
+        // Journal des transactions (réconcilié avec l'économie au démarrage)
+        this.tradeJournal = new TradeJournal(this);
+        this.salesAnalyticsManager = new SalesAnalyticsManager(this);
+        this.notificationManager = new NotificationManager(this);
 
         // 2. ZoneManager (dépend de ConfigManager)
         this.zoneManager = new ZoneManager(this);
@@ -52,7 +81,9 @@ public class PlayerShops extends JavaPlugin {
         // 4. Autres managers (dépendent de ShopManager)
         this.commerceManager = new CommerceManager(this);
         this.visualManager = new VisualManager(this);
+        this.teleportManager = new TeleportManager(this);
         this.shopGUI = new ShopGUI(this);
+        this.rateLimiter = new RateLimiter(this);
 
         // 5. Backup managers (dépendent de ZoneManager)
         this.shopBackupManager = new ShopBackupManager(this, zoneManager);
@@ -64,33 +95,125 @@ public class PlayerShops extends JavaPlugin {
 
         // Enregistrement des listeners
         getServer().getPluginManager().registerEvents(new ShopListeners(this), this);
+        getServer().getPluginManager().registerEvents(new GuiListener(this), this);
+
+        // Exporteur de métriques (optionnel, après tous les managers qu'il relève)
+        if (configManager.isMetricsExporterEnabled()) {
+            startMetricsExporter();
+        }
+
+        // Rechargement à chaud : surveillance de config.yml et paramètres propres au plugin
+        this.configWatcher = new ConfigWatcher(this);
+        if (configManager.isConfigWatchEnabled()) {
+            configWatcher.start();
+        }
+        configManager.addSettingsListener(this::onSettingsChanged);
 
         getLogger().info("PlayerShops activé avec succès!");
     }
 
     @Override
     public void onDisable() {
+        if (commerceManager != null) {
+            commerceManager.shutdown();
+        }
+        if (economyManager != null) {
+            economyManager.shutdown();
+        }
+        if (tradeJournal != null) {
+            tradeJournal.shutdown();
+        }
+        if (salesAnalyticsManager != null) {
+            salesAnalyticsManager.shutdown();
+        }
+        if (notificationManager != null) {
+            notificationManager.shutdown();
+        }
         if (shopManager != null) {
             shopManager.saveAll();
         }
         if (visualManager != null) {
             visualManager.shutdown();
         }
+        if (teleportManager != null) {
+            teleportManager.shutdown();
+        }
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (metrics != null) {
+            metrics.stop();
+        }
+        if (shopScheduler != null) {
+            shopScheduler.cancelAll();
+        }
         getLogger().info("PlayerShops désactivé!");
     }
 
-    private boolean initializePrisonTycoonHook() {
-        if (!getServer().getPluginManager().isPluginEnabled("PrisonTycoon")) {
-            return false;
+    private void startMetricsExporter() {
+        MetricsExporter exporter = new MetricsExporter(this);
+        try {
+            exporter.start();
+            this.metricsExporter = exporter;
+        } catch (IOException e) {
+            exporter.stop();
+            getLogger().warning("Impossible de démarrer l'exporteur de métriques: " + e.getMessage());
         }
+    }
 
-        try {
-            this.prisonTycoonHook = new PrisonTycoonHook();
-            return prisonTycoonHook.isEnabled();
-        } catch (Exception e) {
-            getLogger().severe("Erreur lors de l'initialisation du hook PrisonTycoon: " + e.getMessage());
-            return false;
+    /**
+     * Redémarre l'exporteur de métriques et la surveillance de config.yml si leurs paramètres ont changé
+     */
+    private void onSettingsChanged(ShopSettings previous, ShopSettings current) {
+        boolean exporterChanged = previous.isMetricsExporterEnabled() != current.isMetricsExporterEnabled()
+                || !previous.getMetricsExporterHost().equals(current.getMetricsExporterHost())
+                || previous.getMetricsExporterPort() != current.getMetricsExporterPort()
+                || previous.getMetricsGaugeInterval() != current.getMetricsGaugeInterval();
+        if (exporterChanged) {
+            if (metricsExporter != null) {
+                metricsExporter.stop();
+                metricsExporter = null;
+            }
+            if (current.isMetricsExporterEnabled()) {
+                startMetricsExporter();
+            }
         }
+
+        if (current.isConfigWatchEnabled()) {
+            configWatcher.start();
+        } else {
+            configWatcher.stop();
+        }
+    }
+
+    private boolean initializeEconomy() {
+        // Le hook reste utilisé hors économie (pioches légendaires), il est simplement désactivé sans PrisonTycoon
+        this.prisonTycoonHook = new PrisonTycoonHook();
+
+        EconomyProvider provider;
+        if (configManager.getEconomyProvider().equalsIgnoreCase("local")) {
+            getLogger().warning("Économie locale en mémoire activée (tests uniquement, les soldes ne sont pas sauvegardés)");
+            provider = new LocalEconomyProvider(configManager.getLocalStartingCoins(), configManager.getLocalStartingBeacons());
+        } else {
+            if (!getServer().getPluginManager().isPluginEnabled("PrisonTycoon") || !prisonTycoonHook.isEnabled()) {
+                return false;
+            }
+            provider = prisonTycoonHook;
+        }
+
+        this.economyManager = new EconomyManager(this, provider);
+        return true;
+    }
+
+    public ShopScheduler getShopScheduler() {
+        return shopScheduler;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
     }
 
     public PrisonTycoonHook getPrisonTycoonHook() {
@@ -101,6 +224,30 @@ public class PlayerShops extends JavaPlugin {
         return configManager;
     }
 
+    public MessageManager getMessageManager() {
+        return messageManager;
+    }
+
+    public EconomyManager getEconomyManager() {
+        return economyManager;
+    }
+
+    public TradeJournal getTradeJournal() {
+        return tradeJournal;
+    }
+
+    public SalesAnalyticsManager getSalesAnalyticsManager() {
+        return salesAnalyticsManager;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public NotificationManager getNotificationManager() {
+        return notificationManager;
+    }
+
     public ZoneManager getZoneManager() {
         return zoneManager;
     }
@@ -121,6 +268,10 @@ public class PlayerShops extends JavaPlugin {
         return visualManager;
     }
 
+    public TeleportManager getTeleportManager() {
+        return teleportManager;
+    }
+
     public ShopGUI getShopGUI() {
         return shopGUI;
     }
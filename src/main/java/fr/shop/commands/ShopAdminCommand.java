@@ -3,9 +3,10 @@ package fr.shop.commands;
 import fr.shop.PlayerShops;
 import fr.shop.data.Zone;
 import fr.shop.managers.MarketZoneBackupManager;
+import fr.shop.managers.MessageManager;
 import fr.shop.managers.ZoneManager;
+import fr.shop.metrics.MetricsRegistry;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -22,11 +23,13 @@ import java.util.stream.Collectors;
 public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private final PlayerShops plugin;
+    private final MessageManager messages;
     private final ZoneManager zoneManager;
     private final MarketZoneBackupManager marketBackupManager;
 
     public ShopAdminCommand(PlayerShops plugin) {
         this.plugin = plugin;
+        this.messages = plugin.getMessageManager();
         this.zoneManager = plugin.getZoneManager();
         this.marketBackupManager = plugin.getMarketZoneBackupManager();
 
@@ -35,7 +38,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!sender.hasPermission("playershops.admin")) {
-            sender.sendMessage("§c§lSHOP §8» §cVous n'avez pas la permission d'utiliser cette commande!");
+            messages.send(sender, "admin.no-permission");
             return true;
         }
 
@@ -75,6 +78,10 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 handleCacheCommand(sender, args);
                 break;
 
+            case "profile":
+                handleProfileCommand(sender, args);
+                break;
+
             case "help":
                 sendAdminHelp(sender);
                 break;
@@ -92,7 +99,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 break;
 
             default:
-                sender.sendMessage("§c§lSHOP §8» §cCommande administrative inconnue! Utilisez §e/shopadmin help");
+                messages.send(sender, "admin.unknown");
                 break;
         }
 
@@ -105,14 +112,14 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private void handleScanCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage("§c§lSHOP §8» §cCette commande ne peut être utilisée que par un joueur!");
+            messages.send(sender, "admin.player-only");
             return;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin scan <monde>");
+            messages.send(sender, "admin.usage.scan");
             return;
         }
 
@@ -120,18 +127,18 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
         World world = Bukkit.getWorld(worldName);
 
         if (world == null) {
-            sender.sendMessage("§c§lSHOP §8» §cMonde introuvable: " + worldName);
+            messages.send(sender, "admin.world-not-found", "world", worldName);
             return;
         }
 
         if (zoneManager.getScanner().isScanning()) {
-            sender.sendMessage("§c§lSHOP §8» §cUn scan est déjà en cours!");
+            messages.send(sender, "admin.scan-in-progress");
             return;
         }
 
         // Afficher les stats avant le scan
         ZoneManager.ZoneStats statsBefore = zoneManager.getStats();
-        sender.sendMessage("§7§lSHOP §8» §7Zones actuelles: §e" + statsBefore.getTotalZones());
+        messages.send(sender, "admin.current-zones", "zones", String.valueOf(statsBefore.getTotalZones()));
 
         zoneManager.getScanner().scanWorld(world, player).thenAccept(result -> {
             if (result != null) {
@@ -139,18 +146,15 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 plugin.getLogger().info("Scan terminé: " + result);
 
                 // Message de résumé avec comparaison avant/après
-                new org.bukkit.scheduler.BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        sender.sendMessage("§6§l▬▬▬▬▬▬▬ RÉSULTATS DU SCAN ▬▬▬▬▬▬▬");
-                        sender.sendMessage("§7Beacons trouvés: §e" + result.getBeaconsFound());
-                        sender.sendMessage("§7Zones créées: §e" + result.getZonesCreated());
-                        sender.sendMessage("§7Total zones: §e" + statsAfter.getTotalZones() + " §7(§a+" +
-                                (statsAfter.getTotalZones() - statsBefore.getTotalZones()) + "§7)");
-                        sender.sendMessage("§7Durée: §e" + (result.getDuration() / 1000.0) + "s");
-                        sender.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
-                    }
-                }.runTask(plugin);
+                plugin.getShopScheduler().runGlobal(() -> {
+                    sender.sendMessage("§6§l▬▬▬▬▬▬▬ RÉSULTATS DU SCAN ▬▬▬▬▬▬▬");
+                    sender.sendMessage("§7Beacons trouvés: §e" + result.getBeaconsFound());
+                    sender.sendMessage("§7Zones créées: §e" + result.getZonesCreated());
+                    sender.sendMessage("§7Total zones: §e" + statsAfter.getTotalZones() + " §7(§a+" +
+                            (statsAfter.getTotalZones() - statsBefore.getTotalZones()) + "§7)");
+                    sender.sendMessage("§7Durée: §e" + (result.getDuration() / 1000.0) + "s");
+                    sender.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+                });
             }
         });
     }
@@ -161,7 +165,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private void handleZonesCommand(CommandSender sender, String[] args) {
         if (args.length < 2) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin zones <list/info/delete>");
+            messages.send(sender, "admin.usage.zones");
             return;
         }
 
@@ -181,7 +185,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 break;
 
             default:
-                sender.sendMessage("§c§lSHOP §8» §cAction inconnue. Utilisez: list, info, delete");
+                messages.send(sender, "admin.unknown-zones-action");
                 break;
         }
     }
@@ -194,8 +198,11 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 : new ArrayList<>(zoneManager.getAllZones());
 
         if (zones.isEmpty()) {
-            sender.sendMessage("§c§lSHOP §8» §cAucune zone trouvée" +
-                    (worldFilter != null ? " dans le monde " + worldFilter : ""));
+            if (worldFilter != null) {
+                messages.send(sender, "admin.no-zones-in-world", "world", worldFilter);
+            } else {
+                messages.send(sender, "admin.no-zones");
+            }
             return;
         }
 
@@ -235,7 +242,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private void handleZonesInfoCommand(CommandSender sender, String[] args) {
         if (args.length < 3) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin zones info <zoneId>");
+            messages.send(sender, "admin.usage.zones-info");
             return;
         }
 
@@ -243,7 +250,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
         Zone zone = zoneManager.getZone(zoneId);
 
         if (zone == null) {
-            sender.sendMessage("§c§lSHOP §8» §cZone introuvable: " + zoneId);
+            messages.send(sender, "admin.zone-not-found", "zone", zoneId);
             return;
         }
 
@@ -276,7 +283,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private void handleZonesDeleteCommand(CommandSender sender, String[] args) {
         if (args.length < 3) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin zones delete <zoneId>");
+            messages.send(sender, "admin.usage.zones-delete");
             return;
         }
 
@@ -284,14 +291,14 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
         Zone zone = zoneManager.getZone(zoneId);
 
         if (zone == null) {
-            sender.sendMessage("§c§lSHOP §8» §cZone introuvable: " + zoneId);
+            messages.send(sender, "admin.zone-not-found", "zone", zoneId);
             return;
         }
 
         zoneManager.removeZone(zoneId);
         zoneManager.saveZones();
 
-        sender.sendMessage("§a§lSHOP §8» §aZone §e" + zoneId + " §asupprimée!");
+        messages.send(sender, "admin.zone-deleted", "zone", zoneId);
     }
 
     // ===============================
@@ -299,7 +306,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
     // ===============================
 
     private void handleOptimizeCommand(CommandSender sender) {
-        sender.sendMessage("§a§lSHOP §8» §aOptimisation des structures en cours...");
+        messages.send(sender, "admin.optimize-started");
 
         long startTime = System.currentTimeMillis();
         zoneManager.optimize();
@@ -307,8 +314,8 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
         ZoneManager.CacheStats cacheStats = zoneManager.getCacheStats();
 
-        sender.sendMessage("§a§lSHOP §8» §aOptimisation terminée en " + duration + "ms");
-        sender.sendMessage("§7§lSHOP §8» §7Cache: " + cacheStats.toString());
+        messages.send(sender, "admin.optimize-done", "duration", String.valueOf(duration));
+        messages.send(sender, "admin.cache-summary", "stats", cacheStats.toString());
     }
 
     private void handleCacheCommand(CommandSender sender, String[] args) {
@@ -326,18 +333,92 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
         if ("clear".equals(action)) {
             zoneManager.clearLocationCache();
-            sender.sendMessage("§a§lSHOP §8» §aCache vidé!");
+            messages.send(sender, "admin.cache-cleared");
         } else {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin cache [clear]");
+            messages.send(sender, "admin.usage.cache");
+        }
+    }
+
+    // ===============================
+    // COMMANDE PROFILE
+    // ===============================
+
+    private void handleProfileCommand(CommandSender sender, String[] args) {
+        MetricsRegistry metrics = plugin.getMetrics();
+        String action = args.length < 2 ? "dump" : args[1].toLowerCase();
+
+        switch (action) {
+            case "start":
+                metrics.start();
+                messages.send(sender, "admin.profile.started");
+                break;
+
+            case "stop":
+                if (!metrics.isEnabled()) {
+                    messages.send(sender, "admin.profile.not-running");
+                    return;
+                }
+                metrics.stop();
+                messages.send(sender, "admin.profile.stopped");
+                sendProfileDump(sender, metrics);
+                break;
+
+            case "dump":
+                if (metrics.getStartedAt() == 0) {
+                    messages.send(sender, "admin.profile.no-data");
+                    return;
+                }
+                sendProfileDump(sender, metrics);
+                break;
+
+            default:
+                messages.send(sender, "admin.usage.profile");
+                break;
         }
     }
 
+    private void sendProfileDump(CommandSender sender, MetricsRegistry metrics) {
+        long elapsed = System.currentTimeMillis() - metrics.getStartedAt();
+
+        sender.sendMessage("§6§l▬▬▬▬▬▬▬ PROFILAGE ▬▬▬▬▬▬▬");
+        sender.sendMessage("§7Durée: §e" + (elapsed / 1000) + "s §7(§e" + metrics.getTicks() + " §7ticks)"
+                + (metrics.isEnabled() ? " §a[en cours]" : " §c[arrêté]"));
+
+        sender.sendMessage("§6ms/tick par sous-système:");
+        for (Map.Entry<String, Double> entry : metrics.getMillisPerTick().entrySet()) {
+            sender.sendMessage("§7- §e" + entry.getKey() + "§7: §f" + String.format("%.3f", entry.getValue()) + " ms");
+        }
+
+        sender.sendMessage("§6Opérations (p50 / p99 / max):");
+        for (MetricsRegistry.OperationStats stats : metrics.getOperationStats()) {
+            sender.sendMessage("§7- §e" + stats.getName() + " §7x" + stats.getCount() + ": §f"
+                    + formatNanos(stats.getP50Nanos()) + " §7/ §f" + formatNanos(stats.getP99Nanos())
+                    + " §7/ §f" + formatNanos(stats.getMaxNanos()));
+        }
+
+        Map<String, Long> counters = metrics.getCounters();
+        if (!counters.isEmpty()) {
+            sender.sendMessage("§6Compteurs:");
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                sender.sendMessage("§7- §e" + entry.getKey() + "§7: §f" + entry.getValue());
+            }
+        }
+        sender.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+    }
+
+    private String formatNanos(long nanos) {
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fµs", nanos / 1000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
     // ===============================
     // AUTRES COMMANDES (améliorées)
     // ===============================
 
     private void handleValidateCommand(CommandSender sender) {
-        sender.sendMessage("§a§lSHOP §8» §aValidation des zones en cours...");
+        messages.send(sender, "admin.validate-started");
 
         long startTime = System.currentTimeMillis();
         ZoneManager.ValidationResult result = zoneManager.validateZones();
@@ -361,14 +442,18 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
     }
 
     private void handleReloadCommand(CommandSender sender) {
-        sender.sendMessage("§a§lSHOP §8» §aRechargement des zones...");
+        messages.send(sender, "admin.reload.started");
 
         long startTime = System.currentTimeMillis();
         zoneManager.loadZones();
-        plugin.getConfigManager().reloadConfig();
+        boolean configLoaded = plugin.getConfigManager().reloadConfig(); // Les managers se reconfigurent d'eux-mêmes
         long duration = System.currentTimeMillis() - startTime;
 
-        sender.sendMessage("§a§lSHOP §8» §aRechargement terminé en " + duration + "ms!");
+        if (!configLoaded) {
+            messages.send(sender, "admin.reload.invalid-config");
+            return;
+        }
+        messages.send(sender, "admin.reload.done", "duration", String.valueOf(duration));
     }
 
     private void handleStatsCommand(CommandSender sender) {
@@ -400,21 +485,22 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
     }
 
     private void sendAdminHelp(CommandSender sender) {
-        sender.sendMessage("§6§l▬▬▬▬▬▬▬ SHOP ADMIN HELP ▬▬▬▬▬▬▬");
-        sender.sendMessage("§e/shopadmin scan <monde> §7- Scanner les beacons d'un monde");
-        sender.sendMessage("§e/shopadmin zones list [monde] §7- Lister les zones");
-        sender.sendMessage("§e/shopadmin zones info <zoneId> §7- Info d'une zone");
-        sender.sendMessage("§e/shopadmin zones delete <zoneId> §7- Supprimer une zone");
-        sender.sendMessage("§e/shopadmin tp <zoneId> §7- Se téléporter à une zone");
-        sender.sendMessage("§e/shopadmin backup <zoneId|all> §7- Backup market zone(s)");
-        sender.sendMessage("§e/shopadmin restore <zoneId> §7- Restaurer market zone");
-        sender.sendMessage("§e/shopadmin marketlist §7- Lister les backups market");
-        sender.sendMessage("§e/shopadmin validate §7- Valider l'intégrité des zones");
-        sender.sendMessage("§e/shopadmin reload §7- Recharger les configurations");
-        sender.sendMessage("§e/shopadmin stats §7- Statistiques des zones");
-        sender.sendMessage("§e/shopadmin optimize §7- Optimiser les structures");
-        sender.sendMessage("§e/shopadmin cache [clear] §7- Gestion du cache");
-        sender.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(sender, "admin.help.header");
+        messages.send(sender, "admin.help.scan");
+        messages.send(sender, "admin.help.zones-list");
+        messages.send(sender, "admin.help.zones-info");
+        messages.send(sender, "admin.help.zones-delete");
+        messages.send(sender, "admin.help.tp");
+        messages.send(sender, "admin.help.backup");
+        messages.send(sender, "admin.help.restore");
+        messages.send(sender, "admin.help.marketlist");
+        messages.send(sender, "admin.help.validate");
+        messages.send(sender, "admin.help.reload");
+        messages.send(sender, "admin.help.stats");
+        messages.send(sender, "admin.help.optimize");
+        messages.send(sender, "admin.help.cache");
+        messages.send(sender, "admin.help.profile");
+        messages.send(sender, "admin.help.footer");
     }
 
     @Override
@@ -427,7 +513,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             completions.addAll(Arrays.asList(
-                    "scan", "zones", "validate", "reload", "stats", "optimize", "cache",
+                    "scan", "zones", "validate", "reload", "stats", "optimize", "cache", "profile",
                     "marketbackup", "mbackup", "marketrestore", "mrestore", "marketlist", "mlist",
                     "teleport", "tp", "help"
             ));
@@ -449,6 +535,10 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                     completions.add("clear");
                     break;
 
+                case "profile":
+                    completions.addAll(Arrays.asList("start", "stop", "dump"));
+                    break;
+
                 case "marketbackup":
                 case "mbackup":
                     completions.add("all");
@@ -494,12 +584,12 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
     private void handleMarketBackupCommand(CommandSender sender, String[] args) {
         // La vérification du Player a été déplacée ici pour s'appliquer à 'all' également
         if (!(sender instanceof Player)) {
-            sender.sendMessage("§c§lSHOP §8» §cCette commande ne peut être utilisée que par un joueur!");
+            messages.send(sender, "admin.player-only");
             return;
         }
 
         if (args.length < 2) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin backup <zoneId|all>");
+            messages.send(sender, "admin.usage.backup");
             return;
         }
 
@@ -510,11 +600,11 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
             // Backup de toutes les zones
             Collection<Zone> allZones = zoneManager.getAllZones();
             if (allZones.isEmpty()) {
-                sender.sendMessage("§c§lSHOP §8» §cAucune zone trouvée!");
+                messages.send(sender, "admin.no-zones");
                 return;
             }
 
-            sender.sendMessage("§a§lSHOP §8» §aDébut du backup séquentiel de §e" + allZones.size() + " §azones...");
+            messages.send(sender, "admin.backup.started", "count", String.valueOf(allZones.size()));
 
             // Utiliser une file d'attente pour traiter les zones une par une
             Queue<Zone> zoneQueue = new LinkedList<>(allZones);
@@ -524,7 +614,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
             // Backup d'une zone spécifique (le code existant est correct pour une seule zone)
             Zone zone = zoneManager.getZone(target);
             if (zone == null) {
-                sender.sendMessage("§c§lSHOP §8» §cZone introuvable: " + target);
+                messages.send(sender, "admin.zone-not-found", "zone", target);
                 return;
             }
 
@@ -537,14 +627,14 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
      */
     private void processNextZoneInBackupQueue(Player initiator, Queue<Zone> zoneQueue, int total) {
         if (zoneQueue.isEmpty()) {
-            initiator.sendMessage("§a§lSHOP §8» §aBackup de toutes les zones terminé !");
+            messages.send(initiator, "admin.backup.done");
             return;
         }
 
         Zone zone = zoneQueue.poll();
         int processedCount = total - zoneQueue.size();
 
-        initiator.sendMessage("§7§lSHOP §8» §7Backup de §e" + zone.getId() + " §7(§e" + processedCount + "§7/§e" + total + "§7)...");
+        messages.send(initiator, "admin.backup.progress", "zone", zone.getId(), "current", String.valueOf(processedCount), "total", String.valueOf(total));
 
         marketBackupManager.backupMarketZone(zone.getId(), null).thenAccept(result -> {
             // Le résultat de chaque backup est loggué dans la console
@@ -553,41 +643,36 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
                 plugin.getLogger().info("Backup market réussi pour zone " + zone.getId() + " - Compression: " + result.getCompressionRatio());
             } else {
                 plugin.getLogger().warning("Backup market échoué pour zone " + zone.getId() + " - " + result.getErrorMessage());
-                initiator.sendMessage("§c§lSHOP §8» §cÉchec backup pour §e" + zone.getId() + ": " + result.getErrorMessage());
+                messages.send(initiator, "admin.backup.failed", "zone", zone.getId(), "error", result.getErrorMessage());
             }
 
             // Planifier le traitement de la prochaine zone sur le thread principal
-            new org.bukkit.scheduler.BukkitRunnable() {
-                @Override
-                public void run() {
-                    processNextZoneInBackupQueue(initiator, zoneQueue, total);
-                }
-            }.runTask(plugin);
+            plugin.getShopScheduler().runGlobal(() -> processNextZoneInBackupQueue(initiator, zoneQueue, total));
         });
     }
 
     private void handleMarketRestoreCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage("§c§lSHOP §8» §cCette commande ne peut être utilisée que par un joueur!");
+            messages.send(sender, "admin.player-only");
             return;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin marketrestore <zoneId>");
+            messages.send(sender, "admin.usage.restore");
             return;
         }
 
         String zoneId = args[1];
         Zone zone = zoneManager.getZone(zoneId);
         if (zone == null) {
-            sender.sendMessage("§c§lSHOP §8» §cZone introuvable: " + zoneId);
+            messages.send(sender, "admin.zone-not-found", "zone", zoneId);
             return;
         }
 
         if (!marketBackupManager.hasMarketBackup(zoneId)) {
-            sender.sendMessage("§c§lSHOP §8» §cAucun backup market trouvé pour la zone: " + zoneId);
+            messages.send(sender, "admin.restore.no-backup", "zone", zoneId);
             return;
         }
 
@@ -595,7 +680,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
         long backupTime = marketBackupManager.getMarketBackupTimestamp(zoneId);
         String timeAgo = formatTimeAgo(System.currentTimeMillis() - backupTime);
 
-        sender.sendMessage("§e§lSHOP §8» §eRestauration du backup market créé il y a §f" + timeAgo);
+        messages.send(sender, "admin.restore.started", "time", timeAgo);
 
         marketBackupManager.restoreMarketZone(zoneId, player).thenAccept(result -> {
             // Le résultat est déjà envoyé au joueur dans le MarketZoneBackupManager
@@ -606,7 +691,7 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
         Set<String> backedUpZones = marketBackupManager.getMarketBackedUpZones();
 
         if (backedUpZones.isEmpty()) {
-            sender.sendMessage("§c§lSHOP §8» §cAucun backup market trouvé!");
+            messages.send(sender, "admin.restore.no-backups");
             return;
         }
 
@@ -631,36 +716,33 @@ public class ShopAdminCommand implements CommandExecutor, TabCompleter {
 
     private void handleTeleportCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage("§c§lSHOP §8» §cCette commande ne peut être utilisée que par un joueur!");
+            messages.send(sender, "admin.player-only");
             return;
         }
 
         Player player = (Player) sender;
 
         if (args.length < 2) {
-            sender.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shopadmin tp <zoneId>");
+            messages.send(sender, "admin.usage.tp");
             return;
         }
 
         String zoneId = args[1];
         Zone zone = zoneManager.getZone(zoneId);
         if (zone == null) {
-            sender.sendMessage("§c§lSHOP §8» §cZone introuvable: " + zoneId);
+            messages.send(sender, "admin.zone-not-found", "zone", zoneId);
             return;
         }
 
+        // Les administrateurs ne sont pas soumis à enable_zone_teleports
         if (zone.hasTeleportLocation()) {
-            Location teleportLoc = zone.getTeleportLocation();
-            player.teleport(teleportLoc);
-            player.sendMessage("§a§lSHOP §8» §aTéléporté à la zone §e" + zoneId + " §a(téléportation automatique)!");
+            plugin.getTeleportManager().teleport(player, zone.getTeleportLocation(),
+                    messages.format("admin.teleported-to-zone", "zone", zoneId));
         } else if (zone.getCenterLocation() != null) {
-            Location centerLoc = zone.getCenterLocation();
-            // Ajuster la Y pour être au-dessus du sol
-            centerLoc.setY(centerLoc.getY() + 2);
-            player.teleport(centerLoc);
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au centre de la zone §e" + zoneId + "§a!");
+            plugin.getTeleportManager().teleport(player, zone.getCenterLocation(),
+                    messages.format("admin.teleported-to-center", "zone", zoneId));
         } else {
-            sender.sendMessage("§c§lSHOP §8» §cImpossible de déterminer la position de téléportation pour cette zone!");
+            messages.send(sender, "admin.no-teleport-destination");
         }
     }
 
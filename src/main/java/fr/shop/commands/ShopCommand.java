@@ -1,15 +1,23 @@
 package fr.shop.commands;
 
 import fr.shop.PlayerShops;
+import fr.shop.data.ChestShop;
+import fr.shop.data.SalesTimeSeries;
 import fr.shop.data.Shop;
+import fr.shop.data.TradeRecord;
 import fr.shop.data.Zone;
+import fr.shop.managers.MarketIndex;
+import fr.shop.managers.MessageManager;
+import fr.shop.managers.RateLimiter;
+import fr.shop.managers.SalesAnalyticsManager;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
+import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -22,15 +30,21 @@ import java.util.stream.Collectors;
 public class ShopCommand implements CommandExecutor, TabCompleter {
 
     private final PlayerShops plugin;
+    private final MessageManager messages;
 
     public ShopCommand(PlayerShops plugin) {
         this.plugin = plugin;
+        this.messages = plugin.getMessageManager();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player player)) {
-            sender.sendMessage("§cCette commande ne peut être utilisée que par un joueur!");
+            messages.send(sender, "commands.player-only");
+            return true;
+        }
+
+        if (!plugin.getRateLimiter().tryAcquire(player, RateLimiter.Action.COMMAND)) {
             return true;
         }
 
@@ -90,6 +104,21 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 handleBoostCommand(player);
                 break;
 
+            case "history":
+            case "historique":
+                handleHistoryCommand(player);
+                break;
+
+            case "stats":
+            case "statistiques":
+                handleStatsCommand(player, args);
+                break;
+
+            case "find":
+            case "chercher":
+                handleFindCommand(player, args);
+                break;
+
             case "zone":
                 handleZoneCommand(player, args);
                 break;
@@ -100,7 +129,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 break;
 
             default:
-                player.sendMessage("§c§lSHOP §8» §cCommande inconnue! Utilisez §e/shop help §cpour voir l'aide.");
+                messages.send(player, "commands.unknown");
                 break;
         }
 
@@ -115,19 +144,19 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         // Vérifier si le joueur est dans un shop
         Shop shop = plugin.getShopManager().getShopAtLocation(player.getLocation());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous devez être dans un shop pour le revendiquer!");
+            messages.send(player, "commands.not-in-shop");
             return;
         }
 
         if (shop.isRented()) {
             if (shop.getStatus() == Shop.ShopStatus.GRACE_PERIOD) {
                 if (shop.isMember(player.getUniqueId())) {
-                    player.sendMessage("§e§lSHOP §8» §eCe shop est en période de grâce. Seuls les membres peuvent y accéder.");
+                    messages.send(player, "commands.grace-period-members");
                 } else {
-                    player.sendMessage("§c§lSHOP §8» §cCe shop est en période de grâce!");
+                    messages.send(player, "commands.grace-period");
                 }
             } else {
-                player.sendMessage("§c§lSHOP §8» §cCe shop est déjà loué par §e" + shop.getOwnerName() + "§c!");
+                messages.send(player, "commands.already-rented", "owner", shop.getOwnerName());
             }
             return;
         }
@@ -138,7 +167,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private void handleExtendCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
@@ -148,65 +177,65 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private void handleInfoCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         Zone zone = shop.getZone(plugin.getZoneManager());
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬ SHOP INFO ▬▬▬▬▬▬▬▬▬▬▬");
-        player.sendMessage("§7ID: §e" + shop.getId());
-        player.sendMessage("§7Zone: §e" + shop.getZoneId());
-        player.sendMessage("§7Propriétaire: §e" + shop.getOwnerName());
-        player.sendMessage("§7Statut: " + getStatusColor(shop.getStatus()) + getStatusName(shop.getStatus()));
+        messages.send(player, "shop-info.header");
+        messages.send(player, "shop-info.id", "id", shop.getId());
+        messages.send(player, "shop-info.zone", "zone", shop.getZoneId());
+        messages.send(player, "shop-info.owner", "owner", shop.getOwnerName());
+        messages.send(player, "shop-info.status", "status", getStatusColor(shop.getStatus()) + getStatusName(shop.getStatus()));
 
         if (zone != null) {
-            player.sendMessage("§7Beacons: §e" + zone.getBeaconCount());
-            player.sendMessage("§7Taille: §e" + zone.getBlockCount() + " §7blocs");
+            messages.send(player, "shop-info.beacons", "beacons", String.valueOf(zone.getBeaconCount()));
+            messages.send(player, "shop-info.size", "blocks", String.valueOf(zone.getBlockCount()));
             if (zone.hasTeleportLocation()) {
-                player.sendMessage("§7Téléportation: §aDisponible");
+                messages.send(player, "shop-info.teleport-available");
             }
         }
 
         if (shop.isRented()) {
-            player.sendMessage("§7Expire dans: §e" + formatTimeRemaining(shop.getRentExpiry()));
+            messages.send(player, "shop-info.expires", "time", formatTimeRemaining(shop.getRentExpiry()));
             if (shop.getStatus() == Shop.ShopStatus.GRACE_PERIOD) {
-                player.sendMessage("§7Fin de grâce: §c" + formatTimeRemaining(shop.getGraceExpiry()));
+                messages.send(player, "shop-info.grace-ends", "time", formatTimeRemaining(shop.getGraceExpiry()));
             }
         }
 
-        player.sendMessage("§7Membres: §e" + shop.getMembers().size());
-        player.sendMessage("§7Chest shops: §e" + shop.getChestShops().size());
+        messages.send(player, "shop-info.members", "count", String.valueOf(shop.getMembers().size()));
+        messages.send(player, "shop-info.chest-shops", "count", String.valueOf(shop.getChestShops().size()));
 
         if (shop.getCustomMessage() != null) {
-            player.sendMessage("§7Message: §f" + ChatColor.translateAlternateColorCodes('&', shop.getCustomMessage()));
+            messages.send(player, "shop-info.message", "message", shop.getDisplayCustomMessage());
         }
 
         if (!shop.getFloatingTexts().isEmpty()) {
-            player.sendMessage("§7Textes flottants: §a" + shop.getFloatingTexts().size() + "§7/§a3");
+            messages.send(player, "shop-info.floating-texts", "count", String.valueOf(shop.getFloatingTexts().size()));
         }
 
         if (shop.hasNPC()) {
-            player.sendMessage("§7PNJ: §a" + ChatColor.translateAlternateColorCodes('&', shop.getNpcName()));
+            messages.send(player, "shop-info.npc", "name", shop.getDisplayNpcName());
         }
 
         if (shop.hasBeacon()) {
-            player.sendMessage("§7Beacon: §aPlacé");
+            messages.send(player, "shop-info.beacon-placed");
         }
 
         if (shop.getAdvertisement() != null) {
-            player.sendMessage("§7Annonce: §a" + (shop.getAdvertisement().isActive() ? "Active" : "Inactive"));
+            messages.send(player, "shop-info.advertisement", "state", messages.get(shop.getAdvertisement().isActive() ? "shop-info.advertisement-active" : "shop-info.advertisement-inactive"));
             if (shop.isAdvertisementBoosted()) {
-                player.sendMessage("§7Boost: §a§lACTIF");
+                messages.send(player, "shop-info.boosted");
             }
         }
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "commands.footer");
     }
 
     private void handleTeleportCommand(Player player, String[] args) {
         if (args.length < 2) {
-            player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop tp <joueur>");
+            messages.send(player, "commands.usage.tp");
             return;
         }
 
@@ -224,7 +253,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             }
 
             if (targetShop == null) {
-                player.sendMessage("§c§lSHOP §8» §cShop introuvable!");
+                messages.send(player, "commands.shop-not-found");
                 return;
             }
 
@@ -232,7 +261,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         } else {
             Shop targetShop = plugin.getShopManager().getPlayerShop(target.getUniqueId());
             if (targetShop == null) {
-                player.sendMessage("§c§lSHOP §8» §cCe joueur n'a pas de shop!");
+                messages.send(player, "commands.player-has-no-shop");
                 return;
             }
 
@@ -243,25 +272,18 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private void teleportToShop(Player player, Shop shop) {
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cErreur: Zone du shop introuvable!");
+            messages.send(player, "commands.shop-zone-not-found");
             return;
         }
 
         // Utiliser la téléportation de la zone si disponible, sinon le centre
-        if (zone.hasTeleportLocation()) {
-            player.teleport(zone.getTeleportLocation());
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au shop de §e" + shop.getOwnerName() + "§a! (Point de téléportation)");
-        } else if (zone.getCenterLocation() != null) {
-            player.teleport(zone.getCenterLocation());
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au shop de §e" + shop.getOwnerName() + "§a! (Centre)");
-        } else {
-            player.sendMessage("§c§lSHOP §8» §cImpossible de déterminer la position de téléportation!");
-        }
+        plugin.getTeleportManager().teleportToZone(player, zone, messages.format("commands.teleported-to-shop", "owner", shop.getOwnerName(),
+                "target", messages.get(zone.hasTeleportLocation() ? "commands.teleport-target.point" : "commands.teleport-target.center")));
     }
 
     private void handleMemberCommand(Player player, String[] args) {
         if (args.length < 3) {
-            player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop member <add/remove> <joueur>");
+            messages.send(player, "commands.usage.member");
             return;
         }
 
@@ -280,7 +302,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 break;
 
             default:
-                player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop member <add/remove> <joueur>");
+                messages.send(player, "commands.usage.member");
                 break;
         }
     }
@@ -296,7 +318,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         switch (type) {
             case "message":
                 if (args.length < 3) {
-                    player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop customize message <texte>");
+                    messages.send(player, "commands.usage.customize-message");
                     return;
                 }
                 String message = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
@@ -306,7 +328,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             case "text":
             case "texte":
                 if (args.length < 3) {
-                    player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop customize text <texte>");
+                    messages.send(player, "commands.usage.customize-text");
                     return;
                 }
                 String text = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
@@ -315,7 +337,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
             case "npc":
                 if (args.length < 3) {
-                    player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop customize npc <nom>");
+                    messages.send(player, "commands.usage.customize-npc");
                     return;
                 }
                 String npcName = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
@@ -330,7 +352,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
     private void handleRemoveCommand(Player player, String[] args) {
         if (args.length < 2) {
-            player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop remove <message/text/npc> [index]");
+            messages.send(player, "commands.usage.remove");
             return;
         }
 
@@ -351,7 +373,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                     int index = Integer.parseInt(args[2]) - 1; // L'utilisateur tape 1-3, on convertit en 0-2
                     plugin.getShopManager().removeFloatingText(player, index);
                 } catch (NumberFormatException e) {
-                    player.sendMessage("§c§lSHOP §8» §cIndex invalide!");
+                    messages.send(player, "commands.invalid-index");
                 }
                 break;
 
@@ -360,7 +382,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 break;
 
             default:
-                player.sendMessage("§c§lSHOP §8» §cUtilisation: §e/shop remove <message/text/npc> [index]");
+                messages.send(player, "commands.usage.remove");
                 break;
         }
     }
@@ -386,7 +408,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
 
             case "view":
             case "voir":
-                plugin.getShopGUI().openAdvertisementListGUI(player);
+                // Catégorie optionnelle : /shop ad view <catégorie>
+                String category = args.length >= 3 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : null;
+                plugin.getShopGUI().openAdvertisementListGUI(player, category, 0);
                 break;
 
             case "toggle":
@@ -403,6 +427,133 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         plugin.getShopManager().boostAdvertisement(player);
     }
 
+    private void handleHistoryCommand(Player player) {
+        Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
+        if (shop == null) {
+            messages.send(player, "commands.no-shop");
+            return;
+        }
+
+        List<TradeRecord> history = plugin.getTradeJournal().getShopHistory(shop.getId(), player.getUniqueId());
+        if (history.isEmpty()) {
+            messages.send(player, "history.empty");
+            return;
+        }
+
+        messages.send(player, "history.header", "shop", shop.getId());
+        long now = System.currentTimeMillis();
+        for (TradeRecord trade : history.subList(0, Math.min(10, history.size()))) {
+            String action = messages.get(trade.isSellMode() ? "history.sold-to-you" : "history.bought-from-you");
+            String sign = trade.isSellMode() ? "§c-" : "§a+";
+            messages.send(player, "history.entry", "time", formatTimeAgo(now - trade.getTimestamp()),
+                    "customer", trade.getCustomerName(), "action", action, "amount", String.valueOf(trade.getItemAmount()),
+                    "item", trade.getItemName(), "total", sign + trade.getTotal());
+        }
+        if (history.size() > 10) {
+            messages.send(player, "history.more", "count", String.valueOf(history.size() - 10));
+        }
+        messages.send(player, "commands.footer");
+    }
+
+    private void handleFindCommand(Player player, String[] args) {
+        if (args.length < 2) {
+            messages.send(player, "commands.usage.find");
+            return;
+        }
+
+        MarketIndex index = plugin.getCommerceManager().getMarketIndex();
+        List<MarketIndex.Listing> sellers;
+        List<MarketIndex.Listing> buyers;
+        String title;
+
+        if ("main".equalsIgnoreCase(args[1]) || "hand".equalsIgnoreCase(args[1])) {
+            // Recherche exacte de l'item tenu (nom et lore compris)
+            ItemStack held = player.getInventory().getItemInMainHand();
+            if (held.getType() == Material.AIR) {
+                messages.send(player, "find.no-item-in-hand");
+                return;
+            }
+
+            String itemKey = ChestShop.computeItemKey(held);
+            sellers = index.findSellers(itemKey, 45);
+            buyers = index.findBuyers(itemKey, 45);
+            title = held.getType().name();
+        } else {
+            Material material = Material.matchMaterial(args[1]);
+            if (material == null || !material.isItem()) {
+                messages.send(player, "find.unknown-item", "item", args[1]);
+                return;
+            }
+
+            sellers = index.findSellers(material, 45);
+            buyers = index.findBuyers(material, 45);
+            title = material.name();
+        }
+
+        if (sellers.isEmpty() && buyers.isEmpty()) {
+            messages.send(player, "find.no-results");
+            return;
+        }
+
+        plugin.getShopGUI().openMarketSearchGUI(player, title, sellers, buyers);
+    }
+
+    private void handleStatsCommand(Player player, String[] args) {
+        Shop shop;
+        if (args.length >= 2 && player.hasPermission("playershops.admin")) {
+            shop = plugin.getShopManager().getShop(args[1]);
+            if (shop == null) {
+                messages.send(player, "commands.shop-not-found");
+                return;
+            }
+        } else {
+            shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
+            if (shop == null) {
+                messages.send(player, "commands.no-shop");
+                return;
+            }
+        }
+
+        SalesAnalyticsManager analytics = plugin.getSalesAnalyticsManager();
+
+        messages.send(player, "stats.header", "shop", shop.getId());
+        for (SalesAnalyticsManager.Period period : SalesAnalyticsManager.Period.values()) {
+            SalesTimeSeries.Totals totals = analytics.getShopTotals(shop.getId(), period);
+            messages.send(player, "stats.period", "period", period.getDisplayName(), "trades", String.valueOf(totals.getTrades()));
+            messages.send(player, "stats.totals", "revenue", String.valueOf(totals.getRevenue()),
+                    "sold", String.valueOf(totals.getItemsSold()), "spent", String.valueOf(totals.getSpent()),
+                    "bought", String.valueOf(totals.getItemsBought()));
+        }
+
+        List<SalesAnalyticsManager.ItemStats> topItems = analytics.getTopItems(shop.getId(), SalesAnalyticsManager.Period.WEEK, 5);
+        if (!topItems.isEmpty()) {
+            messages.send(player, "stats.top-items");
+            int rank = 1;
+            for (SalesAnalyticsManager.ItemStats item : topItems) {
+                SalesTimeSeries.Totals totals = item.getTotals();
+                messages.send(player, "stats.top-item", "rank", String.valueOf(rank++), "item", item.getName(),
+                        "volume", String.valueOf(totals.getVolume()), "total", String.valueOf(totals.getRevenue() + totals.getSpent()));
+            }
+        }
+        messages.send(player, "commands.footer");
+    }
+
+    private String formatTimeAgo(long millisAgo) {
+        long minutes = millisAgo / 60000;
+        long hours = minutes / 60;
+        long days = hours / 24;
+
+        if (days > 0) {
+            return "il y a " + days + "j";
+        } else if (hours > 0) {
+            return "il y a " + hours + "h";
+        } else if (minutes > 0) {
+            return "il y a " + minutes + "m";
+        } else {
+            return "à l'instant";
+        }
+    }
+
     private void handleZoneCommand(Player player, String[] args) {
         if (args.length < 2) {
             sendZoneHelp(player);
@@ -440,98 +591,91 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     private void handleZoneInfoCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cZone de votre shop introuvable!");
+            messages.send(player, "zone.not-found");
             return;
         }
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬ ZONE INFO ▬▬▬▬▬▬▬");
-        player.sendMessage("§7ID de zone: §e" + zone.getId());
-        player.sendMessage("§7Monde: §e" + zone.getWorldName());
-        player.sendMessage("§7Beacons: §e" + zone.getBeaconCount());
-        player.sendMessage("§7Blocs totaux: §e" + zone.getBlockCount());
+        messages.send(player, "zone.info.header");
+        messages.send(player, "zone.info.id", "zone", zone.getId());
+        messages.send(player, "zone.info.world", "world", zone.getWorldName());
+        messages.send(player, "shop-info.beacons", "beacons", String.valueOf(zone.getBeaconCount()));
+        messages.send(player, "zone.info.blocks", "blocks", String.valueOf(zone.getBlockCount()));
 
         if (zone.getCenterLocation() != null) {
             var center = zone.getCenterLocation();
-            player.sendMessage("§7Centre: §e" + (int)center.getX() + ", " + (int)center.getY() + ", " + (int)center.getZ());
+            messages.send(player, "zone.info.center", "x", String.valueOf((int)center.getX()), "y", String.valueOf((int)center.getY()), "z", String.valueOf((int)center.getZ()));
         }
 
         if (zone.hasTeleportLocation()) {
             var teleport = zone.getRawTeleportLocation();
-            player.sendMessage("§7Téléportation: §a" + (int)teleport.getX() + ", " + (int)teleport.getY() + ", " + (int)teleport.getZ());
-            player.sendMessage("§7Orientation: §e" + zone.getTeleportYaw() + "° (yaw)");
+            messages.send(player, "zone.info.teleport", "x", String.valueOf((int)teleport.getX()), "y", String.valueOf((int)teleport.getY()), "z", String.valueOf((int)teleport.getZ()));
+            messages.send(player, "zone.info.yaw", "yaw", String.valueOf(zone.getTeleportYaw()));
         } else {
-            player.sendMessage("§7Téléportation: §cNon définie");
+            messages.send(player, "zone.info.no-teleport");
         }
 
         Zone.BoundingBox bounds = zone.getBoundingBox();
         if (bounds != null) {
-            player.sendMessage("§7Limites: §e(" + bounds.minX + "," + bounds.minY + "," + bounds.minZ + ") à (" + bounds.maxX + "," + bounds.maxY + "," + bounds.maxZ + ")");
+            messages.send(player, "zone.info.bounds", "min", bounds.minX + "," + bounds.minY + "," + bounds.minZ, "max", bounds.maxX + "," + bounds.maxY + "," + bounds.maxZ);
         }
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "commands.footer-short");
     }
 
     private void handleZoneTeleportCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cZone de votre shop introuvable!");
+            messages.send(player, "zone.not-found");
             return;
         }
 
-        if (zone.hasTeleportLocation()) {
-            player.teleport(zone.getTeleportLocation());
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au point de téléportation de votre zone!");
-        } else if (zone.getCenterLocation() != null) {
-            player.teleport(zone.getCenterLocation());
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au centre de votre zone!");
-        } else {
-            player.sendMessage("§c§lSHOP §8» §cImpossible de déterminer la position de téléportation!");
-        }
+        plugin.getTeleportManager().teleportToZone(player, zone, zone.hasTeleportLocation()
+                ? messages.get("zone.teleported-to-point")
+                : messages.get("zone.teleported-to-center"));
     }
 
     private void handleZoneCenterCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cZone de votre shop introuvable!");
+            messages.send(player, "zone.not-found");
             return;
         }
 
         if (zone.getCenterLocation() != null) {
-            player.teleport(zone.getCenterLocation());
-            player.sendMessage("§a§lSHOP §8» §aTéléporté au centre de votre zone!");
+            plugin.getTeleportManager().teleport(player, zone.getCenterLocation(), messages.get("zone.teleported-to-center"));
         } else {
-            player.sendMessage("§c§lSHOP §8» §cCentre de zone introuvable!");
+            messages.send(player, "zone.center-not-found");
         }
     }
 
     private void handleZoneSizeCommand(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cZone de votre shop introuvable!");
+            messages.send(player, "zone.not-found");
             return;
         }
 
@@ -541,79 +685,84 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             int height = bounds.maxY - bounds.minY + 1;
             int depth = bounds.maxZ - bounds.minZ + 1;
 
-            player.sendMessage("§6§lSHOP §8» §6Dimensions de votre zone:");
-            player.sendMessage("§7Largeur (X): §e" + width + " §7blocs");
-            player.sendMessage("§7Hauteur (Y): §e" + height + " §7blocs");
-            player.sendMessage("§7Profondeur (Z): §e" + depth + " §7blocs");
-            player.sendMessage("§7Volume total: §e" + (width * height * depth) + " §7blocs");
-            player.sendMessage("§7Beacons: §e" + zone.getBeaconCount());
+            messages.send(player, "zone.size.header");
+            messages.send(player, "zone.size.width", "width", String.valueOf(width));
+            messages.send(player, "zone.size.height", "height", String.valueOf(height));
+            messages.send(player, "zone.size.depth", "depth", String.valueOf(depth));
+            messages.send(player, "zone.size.volume", "volume", String.valueOf(width * height * depth));
+            messages.send(player, "shop-info.beacons", "beacons", String.valueOf(zone.getBeaconCount()));
         } else {
-            player.sendMessage("§c§lSHOP §8» §cImpossible de calculer les dimensions de la zone!");
+            messages.send(player, "zone.size.unavailable");
         }
     }
 
     private void toggleAdvertisement(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         if (shop.getAdvertisement() == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas d'annonce!");
+            messages.send(player, "commands.no-advertisement");
             return;
         }
 
         boolean newState = !shop.getAdvertisement().isActive();
         shop.getAdvertisement().setActive(newState);
 
-        player.sendMessage("§a§lSHOP §8» §aAnnonce " + (newState ? "activée" : "désactivée") + "!");
+        messages.send(player, "commands.advertisement-toggled", "state", newState ? "activée" : "désactivée");
+        plugin.getShopManager().shopChanged(shop);
         plugin.getShopManager().saveAll();
     }
 
     private void sendHelp(Player player) {
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬ SHOP HELP ▬▬▬▬▬▬▬▬▬▬▬");
-        player.sendMessage("§e/shop list §7- Liste tous les shops");
-        player.sendMessage("§e/shop claim §7- Revendiquer le shop où vous êtes");
-        player.sendMessage("§e/shop extend §7- Prolonger votre location");
-        player.sendMessage("§e/shop info §7- Informations sur votre shop");
-        player.sendMessage("§e/shop tp <joueur> §7- Se téléporter à un shop");
-        player.sendMessage("§e/shop member <add/remove> <joueur> §7- Gérer les membres");
-        player.sendMessage("§e/shop customize §7- Personnaliser votre shop");
-        player.sendMessage("§e/shop remove §7- Supprimer des éléments");
-        player.sendMessage("§e/shop ad §7- Gérer les annonces");
-        player.sendMessage("§e/shop boost §7- Booster votre annonce");
-        player.sendMessage("§e/shop zone §7- Informations sur votre zone");
-        player.sendMessage("§7§o(Pour créer un chest shop: clic droit sur un coffre avec un item, prix en coins)");
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "help.header");
+        messages.send(player, "help.list");
+        messages.send(player, "help.claim");
+        messages.send(player, "help.extend");
+        messages.send(player, "help.info");
+        messages.send(player, "help.tp");
+        messages.send(player, "help.member");
+        messages.send(player, "help.customize");
+        messages.send(player, "help.remove");
+        messages.send(player, "help.ad");
+        messages.send(player, "help.boost");
+        messages.send(player, "help.history");
+        messages.send(player, "help.stats");
+        messages.send(player, "help.find");
+        messages.send(player, "help.zone");
+        messages.send(player, "help.chest-shop-hint");
+        messages.send(player, "help.bulk-hint");
+        messages.send(player, "commands.footer");
     }
 
     private void sendCustomizeHelp(Player player) {
-        player.sendMessage("§6§l▬▬▬▬▬▬▬ SHOP CUSTOMIZE ▬▬▬▬▬▬▬");
-        player.sendMessage("§e/shop customize message <texte> §7- Message d'approche");
-        player.sendMessage("§e/shop customize text <texte> §7- Texte flottant (max 3)");
-        player.sendMessage("§e/shop customize npc <nom> §7- Ajouter un PNJ");
-        player.sendMessage("§7§oUtilisez § pour les codes couleur");
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "help.customize-menu.header");
+        messages.send(player, "help.customize-menu.message");
+        messages.send(player, "help.customize-menu.text");
+        messages.send(player, "help.customize-menu.npc");
+        messages.send(player, "help.customize-menu.colors");
+        messages.send(player, "commands.footer-short");
     }
 
     private void sendAdvertisementHelp(Player player) {
-        player.sendMessage("§6§l▬▬▬▬▬▬ SHOP ADVERTISEMENT ▬▬▬▬▬▬");
-        player.sendMessage("§e/shop ad create §7- Créer une annonce");
-        player.sendMessage("§e/shop ad edit §7- Modifier votre annonce");
-        player.sendMessage("§e/shop ad view §7- Voir toutes les annonces");
-        player.sendMessage("§e/shop ad toggle §7- Activer/désactiver votre annonce");
-        player.sendMessage("§e/shop boost §7- Booster votre annonce (1h)");
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "help.ad-menu.header");
+        messages.send(player, "help.ad-menu.create");
+        messages.send(player, "help.ad-menu.edit");
+        messages.send(player, "help.ad-menu.view");
+        messages.send(player, "help.ad-menu.toggle");
+        messages.send(player, "help.ad-menu.boost");
+        messages.send(player, "commands.footer-short");
     }
 
     private void sendZoneHelp(Player player) {
-        player.sendMessage("§6§l▬▬▬▬▬▬▬ SHOP ZONE ▬▬▬▬▬▬▬");
-        player.sendMessage("§e/shop zone info §7- Informations détaillées sur votre zone");
-        player.sendMessage("§e/shop zone tp §7- Se téléporter à votre zone");
-        player.sendMessage("§e/shop zone center §7- Aller au centre de votre zone");
-        player.sendMessage("§e/shop zone size §7- Voir les dimensions de votre zone");
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "help.zone-menu.header");
+        messages.send(player, "help.zone-menu.info");
+        messages.send(player, "help.zone-menu.tp");
+        messages.send(player, "help.zone-menu.center");
+        messages.send(player, "help.zone-menu.size");
+        messages.send(player, "commands.footer-short");
     }
 
     private String getStatusColor(Shop.ShopStatus status) {
@@ -658,7 +807,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("list", "claim", "extend", "info", "tp", "member", "customize", "remove", "ad", "boost", "zone", "help"));
+            completions.addAll(Arrays.asList("list", "claim", "extend", "info", "tp", "member", "customize", "remove", "ad", "boost", "history", "stats", "find", "zone", "help"));
         } else if (args.length == 2) {
             String subCommand = args[0].toLowerCase();
 
@@ -693,6 +842,18 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 case "zone":
                     completions.addAll(Arrays.asList("info", "tp", "center", "size"));
                     break;
+
+                case "find":
+                case "chercher":
+                    completions.add("main");
+                    if (!args[1].isEmpty()) {
+                        String prefix = args[1].toUpperCase();
+                        Arrays.stream(Material.values())
+                                .filter(material -> material.isItem() && !material.isLegacy() && material.name().startsWith(prefix))
+                                .limit(30)
+                                .forEach(material -> completions.add(material.name().toLowerCase()));
+                    }
+                    break;
             }
         } else if (args.length == 3) {
             String subCommand = args[0].toLowerCase();
@@ -706,6 +867,9 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
             } else if (("remove".equals(subCommand) || "supprimer".equals(subCommand)) &&
                     ("text".equals(action) || "texte".equals(action))) {
                 completions.addAll(Arrays.asList("1", "2", "3"));
+            } else if (("ad".equals(subCommand) || "annonce".equals(subCommand)) &&
+                    ("view".equals(action) || "voir".equals(action))) {
+                completions.addAll(plugin.getShopManager().getAdvertisementBoard().getCategories());
             }
         }
 
@@ -3,7 +3,9 @@ package fr.shop.data;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -18,6 +20,7 @@ public class ChestShop {
     private final long price;
     private final boolean sellMode; // true = vente, false = achat
     private final long createdAt;
+    private String itemKey;
 
     public ChestShop(Location chestLocation, UUID ownerId, String ownerName, ItemStack item, long price, boolean sellMode) {
         this.chestLocation = chestLocation;
@@ -133,6 +136,36 @@ public class ChestShop {
         return createdAt;
     }
 
+    /**
+     * Clé identifiant l'item vendu (type, nom et lore, sans la quantité)
+     */
+    public String getItemKey() {
+        if (itemKey == null) {
+            itemKey = computeItemKey(item);
+        }
+        return itemKey;
+    }
+
+    /**
+     * Calcule la clé d'un item: même clé = items considérés identiques par les chest shops
+     */
+    public static String computeItemKey(ItemStack item) {
+        String key = item.getType().name();
+        if (!item.hasItemMeta()) {
+            return key;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (!meta.hasDisplayName() && !meta.hasLore()) {
+            return key;
+        }
+
+        int hash = Objects.hash(
+                meta.hasDisplayName() ? meta.getDisplayName() : null,
+                meta.hasLore() ? meta.getLore() : null);
+        return key + "#" + Integer.toHexString(hash);
+    }
+
     // ===============================
     // MÉTHODES UTILITAIRES
     // ===============================
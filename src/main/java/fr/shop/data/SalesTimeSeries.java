@@ -0,0 +1,208 @@
+package fr.shop.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Série temporelle de ventes à taille fixe : buffers circulaires de buckets horaires et journaliers
+ * (les requêtes parcourent les buckets, jamais les transactions)
+ */
+public class SalesTimeSeries {
+
+    public static final long HOUR = 60 * 60 * 1000L;
+    public static final long DAY = 24 * HOUR;
+
+    private final Ring hours;
+    private final Ring days;
+
+    public SalesTimeSeries(int hourBuckets, int dayBuckets) {
+        this.hours = new Ring(hourBuckets, HOUR);
+        this.days = new Ring(dayBuckets, DAY);
+    }
+
+    /**
+     * Enregistre une transaction
+     *
+     * @param sellMode true = le shop achète au client (dépense), false = le shop vend (revenu)
+     */
+    public synchronized void record(long timestamp, long coins, int items, boolean sellMode) {
+        hours.record(timestamp, coins, items, sellMode);
+        days.record(timestamp, coins, items, sellMode);
+    }
+
+    /**
+     * Cumul sur les dernières heures (heure en cours incluse)
+     */
+    public synchronized void sumHours(long now, int count, Totals totals) {
+        hours.sum(now, count, totals);
+    }
+
+    /**
+     * Cumul sur les derniers jours (jour en cours inclus)
+     */
+    public synchronized void sumDays(long now, int count, Totals totals) {
+        days.sum(now, count, totals);
+    }
+
+    public synchronized boolean isEmpty(long now) {
+        return days.isEmpty(now);
+    }
+
+    // ===============================
+    // SÉRIALISATION
+    // ===============================
+
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        hours.writeTo(out);
+        days.writeTo(out);
+    }
+
+    public synchronized void readFrom(DataInput in) throws IOException {
+        hours.readFrom(in);
+        days.readFrom(in);
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Cumul de ventes sur une période
+     */
+    public static class Totals {
+        private long revenue;
+        private long spent;
+        private long itemsSold;
+        private long itemsBought;
+        private long trades;
+
+        public long getRevenue() { return revenue; }
+        public long getSpent() { return spent; }
+        public long getItemsSold() { return itemsSold; }
+        public long getItemsBought() { return itemsBought; }
+        public long getTrades() { return trades; }
+        public long getVolume() { return itemsSold + itemsBought; }
+    }
+
+    /**
+     * Buffer circulaire de buckets (un bucket = une période de durée fixe)
+     */
+    private static class Ring {
+        private final long duration;
+        private final long[] periods; // Numéro de période du bucket (-1 = vide)
+        private final long[] revenue;
+        private final long[] spent;
+        private final int[] itemsSold;
+        private final int[] itemsBought;
+        private final int[] trades;
+
+        Ring(int size, long duration) {
+            this.duration = duration;
+            this.periods = new long[size];
+            this.revenue = new long[size];
+            this.spent = new long[size];
+            this.itemsSold = new int[size];
+            this.itemsBought = new int[size];
+            this.trades = new int[size];
+            Arrays.fill(periods, -1);
+        }
+
+        private int slot(long period) {
+            return (int) Math.floorMod(period, (long) periods.length);
+        }
+
+        private int bucket(long period) {
+            int slot = slot(period);
+            if (periods[slot] != period) {
+                // Recycler le bucket de la période la plus ancienne
+                periods[slot] = period;
+                revenue[slot] = 0;
+                spent[slot] = 0;
+                itemsSold[slot] = 0;
+                itemsBought[slot] = 0;
+                trades[slot] = 0;
+            }
+            return slot;
+        }
+
+        void record(long timestamp, long coins, int items, boolean sellMode) {
+            long period = timestamp / duration;
+            int slot = bucket(period);
+            if (sellMode) {
+                spent[slot] += coins;
+                itemsBought[slot] += items;
+            } else {
+                revenue[slot] += coins;
+                itemsSold[slot] += items;
+            }
+            trades[slot]++;
+        }
+
+        void sum(long now, int count, Totals totals) {
+            long current = now / duration;
+            int limit = Math.min(count, periods.length);
+            for (int i = 0; i < limit; i++) {
+                long period = current - i;
+                int slot = slot(period);
+                if (periods[slot] != period) continue;
+
+                totals.revenue += revenue[slot];
+                totals.spent += spent[slot];
+                totals.itemsSold += itemsSold[slot];
+                totals.itemsBought += itemsBought[slot];
+                totals.trades += trades[slot];
+            }
+        }
+
+        boolean isEmpty(long now) {
+            long oldest = now / duration - periods.length;
+            for (long period : periods) {
+                if (period > oldest) return false;
+            }
+            return true;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            int used = 0;
+            for (long period : periods) {
+                if (period >= 0) used++;
+            }
+
+            // Seuls les buckets utilisés sont écrits
+            out.writeShort(used);
+            for (int slot = 0; slot < periods.length; slot++) {
+                if (periods[slot] < 0) continue;
+                out.writeInt((int) periods[slot]);
+                out.writeLong(revenue[slot]);
+                out.writeLong(spent[slot]);
+                out.writeInt(itemsSold[slot]);
+                out.writeInt(itemsBought[slot]);
+                out.writeInt(trades[slot]);
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            int used = in.readUnsignedShort();
+            for (int i = 0; i < used; i++) {
+                long period = in.readInt();
+                long bucketRevenue = in.readLong();
+                long bucketSpent = in.readLong();
+                int bucketSold = in.readInt();
+                int bucketBought = in.readInt();
+                int bucketTrades = in.readInt();
+
+                int slot = slot(period);
+                if (periods[slot] > period) continue; // Bucket plus récent déjà présent
+
+                periods[slot] = period;
+                revenue[slot] = bucketRevenue;
+                spent[slot] = bucketSpent;
+                itemsSold[slot] = bucketSold;
+                itemsBought[slot] = bucketBought;
+                trades[slot] = bucketTrades;
+            }
+        }
+    }
+}
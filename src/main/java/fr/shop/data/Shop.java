@@ -2,6 +2,7 @@ package fr.shop.data;
 
 import fr.shop.data.Zone;
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
 
@@ -22,9 +23,11 @@ public class Shop {
     private long graceExpiry;
     private Set<UUID> members;
     private String customMessage;
+    private transient String displayCustomMessage; // Couleurs traduites, recalculées après modification
     private List<FloatingText> floatingTexts;
     private boolean hasNPC;
     private String npcName;
+    private transient String displayNpcName;
     private Location npcLocation;
     private ShopAdvertisement advertisement;
     private long advertisementBoostExpiry;
@@ -297,6 +300,17 @@ public class Shop {
 
     public void setCustomMessage(String customMessage) {
         this.customMessage = customMessage;
+        this.displayCustomMessage = null;
+    }
+
+    /**
+     * Message personnalisé avec les codes couleur (&) traduits, null s'il n'y en a pas
+     */
+    public String getDisplayCustomMessage() {
+        if (displayCustomMessage == null && customMessage != null) {
+            displayCustomMessage = translateColors(customMessage);
+        }
+        return displayCustomMessage;
     }
 
     public List<FloatingText> getFloatingTexts() {
@@ -329,6 +343,21 @@ public class Shop {
 
     public void setNpcName(String npcName) {
         this.npcName = npcName;
+        this.displayNpcName = null;
+    }
+
+    /**
+     * Nom du PNJ avec les codes couleur (&) traduits, null s'il n'y en a pas
+     */
+    public String getDisplayNpcName() {
+        if (displayNpcName == null && npcName != null) {
+            displayNpcName = translateColors(npcName);
+        }
+        return displayNpcName;
+    }
+
+    private static String translateColors(String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
     }
 
     public Location getNpcLocation() {
@@ -494,6 +523,7 @@ public class Shop {
 
     public static class FloatingText {
         private String text;
+        private transient String displayText;
         private Location location;
 
         public FloatingText(String text, Location location) {
@@ -507,6 +537,17 @@ public class Shop {
 
         public void setText(String text) {
             this.text = text;
+            this.displayText = null;
+        }
+
+        /**
+         * Texte avec les codes couleur (&) traduits
+         */
+        public String getDisplayText() {
+            if (displayText == null && text != null) {
+                displayText = translateColors(text);
+            }
+            return displayText;
         }
 
         public Location getLocation() {
@@ -0,0 +1,189 @@
+package fr.shop.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Représente une transaction de chest shop (achat ou vente d'un ou plusieurs lots)
+ */
+public class TradeRecord {
+
+    private final long id;
+    private final long timestamp;
+    private final String shopId;
+    private final String world;
+    private final int x;
+    private final int y;
+    private final int z;
+    private final UUID ownerId;
+    private final UUID customerId;
+    private final String customerName;
+    private final String itemKey;
+    private final String itemName;
+    private final int lots;
+    private final int itemAmount;
+    private final long total;
+    private final boolean sellMode; // true = le client vend, false = le client achète
+
+    public TradeRecord(long id, long timestamp, String shopId, String world, int x, int y, int z,
+                       UUID ownerId, UUID customerId, String customerName,
+                       String itemKey, String itemName, int lots, int itemAmount, long total, boolean sellMode) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.shopId = shopId;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.ownerId = ownerId;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.itemKey = itemKey;
+        this.itemName = itemName;
+        this.lots = lots;
+        this.itemAmount = itemAmount;
+        this.total = total;
+        this.sellMode = sellMode;
+    }
+
+    // ===============================
+    // SÉRIALISATION
+    // ===============================
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(timestamp);
+        out.writeUTF(shopId);
+        out.writeUTF(world);
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(z);
+        out.writeLong(ownerId.getMostSignificantBits());
+        out.writeLong(ownerId.getLeastSignificantBits());
+        out.writeLong(customerId.getMostSignificantBits());
+        out.writeLong(customerId.getLeastSignificantBits());
+        out.writeUTF(customerName);
+        out.writeUTF(itemKey);
+        out.writeUTF(itemName);
+        out.writeInt(lots);
+        out.writeInt(itemAmount);
+        out.writeLong(total);
+        out.writeBoolean(sellMode);
+    }
+
+    public static TradeRecord readFrom(DataInput in) throws IOException {
+        return new TradeRecord(
+                in.readLong(),
+                in.readLong(),
+                in.readUTF(),
+                in.readUTF(),
+                in.readInt(),
+                in.readInt(),
+                in.readInt(),
+                new UUID(in.readLong(), in.readLong()),
+                new UUID(in.readLong(), in.readLong()),
+                in.readUTF(),
+                in.readUTF(),
+                in.readUTF(),
+                in.readInt(),
+                in.readInt(),
+                in.readLong(),
+                in.readBoolean());
+    }
+
+    // ===============================
+    // GETTERS
+    // ===============================
+
+    public long getId() {
+        return id;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getShopId() {
+        return shopId;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getItemKey() {
+        return itemKey;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getLots() {
+        return lots;
+    }
+
+    public int getItemAmount() {
+        return itemAmount;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isSellMode() {
+        return sellMode;
+    }
+
+    /**
+     * Joueur débité lors de la transaction
+     */
+    public UUID getPayerId() {
+        return sellMode ? ownerId : customerId;
+    }
+
+    /**
+     * Joueur crédité lors de la transaction
+     */
+    public UUID getPayeeId() {
+        return sellMode ? customerId : ownerId;
+    }
+
+    @Override
+    public String toString() {
+        return "TradeRecord{" +
+                "id=" + id +
+                ", shopId='" + shopId + '\'' +
+                ", customer=" + customerName +
+                ", item=" + itemKey + " x" + itemAmount +
+                ", total=" + total +
+                ", sellMode=" + sellMode +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package fr.shop.gui;
+
+import fr.shop.PlayerShops;
+import fr.shop.managers.RateLimiter;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+
+/**
+ * Distribue les clics de tous les menus {@link GuiView} du plugin
+ */
+public class GuiListener implements Listener {
+
+    private final PlayerShops plugin;
+
+    public GuiListener(PlayerShops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getView().getTopInventory().getHolder(false) instanceof GuiView view)) return;
+
+        // Aucun item ne doit entrer ni sortir d'un menu
+        event.setCancelled(true);
+
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+        if (event.getClickedInventory() != view.getInventory()) return;
+        if (!plugin.getRateLimiter().tryAcquire(player, RateLimiter.Action.GUI_CLICK)) return;
+
+        view.handleClick(player, event.getSlot(), event.getClick());
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getView().getTopInventory().getHolder(false) instanceof GuiView) {
+            event.setCancelled(true);
+        }
+    }
+}
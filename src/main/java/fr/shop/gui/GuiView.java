@@ -0,0 +1,91 @@
+package fr.shop.gui;
+
+import fr.shop.metrics.jfr.GuiOpenEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Menu dont chaque slot est lié à une action : le clic est distribué par index de slot,
+ * sans analyser le nom ni la lore des items
+ * La vue est le holder de son inventaire, elle est donc retrouvée directement depuis l'événement
+ * Sa construction et sa première ouverture forment un événement JFR d'ouverture de menu
+ */
+public class GuiView implements InventoryHolder {
+
+    @FunctionalInterface
+    public interface ClickAction {
+        void onClick(Player player, ClickType click);
+    }
+
+    private final Inventory inventory;
+    private final ClickAction[] actions;
+    private final String title;
+    private GuiOpenEvent openEvent;
+
+    public GuiView(int size, String title) {
+        this.openEvent = GuiOpenEvent.start();
+        this.inventory = Bukkit.createInventory(this, size, title);
+        this.actions = new ClickAction[size];
+        this.title = title;
+    }
+
+    // ===============================
+    // CONSTRUCTION
+    // ===============================
+
+    public void setItem(int slot, ItemStack item, ClickAction action) {
+        inventory.setItem(slot, item);
+        actions[slot] = action;
+    }
+
+    /**
+     * Item décoratif, sans action
+     */
+    public void setItem(int slot, ItemStack item) {
+        setItem(slot, item, null);
+    }
+
+    public void fill(int from, int to, Material material) {
+        ItemStack pane = new ItemStack(material);
+        ItemMeta meta = pane.getItemMeta();
+        meta.setDisplayName(" ");
+        pane.setItemMeta(meta);
+
+        for (int i = from; i < to; i++) {
+            setItem(i, pane);
+        }
+    }
+
+    public void open(Player player) {
+        // Une vue rouverte n'a plus de construction à mesurer
+        GuiOpenEvent event = openEvent != null ? openEvent : GuiOpenEvent.start();
+        openEvent = null;
+
+        player.openInventory(inventory);
+        event.complete(title, player.getName(), inventory.getSize());
+    }
+
+    // ===============================
+    // CLICS
+    // ===============================
+
+    void handleClick(Player player, int slot, ClickType click) {
+        if (slot < 0 || slot >= actions.length) return;
+
+        ClickAction action = actions[slot];
+        if (action != null) {
+            action.onClick(player, click);
+        }
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
@@ -5,16 +5,17 @@ import fr.shop.data.Shop;
 import fr.shop.data.ShopAdvertisement;
 import fr.shop.data.Zone;
 import fr.shop.hooks.PrisonTycoonHook;
+import fr.shop.managers.AdvertisementBoard;
+import fr.shop.managers.CommerceManager;
+import fr.shop.managers.MarketIndex;
+import fr.shop.managers.MessageManager;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
@@ -27,16 +28,24 @@ public class ShopGUI implements Listener {
 
     private final PlayerShops plugin;
     private final PrisonTycoonHook hook;
+    private final MessageManager messages;
 
-    // Tracking des GUIs ouverts
+    // Saisies en cours dans le chat (les menus portent leurs propres actions, voir GuiView)
     private final Map<UUID, GUIType> openGUIs;
     private final Map<UUID, Map<String, Object>> guiData;
 
+    // Liste des shops pré-rendue
+    private static final int SHOP_LIST_PAGE_SIZE = 45;
+    private static final int ADVERTISEMENT_PAGE_SIZE = 45;
+    private final ShopListCache shopListCache;
+
     public ShopGUI(PlayerShops plugin) {
         this.plugin = plugin;
         this.hook = plugin.getPrisonTycoonHook();
+        this.messages = plugin.getMessageManager();
         this.openGUIs = new HashMap<>();
         this.guiData = new HashMap<>();
+        this.shopListCache = new ShopListCache(plugin, this::createShopItem);
 
         // Enregistrer les listeners
         Bukkit.getPluginManager().registerEvents(this, plugin);
@@ -47,49 +56,44 @@ public class ShopGUI implements Listener {
     // ===============================
 
     public void openShopListGUI(Player player) {
-        Inventory inv = Bukkit.createInventory(null, 54, "§6§lListe des Shops");
-
-        List<Shop> allShops = new ArrayList<>(plugin.getShopManager().getAllShops());
+        openShopListGUI(player, 0);
+    }
 
-        // Trier les shops : disponibles en premier, puis par statut
-        allShops.sort((a, b) -> {
-            Shop.ShopStatus statusA = a.getStatus();
-            Shop.ShopStatus statusB = b.getStatus();
+    public void openShopListGUI(Player player, int page) {
+        int pageCount = shopListCache.getPageCount(SHOP_LIST_PAGE_SIZE);
+        int currentPage = Math.max(0, Math.min(page, pageCount - 1));
 
-            // Disponibles en premier
-            if (statusA == Shop.ShopStatus.AVAILABLE && statusB != Shop.ShopStatus.AVAILABLE) return -1;
-            if (statusA != Shop.ShopStatus.AVAILABLE && statusB == Shop.ShopStatus.AVAILABLE) return 1;
+        GuiView view = new GuiView(54, "§6§lListe des Shops" + (pageCount > 1 ? " §8(" + (currentPage + 1) + "/" + pageCount + ")" : ""));
 
-            // Puis par ordre de statut
-            return statusA.compareTo(statusB);
-        });
-
-        // Ajouter les shops (maximum 45 pour laisser de la place aux boutons)
+        // Items pré-rendus, déjà triés (disponibles en premier, puis par statut)
+        List<ShopListCache.Entry> entries = shopListCache.getPage(currentPage, SHOP_LIST_PAGE_SIZE);
         int slot = 0;
-        for (Shop shop : allShops) {
-            if (slot >= 45) break;
-
-            ItemStack item = createShopItem(shop);
-            inv.setItem(slot, item);
+        for (ShopListCache.Entry entry : entries) {
+            String shopId = entry.getShopId();
+            view.setItem(slot, entry.getItem(), (p, click) -> visitShop(p, shopId));
             slot++;
         }
 
         // Remplir les slots vides avec des panneaux de verre
-        for (int i = slot; i < 45; i++) {
-            ItemStack glass = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-            ItemMeta glassMeta = glass.getItemMeta();
-            glassMeta.setDisplayName(" ");
-            glass.setItemMeta(glassMeta);
-            inv.setItem(i, glass);
-        }
+        view.fill(slot, 45, Material.GRAY_STAINED_GLASS_PANE);
 
         // Ligne de séparation
-        for (int i = 45; i < 54; i++) {
-            ItemStack separator = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-            ItemMeta sepMeta = separator.getItemMeta();
-            sepMeta.setDisplayName(" ");
-            separator.setItemMeta(sepMeta);
-            inv.setItem(i, separator);
+        view.fill(45, 54, Material.BLACK_STAINED_GLASS_PANE);
+
+        // Pagination
+        if (currentPage > 0) {
+            ItemStack previousButton = new ItemStack(Material.ARROW);
+            ItemMeta previousMeta = previousButton.getItemMeta();
+            previousMeta.setDisplayName("§7§lPage précédente");
+            previousButton.setItemMeta(previousMeta);
+            view.setItem(45, previousButton, (p, click) -> openShopListGUI(p, currentPage - 1));
+        }
+        if (currentPage < pageCount - 1) {
+            ItemStack nextButton = new ItemStack(Material.ARROW);
+            ItemMeta nextMeta = nextButton.getItemMeta();
+            nextMeta.setDisplayName("§7§lPage suivante");
+            nextButton.setItemMeta(nextMeta);
+            view.setItem(53, nextButton, (p, click) -> openShopListGUI(p, currentPage + 1));
         }
 
         // Boutons de navigation
@@ -117,30 +121,30 @@ public class ShopGUI implements Listener {
             myShopMeta.setLore(Arrays.asList("§7Vous n'avez pas de shop"));
         }
         myShopButton.setItemMeta(myShopMeta);
-        inv.setItem(49, myShopButton);
+        view.setItem(49, myShopButton, this::handleMyShopClick);
 
         ItemStack adsButton = new ItemStack(Material.PAPER);
         ItemMeta adsMeta = adsButton.getItemMeta();
         adsMeta.setDisplayName("§e§lAnnonces");
         adsMeta.setLore(Arrays.asList("§7Cliquez pour voir les annonces"));
         adsButton.setItemMeta(adsMeta);
-        inv.setItem(48, adsButton);
+        view.setItem(48, adsButton, (p, click) -> openAdvertisementListGUI(p));
 
         ItemStack closeButton = new ItemStack(Material.BARRIER);
         ItemMeta closeMeta = closeButton.getItemMeta();
         closeMeta.setDisplayName("§c§lFermer");
         closeButton.setItemMeta(closeMeta);
-        inv.setItem(50, closeButton);
+        view.setItem(50, closeButton, (p, click) -> p.closeInventory());
 
         // Informations
         ItemStack infoButton = new ItemStack(Material.BOOK);
         ItemMeta infoMeta = infoButton.getItemMeta();
         infoMeta.setDisplayName("§b§lInformations");
         List<String> infoLore = new ArrayList<>();
-        infoLore.add("§7Total de shops: §e" + allShops.size());
-        infoLore.add("§7Disponibles: §a" + allShops.stream().mapToInt(s -> s.getStatus() == Shop.ShopStatus.AVAILABLE ? 1 : 0).sum());
-        infoLore.add("§7Loués: §e" + allShops.stream().mapToInt(s -> s.getStatus() == Shop.ShopStatus.RENTED ? 1 : 0).sum());
-        infoLore.add("§7En grâce: §6" + allShops.stream().mapToInt(s -> s.getStatus() == Shop.ShopStatus.GRACE_PERIOD ? 1 : 0).sum());
+        infoLore.add("§7Total de shops: §e" + shopListCache.getTotalCount());
+        infoLore.add("§7Disponibles: §a" + shopListCache.getStatusCount(Shop.ShopStatus.AVAILABLE));
+        infoLore.add("§7Loués: §e" + shopListCache.getStatusCount(Shop.ShopStatus.RENTED));
+        infoLore.add("§7En grâce: §6" + shopListCache.getStatusCount(Shop.ShopStatus.GRACE_PERIOD));
 
         // Statistiques des zones
         var zoneStats = plugin.getZoneManager().getStats();
@@ -149,10 +153,27 @@ public class ShopGUI implements Listener {
 
         infoMeta.setLore(infoLore);
         infoButton.setItemMeta(infoMeta);
-        inv.setItem(46, infoButton);
+        view.setItem(46, infoButton);
+
+        view.open(player);
+    }
+
+    /**
+     * Un shop a changé : son item de la liste sera re-rendu
+     */
+    public void invalidateShop(String shopId) {
+        shopListCache.invalidate(shopId);
+    }
 
-        openGUIs.put(player.getUniqueId(), GUIType.SHOP_LIST);
-        player.openInventory(inv);
+    public void invalidateAllShops() {
+        shopListCache.invalidateAll();
+    }
+
+    /**
+     * Statuts changés avec le temps : compteurs et ordre de la liste mis à jour
+     */
+    public void refreshShopStatuses() {
+        shopListCache.refreshStatuses();
     }
 
     // ===============================
@@ -160,36 +181,63 @@ public class ShopGUI implements Listener {
     // ===============================
 
     public void openAdvertisementListGUI(Player player) {
-        Inventory inv = Bukkit.createInventory(null, 54, "§e§lAnnonces des Shops");
+        openAdvertisementListGUI(player, null, 0);
+    }
 
-        List<Shop> shopsWithAds = plugin.getShopManager().getShopsWithAdvertisements();
+    /**
+     * @param category catégorie affichée, ou null pour toutes les annonces
+     */
+    public void openAdvertisementListGUI(Player player, String category, int page) {
+        AdvertisementBoard board = plugin.getShopManager().getAdvertisementBoard();
+        int pageCount = board.getPageCount(category, ADVERTISEMENT_PAGE_SIZE);
+        int currentPage = Math.max(0, Math.min(page, pageCount - 1));
 
-        int slot = 0;
-        for (Shop shop : shopsWithAds) {
-            if (slot >= 45) break;
+        GuiView view = new GuiView(54, "§e§lAnnonces des Shops" + (pageCount > 1 ? " §8(" + (currentPage + 1) + "/" + pageCount + ")" : ""));
 
-            ItemStack item = createAdvertisementItem(shop);
-            inv.setItem(slot, item);
+        int slot = 0;
+        for (Shop shop : board.getPage(category, currentPage, ADVERTISEMENT_PAGE_SIZE)) {
+            String shopId = shop.getId();
+            view.setItem(slot, createAdvertisementItem(shop), (p, click) -> visitShop(p, shopId));
             slot++;
         }
 
         // Remplir les slots vides
-        for (int i = slot; i < 45; i++) {
-            ItemStack glass = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-            ItemMeta glassMeta = glass.getItemMeta();
-            glassMeta.setDisplayName(" ");
-            glass.setItemMeta(glassMeta);
-            inv.setItem(i, glass);
-        }
+        view.fill(slot, 45, Material.GRAY_STAINED_GLASS_PANE);
 
         // Ligne de séparation
-        for (int i = 45; i < 54; i++) {
-            ItemStack separator = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-            ItemMeta sepMeta = separator.getItemMeta();
-            sepMeta.setDisplayName(" ");
-            separator.setItemMeta(sepMeta);
-            inv.setItem(i, separator);
-        }
+        view.fill(45, 54, Material.BLACK_STAINED_GLASS_PANE);
+
+        // Pagination
+        if (currentPage > 0) {
+            ItemStack previousButton = new ItemStack(Material.ARROW);
+            ItemMeta previousMeta = previousButton.getItemMeta();
+            previousMeta.setDisplayName("§7§lPage précédente");
+            previousButton.setItemMeta(previousMeta);
+            view.setItem(45, previousButton, (p, click) -> openAdvertisementListGUI(p, category, currentPage - 1));
+        }
+        if (currentPage < pageCount - 1) {
+            ItemStack nextButton = new ItemStack(Material.ARROW);
+            ItemMeta nextMeta = nextButton.getItemMeta();
+            nextMeta.setDisplayName("§7§lPage suivante");
+            nextButton.setItemMeta(nextMeta);
+            view.setItem(53, nextButton, (p, click) -> openAdvertisementListGUI(p, category, currentPage + 1));
+        }
+
+        // Filtre par catégorie (clic : catégorie suivante, puis retour à toutes)
+        List<String> categories = board.getCategories();
+        int categoryIndex = category != null ? categories.indexOf(category.toLowerCase(Locale.ROOT)) : -1;
+        String nextCategory = categoryIndex + 1 < categories.size() ? categories.get(categoryIndex + 1) : null;
+
+        ItemStack filterButton = new ItemStack(Material.HOPPER);
+        ItemMeta filterMeta = filterButton.getItemMeta();
+        filterMeta.setDisplayName("§b§lCatégorie");
+        filterMeta.setLore(Arrays.asList(
+                "§7Affichée: §f" + (category != null ? category : "Toutes"),
+                "§7Annonces: §e" + board.getCount(category),
+                "§7Cliquez pour: §f" + (nextCategory != null ? nextCategory : "Toutes")
+        ));
+        filterButton.setItemMeta(filterMeta);
+        view.setItem(46, filterButton, (p, click) -> openAdvertisementListGUI(p, nextCategory, 0));
 
         // Boutons
         ItemStack createAdButton = new ItemStack(Material.WRITABLE_BOOK);
@@ -197,22 +245,21 @@ public class ShopGUI implements Listener {
         createMeta.setDisplayName("§a§lCréer une Annonce");
         createMeta.setLore(Arrays.asList("§7Cliquez pour créer votre annonce"));
         createAdButton.setItemMeta(createMeta);
-        inv.setItem(48, createAdButton);
+        view.setItem(48, createAdButton, (p, click) -> openCreateAdvertisementGUI(p));
 
         ItemStack backButton = new ItemStack(Material.ARROW);
         ItemMeta backMeta = backButton.getItemMeta();
         backMeta.setDisplayName("§7§lRetour");
         backButton.setItemMeta(backMeta);
-        inv.setItem(49, backButton);
+        view.setItem(49, backButton, (p, click) -> openShopListGUI(p));
 
         ItemStack closeButton = new ItemStack(Material.BARRIER);
         ItemMeta closeMeta = closeButton.getItemMeta();
         closeMeta.setDisplayName("§c§lFermer");
         closeButton.setItemMeta(closeMeta);
-        inv.setItem(50, closeButton);
+        view.setItem(50, closeButton, (p, click) -> p.closeInventory());
 
-        openGUIs.put(player.getUniqueId(), GUIType.ADVERTISEMENT_LIST);
-        player.openInventory(inv);
+        view.open(player);
     }
 
     // ===============================
@@ -222,18 +269,18 @@ public class ShopGUI implements Listener {
     public void openCreateAdvertisementGUI(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         if (shop.getAdvertisement() != null) {
-            player.sendMessage("§c§lSHOP §8» §cVous avez déjà une annonce! Utilisez §e/shop ad edit §cpour la modifier.");
+            messages.send(player, "advertisements.already-exists");
             return;
         }
 
         player.closeInventory();
-        player.sendMessage("§a§lSHOP §8» §aCréation d'annonce:");
-        player.sendMessage("§7§lSHOP §8» §7Tapez le titre de votre annonce §8(ou §ccancel §8pour annuler):");
+        messages.send(player, "advertisements.creation-header");
+        messages.send(player, "advertisements.title-prompt");
 
         Map<String, Object> data = new HashMap<>();
         data.put("step", "title");
@@ -250,16 +297,16 @@ public class ShopGUI implements Listener {
     public void openEditAdvertisementGUI(Player player) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "commands.no-shop");
             return;
         }
 
         if (shop.getAdvertisement() == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas d'annonce!");
+            messages.send(player, "commands.no-advertisement");
             return;
         }
 
-        Inventory inv = Bukkit.createInventory(null, 27, "§e§lModifier l'Annonce");
+        GuiView view = new GuiView(27, "§e§lModifier l'Annonce");
 
         // Titre
         ItemStack titleItem = new ItemStack(Material.NAME_TAG);
@@ -270,7 +317,7 @@ public class ShopGUI implements Listener {
                 "§7Cliquez pour modifier"
         ));
         titleItem.setItemMeta(titleMeta);
-        inv.setItem(10, titleItem);
+        view.setItem(10, titleItem, (p, click) -> startAdvertisementEdit(p, "edit_title", "§a§lSHOP §8» §aTapez le nouveau titre:"));
 
         // Description
         ItemStack descItem = new ItemStack(Material.BOOK);
@@ -281,7 +328,7 @@ public class ShopGUI implements Listener {
                 "§7Cliquez pour modifier"
         ));
         descItem.setItemMeta(descMeta);
-        inv.setItem(12, descItem);
+        view.setItem(12, descItem, (p, click) -> startAdvertisementEdit(p, "edit_description", "§a§lSHOP §8» §aTapez la nouvelle description:"));
 
         // Catégorie
         ItemStack catItem = new ItemStack(Material.BOOKSHELF);
@@ -292,7 +339,7 @@ public class ShopGUI implements Listener {
                 "§7Cliquez pour modifier"
         ));
         catItem.setItemMeta(catMeta);
-        inv.setItem(14, catItem);
+        view.setItem(14, catItem, (p, click) -> startAdvertisementEdit(p, "edit_category", "§a§lSHOP §8» §aTapez la nouvelle catégorie:"));
 
         // Toggle actif/inactif
         ItemStack toggleItem = new ItemStack(shop.getAdvertisement().isActive() ? Material.LIME_DYE : Material.GRAY_DYE);
@@ -303,184 +350,133 @@ public class ShopGUI implements Listener {
                 "§7Cliquez pour changer"
         ));
         toggleItem.setItemMeta(toggleMeta);
-        inv.setItem(16, toggleItem);
+        view.setItem(16, toggleItem, (p, click) -> toggleAdvertisement(p));
 
         // Retour
         ItemStack backButton = new ItemStack(Material.ARROW);
         ItemMeta backMeta = backButton.getItemMeta();
         backMeta.setDisplayName("§7§lRetour");
         backButton.setItemMeta(backMeta);
-        inv.setItem(22, backButton);
+        view.setItem(22, backButton, (p, click) -> openAdvertisementListGUI(p));
 
-        openGUIs.put(player.getUniqueId(), GUIType.EDIT_ADVERTISEMENT);
-        player.openInventory(inv);
+        view.open(player);
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) return;
-
-        Player player = (Player) event.getWhoClicked();
-        UUID playerId = player.getUniqueId();
+    // ===============================
+    // RECHERCHE DU MARCHÉ
+    // ===============================
 
-        if (!openGUIs.containsKey(playerId)) return;
+    /**
+     * Résultats de /shop find : vendeurs (moins chers d'abord) puis racheteurs (meilleure offre d'abord)
+     */
+    public void openMarketSearchGUI(Player player, String title, List<MarketIndex.Listing> sellers, List<MarketIndex.Listing> buyers) {
+        GuiView view = new GuiView(54, "§6§lMarché: §e" + title);
 
-        event.setCancelled(true);
+        List<MarketIndex.Listing> results = new ArrayList<>(sellers);
+        results.addAll(buyers);
 
-        GUIType guiType = openGUIs.get(playerId);
-        ItemStack clicked = event.getCurrentItem();
+        int slot = 0;
+        for (MarketIndex.Listing listing : results) {
+            if (slot >= 45) break;
+            view.setItem(slot++, createListingItem(listing), (p, click) -> visitListing(p, listing));
+        }
 
-        if (clicked == null || clicked.getType() == Material.AIR) return;
+        // Remplir les slots vides
+        view.fill(slot, 45, Material.GRAY_STAINED_GLASS_PANE);
 
-        boolean rightClick = event.getClick().isRightClick();
+        // Ligne de séparation
+        view.fill(45, 54, Material.BLACK_STAINED_GLASS_PANE);
 
-        switch (guiType) {
-            case SHOP_LIST:
-                handleShopListClick(player, clicked, event.getSlot(), rightClick);
-                break;
+        ItemStack infoButton = new ItemStack(Material.BOOK);
+        ItemMeta infoMeta = infoButton.getItemMeta();
+        infoMeta.setDisplayName("§b§lRésultats");
+        infoMeta.setLore(Arrays.asList(
+                "§7Vendeurs: §e" + sellers.size(),
+                "§7Racheteurs: §e" + buyers.size(),
+                "§7Cliquez sur un coffre pour vous y téléporter"
+        ));
+        infoButton.setItemMeta(infoMeta);
+        view.setItem(48, infoButton);
 
-            case ADVERTISEMENT_LIST:
-                handleAdvertisementListClick(player, clicked, event.getSlot());
-                break;
+        ItemStack closeButton = new ItemStack(Material.BARRIER);
+        ItemMeta closeMeta = closeButton.getItemMeta();
+        closeMeta.setDisplayName("§c§lFermer");
+        closeButton.setItemMeta(closeMeta);
+        view.setItem(49, closeButton, (p, click) -> p.closeInventory());
 
-            case EDIT_ADVERTISEMENT:
-                handleEditAdvertisementClick(player, clicked, event.getSlot());
-                break;
-        }
+        view.open(player);
     }
 
     // ===============================
-    // GESTION DES CLICS (ADAPTÉE ZONES)
+    // ACTIONS DES MENUS
     // ===============================
 
-    private void handleShopListClick(Player player, ItemStack clicked, int slot, boolean rightClick) {
-        String displayName = clicked.getItemMeta().getDisplayName();
-
-        if (displayName.contains("§a§lMon Shop")) {
-            Shop playerShop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
-            if (playerShop != null) {
-                if (rightClick && (playerShop.getStatus() == Shop.ShopStatus.GRACE_PERIOD || playerShop.isRentExpired())) {
-                    // Prolonger le shop
-                    player.closeInventory();
-                    plugin.getShopManager().extendShopRent(player);
-                } else {
-                    // Téléporter au shop (utiliser la zone)
-                    player.closeInventory();
-                    teleportToShop(player, playerShop);
-                }
-            } else {
-                player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
-            }
-        } else if (displayName.contains("§e§lAnnonces")) {
-            openAdvertisementListGUI(player);
-        } else if (displayName.contains("§c§lFermer")) {
-            player.closeInventory();
-        } else if (clicked.getType() == Material.GRAY_STAINED_GLASS_PANE || clicked.getType() == Material.BLACK_STAINED_GLASS_PANE) {
-            // Ignorer les clics sur les panneaux de verre
+    private void handleMyShopClick(Player player, ClickType click) {
+        Shop playerShop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
+        if (playerShop == null) {
+            messages.send(player, "commands.no-shop");
             return;
-        } else if (slot < 45) {
-            // Clic sur un shop
-            Shop.ShopStatus status = getShopStatusFromItem(clicked);
-
-            if (status == Shop.ShopStatus.AVAILABLE) {
-                // Shop disponible - téléportation pour visiter
-                String shopId = extractShopIdFromLore(clicked);
-                if (shopId != null) {
-                    Shop shop = plugin.getShopManager().getShop(shopId);
-                    if (shop != null) {
-                        player.closeInventory();
-                        teleportToShop(player, shop);
-                        player.sendMessage("§a§lSHOP §8» §aTéléporté au shop §e" + shopId + "§a! Faites §e/shop claim §apour le revendiquer.");
-                    }
-                }
-            } else {
-                // Shop loué - téléportation
-                String ownerName = extractOwnerFromLore(clicked);
-                if (ownerName != null) {
-                    Shop shop = plugin.getShopManager().getAllShops().stream()
-                            .filter(s -> s.getOwnerName() != null && s.getOwnerName().equals(ownerName))
-                            .findFirst()
-                            .orElse(null);
-
-                    if (shop != null) {
-                        player.closeInventory();
-                        teleportToShop(player, shop);
-                        player.sendMessage("§a§lSHOP §8» §aTéléporté au shop de §e" + ownerName + "§a!");
-                    }
-                }
-            }
+        }
+
+        player.closeInventory();
+        if (click.isRightClick() && (playerShop.getStatus() == Shop.ShopStatus.GRACE_PERIOD || playerShop.isRentExpired())) {
+            // Prolonger le shop
+            plugin.getShopManager().extendShopRent(player);
+        } else {
+            // Téléporter au shop (utiliser la zone)
+            teleportToShop(player, playerShop, null);
         }
     }
 
-    private void handleAdvertisementListClick(Player player, ItemStack clicked, int slot) {
-        String displayName = clicked.getItemMeta().getDisplayName();
-
-        if (displayName.contains("§a§lCréer une Annonce")) {
-            openCreateAdvertisementGUI(player);
-        } else if (displayName.contains("§7§lRetour")) {
-            openShopListGUI(player);
-        } else if (displayName.contains("§c§lFermer")) {
-            player.closeInventory();
-        } else if (clicked.getType() == Material.GRAY_STAINED_GLASS_PANE || clicked.getType() == Material.BLACK_STAINED_GLASS_PANE) {
-            // Ignorer les clics sur les panneaux de verre
+    private void visitShop(Player player, String shopId) {
+        Shop shop = plugin.getShopManager().getShop(shopId);
+        if (shop == null) {
+            messages.send(player, "commands.shop-not-found");
             return;
-        } else if (slot < 45) {
-            // Clic sur une annonce - téléportation
-            String ownerName = extractOwnerFromLore(clicked);
-            if (ownerName != null) {
-                Shop shop = plugin.getShopManager().getAllShops().stream()
-                        .filter(s -> s.getOwnerName() != null && s.getOwnerName().equals(ownerName))
-                        .findFirst()
-                        .orElse(null);
-
-                if (shop != null) {
-                    player.closeInventory();
-                    teleportToShop(player, shop);
-                    player.sendMessage("§a§lSHOP §8» §aTéléporté au shop de §e" + ownerName + "§a!");
-                } else {
-                    player.sendMessage("§c§lSHOP §8» §cShop introuvable!");
-                }
-            }
         }
-    }
 
-    private void handleEditAdvertisementClick(Player player, ItemStack clicked, int slot) {
-        String displayName = clicked.getItemMeta().getDisplayName();
+        player.closeInventory();
 
-        if (displayName.contains("§7§lRetour")) {
-            openAdvertisementListGUI(player);
-            return;
+        if (shop.getStatus() == Shop.ShopStatus.AVAILABLE) {
+            teleportToShop(player, shop, "§a§lSHOP §8» §aTéléporté au shop §e" + shopId + "§a! Faites §e/shop claim §apour le revendiquer.");
+        } else {
+            teleportToShop(player, shop, "§a§lSHOP §8» §aTéléporté au shop de §e" + shop.getOwnerName() + "§a!");
         }
+    }
 
+    private void visitListing(Player player, MarketIndex.Listing listing) {
+        player.closeInventory();
+        plugin.getTeleportManager().teleport(player, listing.getChestLocation().clone().add(0.5, 1, 0.5),
+                "§a§lSHOP §8» §aTéléporté au chest shop de §e" + listing.getOwnerName() + "§a!");
+    }
+
+    private void startAdvertisementEdit(Player player, String step, String prompt) {
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null || shop.getAdvertisement() == null) return;
 
         player.closeInventory();
+        player.sendMessage(prompt);
 
         Map<String, Object> data = new HashMap<>();
         data.put("advertisement", shop.getAdvertisement());
-
-        if (displayName.contains("Modifier le Titre")) {
-            data.put("step", "edit_title");
-            player.sendMessage("§a§lSHOP §8» §aTapez le nouveau titre:");
-        } else if (displayName.contains("Modifier la Description")) {
-            data.put("step", "edit_description");
-            player.sendMessage("§a§lSHOP §8» §aTapez la nouvelle description:");
-        } else if (displayName.contains("Modifier la Catégorie")) {
-            data.put("step", "edit_category");
-            player.sendMessage("§a§lSHOP §8» §aTapez la nouvelle catégorie:");
-        } else if (displayName.contains("Activer/Désactiver")) {
-            boolean newState = !shop.getAdvertisement().isActive();
-            shop.getAdvertisement().setActive(newState);
-            player.sendMessage("§a§lSHOP §8» §aAnnonce " + (newState ? "activée" : "désactivée") + "!");
-            plugin.getShopManager().saveAll();
-            return;
-        }
+        data.put("step", step);
 
         openGUIs.put(player.getUniqueId(), GUIType.EDIT_ADVERTISEMENT);
         guiData.put(player.getUniqueId(), data);
     }
 
+    private void toggleAdvertisement(Player player) {
+        Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
+        if (shop == null || shop.getAdvertisement() == null) return;
+
+        player.closeInventory();
+        boolean newState = !shop.getAdvertisement().isActive();
+        shop.getAdvertisement().setActive(newState);
+        messages.send(player, "commands.advertisement-toggled", "state", newState ? "activée" : "désactivée");
+        plugin.getShopManager().shopChanged(shop);
+        plugin.getShopManager().saveAll();
+    }
+
     @EventHandler
     public void onPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
@@ -499,12 +495,12 @@ public class ShopGUI implements Listener {
         if (message.equalsIgnoreCase("cancel")) {
             openGUIs.remove(playerId);
             guiData.remove(playerId);
-            player.sendMessage("§c§lSHOP §8» §cAnnulé!");
+            messages.send(player, "advertisements.cancelled");
             return;
         }
 
-        // Traitement en sync
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
+        // Traitement sur le thread du joueur
+        plugin.getShopScheduler().runForEntity(player, () -> {
             handleChatInput(player, guiType, data, message);
         });
     }
@@ -529,13 +525,13 @@ public class ShopGUI implements Listener {
             case "title":
                 ad.setTitle(message);
                 data.put("step", "description");
-                player.sendMessage("§a§lSHOP §8» §aTitre défini! Tapez maintenant la description:");
+                messages.send(player, "advertisements.title-set");
                 break;
 
             case "description":
                 ad.setDescription(message);
                 data.put("step", "category");
-                player.sendMessage("§a§lSHOP §8» §aDescription définie! Tapez maintenant la catégorie:");
+                messages.send(player, "advertisements.description-set");
                 break;
 
             case "category":
@@ -545,10 +541,11 @@ public class ShopGUI implements Listener {
                 Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
                 if (shop != null) {
                     shop.setAdvertisement(ad);
+                    plugin.getShopManager().shopChanged(shop);
                     plugin.getShopManager().saveAll();
-                    player.sendMessage("§a§lSHOP §8» §aAnnonce créée avec succès!");
+                    messages.send(player, "advertisements.created");
                 } else {
-                    player.sendMessage("§c§lSHOP §8» §cErreur: Shop introuvable!");
+                    messages.send(player, "advertisements.shop-not-found");
                 }
 
                 openGUIs.remove(player.getUniqueId());
@@ -564,62 +561,42 @@ public class ShopGUI implements Listener {
         switch (step) {
             case "edit_title":
                 ad.setTitle(message);
-                player.sendMessage("§a§lSHOP §8» §aTitre modifié!");
+                messages.send(player, "advertisements.title-updated");
                 break;
 
             case "edit_description":
                 ad.setDescription(message);
-                player.sendMessage("§a§lSHOP §8» §aDescription modifiée!");
+                messages.send(player, "advertisements.description-updated");
                 break;
 
             case "edit_category":
                 ad.setCategory(message);
-                player.sendMessage("§a§lSHOP §8» §aCatégorie modifiée!");
+                messages.send(player, "advertisements.category-updated");
                 break;
         }
 
+        Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
+        if (shop != null) {
+            plugin.getShopManager().shopChanged(shop);
+        }
         plugin.getShopManager().saveAll();
         openGUIs.remove(player.getUniqueId());
         guiData.remove(player.getUniqueId());
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        Player player = (Player) event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Ne pas nettoyer si le joueur est en train de créer/modifier une annonce
-        if (openGUIs.containsKey(playerId)) {
-            GUIType type = openGUIs.get(playerId);
-            if (type != GUIType.CREATE_ADVERTISEMENT && type != GUIType.EDIT_ADVERTISEMENT) {
-                openGUIs.remove(playerId);
-                guiData.remove(playerId);
-            }
-        }
-    }
-
     // ===============================
     // TÉLÉPORTATION AVEC ZONES
     // ===============================
 
-    private void teleportToShop(Player player, Shop shop) {
+    private void teleportToShop(Player player, Shop shop, String successMessage) {
         Zone zone = shop.getZone(plugin.getZoneManager());
         if (zone == null) {
-            player.sendMessage("§c§lSHOP §8» §cErreur: Zone du shop introuvable!");
+            messages.send(player, "commands.shop-zone-not-found");
             return;
         }
 
-        // Utiliser la téléportation de la zone si disponible, sinon le centre
-        if (zone.hasTeleportLocation()) {
-            player.teleport(zone.getTeleportLocation());
-        } else if (zone.getCenterLocation() != null) {
-            Location centerLoc = zone.getCenterLocation();
-            // Ajuster la Y pour être au-dessus du sol
-            centerLoc.setY(centerLoc.getY() + 2);
-            player.teleport(centerLoc);
-        } else {
-            player.sendMessage("§c§lSHOP §8» §cImpossible de déterminer la position de téléportation!");
-        }
+        // Point de téléportation de la zone si disponible, sinon le centre (sol sûr le plus proche)
+        plugin.getTeleportManager().teleportToZone(player, zone, successMessage);
     }
 
     // ===============================
@@ -773,39 +750,35 @@ public class ShopGUI implements Listener {
         return item;
     }
 
-    private String extractShopIdFromLore(ItemStack item) {
-        if (item.getItemMeta() == null || item.getItemMeta().getLore() == null) return null;
+    private ItemStack createListingItem(MarketIndex.Listing listing) {
+        ItemStack item = listing.getItem();
+        ItemMeta meta = item.getItemMeta();
 
-        for (String line : item.getItemMeta().getLore()) {
-            if (line.startsWith("§8ID: ")) {
-                return line.replace("§8ID: ", "");
-            }
-        }
-        return null;
-    }
+        String itemName = meta.hasDisplayName() ? meta.getDisplayName() : listing.getMaterial().name();
+        meta.setDisplayName((listing.isSellMode() ? "§b§lRACHAT §8» §f" : "§a§lVENTE §8» §f") + itemName);
 
-    private String extractOwnerFromLore(ItemStack item) {
-        if (item.getItemMeta() == null || item.getItemMeta().getLore() == null) return null;
+        CommerceManager commerce = plugin.getCommerceManager();
+        List<String> lore = new ArrayList<>();
+        lore.add("§7Prix: §e" + commerce.formatPrice(listing.getPrice()) + " §7coins pour §e" + listing.getLotSize());
+        lore.add("§7Prix unitaire: §e" + String.format("%.2f", listing.getUnitPrice()) + " §7coins");
+        lore.add("§7Propriétaire: §e" + listing.getOwnerName());
 
-        for (String line : item.getItemMeta().getLore()) {
-            if (line.startsWith("§8Propriétaire: ")) {
-                return line.replace("§8Propriétaire: ", "");
-            }
+        if (listing.getAvailableLots() < 0) {
+            lore.add(listing.isSellMode() ? "§7Place: §8inconnue" : "§7Stock: §8inconnu");
+        } else {
+            lore.add((listing.isSellMode() ? "§7Place: §f" : "§7Stock: §f") + listing.getAvailableLots() + " lot(s)");
         }
-        return null;
-    }
 
-    private Shop.ShopStatus getShopStatusFromItem(ItemStack item) {
-        if (item.getType() == Material.EMERALD_BLOCK) {
-            return Shop.ShopStatus.AVAILABLE;
-        } else if (item.getType() == Material.GOLD_BLOCK) {
-            return Shop.ShopStatus.RENTED;
-        } else if (item.getType() == Material.ORANGE_TERRACOTTA) {
-            return Shop.ShopStatus.GRACE_PERIOD;
-        } else if (item.getType() == Material.RED_TERRACOTTA) {
-            return Shop.ShopStatus.EXPIRED;
+        if (!listing.getShopId().isEmpty()) {
+            lore.add("§7Shop: §f" + listing.getShopId());
         }
-        return Shop.ShopStatus.AVAILABLE;
+
+        lore.add("");
+        lore.add("§e§lClic pour visiter!");
+
+        meta.setLore(lore);
+        item.setItemMeta(meta);
+        return item;
     }
 
     private String getStatusColor(Shop.ShopStatus status) {
@@ -844,8 +817,6 @@ public class ShopGUI implements Listener {
     }
 
     private enum GUIType {
-        SHOP_LIST,
-        ADVERTISEMENT_LIST,
         CREATE_ADVERTISEMENT,
         EDIT_ADVERTISEMENT
     }
@@ -0,0 +1,208 @@
+package fr.shop.gui;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.Shop;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cache de la liste des shops : items pré-rendus par shop, vue triée (disponibles d'abord,
+ * puis par statut et par ID) et compteurs de statuts, tous mis à jour à la modification d'un shop
+ * Les items affichant un compte à rebours sont re-rendus au plus une fois par minute
+ * Méthodes synchronisées : invalidé depuis les modifications de shops, lu par les menus
+ */
+public class ShopListCache {
+
+    private static final long ITEM_TTL = 60 * 1000L;
+
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        int cmp = a.status.compareTo(b.status);
+        return cmp != 0 ? cmp : a.shopId.compareTo(b.shopId);
+    };
+
+    private final PlayerShops plugin;
+    private final Function<Shop, ItemStack> renderer;
+    private final Map<String, Entry> entries;
+    private final TreeSet<Entry> sorted;
+    private final EnumMap<Shop.ShopStatus, Integer> statusCounts;
+    private boolean built = false;
+
+    public ShopListCache(PlayerShops plugin, Function<Shop, ItemStack> renderer) {
+        this.plugin = plugin;
+        this.renderer = renderer;
+        this.entries = new HashMap<>();
+        this.sorted = new TreeSet<>(ORDER);
+        this.statusCounts = new EnumMap<>(Shop.ShopStatus.class);
+    }
+
+    // ===============================
+    // INVALIDATION
+    // ===============================
+
+    /**
+     * Un shop a changé : son statut (position, compteurs) est recalculé et son item sera re-rendu
+     */
+    public synchronized void invalidate(String shopId) {
+        if (!built) return;
+
+        Shop shop = plugin.getShopManager().getShop(shopId);
+        Entry entry = entries.get(shopId);
+
+        if (shop == null) {
+            if (entry != null) removeEntry(entry);
+            return;
+        }
+
+        if (entry == null) {
+            addEntry(shop);
+            return;
+        }
+
+        entry.item = null;
+        updateStatus(entry, shop.getStatus());
+    }
+
+    public synchronized void invalidateAll() {
+        built = false;
+    }
+
+    /**
+     * Repositionne les shops dont le statut a changé avec le temps (loué, en grâce, expiré) :
+     * appelé par la vérification des loyers pour garder les compteurs exacts sans réaffichage
+     */
+    public synchronized void refreshStatuses() {
+        if (!built) return;
+
+        List<Entry> moved = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            Shop shop = plugin.getShopManager().getShop(entry.shopId);
+            if (shop != null && shop.getStatus() != entry.status) {
+                moved.add(entry);
+            }
+        }
+
+        for (Entry entry : moved) {
+            Shop shop = plugin.getShopManager().getShop(entry.shopId);
+            entry.item = null;
+            updateStatus(entry, shop.getStatus());
+        }
+    }
+
+    // ===============================
+    // REQUÊTES
+    // ===============================
+
+    /**
+     * Entrées de la page demandée (45 par page), items rendus uniquement s'ils sont absents ou périmés
+     */
+    public synchronized List<Entry> getPage(int page, int pageSize) {
+        ensureBuilt();
+
+        long now = System.currentTimeMillis();
+        List<Entry> items = new ArrayList<>(pageSize);
+        List<Entry> moved = new ArrayList<>();
+
+        int skip = page * pageSize;
+        for (Entry entry : sorted) {
+            if (skip-- > 0) continue;
+            if (items.size() >= pageSize) break;
+
+            if (entry.item == null || now >= entry.expiresAt) {
+                Shop shop = plugin.getShopManager().getShop(entry.shopId);
+                if (shop == null) continue;
+
+                entry.item = renderer.apply(shop);
+                entry.expiresAt = now + ITEM_TTL;
+                if (shop.getStatus() != entry.status) {
+                    moved.add(entry);
+                }
+            }
+            items.add(entry);
+        }
+
+        // Statuts changés avec le temps : repositionnés après le parcours
+        for (Entry entry : moved) {
+            Shop shop = plugin.getShopManager().getShop(entry.shopId);
+            if (shop != null) updateStatus(entry, shop.getStatus());
+        }
+
+        return items;
+    }
+
+    public synchronized int getPageCount(int pageSize) {
+        ensureBuilt();
+        return Math.max(1, (sorted.size() + pageSize - 1) / pageSize);
+    }
+
+    public synchronized int getTotalCount() {
+        ensureBuilt();
+        return entries.size();
+    }
+
+    public synchronized int getStatusCount(Shop.ShopStatus status) {
+        ensureBuilt();
+        return statusCounts.getOrDefault(status, 0);
+    }
+
+    // ===============================
+    // MAINTENANCE
+    // ===============================
+
+    private void ensureBuilt() {
+        // Shops ajoutés ou supprimés en masse (resynchronisation des zones)
+        if (built && entries.size() == plugin.getShopManager().getShopCount()) return;
+
+        entries.clear();
+        sorted.clear();
+        statusCounts.clear();
+        for (Shop shop : plugin.getShopManager().getAllShops()) {
+            addEntry(shop);
+        }
+        built = true;
+    }
+
+    private void addEntry(Shop shop) {
+        Entry entry = new Entry(shop.getId(), shop.getStatus());
+        entries.put(entry.shopId, entry);
+        sorted.add(entry);
+        statusCounts.merge(entry.status, 1, Integer::sum);
+    }
+
+    private void removeEntry(Entry entry) {
+        entries.remove(entry.shopId);
+        sorted.remove(entry);
+        statusCounts.merge(entry.status, -1, Integer::sum);
+    }
+
+    private void updateStatus(Entry entry, Shop.ShopStatus status) {
+        if (entry.status == status) return;
+
+        sorted.remove(entry);
+        statusCounts.merge(entry.status, -1, Integer::sum);
+        entry.status = status;
+        sorted.add(entry);
+        statusCounts.merge(status, 1, Integer::sum);
+    }
+
+    public static class Entry {
+        private final String shopId;
+        private Shop.ShopStatus status;
+        private ItemStack item;
+        private long expiresAt;
+
+        Entry(String shopId, Shop.ShopStatus status) {
+            this.shopId = shopId;
+            this.status = status;
+        }
+
+        public String getShopId() {
+            return shopId;
+        }
+
+        public ItemStack getItem() {
+            return item;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package fr.shop.hooks;
+
+import java.util.UUID;
+
+/**
+ * Fournisseur d'économie (coins et beacons) derrière l'EconomyManager
+ */
+public interface EconomyProvider {
+
+    boolean isEnabled();
+
+    // ===============================
+    // COINS
+    // ===============================
+
+    long getCoins(UUID playerId);
+
+    boolean removeCoins(UUID playerId, long amount);
+
+    boolean addCoins(UUID playerId, long amount);
+
+    // ===============================
+    // BEACONS
+    // ===============================
+
+    long getBeacons(UUID playerId);
+
+    boolean removeBeacons(UUID playerId, long amount);
+
+    boolean addBeacons(UUID playerId, long amount);
+
+    // ===============================
+    // PROFESSIONS
+    // ===============================
+
+    boolean isMerchantLevel5Plus(UUID playerId);
+}
@@ -0,0 +1,96 @@
+package fr.shop.hooks;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Économie locale en mémoire, utilisée à la place de PrisonTycoon pour les tests de charge
+ * (les soldes ne sont pas sauvegardés)
+ */
+public class LocalEconomyProvider implements EconomyProvider {
+
+    private final Map<UUID, Long> coins = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> beacons = new ConcurrentHashMap<>();
+    private final long startingCoins;
+    private final long startingBeacons;
+
+    public LocalEconomyProvider(long startingCoins, long startingBeacons) {
+        this.startingCoins = startingCoins;
+        this.startingBeacons = startingBeacons;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    // ===============================
+    // COINS
+    // ===============================
+
+    @Override
+    public long getCoins(UUID playerId) {
+        return coins.getOrDefault(playerId, startingCoins);
+    }
+
+    @Override
+    public boolean removeCoins(UUID playerId, long amount) {
+        return withdraw(coins, playerId, startingCoins, amount);
+    }
+
+    @Override
+    public boolean addCoins(UUID playerId, long amount) {
+        return deposit(coins, playerId, startingCoins, amount);
+    }
+
+    // ===============================
+    // BEACONS
+    // ===============================
+
+    @Override
+    public long getBeacons(UUID playerId) {
+        return beacons.getOrDefault(playerId, startingBeacons);
+    }
+
+    @Override
+    public boolean removeBeacons(UUID playerId, long amount) {
+        return withdraw(beacons, playerId, startingBeacons, amount);
+    }
+
+    @Override
+    public boolean addBeacons(UUID playerId, long amount) {
+        return deposit(beacons, playerId, startingBeacons, amount);
+    }
+
+    @Override
+    public boolean isMerchantLevel5Plus(UUID playerId) {
+        return false;
+    }
+
+    // ===============================
+    // MÉTHODES UTILITAIRES
+    // ===============================
+
+    private boolean withdraw(Map<UUID, Long> balances, UUID playerId, long startingBalance, long amount) {
+        if (amount < 0) return false;
+
+        boolean[] success = {false};
+        balances.compute(playerId, (id, balance) -> {
+            long current = balance != null ? balance : startingBalance;
+            if (current < amount) {
+                return current;
+            }
+            success[0] = true;
+            return current - amount;
+        });
+        return success[0];
+    }
+
+    private boolean deposit(Map<UUID, Long> balances, UUID playerId, long startingBalance, long amount) {
+        if (amount < 0) return false;
+
+        balances.compute(playerId, (id, balance) -> (balance != null ? balance : startingBalance) + amount);
+        return true;
+    }
+}
@@ -9,7 +9,7 @@ import java.util.UUID;
 /**
  * Hook pour interfacer avec l'API PrisonTycoon
  */
-public class PrisonTycoonHook {
+public class PrisonTycoonHook implements EconomyProvider {
 
     private PrisonTycoonAPI api;
     private boolean enabled = false;
@@ -20,11 +20,13 @@ public class PrisonTycoonHook {
                 this.api = PrisonTycoonAPI.getInstance();
                 this.enabled = true;
             }
-        } catch (Exception e) {
+        } catch (Exception | LinkageError e) {
+            // PrisonTycoon absent (mode économie locale)
             this.enabled = false;
         }
     }
 
+    @Override
     public boolean isEnabled() {
         return enabled && api != null;
     }
@@ -33,6 +35,7 @@ public class PrisonTycoonHook {
     // MÉTHODES POUR LES COINS
     // ===============================
 
+    @Override
     public long getCoins(UUID playerId) {
         if (!isEnabled()) return 0;
         return api.getCoins(playerId);
@@ -48,6 +51,7 @@ public class PrisonTycoonHook {
         return api.hasCoins(playerId, amount);
     }
 
+    @Override
     public boolean removeCoins(UUID playerId, long amount) {
         if (!isEnabled()) return false;
         return api.removeCoins(playerId, amount);
@@ -58,6 +62,7 @@ public class PrisonTycoonHook {
         return api.removeCoins(player, amount);
     }
 
+    @Override
     public boolean addCoins(UUID playerId, long amount) {
         if (!isEnabled()) return false;
         return api.addCoins(playerId, amount);
@@ -72,6 +77,7 @@ public class PrisonTycoonHook {
     // MÉTHODES POUR LES BEACONS
     // ===============================
 
+    @Override
     public long getBeacons(UUID playerId) {
         if (!isEnabled()) return 0;
         return api.getBeacons(playerId);
@@ -87,6 +93,7 @@ public class PrisonTycoonHook {
         return api.hasBeacons(playerId, amount);
     }
 
+    @Override
     public boolean removeBeacons(UUID playerId, long amount) {
         if (!isEnabled()) return false;
         return api.removeBeacons(playerId, amount);
@@ -97,6 +104,7 @@ public class PrisonTycoonHook {
         return api.removeBeacons(player, amount);
     }
 
+    @Override
     public boolean addBeacons(UUID playerId, long amount) {
         if (!isEnabled()) return false;
         return api.addBeacons(playerId, amount);
@@ -124,6 +132,7 @@ public class PrisonTycoonHook {
     /**
      * Vérifie si un joueur est commerçant niveau 5+
      */
+    @Override
     public boolean isMerchantLevel5Plus(UUID playerId) {
         if (!isEnabled()) return false;
 
@@ -3,11 +3,15 @@ package fr.shop.listeners;
 import fr.shop.PlayerShops;
 import fr.shop.data.Shop;
 import fr.shop.managers.CommerceManager;
+import fr.shop.managers.MessageManager;
+import fr.shop.managers.RateLimiter;
 import fr.shop.managers.ShopManager;
 import fr.shop.managers.ZoneManager;
 import org.bukkit.Material;
+import org.bukkit.Tag;
 import org.bukkit.block.Block;
-import org.bukkit.block.Sign;
+import org.bukkit.block.Chest;
+import org.bukkit.block.DoubleChest;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -15,23 +19,32 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.function.Consumer;
+
 /**
  * Listeners pour gérer les interactions avec les shops basés sur les zones
  */
 public class ShopListeners implements Listener {
 
     private final PlayerShops plugin;
+    private final MessageManager messages;
     private final ShopManager shopManager;
     private final CommerceManager commerceManager;
     private final ZoneManager zoneManager;
 
     public ShopListeners(PlayerShops plugin) {
         this.plugin = plugin;
+        this.messages = plugin.getMessageManager();
         this.shopManager = plugin.getShopManager();
         this.commerceManager = plugin.getCommerceManager();
         this.zoneManager = plugin.getZoneManager();
@@ -43,6 +56,10 @@ public class ShopListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockPlace(BlockPlaceEvent event) {
+        plugin.getMetrics().time("listeners.block_place", () -> handleBlockPlace(event));
+    }
+
+    private void handleBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
@@ -54,11 +71,11 @@ public class ShopListeners implements Listener {
             if (shop != null) {
                 Shop.ShopStatus status = shop.getStatus();
                 if (status == Shop.ShopStatus.AVAILABLE) {
-                    player.sendMessage("§c§lSHOP §8» §cCe shop est libre! Utilisez §e/shop claim §cpour le revendiquer.");
+                    messages.send(player, "protection.shop-available");
                 } else if (status == Shop.ShopStatus.GRACE_PERIOD) {
-                    player.sendMessage("§c§lSHOP §8» §cCe shop est en période de grâce!");
+                    messages.send(player, "commands.grace-period");
                 } else {
-                    player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas construire ici!");
+                    messages.send(player, "protection.cannot-build");
                 }
             }
             return;
@@ -70,7 +87,7 @@ public class ShopListeners implements Listener {
             if (shop != null && shop.isMember(player.getUniqueId())) {
                 if (shop.hasBeacon()) {
                     event.setCancelled(true);
-                    player.sendMessage("§c§lSHOP §8» §cVous ne pouvez avoir qu'un seul Tank dans votre shop!");
+                    messages.send(player, "protection.one-tank-only");
                     return;
                 } else {
                     // Permettre la pose et enregistrer
@@ -82,6 +99,10 @@ public class ShopListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockBreak(BlockBreakEvent event) {
+        plugin.getMetrics().time("listeners.block_break", () -> handleBlockBreak(event));
+    }
+
+    private void handleBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
@@ -93,11 +114,11 @@ public class ShopListeners implements Listener {
             if (shop != null) {
                 Shop.ShopStatus status = shop.getStatus();
                 if (status == Shop.ShopStatus.AVAILABLE) {
-                    player.sendMessage("§c§lSHOP §8» §cCe shop est libre! Utilisez §e/shop claim §cpour le revendiquer.");
+                    messages.send(player, "protection.shop-available");
                 } else if (status == Shop.ShopStatus.GRACE_PERIOD) {
-                    player.sendMessage("§c§lSHOP §8» §cCe shop est en période de grâce!");
+                    messages.send(player, "commands.grace-period");
                 } else {
-                    player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas détruire ici!");
+                    messages.send(player, "protection.cannot-break");
                 }
             }
             return;
@@ -109,26 +130,26 @@ public class ShopListeners implements Listener {
                 Shop shop = shopManager.getShopAtLocation(block.getLocation());
                 if (shop != null && shop.isMember(player.getUniqueId())) {
                     commerceManager.removeChestShop(block.getLocation());
-                    player.sendMessage("§a§lSHOP §8» §aChest shop supprimé!");
+                    messages.send(player, "chest-shops.removed");
                 } else {
                     event.setCancelled(true);
-                    player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas détruire ce chest shop!");
+                    messages.send(player, "protection.cannot-break-chest-shop");
                 }
             }
         }
 
         // Gestion des panneaux de chest shop
-        if (block.getState() instanceof Sign) {
+        if (Tag.ALL_SIGNS.isTagged(block.getType())) {
             // Chercher un coffre adjacent
             Block adjacentChest = findAdjacentChest(block);
             if (adjacentChest != null && commerceManager.isChestShop(adjacentChest.getLocation())) {
                 Shop shop = shopManager.getShopAtLocation(adjacentChest.getLocation());
                 if (shop != null && shop.isMember(player.getUniqueId())) {
                     commerceManager.removeChestShop(adjacentChest.getLocation());
-                    player.sendMessage("§a§lSHOP §8» §aChest shop supprimé!");
+                    messages.send(player, "chest-shops.removed");
                 } else {
                     event.setCancelled(true);
-                    player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas détruire ce chest shop!");
+                    messages.send(player, "protection.cannot-break-chest-shop");
                 }
             }
         }
@@ -140,34 +161,50 @@ public class ShopListeners implements Listener {
 
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
+        plugin.getMetrics().time("listeners.interact", () -> handleInteract(event));
+    }
+
+    private void handleInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
         Block block = event.getClickedBlock();
 
         if (block == null) return;
 
         Action action = event.getAction();
+        if (action != Action.RIGHT_CLICK_BLOCK && action != Action.LEFT_CLICK_BLOCK) return;
+
+        // Tri par type de bloc : seuls les panneaux et les coffres concernent les shops
+        Material type = block.getType();
 
         // Gestion des chest shops
-        if (block.getState() instanceof Sign) {
-            if (action == Action.RIGHT_CLICK_BLOCK) {
-                event.setCancelled(true); // Empêcher la modification
-                commerceManager.handleChestShopInteraction(player, block, true);
-                return;
-            } else if (action == Action.LEFT_CLICK_BLOCK) {
-                // Clic gauche = interaction normale (achat/vente) ou modification (propriétaire)
-                event.setCancelled(true); // Empêcher la casse du panneau
-                commerceManager.handleChestShopInteraction(player, block, false);
+        if (Tag.ALL_SIGNS.isTagged(type)) {
+            // Clic droit = informations/suppression, clic gauche = achat/vente ou modification (propriétaire)
+            // Accroupi + clic gauche = achat/vente en gros
+            boolean rightClick = action == Action.RIGHT_CLICK_BLOCK;
+
+            // Autoclickers : seuls les clics sur un panneau de chest shop consomment un jeton,
+            // les clics en excès sont refusés avant toute lecture du panneau ou du coffre
+            boolean shopSign = commerceManager.isChestShopSign(block.getLocation());
+            if (shopSign && !plugin.getRateLimiter().tryAcquire(player, RateLimiter.Action.SIGN_TRADE)) {
+                event.setCancelled(true);
                 return;
             }
+
+            if (commerceManager.handleChestShopInteraction(player, block, rightClick, !rightClick && player.isSneaking())) {
+                event.setCancelled(true); // Empêcher la modification ou la casse du panneau
+            }
+            return;
         }
 
+        if (type != Material.CHEST) return;
+
         // Protection des coffres de chest shop contre l'ouverture directe
         if (action == Action.RIGHT_CLICK_BLOCK && block.getType() == Material.CHEST) {
             if (commerceManager.isChestShop(block.getLocation())) {
                 Shop shop = shopManager.getShopAtLocation(block.getLocation());
                 if (shop != null && !shop.isMember(player.getUniqueId())) {
                     event.setCancelled(true);
-                    player.sendMessage("§c§lSHOP §8» §cUtilisez le panneau pour interagir avec ce chest shop!");
+                    messages.send(player, "protection.use-sign");
                     return;
                 }
             }
@@ -203,13 +240,13 @@ public class ShopListeners implements Listener {
                 // Vérifier si c'est un chest shop
                 if (commerceManager.isChestShop(block.getLocation())) {
                     event.setCancelled(true);
-                    player.sendMessage("§c§lSHOP §8» §cUtilisez le panneau pour interagir avec ce chest shop!");
+                    messages.send(player, "protection.use-sign");
                 } else {
                     // Coffre normal dans un shop où le joueur n'a pas les permissions
                     Shop shop = shopManager.getShopAtLocation(block.getLocation());
                     if (shop != null && !shop.isMember(player.getUniqueId())) {
                         event.setCancelled(true);
-                        player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas ouvrir ce coffre!");
+                        messages.send(player, "protection.cannot-open-chest");
                     }
                 }
             }
@@ -222,6 +259,10 @@ public class ShopListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerChat(AsyncPlayerChatEvent event) {
+        plugin.getMetrics().time("listeners.chat", () -> handleChat(event));
+    }
+
+    private void handleChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
 
         // Gestion des créations de chest shop
@@ -229,7 +270,7 @@ public class ShopListeners implements Listener {
             event.setCancelled(true);
 
             String message = event.getMessage();
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getShopScheduler().runForEntity(player, () -> {
                 commerceManager.handlePriceInput(player, message);
             });
             return;
@@ -240,22 +281,97 @@ public class ShopListeners implements Listener {
             event.setCancelled(true);
 
             String message = event.getMessage();
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getShopScheduler().runForEntity(player, () -> {
                 commerceManager.handlePriceEdit(player, message);
             });
         }
     }
 
+    // ===============================
+    // STOCK DES CHEST SHOPS
+    // ===============================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        plugin.getMetrics().time("listeners.inventory_close", () -> handleInventoryClose(event));
+    }
+
+    private void handleInventoryClose(InventoryCloseEvent event) {
+        // Le propriétaire a pu réapprovisionner ou vider son coffre
+        forEachChest(event.getInventory().getHolder(false), location -> {
+            if (commerceManager.isChestShop(location)) {
+                commerceManager.refreshAvailability(location);
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        // Hoppers et droppers : recalcul différé, regroupé par coffre
+        forEachChest(event.getSource().getHolder(false), commerceManager::scheduleAvailabilityRefresh);
+        forEachChest(event.getDestination().getHolder(false), commerceManager::scheduleAvailabilityRefresh);
+    }
+
+    private void forEachChest(InventoryHolder holder, Consumer<org.bukkit.Location> action) {
+        if (holder instanceof Chest chest) {
+            action.accept(chest.getLocation());
+        } else if (holder instanceof DoubleChest doubleChest) {
+            if (doubleChest.getLeftSide(false) instanceof Chest left) {
+                action.accept(left.getLocation());
+            }
+            if (doubleChest.getRightSide(false) instanceof Chest right) {
+                action.accept(right.getLocation());
+            }
+        }
+    }
+
     // ===============================
     // NETTOYAGE
     // ===============================
 
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getMetrics().time("listeners.join", () -> handleJoin(event));
+    }
+
+    private void handleJoin(PlayerJoinEvent event) {
+        // Résumé des ventes faites pendant l'absence
+        plugin.getNotificationManager().handlePlayerJoin(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        // Appelé à chaque mouvement : les rotations et déplacements dans le même bloc sont ignorés d'abord
+        if (!event.hasChangedBlock()) return;
+
+        plugin.getTeleportManager().handlePlayerMove(event.getPlayer());
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getMetrics().time("listeners.quit", () -> handleQuit(event));
+    }
+
+    private void handleQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
         // Nettoyer les créations en attente
         commerceManager.clearPendingCreation(player.getUniqueId());
+
+        // Oublier les soldes en cache
+        plugin.getEconomyManager().invalidate(player.getUniqueId());
+
+        // Oublier la visibilité des textes flottants
+        plugin.getVisualManager().handlePlayerQuit(player.getUniqueId());
+
+        // Annuler une téléportation en attente
+        plugin.getTeleportManager().handlePlayerQuit(player.getUniqueId());
+
+        // Oublier l'état de proximité des shops
+        plugin.getShopManager().handlePlayerQuit(player.getUniqueId());
+
+        // Oublier les seaux de limitation
+        plugin.getRateLimiter().handlePlayerQuit(player.getUniqueId());
     }
 
     // ===============================
@@ -0,0 +1,183 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.Shop;
+
+import java.util.*;
+
+/**
+ * Tableau des annonces actives, trié (boostées d'abord, puis les plus récentes)
+ * Le classement et les catégories sont tenus à jour à chaque modification d'un shop,
+ * et les boosts expirés sont rétrogradés par une tâche périodique
+ * Les accès sont synchronisés : les shops peuvent être modifiés depuis plusieurs régions (Folia)
+ */
+public class AdvertisementBoard {
+
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        if (a.boosted != b.boosted) return a.boosted ? -1 : 1;
+        int cmp = Long.compare(b.createdAt, a.createdAt);
+        return cmp != 0 ? cmp : a.shopId.compareTo(b.shopId);
+    };
+
+    private static final Comparator<Entry> BOOST_EXPIRY = (a, b) -> {
+        int cmp = Long.compare(a.boostExpiry, b.boostExpiry);
+        return cmp != 0 ? cmp : a.shopId.compareTo(b.shopId);
+    };
+
+    private final PlayerShops plugin;
+    private final Map<String, Entry> entries;
+    private final TreeSet<Entry> ranked;
+    private final Map<String, TreeSet<Entry>> byCategory; // Catégorie (minuscules) -> annonces
+    private final TreeSet<Entry> boosts;                  // Annonces boostées, par fin de boost
+
+    public AdvertisementBoard(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.entries = new HashMap<>();
+        this.ranked = new TreeSet<>(RANKING);
+        this.byCategory = new TreeMap<>();
+        this.boosts = new TreeSet<>(BOOST_EXPIRY);
+
+        startBoostExpiryTask();
+    }
+
+    private void startBoostExpiryTask() {
+        plugin.getShopScheduler().runGlobalTimer(this::demoteExpiredBoosts, 20L, 20L);
+    }
+
+    // ===============================
+    // MISE À JOUR
+    // ===============================
+
+    /**
+     * Replace l'annonce d'un shop selon son état (créée, modifiée, activée, boostée ou retirée)
+     */
+    public synchronized void update(Shop shop) {
+        remove(shop.getId());
+
+        if (!shop.isRented() || shop.getAdvertisement() == null || !shop.getAdvertisement().isActive()) return;
+
+        Entry entry = new Entry(shop.getId(), shop.getAdvertisement().getCreatedAt(),
+                categoryKey(shop.getAdvertisement().getCategory()));
+        if (shop.isAdvertisementBoosted()) {
+            entry.boosted = true;
+            entry.boostExpiry = shop.getAdvertisementBoostExpiry();
+            boosts.add(entry);
+        }
+
+        entries.put(entry.shopId, entry);
+        ranked.add(entry);
+        byCategory.computeIfAbsent(entry.category, k -> new TreeSet<>(RANKING)).add(entry);
+    }
+
+    public synchronized void remove(String shopId) {
+        Entry entry = entries.remove(shopId);
+        if (entry == null) return;
+
+        ranked.remove(entry);
+        boosts.remove(entry);
+
+        TreeSet<Entry> bucket = byCategory.get(entry.category);
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                byCategory.remove(entry.category);
+            }
+        }
+    }
+
+    public synchronized void rebuild(Collection<Shop> shops) {
+        entries.clear();
+        ranked.clear();
+        byCategory.clear();
+        boosts.clear();
+
+        for (Shop shop : shops) {
+            update(shop);
+        }
+    }
+
+    private synchronized void demoteExpiredBoosts() {
+        long now = System.currentTimeMillis();
+
+        while (!boosts.isEmpty() && boosts.first().boostExpiry <= now) {
+            Entry entry = boosts.pollFirst();
+
+            // Retirée puis réinsérée : la clé de tri change
+            ranked.remove(entry);
+            TreeSet<Entry> bucket = byCategory.get(entry.category);
+            if (bucket != null) bucket.remove(entry);
+
+            entry.boosted = false;
+
+            ranked.add(entry);
+            if (bucket != null) bucket.add(entry);
+        }
+    }
+
+    // ===============================
+    // REQUÊTES
+    // ===============================
+
+    /**
+     * Shops de la page demandée, dans l'ordre du classement
+     *
+     * @param category catégorie à filtrer, ou null pour toutes les annonces
+     */
+    public synchronized List<Shop> getPage(String category, int page, int pageSize) {
+        List<Shop> result = new ArrayList<>(pageSize);
+
+        int skip = page * pageSize;
+        for (Entry entry : view(category)) {
+            if (skip-- > 0) continue;
+            if (result.size() >= pageSize) break;
+
+            Shop shop = plugin.getShopManager().getShop(entry.shopId);
+            if (shop != null) {
+                result.add(shop);
+            }
+        }
+        return result;
+    }
+
+    public List<Shop> getAll() {
+        return getPage(null, 0, ranked.size());
+    }
+
+    public synchronized int getCount(String category) {
+        return view(category).size();
+    }
+
+    public int getPageCount(String category, int pageSize) {
+        return Math.max(1, (getCount(category) + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Catégories ayant au moins une annonce active, triées par nom
+     */
+    public synchronized List<String> getCategories() {
+        return new ArrayList<>(byCategory.keySet());
+    }
+
+    private SortedSet<Entry> view(String category) {
+        if (category == null) return ranked;
+        return byCategory.getOrDefault(categoryKey(category), Collections.emptySortedSet());
+    }
+
+    private String categoryKey(String category) {
+        return category == null || category.isEmpty() ? "autre" : category.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final String shopId;
+        private final long createdAt;
+        private final String category;
+        private boolean boosted;
+        private long boostExpiry;
+
+        Entry(String shopId, long createdAt, String category) {
+            this.shopId = shopId;
+            this.createdAt = createdAt;
+            this.category = category;
+        }
+    }
+}
@@ -3,7 +3,10 @@ package fr.shop.managers;
 import fr.shop.PlayerShops;
 import fr.shop.data.ChestShop;
 import fr.shop.data.Shop;
+import fr.shop.data.TradeRecord;
 import fr.shop.hooks.PrisonTycoonHook;
+import fr.shop.metrics.MetricsRegistry;
+import fr.shop.metrics.jfr.ChestShopTradeEvent;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -11,6 +14,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.Chest;
@@ -23,23 +27,37 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Gestionnaire du système de commerce avec coffres et panneaux (adapté aux zones)
  */
 public class CommerceManager {
 
+    private static final long AVAILABILITY_REFRESH_DELAY = 20L; // 1 seconde
+
     private final PlayerShops plugin;
     private final PrisonTycoonHook hook;
+    private final EconomyManager economy;
+    private final MessageManager messages;
     private final ZoneManager zoneManager;
     private final Map<Location, ChestShop> chestShops;
+    private final Map<Location, Location> chestBySign; // Panneau -> coffre
+    private final MarketIndex marketIndex;
     private final Map<UUID, PendingShopCreation> pendingCreations;
     private final Map<UUID, PendingPriceEdit> pendingPriceEdits;
+    private final Map<Long, PendingTrade> pendingTrades; // Transactions en attente du journal
+    private final Set<Location> pendingRefreshes; // Coffres alimentés par hopper, stock à recalculer
 
     // Keys pour les métadonnées
     private final NamespacedKey chestShopKey;
@@ -51,10 +69,16 @@ public class CommerceManager {
     public CommerceManager(PlayerShops plugin) {
         this.plugin = plugin;
         this.hook = plugin.getPrisonTycoonHook();
+        this.economy = plugin.getEconomyManager();
+        this.messages = plugin.getMessageManager();
         this.zoneManager = plugin.getZoneManager();
         this.chestShops = new ConcurrentHashMap<>();
+        this.chestBySign = new ConcurrentHashMap<>();
+        this.marketIndex = new MarketIndex();
         this.pendingCreations = new ConcurrentHashMap<>();
         this.pendingPriceEdits = new ConcurrentHashMap<>();
+        this.pendingTrades = new ConcurrentHashMap<>();
+        this.pendingRefreshes = ConcurrentHashMap.newKeySet();
 
         // Initialiser les keys
         this.chestShopKey = new NamespacedKey(plugin, "chestshop");
@@ -107,13 +131,16 @@ public class CommerceManager {
         Block signBlock = findAdjacentSign(chestBlock);
         if (signBlock == null) return;
 
-        Sign sign = (Sign) signBlock.getState();
-        String[] lines = sign.getLines();
+        Sign sign = (Sign) signBlock.getState(false);
 
         try {
-            ChestShop chestShop = ChestShop.fromSignLines(lines, chestLocation);
+            // Les métadonnées du panneau font foi, les lignes ne servent qu'aux anciens panneaux
+            ChestShop chestShop = decodeChestShop(sign, chestLocation);
+            if (chestShop == null) {
+                chestShop = ChestShop.fromSignLines(sign.getLines(), chestLocation);
+            }
             if (chestShop != null) {
-                chestShops.put(chestLocation, chestShop);
+                registerChestShop(chestShop, signBlock.getLocation());
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Erreur lors du chargement du chest shop à " + chestLocation + ": " + e.getMessage());
@@ -125,36 +152,36 @@ public class CommerceManager {
      */
     public void startChestShopCreation(Player player, ItemStack item, Location chestLocation) {
         if (item == null || item.getType() == Material.AIR) {
-            player.sendMessage("§c§lSHOP §8» §cVous devez tenir un item valide!");
+            messages.send(player, "chest-shops.invalid-item");
             return;
         }
 
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "chest-shops.no-shop");
             return;
         }
 
         // Utiliser la nouvelle méthode avec ZoneManager
         if (!shop.containsLocation(chestLocation, zoneManager)) {
-            player.sendMessage("§c§lSHOP §8» §cCe coffre doit être dans votre shop!");
+            messages.send(player, "chest-shops.outside-shop");
             return;
         }
 
         if (chestShops.containsKey(chestLocation)) {
-            player.sendMessage("§c§lSHOP §8» §cCe coffre a déjà un chest shop!");
+            messages.send(player, "chest-shops.already-exists");
             return;
         }
 
         // Vérifier qu'il y a de la place pour un panneau
         if (findBestSignLocation(chestLocation.getBlock()) == null) {
-            player.sendMessage("§c§lSHOP §8» §cPas de place pour placer un panneau adjacent au coffre!");
+            messages.send(player, "chest-shops.no-sign-space");
             return;
         }
 
         // Vérifier si c'est une legendary pickaxe
         if (hook.isLegendaryPickaxe(item)) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne pouvez pas vendre une pioche légendaire!");
+            messages.send(player, "chest-shops.legendary-pickaxe");
             return;
         }
 
@@ -165,9 +192,9 @@ public class CommerceManager {
         // Afficher le nom de l'item avec couleurs si renommé
         String itemDisplay = getItemDisplayName(item);
 
-        player.sendMessage("§a§lSHOP §8» §aCoffre sélectionné pour: " + itemDisplay);
-        player.sendMessage("§7§lSHOP §8» §7Tapez maintenant le prix et mode:");
-        player.sendMessage("§e§lSHOP §8» §eFormat: <prix> [buy/sell] - Exemple: §f1000 buy §8(Tapez §ccancel §8pour annuler)");
+        messages.send(player, "chest-shops.chest-selected", "item", itemDisplay);
+        messages.send(player, "chest-shops.price-prompt");
+        messages.send(player, "chest-shops.price-format");
     }
 
     public void handlePriceInput(Player player, String input) {
@@ -176,14 +203,14 @@ public class CommerceManager {
 
         if (input.equalsIgnoreCase("cancel")) {
             pendingCreations.remove(player.getUniqueId());
-            player.sendMessage("§c§lSHOP §8» §cCréation de chest shop annulée!");
+            messages.send(player, "chest-shops.creation-cancelled");
             return;
         }
 
         // Vérifier que le coffre est toujours défini
         if (pending.getChestLocation() == null) {
             pendingCreations.remove(player.getUniqueId());
-            player.sendMessage("§c§lSHOP §8» §cErreur: Coffre non défini! Veuillez recommencer.");
+            messages.send(player, "chest-shops.chest-undefined");
             return;
         }
 
@@ -192,7 +219,7 @@ public class CommerceManager {
             long price = Long.parseLong(parts[0]);
 
             if (price <= 0) {
-                player.sendMessage("§c§lSHOP §8» §cLe prix doit être positif!");
+                messages.send(player, "chest-shops.price-not-positive");
                 return;
             }
 
@@ -207,7 +234,7 @@ public class CommerceManager {
             pendingCreations.remove(player.getUniqueId());
 
         } catch (NumberFormatException e) {
-            player.sendMessage("§c§lSHOP §8» §cFormat invalide! Utilisez: §e<prix en coins> [buy/sell]");
+            messages.send(player, "chest-shops.invalid-format");
         }
     }
 
@@ -220,21 +247,21 @@ public class CommerceManager {
 
         // Vérification de sécurité
         if (chestLoc == null) {
-            player.sendMessage("§c§lSHOP §8» §cErreur: Emplacement du coffre invalide!");
+            messages.send(player, "chest-shops.invalid-location");
             return;
         }
 
         Block chestBlock = chestLoc.getBlock();
 
         if (chestBlock.getType() != Material.CHEST) {
-            player.sendMessage("§c§lSHOP §8» §cErreur: Le bloc n'est plus un coffre!");
+            messages.send(player, "chest-shops.not-a-chest");
             return;
         }
 
         // Trouver le meilleur emplacement pour le panneau
         Location signLoc = findBestSignLocation(chestBlock);
         if (signLoc == null) {
-            player.sendMessage("§c§lSHOP §8» §cImpossible de placer le panneau!");
+            messages.send(player, "chest-shops.sign-failed");
             return;
         }
 
@@ -280,7 +307,7 @@ public class CommerceManager {
         sign.update();
 
         // Enregistrer le chest shop
-        chestShops.put(chestLoc, chestShop);
+        registerChestShop(chestShop, signLoc);
 
         // Ajouter à la liste du shop
         Shop shop = plugin.getShopManager().getPlayerShop(player.getUniqueId());
@@ -291,10 +318,10 @@ public class CommerceManager {
 
         String mode = pending.isSellMode() ? "vente" : "achat";
         String itemDisplay = getItemDisplayName(pending.getItem());
-        player.sendMessage("§a§lSHOP §8» §aChest shop de " + mode + " créé!");
-        player.sendMessage("§7§lSHOP §8» §7Item: " + itemDisplay + " §7x§f" + pending.getItem().getAmount());
-        player.sendMessage("§7§lSHOP §8» §7Prix: §e" + formatPrice(pending.getPrice()) + " §7coins");
-        player.sendMessage("§7§lSHOP §8» §7Clic gauche = modifier, Clic droit = supprimer");
+        messages.send(player, "chest-shops.created", "mode", mode);
+        messages.send(player, "chest-shops.item", "item", itemDisplay, "amount", String.valueOf(pending.getItem().getAmount()));
+        messages.send(player, "chest-shops.price", "price", formatPrice(pending.getPrice()));
+        messages.send(player, "chest-shops.owner-hint");
     }
 
     public void startPriceEdit(Player player, Block signBlock) {
@@ -309,7 +336,7 @@ public class CommerceManager {
             UUID ownerId = UUID.fromString(container.get(ownerKey, PersistentDataType.STRING));
 
             if (!player.getUniqueId().equals(ownerId)) {
-                player.sendMessage("§c§lSHOP §8» §cVous ne pouvez modifier que vos propres chest shops!");
+                messages.send(player, "chest-shops.not-owner");
                 return;
             }
 
@@ -318,7 +345,7 @@ public class CommerceManager {
 
             Block chestBlock = findAdjacentChest(signBlock);
             if (chestBlock == null) {
-                player.sendMessage("§c§lSHOP §8» §cErreur: Coffre introuvable!");
+                messages.send(player, "chest-shops.chest-not-found");
                 return;
             }
 
@@ -331,12 +358,12 @@ public class CommerceManager {
             pendingPriceEdits.put(player.getUniqueId(), pending);
 
             String mode = currentSellMode ? "vente" : "achat";
-            player.sendMessage("§a§lSHOP §8» §aModification du chest shop (§e" + mode + "§a):");
-            player.sendMessage("§7§lSHOP §8» §7Prix actuel: §e" + formatPrice(currentPrice) + " §7coins");
-            player.sendMessage("§7§lSHOP §8» §7Tapez le nouveau prix ou §eswitch §7pour changer le mode:");
+            messages.send(player, "chest-shops.edit-header", "mode", mode);
+            messages.send(player, "chest-shops.edit-current-price", "price", formatPrice(currentPrice));
+            messages.send(player, "chest-shops.edit-prompt");
 
         } catch (Exception e) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la lecture du chest shop!");
+            messages.send(player, "chest-shops.read-error");
         }
     }
 
@@ -346,7 +373,7 @@ public class CommerceManager {
 
         if (input.equalsIgnoreCase("cancel")) {
             pendingPriceEdits.remove(player.getUniqueId());
-            player.sendMessage("§c§lSHOP §8» §cModification annulée!");
+            messages.send(player, "chest-shops.edit-cancelled");
             return;
         }
 
@@ -357,7 +384,7 @@ public class CommerceManager {
             pendingPriceEdits.remove(player.getUniqueId());
 
             String newMode = pending.isSellMode() ? "vente" : "achat";
-            player.sendMessage("§a§lSHOP §8» §aMode changé en §e" + newMode + "§a!");
+            messages.send(player, "chest-shops.mode-switched", "mode", newMode);
             return;
         }
 
@@ -365,7 +392,7 @@ public class CommerceManager {
             long newPrice = Long.parseLong(input);
 
             if (newPrice <= 0) {
-                player.sendMessage("§c§lSHOP §8» §cLe prix doit être positif!");
+                messages.send(player, "chest-shops.price-not-positive");
                 return;
             }
 
@@ -373,10 +400,10 @@ public class CommerceManager {
             updateChestShopSign(pending);
             pendingPriceEdits.remove(player.getUniqueId());
 
-            player.sendMessage("§a§lSHOP §8» §aPrix modifié: §e" + formatPrice(newPrice) + " §7coins");
+            messages.send(player, "chest-shops.price-updated", "price", formatPrice(newPrice));
 
         } catch (NumberFormatException e) {
-            player.sendMessage("§c§lSHOP §8» §cPrix invalide! Utilisez §eswitch §cpour changer le mode ou tapez un prix en coins.");
+            messages.send(player, "chest-shops.invalid-price");
         }
     }
 
@@ -402,7 +429,7 @@ public class CommerceManager {
                     pending.isSellMode()
             );
 
-            chestShops.put(pending.getChestLocation(), updatedShop);
+            registerChestShop(updatedShop, pending.getSignLocation());
 
             // Mettre à jour le panneau
             String[] lines = updatedShop.toSignLines();
@@ -419,55 +446,40 @@ public class CommerceManager {
         }
     }
 
-    public void handleChestShopInteraction(Player player, Block signBlock, boolean rightClick) {
-        if (!(signBlock.getState() instanceof Sign)) return;
-
-        Sign sign = (Sign) signBlock.getState();
-        PersistentDataContainer container = sign.getPersistentDataContainer();
+    /**
+     * Gère un clic sur un panneau de chest shop
+     * bulk = true (accroupi) : achat/vente du maximum de lots possible en une seule transaction
+     *
+     * @return true si le panneau est celui d'un chest shop
+     */
+    public boolean handleChestShopInteraction(Player player, Block signBlock, boolean rightClick, boolean bulk) {
+        return plugin.getMetrics().time("commerce.trade", () -> interactWithChestShop(player, signBlock, rightClick, bulk));
+    }
 
-        if (!container.has(chestShopKey, PersistentDataType.STRING)) return;
+    private boolean interactWithChestShop(Player player, Block signBlock, boolean rightClick, boolean bulk) {
+        ChestShop chestShop = resolveChestShop(signBlock);
+        if (chestShop == null) return false;
 
         try {
-            UUID ownerId = UUID.fromString(container.get(ownerKey, PersistentDataType.STRING));
-            long price = container.get(priceKey, PersistentDataType.LONG);
-            boolean sellMode = container.getOrDefault(sellModeKey, PersistentDataType.BOOLEAN, false);
-            ItemStack item = itemFromString(container.get(itemKey, PersistentDataType.STRING));
-
-            if (item == null) {
-                player.sendMessage("§c§lSHOP §8» §cErreur: Item invalide!");
-                return;
-            }
-
-            // Trouver le coffre adjacent
-            Block chestBlock = findAdjacentChest(signBlock);
-            if (chestBlock == null) {
-                player.sendMessage("§c§lSHOP §8» §cErreur: Coffre introuvable!");
-                return;
-            }
-
-            ChestShop chestShop = chestShops.get(chestBlock.getLocation());
-            if (chestShop == null) {
-                player.sendMessage("§c§lSHOP §8» §cErreur: Chest shop invalide!");
-                return;
-            }
+            UUID ownerId = chestShop.getOwnerId();
+            boolean sellMode = chestShop.isSellMode();
 
             // Vérifier les permissions pour le shop (ADAPTÉE ZONES)
-            Shop shop = plugin.getShopManager().getShopAtLocation(chestBlock.getLocation());
+            Shop shop = plugin.getShopManager().getShopAtLocation(chestShop.getChestLocation());
             if (shop != null && !shop.isMember(player.getUniqueId()) && !player.getUniqueId().equals(ownerId)) {
                 // Seuls les membres du shop et le propriétaire peuvent interagir
                 if (rightClick) {
                     // Clic droit = voir les informations (autorisé pour tous)
                     showChestShopInfo(player, chestShop);
-                    return;
                 } else {
                     // Clic gauche = acheter/vendre (autorisé pour tous)
                     if (sellMode) {
-                        handleCustomerSell(player, chestShop);
+                        handleCustomerSell(player, chestShop, bulk);
                     } else {
-                        handleCustomerPurchase(player, chestShop);
+                        handleCustomerPurchase(player, chestShop, bulk);
                     }
-                    return;
                 }
+                return true;
             }
 
             if (player.getUniqueId().equals(ownerId)) {
@@ -487,20 +499,101 @@ public class CommerceManager {
                 } else {
                     // Clic gauche = acheter/vendre
                     if (sellMode) {
-                        handleCustomerSell(player, chestShop);
+                        handleCustomerSell(player, chestShop, bulk);
                     } else {
-                        handleCustomerPurchase(player, chestShop);
+                        handleCustomerPurchase(player, chestShop, bulk);
                     }
                 }
             }
 
         } catch (Exception e) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la lecture du chest shop!");
+            messages.send(player, "chest-shops.read-error");
+        }
+        return true;
+    }
+
+    // ===============================
+    // INDEX DES PANNEAUX
+    // ===============================
+
+    /**
+     * Retrouve le chest shop d'un panneau : d'abord via l'index des panneaux (aucun snapshot),
+     * sinon en lisant les métadonnées du panneau, qui est alors ajouté à l'index
+     */
+    private ChestShop resolveChestShop(Block signBlock) {
+        Location signLocation = signBlock.getLocation();
+        Location chestLocation = chestBySign.get(signLocation);
+        if (chestLocation != null) {
+            ChestShop chestShop = chestShops.get(chestLocation);
+            if (chestShop != null) {
+                return chestShop;
+            }
+            chestBySign.remove(signLocation);
+        }
+
+        if (!(signBlock.getState(false) instanceof Sign sign)) return null;
+        if (!sign.getPersistentDataContainer().has(chestShopKey, PersistentDataType.STRING)) return null;
+
+        Block chestBlock = findAdjacentChest(signBlock);
+        if (chestBlock == null) return null;
+
+        ChestShop chestShop = decodeChestShop(sign, chestBlock.getLocation());
+        if (chestShop == null) return null;
+
+        // Seuls les coffres enregistrés comme chest shop sont actifs
+        if (!chestShops.containsKey(chestShop.getChestLocation())) return null;
+
+        registerChestShop(chestShop, signLocation);
+        return chestShop;
+    }
+
+    /**
+     * Décode le chest shop stocké dans les métadonnées d'un panneau, null s'il est invalide
+     */
+    private ChestShop decodeChestShop(Sign sign, Location chestLocation) {
+        PersistentDataContainer container = sign.getPersistentDataContainer();
+        if (!container.has(chestShopKey, PersistentDataType.STRING)) return null;
+
+        try {
+            UUID ownerId = UUID.fromString(container.get(ownerKey, PersistentDataType.STRING));
+            Long price = container.get(priceKey, PersistentDataType.LONG);
+            boolean sellMode = container.getOrDefault(sellModeKey, PersistentDataType.BOOLEAN, false);
+            ItemStack item = itemFromString(container.get(itemKey, PersistentDataType.STRING));
+            if (price == null || item == null) return null;
+
+            String ownerName = Bukkit.getOfflinePlayer(ownerId).getName();
+            if (ownerName == null) {
+                ChestShop existing = chestShops.get(chestLocation);
+                ownerName = existing != null ? existing.getOwnerName() : sign.getLine(1).replace("§9", "").trim();
+            }
+
+            return new ChestShop(chestLocation, ownerId, ownerName, item, price, sellMode);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre (ou remplace) un chest shop et son panneau dans les index
+     */
+    private void registerChestShop(ChestShop chestShop, Location signLocation) {
+        chestShops.put(chestShop.getChestLocation(), chestShop);
+        if (signLocation != null) {
+            chestBySign.put(signLocation, chestShop.getChestLocation());
         }
+        indexChestShop(chestShop);
+    }
+
+    private void unindexSigns(Location chestLocation) {
+        chestBySign.values().removeIf(chestLocation::equals);
+    }
+
+    public boolean isChestShopSign(Location signLocation) {
+        return chestBySign.containsKey(signLocation);
     }
 
     private void handleOwnerDelete(Player owner, ChestShop chestShop, Block signBlock) {
-        owner.sendMessage("§a§lSHOP §8» §aChest shop supprimé!");
+        messages.send(owner, "chest-shops.removed");
 
         // Supprimer le panneau
         signBlock.setType(Material.AIR);
@@ -512,17 +605,18 @@ public class CommerceManager {
     private void showChestShopInfo(Player player, ChestShop chestShop) {
         String ownerName = chestShop.getOwnerName();
         String itemDisplay = getItemDisplayNameForInfo(chestShop.getItem());
-        String mode = chestShop.isSellMode() ? "§cVente" : "§aAchat";
+        String mode = messages.get(chestShop.isSellMode() ? "chest-shops.info.mode-sell" : "chest-shops.info.mode-buy");
         String priceFormatted = formatPrice(chestShop.getPrice());
+        String amount = String.valueOf(chestShop.getItem().getAmount());
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬ CHEST SHOP INFO ▬▬▬▬▬▬▬");
-        player.sendMessage("§7Propriétaire: §e" + ownerName);
-        player.sendMessage("§7Mode: " + mode);
-        player.sendMessage("§7Prix: §e" + priceFormatted + " §7coins");
+        messages.send(player, "chest-shops.info.header");
+        messages.send(player, "chest-shops.info.owner", "owner", ownerName);
+        messages.send(player, "chest-shops.info.mode", "mode", mode);
+        messages.send(player, "chest-shops.info.price", "price", priceFormatted);
 
         // Envoyer l'item avec hover pour la lore
         if (chestShop.getItem().hasItemMeta() && chestShop.getItem().getItemMeta().hasLore()) {
-            TextComponent itemComponent = new TextComponent("§7Item: " + itemDisplay + " §7x§f" + chestShop.getItem().getAmount() + " §8(Passez la souris)");
+            TextComponent itemComponent = new TextComponent(messages.format("chest-shops.info.item-hover", "item", itemDisplay, "amount", amount));
 
             StringBuilder hoverText = new StringBuilder();
             for (String lore : chestShop.getItem().getItemMeta().getLore()) {
@@ -533,21 +627,23 @@ public class CommerceManager {
             itemComponent.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new BaseComponent[]{new TextComponent(hoverText.toString())}));
             player.spigot().sendMessage(itemComponent);
         } else {
-            player.sendMessage("§7Item: " + itemDisplay + " §7x§f" + chestShop.getItem().getAmount());
+            messages.send(player, "chest-shops.info.item", "item", itemDisplay, "amount", amount);
         }
 
         if (chestShop.isSellMode()) {
-            player.sendMessage("§7§oVous pouvez vendre vos items ici");
+            messages.send(player, "chest-shops.info.sell-hint");
+            messages.send(player, "chest-shops.info.bulk-sell-hint");
         } else {
-            player.sendMessage("§7§oVous pouvez acheter des items ici");
+            messages.send(player, "chest-shops.info.buy-hint");
+            messages.send(player, "chest-shops.info.bulk-buy-hint");
         }
 
         // Vérifier le stock
         Chest chest = (Chest) chestShop.getChestLocation().getBlock().getState();
         int stock = countItems(chest.getInventory(), chestShop.getItem());
-        player.sendMessage("§7Stock disponible: §a" + stock + " §7items");
+        messages.send(player, "chest-shops.info.stock", "stock", String.valueOf(stock));
 
-        player.sendMessage("§6§l▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
+        messages.send(player, "chest-shops.info.footer");
     }
 
     private void handleOwnerInteraction(Player owner, ChestShop chestShop) {
@@ -558,57 +654,128 @@ public class CommerceManager {
         String mode = chestShop.isSellMode() ? "vente" : "achat";
         String itemDisplay = getItemDisplayNameForInfo(chestShop.getItem());
 
-        owner.sendMessage("§6§lSHOP §8» §6Informations sur votre chest shop (§e" + mode + "§6):");
-        owner.sendMessage("§7§lSHOP §8» §7Item: " + itemDisplay + " §7x§f" + chestShop.getItem().getAmount());
-        owner.sendMessage("§7§lSHOP §8» §7Prix: §e" + formatPrice(chestShop.getPrice()) + " §7coins");
-        owner.sendMessage("§7§lSHOP §8» §7Stock: §a" + stock + " §7items");
-        owner.sendMessage("§7§lSHOP §8» §7Clic gauche = modifier, Clic droit = supprimer");
+        messages.send(owner, "chest-shops.owner-info", "mode", mode);
+        messages.send(owner, "chest-shops.item", "item", itemDisplay, "amount", String.valueOf(chestShop.getItem().getAmount()));
+        messages.send(owner, "chest-shops.price", "price", formatPrice(chestShop.getPrice()));
+        messages.send(owner, "chest-shops.stock", "stock", String.valueOf(stock));
+        messages.send(owner, "chest-shops.owner-hint");
     }
 
-    private void handleCustomerPurchase(Player customer, ChestShop chestShop) {
-        if (!hook.hasCoins(customer.getUniqueId(), chestShop.getPrice())) {
-            customer.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de coins! §7(§e" + chestShop.getPrice() + " §7requis)");
+    private void handleCustomerPurchase(Player customer, ChestShop chestShop, boolean bulk) {
+        ChestShopTradeEvent event = ChestShopTradeEvent.start();
+        ItemStack lot = chestShop.getItem();
+        int lotSize = lot.getAmount();
+        long price = chestShop.getPrice();
+
+        // Un seul appel économie pour connaître le nombre de lots abordables
+        long affordableLots = economy.getCoins(customer.getUniqueId()) / price;
+        if (affordableLots < 1) {
+            messages.send(customer, "commerce.not-enough-coins", "price", String.valueOf(price));
             return;
         }
 
         Chest chest = (Chest) chestShop.getChestLocation().getBlock().getState();
         Inventory chestInv = chest.getInventory();
 
-        // Trouver et récupérer les vrais items du coffre (avec leurs métadonnées)
-        ItemStack actualItemFromChest = findAndRetrieveItemFromInventory(chestInv, chestShop.getItem());
-        if (actualItemFromChest == null) {
-            customer.sendMessage("§c§lSHOP §8» §cStock insuffisant!");
+        int stockLots = countItems(chestInv, lot);
+        if (stockLots < 1) {
+            messages.send(customer, "commerce.out-of-stock");
+            return;
+        }
+
+        int spaceLots = getAvailableSpace(customer.getInventory(), lot) / lotSize;
+        if (spaceLots < 1) {
+            messages.send(customer, "commerce.inventory-full");
+            return;
+        }
+
+        int lots = bulk ? (int) Math.min(Math.min(stockLots, spaceLots), affordableLots) : 1;
+        long total = price * lots;
+
+        // Le client n'est débité qu'une fois la transaction écrite sur disque (la somme reste en séquestre jusqu'à la livraison)
+        TradeRecord trade = createTradeRecord(customer, chestShop, lot, lots, total);
+        PendingTrade pending = new PendingTrade(trade, customer, chestShop, bulk, event);
+        pendingTrades.put(trade.getId(), pending);
+        whenWritten(plugin.getTradeJournal().prepare(trade), chestShop.getChestLocation(),
+                written -> executePurchase(pending, written));
+    }
+
+    /**
+     * Achat, une fois PREPARE sur disque : débit du client et mise en séquestre des items du coffre
+     */
+    private void executePurchase(PendingTrade pending, boolean written) {
+        if (!pending.advance(TradeState.PREPARING, TradeState.EXECUTING)) return; // Réglée par l'arrêt du plugin
+
+        TradeRecord trade = pending.trade;
+        Player customer = pending.customer;
+        Inventory chestInv = getChestInventory(pending.chestShop);
+        if (!written || !customer.isOnline() || chestInv == null) {
+            cancelTrade(pending, "commerce.transaction-failed");
             return;
         }
 
-        // Vérifier l'espace dans l'inventaire du client
-        if (!hasEnoughSpace(customer.getInventory(), actualItemFromChest)) {
-            customer.sendMessage("§c§lSHOP §8» §cVotre inventaire est plein!");
-            // Remettre l'item dans le coffre
-            chestInv.addItem(actualItemFromChest);
+        // Le stock et la place ont pu changer pendant l'écriture
+        ItemStack lot = pending.chestShop.getItem();
+        int stockLots = countItems(chestInv, lot);
+        if (stockLots < trade.getLots()) {
+            cancelTrade(pending, "commerce.out-of-stock");
+            return;
+        }
+        if (getAvailableSpace(customer.getInventory(), lot) < trade.getItemAmount()) {
+            cancelTrade(pending, "commerce.inventory-full");
             return;
         }
 
-        // Effectuer la transaction
-        if (!hook.removeCoins(customer.getUniqueId(), chestShop.getPrice())) {
-            customer.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
-            // Remettre l'item dans le coffre
-            chestInv.addItem(actualItemFromChest);
+        pending.reservation = economy.reserveCoins(customer.getUniqueId(), trade.getTotal());
+        if (pending.reservation == null) {
+            cancelTrade(pending, "commerce.transaction-failed");
             return;
         }
 
-        // Donner les coins au propriétaire
-        hook.addCoins(chestShop.getOwnerId(), chestShop.getPrice());
+        // Récupérer les vrais items du coffre en un seul passage (avec leurs métadonnées)
+        pending.escrow = takeItems(chestInv, lot, trade.getItemAmount());
+        if (pending.escrow == null) {
+            cancelTrade(pending, "commerce.out-of-stock");
+            return;
+        }
+        marketIndex.updateAvailability(pending.chestShop.getChestLocation(), stockLots - trade.getLots());
 
-        // Donner l'item réel au client (avec toutes ses métadonnées)
-        customer.getInventory().addItem(actualItemFromChest);
+        commitTrade(pending, this::deliverPurchase);
+    }
 
-        customer.sendMessage("§a§lSHOP §8» §aAchat effectué! §7(§e" + chestShop.getPrice() + " §7coins)");
+    /**
+     * Achat, une fois COMMIT sur disque : livraison des items au client et crédit du propriétaire
+     */
+    private void deliverPurchase(PendingTrade pending, boolean written) {
+        if (!pending.advance(TradeState.COMMITTING, TradeState.DONE)) return;
+
+        TradeRecord trade = pending.trade;
+        Player customer = pending.customer;
+        Location chestLocation = pending.chestShop.getChestLocation();
+        if (!written) {
+            storeItems(chestLocation, pending.escrow);
+            cancelTrade(pending, "commerce.transaction-failed");
+            return;
+        }
+        pendingTrades.remove(trade.getId());
+
+        // Créditer le propriétaire (versement regroupé au prochain tick)
+        economy.commit(pending.reservation, pending.chestShop.getOwnerId(), trade.getId());
+
+        // Donner les items réels au client (avec toutes leurs métadonnées)
+        if (customer.isOnline()) {
+            giveItems(customer, pending.escrow);
+        } else {
+            dropItems(chestLocation, pending.escrow);
+        }
+        completeTrade(pending, "purchases");
 
-        // Notifier le propriétaire si il est en ligne
-        Player owner = Bukkit.getPlayer(chestShop.getOwnerId());
-        if (owner != null) {
-            owner.sendMessage("§a§lSHOP §8» §e" + customer.getName() + " §aa acheté dans votre chest shop! §7(+§e" + chestShop.getPrice() + " §7coins)");
+        if (!customer.isOnline()) return;
+        if (pending.bulk) {
+            messages.send(customer, "commerce.purchase-bulk", "lots", String.valueOf(trade.getLots()),
+                    "items", String.valueOf(trade.getItemAmount()), "total", String.valueOf(trade.getTotal()));
+        } else {
+            messages.send(customer, "commerce.purchase", "total", String.valueOf(trade.getTotal()));
         }
     }
 
@@ -616,58 +783,309 @@ public class CommerceManager {
     // MÉTHODES UTILITAIRES
     // ===============================
 
-    private void handleCustomerSell(Player customer, ChestShop chestShop) {
+    private void handleCustomerSell(Player customer, ChestShop chestShop, boolean bulk) {
+        ChestShopTradeEvent event = ChestShopTradeEvent.start();
+        ItemStack lot = chestShop.getItem();
+        int lotSize = lot.getAmount();
+        long price = chestShop.getPrice();
+
         // Vérifier que le client a l'item
-        if (!hasEnoughItems(customer.getInventory(), chestShop.getItem())) {
-            customer.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez d'items!");
+        int ownedLots = countItems(customer.getInventory(), lot);
+        if (ownedLots < 1) {
+            messages.send(customer, "commerce.not-enough-items");
             return;
         }
 
-        // Vérifier que le propriétaire a assez de coins
-        if (!hook.hasCoins(chestShop.getOwnerId(), chestShop.getPrice())) {
-            customer.sendMessage("§c§lSHOP §8» §cLe propriétaire n'a pas assez de coins!");
+        // Vérifier que le propriétaire a assez de coins (un seul appel économie)
+        long affordableLots = economy.getCoins(chestShop.getOwnerId()) / price;
+        if (affordableLots < 1) {
+            messages.send(customer, "commerce.owner-not-enough-coins");
             return;
         }
 
         Chest chest = (Chest) chestShop.getChestLocation().getBlock().getState();
         Inventory chestInv = chest.getInventory();
 
-        // Récupérer les vrais items du joueur (avec leurs métadonnées)
-        ItemStack actualItemFromPlayer = findAndRetrieveItemFromInventory(customer.getInventory(), chestShop.getItem());
-        if (actualItemFromPlayer == null) {
-            customer.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez d'items!");
+        // Vérifier l'espace dans le coffre
+        int spaceLots = getAvailableSpace(chestInv, lot) / lotSize;
+        if (spaceLots < 1) {
+            messages.send(customer, "commerce.chest-full");
             return;
         }
 
-        // Vérifier l'espace dans le coffre
-        if (!hasEnoughSpace(chestInv, actualItemFromPlayer)) {
-            customer.sendMessage("§c§lSHOP §8» §cLe coffre est plein!");
-            // Remettre l'item au joueur
-            customer.getInventory().addItem(actualItemFromPlayer);
+        int lots = bulk ? (int) Math.min(Math.min(ownedLots, spaceLots), affordableLots) : 1;
+        long total = price * lots;
+
+        // Le propriétaire n'est débité qu'une fois la transaction écrite sur disque (la somme reste en séquestre jusqu'à la livraison)
+        TradeRecord trade = createTradeRecord(customer, chestShop, lot, lots, total);
+        PendingTrade pending = new PendingTrade(trade, customer, chestShop, bulk, event);
+        pendingTrades.put(trade.getId(), pending);
+        whenWritten(plugin.getTradeJournal().prepare(trade), chestShop.getChestLocation(),
+                written -> executeSale(pending, written));
+    }
+
+    /**
+     * Vente, une fois PREPARE sur disque : débit du propriétaire et mise en séquestre des items du client
+     */
+    private void executeSale(PendingTrade pending, boolean written) {
+        if (!pending.advance(TradeState.PREPARING, TradeState.EXECUTING)) return; // Réglée par l'arrêt du plugin
+
+        TradeRecord trade = pending.trade;
+        Player customer = pending.customer;
+        Inventory chestInv = getChestInventory(pending.chestShop);
+        if (!written || !customer.isOnline() || chestInv == null) {
+            cancelTrade(pending, "commerce.transaction-failed");
+            return;
+        }
+
+        // Les items du client et la place dans le coffre ont pu changer pendant l'écriture
+        ItemStack lot = pending.chestShop.getItem();
+        if (countItems(customer.getInventory(), lot) < trade.getLots()) {
+            cancelTrade(pending, "commerce.not-enough-items");
+            return;
+        }
+        int spaceLots = getAvailableSpace(chestInv, lot) / lot.getAmount();
+        if (spaceLots < trade.getLots()) {
+            cancelTrade(pending, "commerce.chest-full");
             return;
         }
 
-        // Effectuer la transaction
-        if (!hook.removeCoins(chestShop.getOwnerId(), chestShop.getPrice())) {
-            customer.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
-            // Remettre l'item au joueur
-            customer.getInventory().addItem(actualItemFromPlayer);
+        pending.reservation = economy.reserveCoins(pending.chestShop.getOwnerId(), trade.getTotal());
+        if (pending.reservation == null) {
+            cancelTrade(pending, "commerce.transaction-failed");
             return;
         }
 
-        // Donner les coins au client
-        hook.addCoins(customer.getUniqueId(), chestShop.getPrice());
+        // Récupérer les vrais items du joueur en un seul passage (avec leurs métadonnées)
+        pending.escrow = takeItems(customer.getInventory(), lot, trade.getItemAmount());
+        if (pending.escrow == null) {
+            cancelTrade(pending, "commerce.not-enough-items");
+            return;
+        }
+        marketIndex.updateAvailability(pending.chestShop.getChestLocation(), spaceLots - trade.getLots());
+
+        commitTrade(pending, this::deliverSale);
+    }
+
+    /**
+     * Vente, une fois COMMIT sur disque : items rangés dans le coffre et crédit du client
+     */
+    private void deliverSale(PendingTrade pending, boolean written) {
+        if (!pending.advance(TradeState.COMMITTING, TradeState.DONE)) return;
+
+        TradeRecord trade = pending.trade;
+        Player customer = pending.customer;
+        Location chestLocation = pending.chestShop.getChestLocation();
+        if (!written) {
+            if (customer.isOnline()) {
+                giveItems(customer, pending.escrow);
+            } else {
+                dropItems(chestLocation, pending.escrow);
+            }
+            cancelTrade(pending, "commerce.transaction-failed");
+            return;
+        }
+        pendingTrades.remove(trade.getId());
+
+        // Créditer le client (versement regroupé au prochain tick)
+        economy.commit(pending.reservation, customer.getUniqueId(), trade.getId());
+
+        // Ajouter les items réels au coffre (avec toutes leurs métadonnées)
+        storeItems(chestLocation, pending.escrow);
+        completeTrade(pending, "sales");
+
+        if (!customer.isOnline()) return;
+        if (pending.bulk) {
+            messages.send(customer, "commerce.sale-bulk", "lots", String.valueOf(trade.getLots()),
+                    "items", String.valueOf(trade.getItemAmount()), "total", String.valueOf(trade.getTotal()));
+        } else {
+            messages.send(customer, "commerce.sale", "total", String.valueOf(trade.getTotal()));
+        }
+    }
+
+    // ===============================
+    // TRANSACTIONS JOURNALISÉES
+    // ===============================
+
+    /**
+     * Exécute la suite d'une écriture du journal sur la région donnée (sur le thread courant pendant
+     * l'arrêt du plugin, qui ne peut plus planifier de tâches)
+     */
+    private void whenWritten(CompletableFuture<Boolean> written, Location location, Consumer<Boolean> task) {
+        written.thenAccept(success -> {
+            if (plugin.isEnabled()) {
+                plugin.getShopScheduler().runAt(location, () -> task.accept(success));
+            } else {
+                task.accept(success);
+            }
+        });
+    }
+
+    /**
+     * Écrit COMMIT, les items en séquestre sont livrés une fois l'entrée sur disque
+     */
+    private void commitTrade(PendingTrade pending, BiConsumer<PendingTrade, Boolean> delivery) {
+        pending.commit = plugin.getTradeJournal().commit(pending.trade);
+        pending.advance(TradeState.EXECUTING, TradeState.COMMITTING);
+        whenWritten(pending.commit, pending.chestShop.getChestLocation(), written -> delivery.accept(pending, written));
+    }
+
+    /**
+     * Annule une transaction : le payeur déjà débité n'est remboursé qu'une fois ABORT sur disque
+     * (sinon, PREPARE le fait rembourser au redémarrage)
+     */
+    private void cancelTrade(PendingTrade pending, String messageKey) {
+        pending.finish();
+        pendingTrades.remove(pending.trade.getId());
+
+        long tradeId = pending.trade.getId();
+        EconomyManager.Reservation reservation = pending.reservation;
+        CompletableFuture<Boolean> aborted = plugin.getTradeJournal().abort(tradeId);
+        if (reservation != null) {
+            whenWritten(aborted, pending.chestShop.getChestLocation(), written -> {
+                if (written) {
+                    economy.release(reservation);
+                } else {
+                    plugin.getLogger().severe("Remboursement de la transaction " + tradeId + " reporté au prochain démarrage");
+                }
+            });
+        }
+
+        if (pending.customer.isOnline()) {
+            messages.send(pending.customer, messageKey);
+        }
+    }
+
+    private void completeTrade(PendingTrade pending, String kind) {
+        TradeRecord trade = pending.trade;
+        plugin.getSalesAnalyticsManager().recordTrade(trade);
+        recordTradeMetrics(kind, trade.getItemAmount(), trade.getTotal());
+        pending.event.complete(trade);
+
+        // Notifier le propriétaire (résumé regroupé, remis à la connexion s'il est hors ligne)
+        plugin.getNotificationManager().recordTrade(trade);
+    }
+
+    /**
+     * Coffre d'un chest shop toujours enregistré, null s'il a été supprimé ou détruit entre-temps
+     */
+    private Inventory getChestInventory(ChestShop chestShop) {
+        Location location = chestShop.getChestLocation();
+        if (chestShops.get(location) != chestShop) return null;
+        return location.getBlock().getState() instanceof Chest chest ? chest.getInventory() : null;
+    }
+
+    /**
+     * Range des items dans le coffre, le surplus (ou tout, si le coffre a disparu) est lâché devant lui
+     */
+    private void storeItems(Location chestLocation, List<ItemStack> items) {
+        if (chestLocation.getBlock().getState() instanceof Chest chest) {
+            dropItems(chestLocation, chest.getInventory().addItem(items.toArray(new ItemStack[0])).values());
+        } else {
+            dropItems(chestLocation, items);
+        }
+    }
+
+    private void dropItems(Location location, Collection<ItemStack> items) {
+        for (ItemStack item : items) {
+            location.getWorld().dropItemNaturally(location, item);
+        }
+    }
+
+    /**
+     * Règle les transactions en attente du journal : celles qui n'ont encore débité personne sont annulées,
+     * celles en séquestre sont livrées selon l'écriture de leur COMMIT
+     */
+    public void shutdown() {
+        for (PendingTrade pending : new ArrayList<>(pendingTrades.values())) {
+            if (pending.advance(TradeState.PREPARING, TradeState.DONE)) {
+                pendingTrades.remove(pending.trade.getId());
+                plugin.getTradeJournal().abort(pending.trade.getId());
+            }
+        }
+
+        // Les acquittements reçus pendant l'arrêt livrent directement (voir whenWritten)
+        plugin.getTradeJournal().flush();
+
+        // Acquittements reçus avant l'arrêt, dont la tâche de livraison ne s'exécutera plus
+        for (PendingTrade pending : new ArrayList<>(pendingTrades.values())) {
+            if (pending.commit == null || !pending.commit.isDone()) continue;
+
+            boolean written = pending.commit.getNow(false);
+            if (pending.trade.isSellMode()) {
+                deliverSale(pending, written);
+            } else {
+                deliverPurchase(pending, written);
+            }
+        }
+    }
 
-        // Ajouter l'item réel au coffre (avec toutes ses métadonnées)
-        chestInv.addItem(actualItemFromPlayer);
+    // ===============================
+    // INDEX DU MARCHÉ
+    // ===============================
+
+    private void indexChestShop(ChestShop chestShop) {
+        Shop shop = plugin.getShopManager().getShopAtLocation(chestShop.getChestLocation());
+        marketIndex.index(chestShop, shop != null ? shop.getId() : "", computeAvailableLots(chestShop));
+    }
+
+    /**
+     * Lots en stock (chest shop de vente aux clients) ou place en lots (chest shop de rachat),
+     * -1 si le coffre n'est pas chargé
+     */
+    private int computeAvailableLots(ChestShop chestShop) {
+        Location location = chestShop.getChestLocation();
+        if (location.getWorld() == null || !location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            return -1;
+        }
 
-        customer.sendMessage("§a§lSHOP §8» §aVente effectuée! §7(+§e" + chestShop.getPrice() + " §7coins)");
+        if (!(location.getBlock().getState() instanceof Chest chest)) {
+            return 0;
+        }
 
-        // Notifier le propriétaire si il est en ligne
-        Player owner = Bukkit.getPlayer(chestShop.getOwnerId());
-        if (owner != null) {
-            owner.sendMessage("§a§lSHOP §8» §e" + customer.getName() + " §aa vendu dans votre chest shop! §7(-§e" + chestShop.getPrice() + " §7coins)");
+        ItemStack lot = chestShop.getItem();
+        if (chestShop.isSellMode()) {
+            return getAvailableSpace(chest.getInventory(), lot) / lot.getAmount();
         }
+        return countItems(chest.getInventory(), lot);
+    }
+
+    /**
+     * Compteurs de transactions (nombre, items échangés et volume en coins) pour l'exporteur
+     */
+    private void recordTradeMetrics(String kind, int items, long total) {
+        MetricsRegistry metrics = plugin.getMetrics();
+        if (!metrics.isRecording()) return;
+
+        metrics.increment("commerce." + kind);
+        metrics.add("commerce." + kind + "_items", items);
+        metrics.add("commerce." + kind + "_coins", total);
+    }
+
+    /**
+     * Crée l'entrée du journal pour une transaction
+     */
+    private TradeRecord createTradeRecord(Player customer, ChestShop chestShop, ItemStack lot, int lots, long total) {
+        Location chestLocation = chestShop.getChestLocation();
+        Shop shop = plugin.getShopManager().getShopAtLocation(chestLocation);
+
+        return new TradeRecord(
+                plugin.getTradeJournal().nextTradeId(),
+                System.currentTimeMillis(),
+                shop != null ? shop.getId() : "",
+                chestLocation.getWorld().getName(),
+                chestLocation.getBlockX(),
+                chestLocation.getBlockY(),
+                chestLocation.getBlockZ(),
+                chestShop.getOwnerId(),
+                customer.getUniqueId(),
+                customer.getName(),
+                chestShop.getItemKey(),
+                getItemDisplayName(lot),
+                lots,
+                lots * lot.getAmount(),
+                total,
+                chestShop.isSellMode());
     }
 
     private Block findAdjacentSign(Block chest) {
@@ -675,7 +1093,7 @@ public class CommerceManager {
 
         for (BlockFace face : faces) {
             Block relative = chest.getRelative(face);
-            if (relative.getState() instanceof Sign) {
+            if (Tag.ALL_SIGNS.isTagged(relative.getType())) {
                 return relative;
             }
         }
@@ -770,7 +1188,7 @@ public class CommerceManager {
 
     private int countItems(Inventory inventory, ItemStack targetItem) {
         int count = 0;
-        for (ItemStack item : inventory.getContents()) {
+        for (ItemStack item : inventory.getStorageContents()) {
             if (item != null && areItemsSimilarForShop(item, targetItem)) {
                 count += item.getAmount();
             }
@@ -801,101 +1219,82 @@ public class CommerceManager {
         return java.util.Objects.equals(lore1, lore2);
     }
 
-    private boolean hasEnoughItems(Inventory inventory, ItemStack targetItem) {
-        return countItems(inventory, targetItem) >= 1;
-    }
-
-    private boolean hasEnoughSpace(Inventory inventory, ItemStack item) {
-        // Créer une copie de l'inventaire pour tester
-        ItemStack[] contents = inventory.getContents().clone();
-
-        // Essayer d'ajouter l'item
-        int remaining = item.getAmount();
-
-        for (int i = 0; i < contents.length && remaining > 0; i++) {
-            ItemStack slot = contents[i];
+    /**
+     * Calcule le nombre d'items similaires pouvant encore être ajoutés à l'inventaire
+     */
+    private int getAvailableSpace(Inventory inventory, ItemStack item) {
+        int space = 0;
+        int maxStack = item.getMaxStackSize();
 
-            if (slot == null) {
+        for (ItemStack slot : inventory.getStorageContents()) {
+            if (slot == null || slot.getType() == Material.AIR) {
                 // Slot vide
-                remaining -= Math.min(remaining, item.getMaxStackSize());
+                space += maxStack;
             } else if (areItemsSimilarForShop(slot, item)) {
                 // Slot avec le même item
-                int space = slot.getMaxStackSize() - slot.getAmount();
-                remaining -= Math.min(remaining, space);
+                space += Math.max(0, slot.getMaxStackSize() - slot.getAmount());
             }
         }
 
-        return remaining <= 0;
+        return space;
     }
 
     /**
-     * Trouve et récupère un item spécifique du coffre en conservant toutes ses métadonnées
+     * Retire une quantité d'items similaires en un seul passage sur l'inventaire,
+     * en conservant toutes les métadonnées des stacks d'origine
+     *
+     * @return les items retirés, ou null si la quantité n'est pas disponible (inventaire inchangé)
      */
-    private ItemStack findAndRetrieveItemFromInventory(Inventory inventory, ItemStack targetItem) {
-        int amountNeeded = targetItem.getAmount();
-        ItemStack collectedItem = null;
+    private List<ItemStack> takeItems(Inventory inventory, ItemStack targetItem, int amount) {
+        ItemStack[] contents = inventory.getStorageContents();
+        List<ItemStack> taken = new ArrayList<>();
+        int amountNeeded = amount;
 
-        for (int i = 0; i < inventory.getSize() && amountNeeded > 0; i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && areItemsSimilarForShop(item, targetItem)) {
-                int available = item.getAmount();
+        for (int i = 0; i < contents.length && amountNeeded > 0; i++) {
+            ItemStack item = contents[i];
+            if (item == null || !areItemsSimilarForShop(item, targetItem)) continue;
 
-                if (collectedItem == null) {
-                    // Premier item trouvé - créer la base avec ses métadonnées
-                    collectedItem = item.clone();
-                    collectedItem.setAmount(0);
-                }
+            int available = item.getAmount();
+            int removed = Math.min(available, amountNeeded);
 
-                if (available <= amountNeeded) {
-                    // Prendre tout l'item
-                    collectedItem.setAmount(collectedItem.getAmount() + available);
-                    inventory.setItem(i, null);
-                    amountNeeded -= available;
-                } else {
-                    // Prendre une partie
-                    collectedItem.setAmount(collectedItem.getAmount() + amountNeeded);
-                    ItemStack remainingItem = item.clone();
-                    remainingItem.setAmount(available - amountNeeded);
-                    inventory.setItem(i, remainingItem);
-                    amountNeeded = 0;
-                }
+            ItemStack part = item.clone();
+            part.setAmount(removed);
+            taken.add(part);
+
+            if (removed == available) {
+                // Prendre tout l'item
+                contents[i] = null;
+            } else {
+                // Prendre une partie (copie pour conserver les métadonnées originales)
+                ItemStack remainingItem = item.clone();
+                remainingItem.setAmount(available - removed);
+                contents[i] = remainingItem;
             }
+            amountNeeded -= removed;
         }
 
-        // Vérifier qu'on a récupéré assez d'items
-        if (collectedItem != null && collectedItem.getAmount() >= targetItem.getAmount()) {
-            collectedItem.setAmount(targetItem.getAmount());
-            return collectedItem;
+        if (amountNeeded > 0) {
+            return null; // Pas assez d'items trouvés
         }
 
-        return null; // Pas assez d'items trouvés
+        inventory.setStorageContents(contents);
+        return taken;
     }
 
-    private void removeItems(Inventory inventory, ItemStack targetItem) {
-        int amountToRemove = targetItem.getAmount();
-
-        for (int i = 0; i < inventory.getSize() && amountToRemove > 0; i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && areItemsSimilarForShop(item, targetItem)) {
-                int available = item.getAmount();
-                if (available <= amountToRemove) {
-                    inventory.setItem(i, null);
-                    amountToRemove -= available;
-                } else {
-                    // IMPORTANT: Créer une copie pour conserver les métadonnées originales
-                    ItemStack remainingItem = item.clone();
-                    remainingItem.setAmount(available - amountToRemove);
-                    inventory.setItem(i, remainingItem);
-                    amountToRemove = 0;
-                }
-            }
+    /**
+     * Donne des items au joueur, le surplus éventuel est lâché à ses pieds
+     */
+    private void giveItems(Player player, List<ItemStack> items) {
+        Map<Integer, ItemStack> leftover = player.getInventory().addItem(items.toArray(new ItemStack[0]));
+        for (ItemStack item : leftover.values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), item);
         }
     }
 
     /**
      * Formate le prix pour l'affichage avec lettres
      */
-    private String formatPrice(long price) {
+    public String formatPrice(long price) {
         if (price >= 1000000000000L) { // Trillions
             return (price / 1000000000000L) + "T";
         } else if (price >= 1000000000L) { // Billions
@@ -986,6 +1385,9 @@ public class CommerceManager {
     public void removeChestShop(Location chestLocation) {
         ChestShop removed = chestShops.remove(chestLocation);
         if (removed != null) {
+            marketIndex.remove(chestLocation);
+            unindexSigns(chestLocation);
+
             // Retirer aussi du shop
             for (Shop shop : plugin.getShopManager().getAllShops()) {
                 shop.removeChestShop(chestLocation);
@@ -994,6 +1396,44 @@ public class CommerceManager {
         }
     }
 
+    /**
+     * Oublie les chest shops d'un shop remis à zéro (sans toucher aux panneaux)
+     */
+    public void unregisterChestShops(Collection<Location> chestLocations) {
+        for (Location chestLocation : chestLocations) {
+            chestShops.remove(chestLocation);
+            marketIndex.remove(chestLocation);
+            unindexSigns(chestLocation);
+        }
+    }
+
+    /**
+     * Recalcule le stock d'un chest shop dans l'index du marché (après un réapprovisionnement)
+     */
+    public void refreshAvailability(Location chestLocation) {
+        ChestShop chestShop = chestShops.get(chestLocation);
+        if (chestShop != null) {
+            marketIndex.updateAvailability(chestLocation, computeAvailableLots(chestShop));
+        }
+    }
+
+    /**
+     * Recalcule le stock d'un chest shop après un court délai, sur la région du coffre :
+     * un hopper déplace un item toutes les 8 ticks, un seul recalcul couvre toute la rafale
+     */
+    public void scheduleAvailabilityRefresh(Location chestLocation) {
+        if (!chestShops.containsKey(chestLocation) || !pendingRefreshes.add(chestLocation)) return;
+
+        plugin.getShopScheduler().runAtLater(chestLocation, () -> {
+            pendingRefreshes.remove(chestLocation);
+            refreshAvailability(chestLocation);
+        }, AVAILABILITY_REFRESH_DELAY);
+    }
+
+    public MarketIndex getMarketIndex() {
+        return marketIndex;
+    }
+
     public boolean isChestShop(Location location) {
         return chestShops.containsKey(location);
     }
@@ -1002,6 +1442,10 @@ public class CommerceManager {
         return chestShops.get(location);
     }
 
+    public int getChestShopCount() {
+        return chestShops.size();
+    }
+
     public void clearPendingCreation(UUID playerId) {
         pendingCreations.remove(playerId);
         pendingPriceEdits.remove(playerId);
@@ -1019,6 +1463,49 @@ public class CommerceManager {
     // CLASSES INTERNES
     // ===============================
 
+    private enum TradeState {
+        PREPARING, // PREPARE en cours d'écriture
+        EXECUTING, // Débit et mise en séquestre
+        COMMITTING, // COMMIT en cours d'écriture, items en séquestre
+        DONE
+    }
+
+    /**
+     * Transaction en attente d'un acquittement du journal
+     */
+    private static class PendingTrade {
+        private final TradeRecord trade;
+        private final Player customer;
+        private final ChestShop chestShop;
+        private final boolean bulk;
+        private final ChestShopTradeEvent event;
+        private TradeState state = TradeState.PREPARING;
+        private EconomyManager.Reservation reservation;
+        private List<ItemStack> escrow;
+        private CompletableFuture<Boolean> commit;
+
+        PendingTrade(TradeRecord trade, Player customer, ChestShop chestShop, boolean bulk, ChestShopTradeEvent event) {
+            this.trade = trade;
+            this.customer = customer;
+            this.chestShop = chestShop;
+            this.bulk = bulk;
+            this.event = event;
+        }
+
+        /**
+         * Passe à l'étape suivante si la transaction est à l'étape attendue (l'arrêt du plugin peut l'avoir réglée)
+         */
+        synchronized boolean advance(TradeState from, TradeState to) {
+            if (state != from) return false;
+            state = to;
+            return true;
+        }
+
+        synchronized void finish() {
+            state = TradeState.DONE;
+        }
+    }
+
     private static class PendingShopCreation {
         private final UUID playerId;
         private final ItemStack item;
@@ -3,38 +3,36 @@ package fr.shop.managers;
 import fr.shop.PlayerShops;
 import fr.shop.data.Shop;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Gestionnaire de configuration pour les shops basés sur les zones
+ * Les paramètres de config.yml sont publiés sous forme d'instantané immuable (ShopSettings),
+ * remplacé en bloc à chaque rechargement
  */
 public class ConfigManager {
 
-    // Configuration par défaut
-    private static final long DEFAULT_RENT_PRICE = 1000;
-    private static final long DEFAULT_RENT_DURATION = 3 * 24 * 60 * 60 * 1000L; // 3 jours
-    private static final long DEFAULT_GRACE_DURATION = 24 * 60 * 60 * 1000L; // 1 jour
-    private static final long DEFAULT_CUSTOM_MESSAGE_PRICE = 100;
-    private static final long DEFAULT_MESSAGE_COOLDOWN = 5000L; // 5 secondes
-    private static final long DEFAULT_FLOATING_TEXT_PRICE = 50;
-    private static final int DEFAULT_MAX_FLOATING_TEXTS = 3;
-    private static final long DEFAULT_NPC_PRICE = 500;
-    private static final long DEFAULT_BOOST_PRICE = 200;
-    private static final long DEFAULT_BOOST_DURATION = 60 * 60 * 1000L; // 1 heure
-
     private final PlayerShops plugin;
+    private final AtomicReference<ShopSettings> settings;
+    private final List<SettingsListener> listeners;
     private FileConfiguration config;
     private FileConfiguration shopsConfig;
     private File shopsFile;
 
     public ConfigManager(PlayerShops plugin) {
         this.plugin = plugin;
+        this.settings = new AtomicReference<>();
+        this.listeners = new CopyOnWriteArrayList<>();
         loadConfigs();
     }
 
@@ -57,28 +55,29 @@ public class ConfigManager {
 
         // Créer la configuration par défaut si nécessaire
         createDefaultConfig();
+        settings.set(parseSettings());
     }
 
     private void createDefaultConfig() {
         if (!config.contains("settings")) {
             // Paramètres de location
-            config.set("settings.rent.price", DEFAULT_RENT_PRICE);
-            config.set("settings.rent.duration", DEFAULT_RENT_DURATION);
-            config.set("settings.rent.grace_duration", DEFAULT_GRACE_DURATION);
+            config.set("settings.rent.price", ShopSettings.DEFAULT_RENT_PRICE);
+            config.set("settings.rent.duration", ShopSettings.DEFAULT_RENT_DURATION);
+            config.set("settings.rent.grace_duration", ShopSettings.DEFAULT_GRACE_DURATION);
 
             // Paramètres de personnalisation
-            config.set("settings.customization.custom-message.price", DEFAULT_CUSTOM_MESSAGE_PRICE);
-            config.set("settings.customization.custom-message.cooldown", DEFAULT_MESSAGE_COOLDOWN);
-            config.set("settings.customization.floating-text.price", DEFAULT_FLOATING_TEXT_PRICE);
-            config.set("settings.customization.floating-text.max-per-shop", DEFAULT_MAX_FLOATING_TEXTS);
-            config.set("settings.customization.npc.price", DEFAULT_NPC_PRICE);
+            config.set("settings.customization.custom-message.price", ShopSettings.DEFAULT_CUSTOM_MESSAGE_PRICE);
+            config.set("settings.customization.custom-message.cooldown", ShopSettings.DEFAULT_MESSAGE_COOLDOWN);
+            config.set("settings.customization.floating-text.price", ShopSettings.DEFAULT_FLOATING_TEXT_PRICE);
+            config.set("settings.customization.floating-text.max-per-shop", ShopSettings.DEFAULT_MAX_FLOATING_TEXTS);
+            config.set("settings.customization.npc.price", ShopSettings.DEFAULT_NPC_PRICE);
 
             // Paramètres des annonces
-            config.set("settings.advertisement.boost.price", DEFAULT_BOOST_PRICE);
-            config.set("settings.advertisement.boost.duration", DEFAULT_BOOST_DURATION);
+            config.set("settings.advertisement.boost.price", ShopSettings.DEFAULT_BOOST_PRICE);
+            config.set("settings.advertisement.boost.duration", ShopSettings.DEFAULT_BOOST_DURATION);
 
             // Configuration du monde Market
-            config.set("settings.world.market_world", "Market");
+            config.set("settings.world.market_world", ShopSettings.DEFAULT_MARKET_WORLD);
             config.set("settings.world.auto_create_shops", true);
 
             plugin.saveConfig();
@@ -182,43 +181,72 @@ public class ConfigManager {
     // ===============================
 
     public long getRentPrice() {
-        return config.getLong("settings.rent.price", DEFAULT_RENT_PRICE);
+        return settings.get().getRentPrice();
     }
 
     public long getRentDuration() {
-        return config.getLong("settings.rent.duration", DEFAULT_RENT_DURATION);
+        return settings.get().getRentDuration();
     }
 
     public long getGraceDuration() {
-        return config.getLong("settings.rent.grace_duration", DEFAULT_GRACE_DURATION);
+        return settings.get().getGraceDuration();
     }
 
     public long getCustomMessagePrice() {
-        return config.getLong("settings.customization.custom-message.price", DEFAULT_CUSTOM_MESSAGE_PRICE);
+        return settings.get().getCustomMessagePrice();
     }
 
     public long getMessageCooldown() {
-        return config.getLong("settings.customization.custom-message.cooldown", DEFAULT_MESSAGE_COOLDOWN);
+        return settings.get().getMessageCooldown();
     }
 
     public long getFloatingTextPrice() {
-        return config.getLong("settings.customization.floating-text.price", DEFAULT_FLOATING_TEXT_PRICE);
+        return settings.get().getFloatingTextPrice();
     }
 
     public int getMaxFloatingTexts() {
-        return config.getInt("settings.customization.floating-text.max-per-shop", DEFAULT_MAX_FLOATING_TEXTS);
+        return settings.get().getMaxFloatingTexts();
     }
 
     public long getNpcPrice() {
-        return config.getLong("settings.customization.npc.price", DEFAULT_NPC_PRICE);
+        return settings.get().getNpcPrice();
     }
 
     public long getBoostPrice() {
-        return config.getLong("settings.advertisement.boost.price", DEFAULT_BOOST_PRICE);
+        return settings.get().getBoostPrice();
     }
 
     public long getBoostDuration() {
-        return config.getLong("settings.advertisement.boost.duration", DEFAULT_BOOST_DURATION);
+        return settings.get().getBoostDuration();
+    }
+
+    /**
+     * Distance (blocs) à laquelle les textes flottants sont affichés à un joueur
+     */
+    public double getVisualViewDistance() {
+        return settings.get().getVisualViewDistance();
+    }
+
+    public long getVisibilityUpdateInterval() {
+        return settings.get().getVisibilityUpdateInterval();
+    }
+
+    /**
+     * Temps maximum consacré par tick à la création/suppression des visuels
+     */
+    public long getVisualTickBudgetNanos() {
+        return settings.get().getVisualTickBudgetNanos();
+    }
+
+    /**
+     * Rendu des PNJ : "display" (entités d'affichage, léger) ou "villager" (villageois sans IA)
+     */
+    public String getNpcRendererType() {
+        return settings.get().getNpcRendererType();
+    }
+
+    public int getVisualMaxOperationsPerTick() {
+        return settings.get().getVisualMaxOperationsPerTick();
     }
 
     // ===============================
@@ -226,41 +254,241 @@ public class ConfigManager {
     // ===============================
 
     public String getMarketWorldName() {
-        return config.getString("settings.world.market_world", "Market");
+        return settings.get().getMarketWorldName();
     }
 
     public boolean isAutoCreateShopsEnabled() {
-        return config.getBoolean("settings.world.auto_create_shops", true);
+        return settings.get().isAutoCreateShopsEnabled();
+    }
+
+    /**
+     * Demi-côté (blocs) de la région scannée autour de l'origine du monde
+     */
+    public int getScanRadius() {
+        return settings.get().getScanRadius();
+    }
+
+    // ===============================
+    // GETTERS POUR LES TÉLÉPORTATIONS
+    // ===============================
+
+    public boolean isZoneTeleportEnabled() {
+        return settings.get().isZoneTeleportEnabled();
+    }
+
+    public boolean isTeleportSafetyCheckEnabled() {
+        return settings.get().isTeleportSafetyCheckEnabled();
+    }
+
+    /**
+     * Délai avant téléportation, en secondes
+     */
+    public int getTeleportDelay() {
+        return settings.get().getTeleportDelay();
+    }
+
+    /**
+     * Permission dispensant du délai de téléportation
+     */
+    public String getPriorityTeleportPermission() {
+        return settings.get().getPriorityTeleportPermission();
+    }
+
+    /**
+     * Nombre de points de téléportation les plus visités gardés chargés en permanence
+     */
+    public int getPreloadedTeleportZones() {
+        return settings.get().getPreloadedTeleportZones();
+    }
+
+    // ===============================
+    // GETTERS POUR L'ÉCONOMIE
+    // ===============================
+
+    /**
+     * Fournisseur d'économie: "prisontycoon" ou "local" (économie en mémoire pour les tests de charge)
+     */
+    public String getEconomyProvider() {
+        return settings.get().getEconomyProvider();
+    }
+
+    public long getBalanceCacheDuration() {
+        return settings.get().getBalanceCacheDuration();
+    }
+
+    public long getLocalStartingCoins() {
+        return settings.get().getLocalStartingCoins();
+    }
+
+    public long getLocalStartingBeacons() {
+        return settings.get().getLocalStartingBeacons();
+    }
+
+    /**
+     * Fenêtre (ticks) de regroupement des notifications de transactions envoyées aux propriétaires
+     */
+    public long getNotificationWindow() {
+        return settings.get().getNotificationWindow();
+    }
+
+    public int getTradeHistorySize() {
+        return settings.get().getTradeHistorySize();
+    }
+
+    public long getTradeJournalRetention() {
+        return settings.get().getTradeJournalRetention();
+    }
+
+    // ===============================
+    // GETTERS POUR LA LIMITATION DES INTERACTIONS
+    // ===============================
+
+    /**
+     * Débit autorisé (actions par seconde) pour un type d'action, 0 pour ne pas limiter
+     */
+    public double getRateLimit(String action, double defaultRate) {
+        ShopSettings.RateLimit limit = settings.get().getRateLimit(action);
+        return limit == null || Double.isNaN(limit.getRate()) ? defaultRate : limit.getRate();
+    }
+
+    /**
+     * Nombre d'actions acceptées d'affilée avant d'appliquer le débit
+     */
+    public int getRateLimitBurst(String action, int defaultBurst) {
+        ShopSettings.RateLimit limit = settings.get().getRateLimit(action);
+        return limit == null || limit.getBurst() < 0 ? defaultBurst : limit.getBurst();
+    }
+
+    // ===============================
+    // GETTERS POUR L'EXPORTEUR DE MÉTRIQUES
+    // ===============================
+
+    public boolean isMetricsExporterEnabled() {
+        return settings.get().isMetricsExporterEnabled();
+    }
+
+    public String getMetricsExporterHost() {
+        return settings.get().getMetricsExporterHost();
+    }
+
+    public int getMetricsExporterPort() {
+        return settings.get().getMetricsExporterPort();
+    }
+
+    /**
+     * Intervalle (ticks) de relevé des jauges (shops, zones, beacons) sur le thread principal
+     */
+    public long getMetricsGaugeInterval() {
+        return settings.get().getMetricsGaugeInterval();
+    }
+
+    /**
+     * Surveillance de config.yml : rechargement automatique après modification du fichier
+     */
+    public boolean isConfigWatchEnabled() {
+        return settings.get().isConfigWatchEnabled();
     }
 
     // ===============================
     // GETTERS POUR LES MESSAGES
     // ===============================
 
+    /**
+     * Messages compilés par MessageManager (aucune recherche dans la config à l'appel)
+     */
     public String getMessage(String key) {
-        return config.getString("messages." + key, "§cMessage manquant: " + key);
+        return plugin.getMessageManager().get(key);
     }
 
     public String getMessage(String key, String... replacements) {
-        String message = getMessage(key);
-
-        for (int i = 0; i < replacements.length; i += 2) {
-            if (i + 1 < replacements.length) {
-                message = message.replace("{" + replacements[i] + "}", replacements[i + 1]);
-            }
-        }
-
-        return message;
+        return plugin.getMessageManager().format(key, replacements);
     }
 
     // ===============================
     // MÉTHODES UTILITAIRES
     // ===============================
 
-    public void reloadConfig() {
+    /**
+     * Recharge config.yml et shops.yml (/shopadmin reload)
+     *
+     * @return false si config.yml est invalide (les paramètres en cours sont conservés)
+     */
+    public boolean reloadConfig() {
+        this.shopsConfig = YamlConfiguration.loadConfiguration(shopsFile);
+        return reloadSettings();
+    }
+
+    /**
+     * Relit config.yml, publie les nouveaux paramètres puis prévient les managers
+     * Le fichier est d'abord validé : une erreur de syntaxe YAML ne remet pas tout aux valeurs par défaut
+     *
+     * @return false si config.yml est invalide (les paramètres en cours sont conservés)
+     */
+    public synchronized boolean reloadSettings() {
+        File configFile = new File(plugin.getDataFolder(), "config.yml");
+        try {
+            new YamlConfiguration().load(configFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("config.yml invalide, paramètres actuels conservés: " + e.getMessage());
+            return false;
+        }
+
         plugin.reloadConfig();
         this.config = plugin.getConfig();
-        this.shopsConfig = YamlConfiguration.loadConfiguration(shopsFile);
+
+        ShopSettings current = parseSettings();
+        ShopSettings previous = settings.getAndSet(current);
+
+        // Les managers replanifient leurs tâches : toujours depuis le thread global (région d'un joueur sous Folia)
+        plugin.getShopScheduler().runGlobal(() -> notifyListeners(previous, current));
+        warnRestartRequired(previous, current);
+        return true;
+    }
+
+    private void notifyListeners(ShopSettings previous, ShopSettings current) {
+        for (SettingsListener listener : listeners) {
+            try {
+                listener.onSettingsChanged(previous, current);
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Erreur lors de l'application des nouveaux paramètres: " + e.getMessage());
+            }
+        }
+    }
+
+    private ShopSettings parseSettings() {
+        ShopSettings parsed = ShopSettings.parse(config);
+        for (String warning : parsed.getWarnings()) {
+            plugin.getLogger().warning("config.yml: " + warning);
+        }
+        return parsed;
+    }
+
+    private void warnRestartRequired(ShopSettings previous, ShopSettings current) {
+        if (!previous.getEconomyProvider().equals(current.getEconomyProvider())
+                || previous.getLocalStartingCoins() != current.getLocalStartingCoins()
+                || previous.getLocalStartingBeacons() != current.getLocalStartingBeacons()) {
+            plugin.getLogger().warning("Le changement de settings.economy ne sera appliqué qu'au prochain redémarrage");
+        }
+        if (!previous.getMarketWorldName().equals(current.getMarketWorldName())) {
+            plugin.getLogger().warning("Le changement de settings.world.market_world ne sera appliqué qu'au prochain redémarrage");
+        }
+        if (!previous.getNpcRendererType().equals(current.getNpcRendererType())) {
+            plugin.getLogger().warning("Le changement de settings.visuals.npc_renderer ne sera appliqué qu'au prochain redémarrage");
+        }
+    }
+
+    /**
+     * Paramètres en vigueur : à lire une fois par traitement plutôt qu'à chaque getter
+     */
+    public ShopSettings getSettings() {
+        return settings.get();
+    }
+
+    /**
+     * Appelé (thread global) après chaque rechargement réussi, avec les anciens et les nouveaux paramètres
+     */
+    public void addSettingsListener(SettingsListener listener) {
+        listeners.add(listener);
     }
 
     public FileConfiguration getConfig() {
@@ -270,4 +498,16 @@ public class ConfigManager {
     public FileConfiguration getShopsConfig() {
         return shopsConfig;
     }
-}
\ No newline at end of file
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Manager à reconfigurer quand les paramètres changent (tâches planifiées, caches)
+     */
+    @FunctionalInterface
+    public interface SettingsListener {
+        void onSettingsChanged(ShopSettings previous, ShopSettings current);
+    }
+}
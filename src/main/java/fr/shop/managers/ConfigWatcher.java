@@ -0,0 +1,100 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Surveillance de config.yml : une modification du fichier déclenche le même rechargement
+ * que /shopadmin reload (paramètres et messages, sans recharger les zones)
+ * Les événements rapprochés (éditeurs qui écrivent en plusieurs fois) sont regroupés en un seul rechargement
+ */
+public class ConfigWatcher {
+
+    private static final String CONFIG_FILE = "config.yml";
+    private static final long RELOAD_DELAY = 20L; // 1 seconde après la dernière écriture
+
+    private final PlayerShops plugin;
+    private final AtomicBoolean reloadScheduled;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.reloadScheduled = new AtomicBoolean(false);
+    }
+
+    // ===============================
+    // CYCLE DE VIE
+    // ===============================
+
+    public void start() {
+        if (thread != null) return;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            plugin.getDataFolder().toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Surveillance de config.yml impossible: " + e.getMessage());
+            closeWatchService();
+            return;
+        }
+
+        thread = new Thread(this::watch, "PlayerShops-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        if (thread == null) return;
+
+        closeWatchService(); // Débloque take() dans le thread de surveillance
+        thread.interrupt();
+        thread = null;
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watchService = null;
+    }
+
+    // ===============================
+    // SURVEILLANCE (THREAD DÉDIÉ)
+    // ===============================
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.getFileName().toString().equals(CONFIG_FILE)) {
+                        scheduleReload();
+                    }
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Arrêt de la surveillance
+        }
+    }
+
+    private void scheduleReload() {
+        if (!reloadScheduled.compareAndSet(false, true)) return;
+
+        plugin.getShopScheduler().runGlobalLater(() -> {
+            reloadScheduled.set(false);
+            if (plugin.getConfigManager().reloadSettings()) {
+                plugin.getLogger().info("config.yml modifié, paramètres rechargés");
+            }
+        }, RELOAD_DELAY);
+    }
+}
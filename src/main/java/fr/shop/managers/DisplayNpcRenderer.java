@@ -0,0 +1,213 @@
+package fr.shop.managers;
+
+import fr.shop.data.Shop;
+import fr.shop.scheduler.ShopScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PNJ léger : tête du propriétaire (ItemDisplay), nom (TextDisplay) et zone de clic (Interaction)
+ * Ces entités ne sont ni persistantes ni simulées (pas d'IA, de collisions ni de commerce),
+ * et ne sont envoyées qu'aux joueurs à portée
+ * Les suppressions passent par l'ordonnanceur de chaque entité (thread de sa région sous Folia)
+ */
+public class DisplayNpcRenderer implements NpcRenderer {
+
+    private static final float HEAD_SCALE = 1.5f;
+    private static final double HEAD_HEIGHT = 1.2;
+    private static final double NAME_HEIGHT = 2.2;
+    private static final float HITBOX_WIDTH = 0.9f;
+    private static final float HITBOX_HEIGHT = 2.0f;
+
+    private final EntityVisibilityTracker visibility;
+    private final ShopScheduler scheduler;
+    private final Map<String, NpcEntities> npcs;
+    private final Map<UUID, String> shopByEntity;
+
+    public DisplayNpcRenderer(EntityVisibilityTracker visibility, ShopScheduler scheduler) {
+        this.visibility = visibility;
+        this.scheduler = scheduler;
+        this.npcs = new ConcurrentHashMap<>();
+        this.shopByEntity = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public int render(Shop shop, Location location, String name) {
+        String shopId = shop.getId();
+
+        NpcEntities current = npcs.get(shopId);
+        if (current != null && scheduler.isOwnedByCurrentRegion(current.hitbox)
+                && current.isValid() && current.hitbox.getWorld().equals(location.getWorld())) {
+            // Mise à jour sur place (PNJ resté dans la région de sa nouvelle position)
+            if (!name.equals(current.name.getText())) {
+                current.name.setText(name);
+            }
+            if (current.hitbox.getLocation().distanceSquared(location) > 0.0001) {
+                current.hitbox.teleport(location);
+                current.head.teleport(location.clone().add(0, HEAD_HEIGHT, 0));
+                current.name.teleport(location.clone().add(0, NAME_HEIGHT, 0));
+                for (Entity entity : current.all()) {
+                    visibility.track(entity, entity.getLocation());
+                }
+            }
+            return 0;
+        }
+
+        int operations = remove(shopId);
+        if (!location.isChunkLoaded()) return operations;
+
+        NpcEntities entities = new NpcEntities();
+
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+        if (shop.getOwnerId() != null && head.getItemMeta() instanceof SkullMeta skullMeta) {
+            skullMeta.setOwningPlayer(Bukkit.getOfflinePlayer(shop.getOwnerId()));
+            head.setItemMeta(skullMeta);
+        }
+
+        entities.head = location.getWorld().spawn(location.clone().add(0, HEAD_HEIGHT, 0), ItemDisplay.class, display -> {
+            prepare(display);
+            display.setItemStack(head);
+            display.setBillboard(Display.Billboard.VERTICAL);
+            display.setTransformation(new Transformation(
+                    new Vector3f(), new AxisAngle4f(),
+                    new Vector3f(HEAD_SCALE, HEAD_SCALE, HEAD_SCALE), new AxisAngle4f()));
+        });
+
+        entities.name = location.getWorld().spawn(location.clone().add(0, NAME_HEIGHT, 0), TextDisplay.class, display -> {
+            prepare(display);
+            display.setBillboard(Display.Billboard.CENTER);
+            display.setShadowed(true);
+            display.setText(name);
+        });
+
+        entities.hitbox = location.getWorld().spawn(location, Interaction.class, interaction -> {
+            prepare(interaction);
+            interaction.setInteractionWidth(HITBOX_WIDTH);
+            interaction.setInteractionHeight(HITBOX_HEIGHT);
+            interaction.setResponsive(true);
+        });
+
+        npcs.put(shopId, entities);
+        for (Entity entity : entities.all()) {
+            visibility.track(entity, entity.getLocation());
+            shopByEntity.put(entity.getUniqueId(), shopId);
+        }
+        return operations + 3;
+    }
+
+    private void prepare(Entity entity) {
+        // Configurée avant l'ajout au monde : jamais envoyée aux joueurs hors de portée
+        entity.setPersistent(false);
+        entity.setVisibleByDefault(false);
+    }
+
+    @Override
+    public int remove(String shopId) {
+        NpcEntities entities = npcs.remove(shopId);
+        if (entities == null) return 0;
+
+        int operations = 0;
+        for (Entity entity : entities.all()) {
+            visibility.untrack(entity);
+            shopByEntity.remove(entity.getUniqueId());
+            operations += destroy(entity);
+        }
+        return operations;
+    }
+
+    /**
+     * Supprime une entité sur le thread de sa région
+     *
+     * @return nombre d'entités supprimées (1 si la suppression est confiée à une autre région)
+     */
+    private int destroy(Entity entity) {
+        if (!scheduler.isOwnedByCurrentRegion(entity)) {
+            scheduler.runForEntity(entity, entity::remove);
+            return 1;
+        }
+        if (entity.isValid()) {
+            entity.remove();
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean adopt(String shopId, Entity entity) {
+        // Entités non persistantes : rien à réadopter
+        return false;
+    }
+
+    @Override
+    public void forgetChunk(Chunk chunk) {
+        // Les entités non persistantes disparaissent avec le chunk
+        Iterator<Map.Entry<String, NpcEntities>> iterator = npcs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            NpcEntities entities = iterator.next().getValue();
+            Location loc = entities.hitbox.getLocation();
+            if (entities.hitbox.getWorld().equals(chunk.getWorld())
+                    && loc.getBlockX() >> 4 == chunk.getX() && loc.getBlockZ() >> 4 == chunk.getZ()) {
+                for (Entity entity : entities.all()) {
+                    visibility.untrack(entity);
+                    shopByEntity.remove(entity.getUniqueId());
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public String getShopId(Entity entity) {
+        return shopByEntity.get(entity.getUniqueId());
+    }
+
+    @Override
+    public boolean hasNPC(String shopId) {
+        return npcs.containsKey(shopId);
+    }
+
+    @Override
+    public void shutdown() {
+        for (NpcEntities entities : npcs.values()) {
+            for (Entity entity : entities.all()) {
+                visibility.untrack(entity);
+                if (entity.isValid()) {
+                    entity.remove();
+                }
+            }
+        }
+        npcs.clear();
+        shopByEntity.clear();
+    }
+
+    private static class NpcEntities {
+        private ItemDisplay head;
+        private TextDisplay name;
+        private Interaction hitbox;
+
+        boolean isValid() {
+            return head.isValid() && name.isValid() && hitbox.isValid();
+        }
+
+        Entity[] all() {
+            return new Entity[]{head, name, hitbox};
+        }
+    }
+}
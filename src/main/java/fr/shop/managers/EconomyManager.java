@@ -0,0 +1,366 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.hooks.EconomyProvider;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
+import fr.shop.scheduler.TaskHandle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Passerelle économique devant le fournisseur (PrisonTycoon ou économie locale) :
+ * cache court des soldes, débits par réservation (séquestre) et crédits regroupés par tick
+ */
+public class EconomyManager {
+
+    private final PlayerShops plugin;
+    private final EconomyProvider provider;
+    private volatile long cacheDuration;
+
+    // Caches courts (solde connu + date de lecture)
+    private final Map<UUID, CachedValue> coinsCache;
+    private final Map<UUID, CachedValue> beaconsCache;
+    private final Map<UUID, CachedValue> merchantCache;
+
+    // Crédits en attente, regroupés par joueur et versés au tick suivant
+    private final Map<UUID, PendingCredit> pendingCredits;
+
+    private TaskHandle flushTask;
+
+    public EconomyManager(PlayerShops plugin, EconomyProvider provider) {
+        this.plugin = plugin;
+        this.provider = provider;
+        this.cacheDuration = plugin.getConfigManager().getBalanceCacheDuration();
+        this.coinsCache = new ConcurrentHashMap<>();
+        this.beaconsCache = new ConcurrentHashMap<>();
+        this.merchantCache = new ConcurrentHashMap<>();
+        this.pendingCredits = new ConcurrentHashMap<>();
+
+        startFlushTask();
+
+        plugin.getConfigManager().addSettingsListener((previous, current) -> cacheDuration = current.getBalanceCacheDuration());
+    }
+
+    private void startFlushTask() {
+        this.flushTask = plugin.getShopScheduler().runGlobalTimer(() -> plugin.getMetrics().time("persistence.credits", this::flushCredits), 1L, 1L); // Verser les crédits à chaque tick
+    }
+
+    // ===============================
+    // COINS
+    // ===============================
+
+    /**
+     * Solde de coins (peut dater de quelques instants, le débit reste vérifié par le fournisseur)
+     */
+    public long getCoins(UUID playerId) {
+        return getCached(coinsCache, playerId, () -> provider.getCoins(playerId));
+    }
+
+    /**
+     * Débite immédiatement le payeur et place la somme en séquestre
+     *
+     * @return la réservation, ou null si le solde est insuffisant
+     */
+    public Reservation reserveCoins(UUID payerId, long amount) {
+        if (amount <= 0) return null;
+
+        if (getCoins(payerId) < amount) {
+            return null;
+        }
+
+        if (!provider.removeCoins(payerId, amount)) {
+            // Le cache était périmé
+            coinsCache.remove(payerId);
+            return null;
+        }
+
+        adjustCache(coinsCache, payerId, -amount);
+        return new Reservation(payerId, amount);
+    }
+
+    /**
+     * Valide une réservation : la somme est créditée au bénéficiaire lors du prochain versement
+     */
+    public void commit(Reservation reservation, UUID payeeId) {
+        commit(reservation, payeeId, 0);
+    }
+
+    /**
+     * Valide la réservation d'une transaction journalisée (marquée réglée une fois le crédit versé)
+     */
+    public void commit(Reservation reservation, UUID payeeId, long tradeId) {
+        if (!reservation.settle()) return;
+        queueCredit(payeeId, reservation.getAmount(), tradeId);
+    }
+
+    /**
+     * Annule une réservation : la somme est rendue au payeur immédiatement
+     */
+    public void release(Reservation reservation) {
+        if (!reservation.settle()) return;
+
+        if (provider.addCoins(reservation.getPayerId(), reservation.getAmount())) {
+            adjustCache(coinsCache, reservation.getPayerId(), reservation.getAmount());
+        } else {
+            coinsCache.remove(reservation.getPayerId());
+            plugin.getLogger().severe("Impossible de rembourser " + reservation.getAmount() + " coins à " + reservation.getPayerId());
+        }
+    }
+
+    /**
+     * Ajoute un crédit en attente (regroupé avec les autres crédits du même joueur)
+     */
+    public void queueCredit(UUID playerId, long amount) {
+        queueCredit(playerId, amount, 0);
+    }
+
+    private void queueCredit(UUID playerId, long amount, long tradeId) {
+        if (playerId == null || amount <= 0) return;
+
+        pendingCredits.compute(playerId, (id, pending) -> {
+            if (pending == null) {
+                pending = new PendingCredit();
+            }
+            pending.add(amount, tradeId);
+            return pending;
+        });
+    }
+
+    /**
+     * Verse tous les crédits en attente (un appel par joueur) une fois leurs transactions marquées réglées
+     * dans le journal : une seule écriture pour tout le lot, attendue hors du thread global
+     */
+    public void flushCredits() {
+        if (pendingCredits.isEmpty()) return;
+
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("credits");
+        Map<UUID, PendingCredit> batch = new HashMap<>();
+        List<Long> tradeIds = new ArrayList<>();
+        for (UUID playerId : pendingCredits.keySet()) {
+            PendingCredit pending = pendingCredits.remove(playerId);
+            if (pending != null) {
+                batch.put(playerId, pending);
+                tradeIds.addAll(pending.tradeIds);
+            }
+        }
+
+        TradeJournal journal = plugin.getTradeJournal();
+        if (journal == null || tradeIds.isEmpty()) {
+            batch.forEach(this::payCredit);
+            event.complete(batch.size(), 0);
+            return;
+        }
+
+        // Réglé sur disque avant le crédit : un arrêt brutal après le versement ne doit pas
+        // conduire le rejeu à créditer le bénéficiaire une seconde fois
+        whenWritten(journal.settle(tradeIds), written -> {
+            if (!written) {
+                batch.forEach(this::requeueCredit);
+                return;
+            }
+            batch.forEach(this::payCredit);
+            event.complete(batch.size(), 0);
+        });
+    }
+
+    /**
+     * Exécute la suite d'une écriture du journal sur le thread global (sur le thread courant pendant l'arrêt
+     * du plugin, qui ne peut plus planifier de tâches)
+     */
+    private void whenWritten(CompletableFuture<Boolean> written, Consumer<Boolean> task) {
+        written.thenAccept(success -> {
+            if (plugin.isEnabled()) {
+                plugin.getShopScheduler().runGlobal(() -> task.accept(success));
+            } else {
+                task.accept(success);
+            }
+        });
+    }
+
+    private void payCredit(UUID playerId, PendingCredit pending) {
+        if (provider.addCoins(playerId, pending.amount)) {
+            adjustCache(coinsCache, playerId, pending.amount);
+            return;
+        }
+
+        // Les transactions redeviennent à régler dans le journal et seront recréditées au démarrage
+        coinsCache.remove(playerId);
+        TradeJournal journal = plugin.getTradeJournal();
+        if (journal != null) {
+            journal.unsettle(pending.tradeIds);
+        }
+        plugin.getLogger().severe("Impossible de créditer " + pending.amount + " coins à " + playerId);
+    }
+
+    /**
+     * Journal indisponible : le crédit attend le prochain versement
+     */
+    private void requeueCredit(UUID playerId, PendingCredit pending) {
+        pendingCredits.merge(playerId, pending, (current, returned) -> {
+            current.amount += returned.amount;
+            current.tradeIds.addAll(returned.tradeIds);
+            return current;
+        });
+    }
+
+    // ===============================
+    // BEACONS
+    // ===============================
+
+    public long getBeacons(UUID playerId) {
+        return getCached(beaconsCache, playerId, () -> provider.getBeacons(playerId));
+    }
+
+    public boolean hasBeacons(UUID playerId, long amount) {
+        return getBeacons(playerId) >= amount;
+    }
+
+    /**
+     * Prix avec réduction pour les commerçants niveau 5+
+     */
+    public long getPrice(UUID playerId, long basePrice) {
+        boolean merchant = getCached(merchantCache, playerId, () -> provider.isMerchantLevel5Plus(playerId) ? 1L : 0L) == 1L;
+        return merchant ? basePrice / 2 : basePrice;
+    }
+
+    /**
+     * Débite des beacons (un seul appel au fournisseur)
+     */
+    public boolean chargeBeacons(UUID playerId, long amount, String reason) {
+        if (!hasBeacons(playerId, amount)) {
+            return false;
+        }
+
+        if (!provider.removeBeacons(playerId, amount)) {
+            beaconsCache.remove(playerId);
+            return false;
+        }
+
+        adjustCache(beaconsCache, playerId, -amount);
+        return true;
+    }
+
+    public boolean refundBeacons(UUID playerId, long amount, String reason) {
+        if (!provider.addBeacons(playerId, amount)) {
+            beaconsCache.remove(playerId);
+            return false;
+        }
+
+        adjustCache(beaconsCache, playerId, amount);
+        return true;
+    }
+
+    // ===============================
+    // CACHE
+    // ===============================
+
+    private long getCached(Map<UUID, CachedValue> cache, UUID playerId, LongSupplier loader) {
+        long now = System.currentTimeMillis();
+        CachedValue cached = cache.get(playerId);
+        if (cached != null && now - cached.readAt < cacheDuration) {
+            plugin.getMetrics().increment("economy.cache_hit");
+            return cached.value;
+        }
+
+        plugin.getMetrics().increment("economy.cache_miss");
+        long value = loader.getAsLong();
+        cache.put(playerId, new CachedValue(value, now));
+        return value;
+    }
+
+    private void adjustCache(Map<UUID, CachedValue> cache, UUID playerId, long delta) {
+        cache.computeIfPresent(playerId, (id, cached) -> new CachedValue(cached.value + delta, cached.readAt));
+    }
+
+    /**
+     * Oublie les soldes d'un joueur (déconnexion)
+     */
+    public void invalidate(UUID playerId) {
+        coinsCache.remove(playerId);
+        beaconsCache.remove(playerId);
+        merchantCache.remove(playerId);
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        flushCredits();
+
+        // Écrire les SETTLE sur ce thread : les crédits sont versés par leur acquittement
+        TradeJournal journal = plugin.getTradeJournal();
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    // ===============================
+    // GETTERS
+    // ===============================
+
+    public EconomyProvider getProvider() {
+        return provider;
+    }
+
+    public int getPendingCreditCount() {
+        return pendingCredits.size();
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    private static class PendingCredit {
+        private long amount;
+        private final List<Long> tradeIds = new ArrayList<>(1);
+
+        void add(long amount, long tradeId) {
+            this.amount += amount;
+            if (tradeId > 0) {
+                tradeIds.add(tradeId);
+            }
+        }
+    }
+
+    private static class CachedValue {
+        private final long value;
+        private final long readAt;
+
+        CachedValue(long value, long readAt) {
+            this.value = value;
+            this.readAt = readAt;
+        }
+    }
+
+    /**
+     * Somme débitée et tenue en séquestre jusqu'à validation ou annulation
+     */
+    public static class Reservation {
+        private final UUID payerId;
+        private final long amount;
+        private boolean settled;
+
+        Reservation(UUID payerId, long amount) {
+            this.payerId = payerId;
+            this.amount = amount;
+        }
+
+        private synchronized boolean settle() {
+            if (settled) return false;
+            settled = true;
+            return true;
+        }
+
+        public UUID getPayerId() { return payerId; }
+        public long getAmount() { return amount; }
+        public synchronized boolean isSettled() { return settled; }
+    }
+}
@@ -0,0 +1,121 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Visibilité par joueur des entités de visuels (cachées par défaut) :
+ * chaque entité suivie n'est montrée qu'aux joueurs à portée
+ * Les positions sont relevées à l'enregistrement de l'entité, et chaque joueur est traité
+ * sur le thread qui le possède (sa région sous Folia), sans lire les entités d'autres régions
+ */
+public class EntityVisibilityTracker {
+
+    private final PlayerShops plugin;
+    private final Map<UUID, TrackedEntity> entities;
+    private final Map<UUID, Set<UUID>> visibleByPlayer; // Joueur -> entités qu'il voit
+    private TaskHandle visibilityTask = TaskHandle.NONE;
+
+    public EntityVisibilityTracker(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.entities = new ConcurrentHashMap<>();
+        this.visibleByPlayer = new ConcurrentHashMap<>();
+
+        startVisibilityTask(plugin.getConfigManager().getVisibilityUpdateInterval());
+
+        plugin.getConfigManager().addSettingsListener((previous, current) -> {
+            if (previous.getVisibilityUpdateInterval() != current.getVisibilityUpdateInterval()) {
+                visibilityTask.cancel();
+                startVisibilityTask(current.getVisibilityUpdateInterval());
+            }
+        });
+    }
+
+    private void startVisibilityTask(long interval) {
+        visibilityTask = plugin.getShopScheduler().runGlobalTimer(this::updateVisibility, interval, interval);
+    }
+
+    /**
+     * Suit une entité (ou met à jour sa position après un déplacement)
+     */
+    public void track(Entity entity, Location location) {
+        entities.put(entity.getUniqueId(), new TrackedEntity(entity, location));
+    }
+
+    public void untrack(Entity entity) {
+        entities.remove(entity.getUniqueId());
+    }
+
+    private void updateVisibility() {
+        if (entities.isEmpty() && visibleByPlayer.isEmpty()) return;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            plugin.getShopScheduler().executeForEntity(player, () -> updateVisibility(player));
+        }
+    }
+
+    private void updateVisibility(Player player) {
+        double viewDistance = plugin.getConfigManager().getVisualViewDistance();
+        double maxDistanceSquared = viewDistance * viewDistance;
+
+        Location loc = player.getLocation();
+        World world = loc.getWorld();
+        Set<UUID> seen = visibleByPlayer.computeIfAbsent(player.getUniqueId(), k -> new HashSet<>());
+
+        // Entités supprimées depuis le dernier passage
+        seen.removeIf(entityId -> !entities.containsKey(entityId));
+
+        for (TrackedEntity tracked : entities.values()) {
+            boolean inRange = false;
+            if (tracked.world.equals(world)) {
+                double dx = tracked.x - loc.getX();
+                double dy = tracked.y - loc.getY();
+                double dz = tracked.z - loc.getZ();
+                inRange = dx * dx + dy * dy + dz * dz <= maxDistanceSquared;
+            }
+
+            UUID entityId = tracked.entity.getUniqueId();
+            if (inRange && seen.add(entityId)) {
+                player.showEntity(plugin, tracked.entity);
+            } else if (!inRange && seen.remove(entityId)) {
+                player.hideEntity(plugin, tracked.entity);
+            }
+        }
+    }
+
+    /**
+     * Oublie un joueur déconnecté (sa visibilité repart de zéro à la reconnexion)
+     */
+    public void forgetViewer(UUID playerId) {
+        visibleByPlayer.remove(playerId);
+    }
+
+    public void clear() {
+        entities.clear();
+        visibleByPlayer.clear();
+    }
+
+    private static class TrackedEntity {
+        private final Entity entity;
+        private final World world;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        TrackedEntity(Entity entity, Location location) {
+            this.entity = entity;
+            this.world = location.getWorld();
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+        }
+    }
+}
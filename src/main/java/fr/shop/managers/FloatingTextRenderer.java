@@ -0,0 +1,260 @@
+package fr.shop.managers;
+
+import fr.shop.data.Shop;
+import fr.shop.scheduler.ShopScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.TextDisplay;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendu des textes flottants des shops avec des TextDisplay non persistants
+ * Les entités sont cachées par défaut et montrées uniquement aux joueurs à portée,
+ * et mises à jour sur place (texte, position) au lieu d'être recréées
+ * Sous Folia, chaque entité n'est touchée que par le thread de sa région : les suppressions passent par
+ * l'ordonnanceur de l'entité, et un texte placé dans une autre région y est créé puis rangé dans sa case
+ */
+public class FloatingTextRenderer {
+
+    private final EntityVisibilityTracker visibility;
+    private final ShopScheduler scheduler;
+    private final Map<String, List<TextDisplay>> displaysByShop; // Une case par texte du shop, null si non créé
+
+    public FloatingTextRenderer(EntityVisibilityTracker visibility, ShopScheduler scheduler) {
+        this.visibility = visibility;
+        this.scheduler = scheduler;
+        this.displaysByShop = new ConcurrentHashMap<>();
+    }
+
+    // ===============================
+    // RENDU
+    // ===============================
+
+    /**
+     * Synchronise les entités d'un shop avec ses textes flottants
+     * Les entités existantes sont réutilisées, seules les manquantes sont créées
+     *
+     * @return nombre d'entités créées ou supprimées
+     */
+    public int update(Shop shop) {
+        String shopId = shop.getId();
+        List<Shop.FloatingText> texts = shop.isRented() ? shop.getFloatingTexts() : Collections.emptyList();
+        List<TextDisplay> current = displaysByShop.getOrDefault(shopId, Collections.emptyList());
+        List<TextDisplay> updated = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        List<Integer> remote = new ArrayList<>();
+        int operations = 0;
+
+        for (int i = 0; i < texts.size(); i++) {
+            Shop.FloatingText floatingText = texts.get(i);
+            TextDisplay display = i < current.size() ? current.get(i) : null;
+            Location loc = floatingText.getLocation();
+
+            if (loc == null || loc.getWorld() == null) {
+                if (display != null) operations += destroy(display);
+                continue;
+            }
+
+            String text = floatingText.getDisplayText();
+
+            // Mise à jour sur place, si l'entité et sa position appartiennent toutes deux à ce thread
+            if (display != null && scheduler.isOwnedByCurrentRegion(display) && scheduler.isOwnedByCurrentRegion(loc)
+                    && display.isValid() && display.getWorld().equals(loc.getWorld())) {
+                if (!text.equals(display.getText())) {
+                    display.setText(text);
+                }
+                if (display.getLocation().distanceSquared(loc) > 0.0001) {
+                    display.teleport(loc);
+                    visibility.track(display, loc);
+                }
+                updated.set(i, display);
+                continue;
+            }
+
+            if (display != null) operations += destroy(display);
+
+            // Texte dans une autre région : créé sur le thread de celle-ci
+            if (!scheduler.isOwnedByCurrentRegion(loc)) {
+                remote.add(i);
+                operations++;
+                continue;
+            }
+
+            // Chunk non chargé : l'entité sera créée à la prochaine mise à jour
+            if (!loc.isChunkLoaded()) continue;
+
+            updated.set(i, spawn(loc, text));
+            operations++;
+        }
+
+        // Textes supprimés
+        for (int i = texts.size(); i < current.size(); i++) {
+            if (current.get(i) != null) operations += destroy(current.get(i));
+        }
+
+        store(shopId, current, texts.isEmpty() ? null : updated);
+
+        // Planifiées après l'enregistrement de la liste : chaque création trouve sa case
+        for (int index : remote) {
+            Shop.FloatingText floatingText = texts.get(index);
+            spawnRemote(shopId, index, floatingText.getLocation(), floatingText.getDisplayText());
+        }
+        return operations;
+    }
+
+    /**
+     * Enregistre la nouvelle liste d'un shop ; les textes créés entre-temps sur d'autres régions
+     * reprennent leur case libre, ou sont supprimés s'ils n'en ont plus
+     */
+    private void store(String shopId, List<TextDisplay> current, List<TextDisplay> updated) {
+        List<TextDisplay> orphans = new ArrayList<>();
+        displaysByShop.compute(shopId, (id, latest) -> {
+            if (latest != null && latest != current) {
+                for (int i = 0; i < latest.size(); i++) {
+                    TextDisplay placed = latest.get(i);
+                    if (placed == null || current.contains(placed)) continue;
+
+                    if (updated != null && i < updated.size() && updated.get(i) == null) {
+                        updated.set(i, placed);
+                    } else {
+                        orphans.add(placed);
+                    }
+                }
+            }
+            return updated;
+        });
+        for (TextDisplay orphan : orphans) {
+            destroy(orphan);
+        }
+    }
+
+    private void spawnRemote(String shopId, int index, Location loc, String text) {
+        scheduler.runAt(loc, () -> {
+            if (!loc.isChunkLoaded()) return;
+
+            TextDisplay spawned = spawn(loc, text);
+            boolean[] placed = {false};
+            displaysByShop.computeIfPresent(shopId, (id, displays) -> {
+                if (index >= displays.size() || displays.get(index) != null) return displays;
+
+                List<TextDisplay> copy = new ArrayList<>(displays);
+                copy.set(index, spawned);
+                placed[0] = true;
+                return copy;
+            });
+            if (!placed[0]) {
+                destroy(spawned); // Texte supprimé ou déjà recréé entre-temps
+            }
+        });
+    }
+
+    private TextDisplay spawn(Location loc, String text) {
+        // Configurée avant l'ajout au monde : jamais envoyée aux joueurs hors de portée
+        TextDisplay spawned = loc.getWorld().spawn(loc, TextDisplay.class, display -> {
+            display.setPersistent(false);
+            display.setVisibleByDefault(false);
+            display.setBillboard(Display.Billboard.CENTER);
+            display.setShadowed(true);
+            display.setText(text);
+        });
+        visibility.track(spawned, loc);
+        return spawned;
+    }
+
+    /**
+     * Supprime une entité sur le thread de sa région
+     *
+     * @return nombre d'entités supprimées (1 si la suppression est confiée à une autre région)
+     */
+    private int destroy(TextDisplay display) {
+        visibility.untrack(display);
+        if (!scheduler.isOwnedByCurrentRegion(display)) {
+            scheduler.runForEntity(display, display::remove);
+            return 1;
+        }
+        if (display.isValid()) {
+            display.remove();
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * @return nombre d'entités supprimées
+     */
+    public int remove(String shopId) {
+        int operations = 0;
+        List<TextDisplay> displays = displaysByShop.remove(shopId);
+        if (displays != null) {
+            for (TextDisplay display : displays) {
+                if (display != null) operations += destroy(display);
+            }
+        }
+        return operations;
+    }
+
+    // ===============================
+    // NETTOYAGE
+    // ===============================
+
+    /**
+     * Oublie les textes d'un chunk déchargé : les entités non persistantes disparaissent avec lui,
+     * leurs cases sont libérées pour être recréées au rechargement du chunk
+     */
+    public void forgetChunk(Chunk chunk) {
+        for (String shopId : displaysByShop.keySet()) {
+            displaysByShop.computeIfPresent(shopId, (id, displays) -> {
+                List<TextDisplay> kept = null;
+                for (int i = 0; i < displays.size(); i++) {
+                    TextDisplay display = displays.get(i);
+                    if (display == null || !isInChunk(display, chunk)) continue;
+
+                    visibility.untrack(display);
+                    if (kept == null) kept = new ArrayList<>(displays);
+                    kept.set(i, null);
+                }
+                return kept != null ? kept : displays;
+            });
+        }
+    }
+
+    private boolean isInChunk(TextDisplay display, Chunk chunk) {
+        Location loc = display.getLocation();
+        return display.getWorld().equals(chunk.getWorld())
+                && loc.getBlockX() >> 4 == chunk.getX() && loc.getBlockZ() >> 4 == chunk.getZ();
+    }
+
+    public void shutdown() {
+        for (List<TextDisplay> displays : displaysByShop.values()) {
+            for (TextDisplay display : displays) {
+                if (display == null) continue;
+                visibility.untrack(display);
+                if (display.isValid()) {
+                    display.remove();
+                }
+            }
+        }
+        displaysByShop.clear();
+    }
+
+    // ===============================
+    // GETTERS
+    // ===============================
+
+    public boolean hasTexts(String shopId) {
+        return getTextCount(shopId) > 0;
+    }
+
+    public int getTextCount(String shopId) {
+        List<TextDisplay> displays = displaysByShop.get(shopId);
+        if (displays == null) return 0;
+
+        int count = 0;
+        for (TextDisplay display : displays) {
+            if (display != null) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,261 @@
+package fr.shop.managers;
+
+import fr.shop.data.ChestShop;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+/**
+ * Index de recherche du marché : pour chaque item (clé d'item), carnets triés par prix unitaire
+ * des chest shops qui vendent (côté achat client) et qui rachètent (côté vente client)
+ * Mis à jour à la création, modification, suppression des chest shops et aux changements de stock
+ * Les mises à jour arrivent depuis les threads de région (Folia) : tout accès passe par le verrou de l'index
+ */
+public class MarketIndex {
+
+    // Moins cher d'abord
+    private static final Comparator<Listing> SELLER_ORDER = (a, b) -> {
+        int cmp = Listing.compareUnitPrice(a, b);
+        return cmp != 0 ? cmp : Listing.compareLocation(a, b);
+    };
+
+    // Meilleure offre de rachat d'abord
+    private static final Comparator<Listing> BUYER_ORDER = (a, b) -> {
+        int cmp = Listing.compareUnitPrice(b, a);
+        return cmp != 0 ? cmp : Listing.compareLocation(a, b);
+    };
+
+    private final Map<String, PriceBook> books;
+    private final Map<Material, Set<String>> itemKeysByMaterial;
+    private final Map<Location, Listing> listings;
+
+    public MarketIndex() {
+        this.books = new HashMap<>();
+        this.itemKeysByMaterial = new EnumMap<>(Material.class);
+        this.listings = new HashMap<>();
+    }
+
+    // ===============================
+    // MISES À JOUR
+    // ===============================
+
+    /**
+     * Ajoute ou remplace un chest shop dans l'index
+     *
+     * @param availableLots lots en stock (vente) ou place en lots dans le coffre (rachat), -1 si inconnu
+     */
+    public synchronized void index(ChestShop chestShop, String shopId, int availableLots) {
+        remove(chestShop.getChestLocation());
+
+        Listing listing = new Listing(chestShop, shopId, availableLots);
+        listings.put(listing.getChestLocation(), listing);
+
+        books.computeIfAbsent(listing.getItemKey(), k -> new PriceBook()).add(listing);
+        itemKeysByMaterial.computeIfAbsent(listing.getMaterial(), m -> new HashSet<>()).add(listing.getItemKey());
+    }
+
+    public synchronized void remove(Location chestLocation) {
+        Listing listing = listings.remove(chestLocation);
+        if (listing == null) return;
+
+        PriceBook book = books.get(listing.getItemKey());
+        if (book == null) return;
+
+        book.remove(listing);
+        if (book.isEmpty()) {
+            books.remove(listing.getItemKey());
+
+            Set<String> keys = itemKeysByMaterial.get(listing.getMaterial());
+            if (keys != null) {
+                keys.remove(listing.getItemKey());
+                if (keys.isEmpty()) {
+                    itemKeysByMaterial.remove(listing.getMaterial());
+                }
+            }
+        }
+    }
+
+    /**
+     * Met à jour le stock (ou la place disponible) d'un chest shop
+     */
+    public synchronized void updateAvailability(Location chestLocation, int availableLots) {
+        Listing listing = listings.get(chestLocation);
+        if (listing == null || listing.availableLots == availableLots) return;
+
+        PriceBook book = books.get(listing.getItemKey());
+        book.remove(listing);
+        listing.availableLots = availableLots;
+        book.add(listing);
+    }
+
+    public synchronized void clear() {
+        books.clear();
+        itemKeysByMaterial.clear();
+        listings.clear();
+    }
+
+    // ===============================
+    // REQUÊTES
+    // ===============================
+
+    /**
+     * Chest shop le moins cher vendant cet item avec du stock
+     */
+    public synchronized Listing findCheapestSeller(String itemKey) {
+        PriceBook book = books.get(itemKey);
+        return book == null || book.sellers.isEmpty() ? null : book.sellers.first();
+    }
+
+    /**
+     * Chest shop rachetant cet item au meilleur prix avec de la place
+     */
+    public synchronized Listing findBestBuyer(String itemKey) {
+        PriceBook book = books.get(itemKey);
+        return book == null || book.buyers.isEmpty() ? null : book.buyers.first();
+    }
+
+    public synchronized List<Listing> findSellers(String itemKey, int limit) {
+        PriceBook book = books.get(itemKey);
+        return book == null ? new ArrayList<>() : firstOf(book.sellers, limit);
+    }
+
+    public synchronized List<Listing> findBuyers(String itemKey, int limit) {
+        PriceBook book = books.get(itemKey);
+        return book == null ? new ArrayList<>() : firstOf(book.buyers, limit);
+    }
+
+    /**
+     * Vendeurs de toutes les variantes d'un matériau (items renommés compris), triés par prix unitaire
+     */
+    public synchronized List<Listing> findSellers(Material material, int limit) {
+        List<Listing> result = new ArrayList<>();
+        for (String itemKey : itemKeysByMaterial.getOrDefault(material, Collections.emptySet())) {
+            result.addAll(firstOf(books.get(itemKey).sellers, limit));
+        }
+        result.sort(SELLER_ORDER);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public synchronized List<Listing> findBuyers(Material material, int limit) {
+        List<Listing> result = new ArrayList<>();
+        for (String itemKey : itemKeysByMaterial.getOrDefault(material, Collections.emptySet())) {
+            result.addAll(firstOf(books.get(itemKey).buyers, limit));
+        }
+        result.sort(BUYER_ORDER);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private List<Listing> firstOf(NavigableSet<Listing> set, int limit) {
+        List<Listing> result = new ArrayList<>(Math.min(limit, set.size()));
+        for (Listing listing : set) {
+            if (result.size() >= limit) break;
+            result.add(listing);
+        }
+        return result;
+    }
+
+    public synchronized int getListingCount() {
+        return listings.size();
+    }
+
+    public synchronized int getItemCount() {
+        return books.size();
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    private static class PriceBook {
+        private final TreeSet<Listing> sellers = new TreeSet<>(SELLER_ORDER);
+        private final TreeSet<Listing> buyers = new TreeSet<>(BUYER_ORDER);
+        private int size = 0; // Y compris les chest shops sans stock/place
+
+        void add(Listing listing) {
+            size++;
+            if (!listing.isAvailable()) return;
+
+            if (listing.isSellMode()) {
+                buyers.add(listing);
+            } else {
+                sellers.add(listing);
+            }
+        }
+
+        void remove(Listing listing) {
+            size--;
+            if (listing.isSellMode()) {
+                buyers.remove(listing);
+            } else {
+                sellers.remove(listing);
+            }
+        }
+
+        boolean isEmpty() {
+            return size <= 0;
+        }
+    }
+
+    /**
+     * Entrée de l'index pour un chest shop
+     */
+    public static class Listing {
+        private final Location chestLocation;
+        private final String shopId;
+        private final String ownerName;
+        private final String itemKey;
+        private final ItemStack item;
+        private final long price;
+        private final int lotSize;
+        private final boolean sellMode;
+        private volatile int availableLots; // Modifié sous le verrou de l'index, lu hors verrou
+
+        Listing(ChestShop chestShop, String shopId, int availableLots) {
+            this.chestLocation = chestShop.getChestLocation();
+            this.shopId = shopId;
+            this.ownerName = chestShop.getOwnerName();
+            this.itemKey = chestShop.getItemKey();
+            this.item = chestShop.getItem();
+            this.price = chestShop.getPrice();
+            this.lotSize = Math.max(1, item.getAmount());
+            this.sellMode = chestShop.isSellMode();
+            this.availableLots = availableLots;
+        }
+
+        static int compareUnitPrice(Listing a, Listing b) {
+            // price/lotSize comparés sans division
+            return Long.compare(a.price * b.lotSize, b.price * a.lotSize);
+        }
+
+        static int compareLocation(Listing a, Listing b) {
+            int cmp = a.chestLocation.getWorld().getName().compareTo(b.chestLocation.getWorld().getName());
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(a.chestLocation.getBlockX(), b.chestLocation.getBlockX());
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(a.chestLocation.getBlockY(), b.chestLocation.getBlockY());
+            if (cmp != 0) return cmp;
+            return Integer.compare(a.chestLocation.getBlockZ(), b.chestLocation.getBlockZ());
+        }
+
+        /**
+         * Stock (ou place) disponible ou inconnu
+         */
+        public boolean isAvailable() {
+            return availableLots != 0;
+        }
+
+        public Location getChestLocation() { return chestLocation; }
+        public String getShopId() { return shopId; }
+        public String getOwnerName() { return ownerName; }
+        public String getItemKey() { return itemKey; }
+        public Material getMaterial() { return item.getType(); }
+        public ItemStack getItem() { return item.clone(); }
+        public long getPrice() { return price; }
+        public int getLotSize() { return lotSize; }
+        public boolean isSellMode() { return sellMode; }
+        public int getAvailableLots() { return availableLots; }
+        public double getUnitPrice() { return (double) price / lotSize; }
+    }
+}
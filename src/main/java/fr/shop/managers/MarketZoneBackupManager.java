@@ -2,6 +2,8 @@ package fr.shop.managers;
 
 import fr.shop.PlayerShops;
 import fr.shop.data.Zone;
+import fr.shop.metrics.MetricsRegistry;
+import fr.shop.metrics.jfr.BackupSliceEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -12,7 +14,6 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,6 +28,7 @@ import java.util.logging.Level;
 public class MarketZoneBackupManager {
 
     private final PlayerShops plugin;
+    private final MessageManager messages;
     private final ZoneManager zoneManager;
 
     private File marketBackupsFile;
@@ -40,6 +42,7 @@ public class MarketZoneBackupManager {
 
     public MarketZoneBackupManager(PlayerShops plugin, ZoneManager zoneManager) {
         this.plugin = plugin;
+        this.messages = plugin.getMessageManager();
         this.zoneManager = zoneManager;
 
         initializeMarketBackupFile();
@@ -79,61 +82,53 @@ public class MarketZoneBackupManager {
         CompletableFuture<MarketBackupResult> future = new CompletableFuture<>();
 
         if (initiator != null) {
-            initiator.sendMessage("§a§lSHOP §8» §aDébut de la sauvegarde market zone §e" + zoneId + "§a...");
+            messages.send(initiator, "market-backups.started", "zone", zoneId);
         }
 
         // Étape 1: Collecter les données des BLOCS sur un thread asynchrone (partie la plus lente)
-        new BukkitRunnable() {
-            @Override
-            public void run() { // S'exécute en ASYNC
-                try {
-                    MarketZoneData marketData = collectMarketZoneData(zone);
-
-                    // Étape 2: Planifier le reste des opérations sur le thread principal
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() { // S'exécute en SYNC (thread principal)
-                            try {
-                                World world = Bukkit.getWorld(zone.getWorldName());
-                                if (world == null) {
-                                    future.complete(new MarketBackupResult(zoneId, false, "Monde introuvable pour la collecte des entités", 0, 0, "0%"));
-                                    return;
-                                }
-                                // Étape 2b: Traiter la sauvegarde (suppression d'entités, sauvegarde YAML)
-                                MarketBackupResult result = processMarketBackup(zone, marketData);
-
-                                // Notifier le joueur et compléter le future
-                                if (initiator != null) {
-                                    if (result.isSuccess()) {
-                                        initiator.sendMessage("§a§lSHOP §8» §aBackup market zone terminé!");
-                                        initiator.sendMessage("§7§lSHOP §8» §7Colonnes sauvegardées: §e" + result.getColumnsSaved());
-                                        initiator.sendMessage("§7§lSHOP §8» §7Compression: §a" + result.getCompressionRatio());
-                                        initiator.sendMessage("§7§lSHOP §8» §7Entités supprimées: §e" + result.getEntitiesRemoved());
-                                    } else {
-                                        initiator.sendMessage("§c§lSHOP §8» §cErreur backup: " + result.getErrorMessage());
-                                    }
-                                }
-                                future.complete(result);
-
-                            } catch (Exception e) {
-                                plugin.getLogger().log(Level.SEVERE, "Erreur lors de la phase synchrone du backup pour " + zoneId, e);
-                                future.complete(new MarketBackupResult(zoneId, false, e.getMessage(), 0, 0, "0%"));
-                            }
+        plugin.getShopScheduler().runAsync(() -> { // S'exécute en ASYNC
+            try {
+                MarketZoneData marketData;
+                try (MetricsRegistry.Sample ignored = plugin.getMetrics().time("backups.market_collect")) {
+                    marketData = collectMarketZoneData(zone);
+                }
+
+                // Étape 2: Planifier le reste des opérations sur le thread principal
+                plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> { // S'exécute dans la région de la zone
+                    try {
+                        World world = Bukkit.getWorld(zone.getWorldName());
+                        if (world == null) {
+                            future.complete(new MarketBackupResult(zoneId, false, "Monde introuvable pour la collecte des entités", 0, 0, "0%"));
+                            return;
                         }
-                    }.runTask(plugin);
-
-                } catch (Exception e) {
-                    // Si une erreur se produit pendant la collecte de blocs
-                    plugin.getLogger().log(Level.SEVERE, "Erreur lors de la phase asynchrone du backup pour " + zoneId, e);
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            future.complete(new MarketBackupResult(zoneId, false, "Asynchronous " + e.getMessage(), 0, 0, "0%"));
+                        // Étape 2b: Traiter la sauvegarde (suppression d'entités, sauvegarde YAML)
+                        MarketBackupResult result = processMarketBackup(zone, marketData);
+
+                        // Notifier le joueur et compléter le future
+                        if (initiator != null) {
+                            if (result.isSuccess()) {
+                                messages.send(initiator, "market-backups.done");
+                                messages.send(initiator, "market-backups.columns-saved", "columns", String.valueOf(result.getColumnsSaved()));
+                                messages.send(initiator, "market-backups.compression", "ratio", result.getCompressionRatio());
+                                messages.send(initiator, "backups.entities-removed", "entities", String.valueOf(result.getEntitiesRemoved()));
+                            } else {
+                                messages.send(initiator, "market-backups.failed", "error", result.getErrorMessage());
+                            }
                         }
-                    }.runTask(plugin);
-                }
+                        future.complete(result);
+
+                    } catch (Exception e) {
+                        plugin.getLogger().log(Level.SEVERE, "Erreur lors de la phase synchrone du backup pour " + zoneId, e);
+                        future.complete(new MarketBackupResult(zoneId, false, e.getMessage(), 0, 0, "0%"));
+                    }
+                });
+
+            } catch (Exception e) {
+                // Si une erreur se produit pendant la collecte de blocs
+                plugin.getLogger().log(Level.SEVERE, "Erreur lors de la phase asynchrone du backup pour " + zoneId, e);
+                plugin.getShopScheduler().runGlobal(() -> future.complete(new MarketBackupResult(zoneId, false, "Asynchronous " + e.getMessage(), 0, 0, "0%")));
             }
-        }.runTaskAsynchronously(plugin);
+        });
 
         return future;
     }
@@ -148,6 +143,7 @@ public class MarketZoneBackupManager {
      * Cette méthode est maintenant sûre pour une exécution asynchrone.
      */
     private MarketZoneData collectMarketZoneData(Zone zone) throws Exception {
+        BackupSliceEvent event = BackupSliceEvent.start("market_capture", zone.getId());
         World world = Bukkit.getWorld(zone.getWorldName());
         if (world == null) {
             throw new Exception("Monde introuvable");
@@ -180,6 +176,7 @@ public class MarketZoneBackupManager {
                 data.columns.put(x + "," + z, column);
             }
         }
+        event.complete(data.totalBlocks, data.entitiesToRemove.size());
         return data;
     }
 
@@ -224,16 +221,13 @@ public class MarketZoneBackupManager {
             // Supprimer les entités
             int entitiesRemoved = 0;
             if (!marketData.entitiesToRemove.isEmpty()) {
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        for (Entity entity : marketData.entitiesToRemove) {
-                            if (entity != null && !entity.isDead()) {
-                                entity.remove();
-                            }
+                plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+                    for (Entity entity : marketData.entitiesToRemove) {
+                        if (entity != null && !entity.isDead()) {
+                            entity.remove();
                         }
                     }
-                }.runTask(plugin);
+                });
 
                 entitiesRemoved = marketData.entitiesToRemove.size();
             }
@@ -333,60 +327,44 @@ public class MarketZoneBackupManager {
         CompletableFuture<MarketRestoreResult> future = new CompletableFuture<>();
 
         if (initiator != null) {
-            initiator.sendMessage("§a§lSHOP §8» §aDébut de la restauration market zone §e" + zoneId + "§a...");
+            messages.send(initiator, "market-backups.restore-started", "zone", zoneId);
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    MarketZoneData backupData = loadMarketBackupFromConfig(zoneId);
-                    if (backupData == null) {
-                        MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, "Backup corrompu", 0, 0);
-                        new BukkitRunnable() {
-                            @Override
-                            public void run() {
-                                future.complete(errorResult);
-                            }
-                        }.runTask(plugin);
-                        return;
-                    }
+        plugin.getShopScheduler().runAsync(() -> {
+            try {
+                MarketZoneData backupData = loadMarketBackupFromConfig(zoneId);
+                if (backupData == null) {
+                    MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, "Backup corrompu", 0, 0);
+                    plugin.getShopScheduler().runGlobal(() -> future.complete(errorResult));
+                    return;
+                }
 
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                MarketRestoreResult result = performMarketRestore(zone, backupData);
-
-                                if (initiator != null) {
-                                    if (result.isSuccess()) {
-                                        initiator.sendMessage("§a§lSHOP §8» §aRestauration market zone terminée!");
-                                        initiator.sendMessage("§7§lSHOP §8» §7Blocs restaurés: §e" + result.getBlocksRestored());
-                                        initiator.sendMessage("§7§lSHOP §8» §7Entités supprimées: §e" + result.getEntitiesRemoved());
-                                    } else {
-                                        initiator.sendMessage("§c§lSHOP §8» §cErreur restauration: " + result.getErrorMessage());
-                                    }
-                                }
-
-                                future.complete(result);
-                            } catch (Exception e) {
-                                MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, e.getMessage(), 0, 0);
-                                future.complete(errorResult);
+                plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+                    try {
+                        MarketRestoreResult result = plugin.getMetrics().time("backups.market_restore", () -> performMarketRestore(zone, backupData));
+
+                        if (initiator != null) {
+                            if (result.isSuccess()) {
+                                messages.send(initiator, "market-backups.restore-done");
+                                messages.send(initiator, "backups.blocks-restored", "blocks", String.valueOf(result.getBlocksRestored()));
+                                messages.send(initiator, "backups.entities-removed", "entities", String.valueOf(result.getEntitiesRemoved()));
+                            } else {
+                                messages.send(initiator, "market-backups.restore-failed", "error", result.getErrorMessage());
                             }
                         }
-                    }.runTask(plugin);
-
-                } catch (Exception e) {
-                    MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, e.getMessage(), 0, 0);
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            future.complete(errorResult);
-                        }
-                    }.runTask(plugin);
-                }
+
+                        future.complete(result);
+                    } catch (Exception e) {
+                        MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, e.getMessage(), 0, 0);
+                        future.complete(errorResult);
+                    }
+                });
+
+            } catch (Exception e) {
+                MarketRestoreResult errorResult = new MarketRestoreResult(zoneId, false, e.getMessage(), 0, 0);
+                plugin.getShopScheduler().runGlobal(() -> future.complete(errorResult));
             }
-        }.runTaskAsynchronously(plugin);
+        });
 
         return future;
     }
@@ -456,6 +434,7 @@ public class MarketZoneBackupManager {
      * Effectue la restauration market
      */
     private MarketRestoreResult performMarketRestore(Zone zone, MarketZoneData backupData) {
+        BackupSliceEvent event = BackupSliceEvent.start("market_restore", zone.getId());
         try {
             World world = Bukkit.getWorld(zone.getWorldName());
             if (world == null) {
@@ -500,6 +479,7 @@ public class MarketZoneBackupManager {
                 }
             }
 
+            event.complete(blocksRestored, entitiesRemoved);
             return new MarketRestoreResult(zone.getId(), true, null, blocksRestored, entitiesRemoved);
 
         } catch (Exception e) {
@@ -0,0 +1,180 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Messages configurables (section messages de config.yml), compilés une fois au chargement :
+ * chaque message devient une suite de segments littéraux et d'emplacements {nom}
+ * Un message sans emplacement garde son Component Adventure prêt à envoyer ; les autres
+ * sont assemblés dans un seul StringBuilder dimensionné d'avance, sans recherche dans la config
+ */
+public class MessageManager {
+
+    private static final String MISSING = "§cMessage manquant: ";
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    private final PlayerShops plugin;
+    private volatile Map<String, Template> templates; // Remplacée en bloc au rechargement
+
+    public MessageManager(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.templates = Map.of();
+
+        reload();
+        plugin.getConfigManager().addSettingsListener((previous, current) -> reload());
+    }
+
+    /**
+     * Recompile tous les messages de config.yml (appelé après chaque rechargement de la configuration)
+     */
+    public void reload() {
+        Map<String, Template> compiled = new HashMap<>();
+        ConfigurationSection section = plugin.getConfigManager().getConfig().getConfigurationSection("messages");
+        if (section != null) {
+            // Les messages absents d'un ancien config.yml reprennent ceux du jar
+            compile(section.getDefaultSection(), compiled);
+            compile(section, compiled);
+        }
+        this.templates = Map.copyOf(compiled);
+    }
+
+    private void compile(ConfigurationSection section, Map<String, Template> compiled) {
+        if (section == null) return;
+        for (String key : section.getKeys(true)) {
+            if (section.isString(key)) {
+                compiled.put(key, Template.compile(section.getString(key)));
+            }
+        }
+    }
+
+    // ===============================
+    // ENVOI ET MISE EN FORME
+    // ===============================
+
+    /**
+     * Envoie le message en remplaçant les emplacements (paires nom, valeur)
+     */
+    public void send(CommandSender target, String key, String... replacements) {
+        Template template = template(key);
+        if (template.component != null) {
+            target.sendMessage(template.component);
+        } else {
+            target.sendMessage(template.render(replacements));
+        }
+    }
+
+    /**
+     * Message mis en forme (paires nom, valeur), pour les messages composés ou différés
+     */
+    public String format(String key, String... replacements) {
+        return template(key).render(replacements);
+    }
+
+    public String get(String key) {
+        return template(key).render();
+    }
+
+    private Template template(String key) {
+        Template template = templates.get(key);
+        return template != null ? template : Template.compile(MISSING + key);
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Message compilé : literals[0] slots[0] literals[1] ... slots[n-1] literals[n]
+     * Un emplacement sans valeur fournie est rendu tel quel ({nom})
+     */
+    private static class Template {
+        private final String[] literals;
+        private final String[] slots;
+        private final int literalLength;
+        private final String constant;
+        private final Component component;
+
+        private Template(String[] literals, String[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+            this.constant = slots.length == 0 ? literals[0] : null;
+            this.component = constant != null ? SERIALIZER.deserialize(constant) : null;
+        }
+
+        static Template compile(String message) {
+            List<String> literals = new ArrayList<>();
+            List<String> slots = new ArrayList<>();
+
+            int start = 0;
+            int open = message.indexOf('{');
+            while (open >= 0) {
+                int close = message.indexOf('}', open + 1);
+                if (close < 0) break;
+
+                String slot = message.substring(open + 1, close);
+                if (isSlotName(slot)) {
+                    literals.add(message.substring(start, open));
+                    slots.add(slot);
+                    start = close + 1;
+                    open = message.indexOf('{', start);
+                } else {
+                    open = message.indexOf('{', open + 1);
+                }
+            }
+            literals.add(message.substring(start));
+
+            return new Template(literals.toArray(new String[0]), slots.toArray(new String[0]));
+        }
+
+        private static boolean isSlotName(String name) {
+            if (name.isEmpty()) return false;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String render(String... replacements) {
+            if (constant != null) return constant;
+
+            StringBuilder result = new StringBuilder(literalLength + slots.length * 16);
+            for (int i = 0; i < slots.length; i++) {
+                result.append(literals[i]);
+                String value = lookup(slots[i], replacements);
+                if (value != null) {
+                    result.append(value);
+                } else {
+                    result.append('{').append(slots[i]).append('}');
+                }
+            }
+            return result.append(literals[slots.length]).toString();
+        }
+
+        private static String lookup(String slot, String[] replacements) {
+            for (int i = 0; i + 1 < replacements.length; i += 2) {
+                if (slot.equals(replacements[i])) {
+                    return replacements[i + 1];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.TradeRecord;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
+import fr.shop.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Notifications de transactions des propriétaires de chest shops : les transactions sont
+ * regroupées par propriétaire sur une courte fenêtre et envoyées en un seul résumé
+ * Les résumés des propriétaires hors ligne sont cumulés (taille fixe par joueur),
+ * sauvegardés dans notifications.dat et remis à la connexion
+ */
+public class NotificationManager {
+
+    private static final int FILE_VERSION = 1;
+    private static final long JOIN_DELIVERY_DELAY = 60L; // 3 secondes après la connexion
+
+    private final PlayerShops plugin;
+    private final File digestFile;
+    private final Map<UUID, TradeSummary> pending; // Propriétaire -> transactions de la fenêtre en cours
+    private final Map<UUID, TradeSummary> offline; // Propriétaire -> résumé à remettre à la connexion
+    private volatile boolean dirty = false;
+    private TaskHandle flushTask = TaskHandle.NONE;
+
+    public NotificationManager(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.digestFile = new File(plugin.getDataFolder(), "notifications.dat");
+        this.pending = new ConcurrentHashMap<>();
+        this.offline = new ConcurrentHashMap<>();
+
+        load();
+        startFlushTask(plugin.getConfigManager().getNotificationWindow());
+        startSaveTask();
+
+        plugin.getConfigManager().addSettingsListener((previous, current) -> {
+            if (previous.getNotificationWindow() != current.getNotificationWindow()) {
+                flushTask.cancel();
+                startFlushTask(current.getNotificationWindow());
+            }
+        });
+    }
+
+    private void startFlushTask(long window) {
+        flushTask = plugin.getShopScheduler().runGlobalTimer(this::flush, window, window);
+    }
+
+    private void startSaveTask() {
+        plugin.getShopScheduler().runAsyncTimer(() -> {
+            if (dirty) {
+                plugin.getMetrics().time("persistence.notifications", this::save);
+            }
+        }, 20L * 60L, 20L * 60L); // Sauvegarder toutes les minutes
+    }
+
+    // ===============================
+    // ENREGISTREMENT
+    // ===============================
+
+    /**
+     * Ajoute une transaction au résumé en cours de son propriétaire
+     */
+    public void recordTrade(TradeRecord trade) {
+        pending.compute(trade.getOwnerId(), (ownerId, summary) -> {
+            if (summary == null) {
+                summary = new TradeSummary();
+            }
+            summary.add(trade);
+            return summary;
+        });
+    }
+
+    /**
+     * Envoie un message par propriétaire ayant des transactions dans la fenêtre écoulée
+     */
+    private void flush() {
+        if (pending.isEmpty()) return;
+
+        for (UUID ownerId : pending.keySet()) {
+            TradeSummary summary = pending.remove(ownerId);
+            if (summary == null) continue;
+
+            Player owner = Bukkit.getPlayer(ownerId);
+            if (owner != null) {
+                plugin.getShopScheduler().executeForEntity(owner, () -> send(owner, summary.toMessages(plugin.getMessageManager())));
+            } else {
+                keepForLater(ownerId, summary);
+            }
+        }
+    }
+
+    private void keepForLater(UUID ownerId, TradeSummary summary) {
+        offline.merge(ownerId, summary, TradeSummary::merge);
+        dirty = true;
+    }
+
+    private void send(Player player, List<String> messages) {
+        for (String message : messages) {
+            player.sendMessage(message);
+        }
+        plugin.getMetrics().increment("notifications.messages");
+    }
+
+    // ===============================
+    // CONNEXION
+    // ===============================
+
+    /**
+     * Remet le résumé des transactions faites pendant l'absence du joueur
+     */
+    public void handlePlayerJoin(Player player) {
+        UUID playerId = player.getUniqueId();
+        TradeSummary digest = offline.remove(playerId);
+        if (digest == null) return;
+
+        dirty = true;
+        plugin.getShopScheduler().runForEntityLater(player, () -> {
+            if (!player.isOnline()) {
+                keepForLater(playerId, digest);
+                return;
+            }
+
+            MessageManager messageManager = plugin.getMessageManager();
+            List<String> messages = new ArrayList<>();
+            messages.add(messageManager.format("notifications.digest-header", "elapsed", formatElapsed(digest.since)));
+            messages.addAll(digest.toMessages(messageManager));
+            send(player, messages);
+        }, JOIN_DELIVERY_DELAY);
+    }
+
+    private String formatElapsed(long since) {
+        long minutes = Math.max(1, (System.currentTimeMillis() - since) / 60000L);
+        if (minutes < 60) return minutes + " min";
+        if (minutes < 24 * 60) return (minutes / 60) + "h";
+        return (minutes / (24 * 60)) + "j";
+    }
+
+    // ===============================
+    // PERSISTANCE
+    // ===============================
+
+    /**
+     * Sauvegarde binaire compacte (gzip), écrite dans un fichier temporaire puis déplacée
+     */
+    public synchronized void save() {
+        dirty = false;
+        File tempFile = new File(plugin.getDataFolder(), "notifications.dat.tmp");
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("notifications");
+
+        try {
+            plugin.getDataFolder().mkdirs();
+            List<Map.Entry<UUID, TradeSummary>> digests = new ArrayList<>(offline.entrySet());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+
+                out.writeInt(FILE_VERSION);
+                out.writeInt(digests.size());
+                for (Map.Entry<UUID, TradeSummary> entry : digests) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    entry.getValue().writeTo(out);
+                }
+            }
+
+            Files.move(tempFile.toPath(), digestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            event.complete(digests.size(), digestFile);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().severe("Erreur lors de la sauvegarde des notifications: " + e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private void load() {
+        if (!digestFile.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(digestFile))))) {
+
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                plugin.getLogger().warning("Version de notifications.dat inconnue (" + version + "), notifications ignorées");
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID ownerId = new UUID(in.readLong(), in.readLong());
+                offline.put(ownerId, TradeSummary.readFrom(in));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors du chargement des notifications: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Les transactions de la fenêtre en cours rejoignent les résumés hors ligne avant la sauvegarde
+     */
+    public void shutdown() {
+        for (UUID ownerId : pending.keySet()) {
+            TradeSummary summary = pending.remove(ownerId);
+            if (summary != null) {
+                keepForLater(ownerId, summary);
+            }
+        }
+        if (dirty) {
+            save();
+        }
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Cumul des transactions d'un propriétaire, du point de vue du propriétaire :
+     * ventes = les clients achètent, achats = les clients vendent
+     * Seuls les premiers noms de clients sont gardés, la taille reste fixe
+     */
+    static class TradeSummary {
+        private static final int MAX_NAMED_CUSTOMERS = 3;
+
+        private int sales;
+        private long soldItems;
+        private long earned;
+        private int purchases;
+        private long boughtItems;
+        private long spent;
+        private final List<String> customers = new ArrayList<>(MAX_NAMED_CUSTOMERS);
+        private boolean moreCustomers;
+        private long since = Long.MAX_VALUE;
+
+        void add(TradeRecord trade) {
+            if (trade.isSellMode()) {
+                purchases++;
+                boughtItems += trade.getItemAmount();
+                spent += trade.getTotal();
+            } else {
+                sales++;
+                soldItems += trade.getItemAmount();
+                earned += trade.getTotal();
+            }
+            addCustomer(trade.getCustomerName());
+            since = Math.min(since, trade.getTimestamp());
+        }
+
+        private void addCustomer(String name) {
+            if (customers.contains(name)) return;
+            if (customers.size() < MAX_NAMED_CUSTOMERS) {
+                customers.add(name);
+            } else {
+                moreCustomers = true;
+            }
+        }
+
+        /**
+         * Nouveau résumé cumulant les deux : un résumé hors ligne n'est jamais modifié
+         * une fois publié (la sauvegarde le lit depuis un autre thread)
+         */
+        TradeSummary merge(TradeSummary other) {
+            TradeSummary result = new TradeSummary();
+            result.absorb(this);
+            result.absorb(other);
+            return result;
+        }
+
+        private void absorb(TradeSummary other) {
+            sales += other.sales;
+            soldItems += other.soldItems;
+            earned += other.earned;
+            purchases += other.purchases;
+            boughtItems += other.boughtItems;
+            spent += other.spent;
+            for (String customer : other.customers) {
+                addCustomer(customer);
+            }
+            moreCustomers |= other.moreCustomers;
+            since = Math.min(since, other.since);
+        }
+
+        List<String> toMessages(MessageManager messageManager) {
+            List<String> messages = new ArrayList<>(3);
+
+            // Une seule transaction : même message qu'avant le regroupement
+            if (sales + purchases == 1) {
+                String customer = customers.isEmpty() ? "?" : customers.get(0);
+                if (sales == 1) {
+                    messages.add(messageManager.format("notifications.sale", "customer", customer, "total", String.valueOf(earned)));
+                } else {
+                    messages.add(messageManager.format("notifications.purchase", "customer", customer, "total", String.valueOf(spent)));
+                }
+                return messages;
+            }
+
+            if (sales > 0) {
+                messages.add(messageManager.format("notifications.sales-summary", "count", String.valueOf(sales),
+                        "items", String.valueOf(soldItems), "total", String.valueOf(earned)));
+            }
+            if (purchases > 0) {
+                messages.add(messageManager.format("notifications.purchases-summary", "count", String.valueOf(purchases),
+                        "items", String.valueOf(boughtItems), "total", String.valueOf(spent)));
+            }
+            messages.add(messageManager.format(moreCustomers ? "notifications.customers-more" : "notifications.customers",
+                    "customers", String.join("§7, §e", customers)));
+            return messages;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(sales);
+            out.writeLong(soldItems);
+            out.writeLong(earned);
+            out.writeInt(purchases);
+            out.writeLong(boughtItems);
+            out.writeLong(spent);
+            out.writeByte(customers.size());
+            for (String customer : customers) {
+                out.writeUTF(customer);
+            }
+            out.writeBoolean(moreCustomers);
+            out.writeLong(since);
+        }
+
+        static TradeSummary readFrom(DataInput in) throws IOException {
+            TradeSummary summary = new TradeSummary();
+            summary.sales = in.readInt();
+            summary.soldItems = in.readLong();
+            summary.earned = in.readLong();
+            summary.purchases = in.readInt();
+            summary.boughtItems = in.readLong();
+            summary.spent = in.readLong();
+            int customerCount = in.readUnsignedByte();
+            for (int i = 0; i < customerCount; i++) {
+                summary.customers.add(in.readUTF());
+            }
+            summary.moreCustomers = in.readBoolean();
+            summary.since = in.readLong();
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fr.shop.managers;
+
+import fr.shop.data.Shop;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * Rendu des PNJ de shops (entités d'affichage légères ou villageois)
+ */
+public interface NpcRenderer {
+
+    /**
+     * Crée le PNJ d'un shop ou le met à jour sur place
+     * Ne crée rien tant que le chunk (et ses entités) n'est pas chargé
+     *
+     * @return nombre d'entités créées ou supprimées
+     */
+    int render(Shop shop, Location location, String name);
+
+    /**
+     * @return nombre d'entités supprimées
+     */
+    int remove(String shopId);
+
+    /**
+     * Réadopte une entité persistante retrouvée au chargement de son chunk
+     *
+     * @return false si l'entité est en trop (à supprimer)
+     */
+    boolean adopt(String shopId, Entity entity);
+
+    /**
+     * Oublie les entités d'un chunk déchargé
+     */
+    void forgetChunk(Chunk chunk);
+
+    /**
+     * Shop auquel appartient une entité de PNJ, null si ce n'en est pas une
+     */
+    String getShopId(Entity entity);
+
+    boolean hasNPC(String shopId);
+
+    void shutdown();
+}
@@ -0,0 +1,160 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitation des interactions par joueur et par type d'action (seaux à jetons)
+ * Chaque seau est tenu en « temps virtuel » : un jeton coûte 1/rate seconde et le seau
+ * accepte tant que son retard sur l'horloge ne dépasse pas la rafale autorisée (équivalent
+ * à un seau de {@code burst} jetons rempli à {@code rate} jetons/s)
+ * Le chemin rapide (joueur connu) ne fait aucune allocation : une lecture de map et quelques longs
+ */
+public class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long WARNING_COOLDOWN = NANOS_PER_SECOND; // Un avertissement par seconde au plus
+    private static final Action[] ACTIONS = Action.values();
+
+    private final PlayerShops plugin;
+    private final Map<UUID, Buckets> buckets;
+
+    // Par action (indexés par ordinal) : coût d'un jeton et retard toléré, en nanosecondes
+    private final long[] intervals;
+    private final long[] tolerances;
+
+    public RateLimiter(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.buckets = new ConcurrentHashMap<>();
+        this.intervals = new long[ACTIONS.length];
+        this.tolerances = new long[ACTIONS.length];
+
+        reload();
+        plugin.getConfigManager().addSettingsListener((previous, current) -> reload());
+    }
+
+    /**
+     * Relit les débits de config.yml (les seaux en cours sont conservés)
+     */
+    public void reload() {
+        ConfigManager config = plugin.getConfigManager();
+        for (Action action : ACTIONS) {
+            double rate = config.getRateLimit(action.getKey(), action.getDefaultRate());
+            int burst = Math.max(1, config.getRateLimitBurst(action.getKey(), action.getDefaultBurst()));
+
+            // Débit nul ou négatif : action non limitée
+            long interval = rate > 0 ? (long) (NANOS_PER_SECOND / rate) : 0L;
+            intervals[action.ordinal()] = interval;
+            tolerances[action.ordinal()] = interval * burst;
+        }
+    }
+
+    // ===============================
+    // LIMITATION
+    // ===============================
+
+    /**
+     * Consomme un jeton si le joueur en a un, sinon refuse (et l'avertit au plus une fois par seconde)
+     * À appeler avant tout travail coûteux
+     */
+    public boolean tryAcquire(Player player, Action action) {
+        int index = action.ordinal();
+        long interval = intervals[index];
+        if (interval == 0L) return true;
+
+        Buckets playerBuckets = buckets.get(player.getUniqueId());
+        if (playerBuckets == null) {
+            playerBuckets = buckets.computeIfAbsent(player.getUniqueId(), k -> new Buckets());
+        }
+
+        long now = System.nanoTime();
+        if (playerBuckets.tryAcquire(index, now, interval, tolerances[index])) {
+            return true;
+        }
+
+        plugin.getMetrics().increment(action.getRejectedCounter());
+        if (playerBuckets.shouldWarn(index, now)) {
+            plugin.getMessageManager().send(player, "limits.rate-limited");
+        }
+        return false;
+    }
+
+    public void handlePlayerQuit(UUID playerId) {
+        buckets.remove(playerId);
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    public enum Action {
+        SIGN_TRADE("sign_trade", 4.0, 8),
+        GUI_CLICK("gui_click", 10.0, 20),
+        COMMAND("command", 2.0, 6);
+
+        private final String key;
+        private final double defaultRate;
+        private final int defaultBurst;
+        private final String rejectedCounter;
+
+        Action(String key, double defaultRate, int defaultBurst) {
+            this.key = key;
+            this.defaultRate = defaultRate;
+            this.defaultBurst = defaultBurst;
+            this.rejectedCounter = "ratelimit." + key + "_rejected";
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getDefaultRate() {
+            return defaultRate;
+        }
+
+        public int getDefaultBurst() {
+            return defaultBurst;
+        }
+
+        String getRejectedCounter() {
+            return rejectedCounter;
+        }
+    }
+
+    /**
+     * Seaux d'un joueur : pour chaque action, l'instant (nanoTime) où son seau sera de nouveau plein
+     */
+    private static class Buckets {
+        private final long[] fullAt = new long[ACTIONS.length];
+        private final long[] lastWarning = new long[ACTIONS.length];
+
+        Buckets() {
+            long now = System.nanoTime();
+            for (int i = 0; i < ACTIONS.length; i++) {
+                fullAt[i] = now;
+                lastWarning[i] = now - WARNING_COOLDOWN;
+            }
+        }
+
+        synchronized boolean tryAcquire(int index, long now, long interval, long tolerance) {
+            long next = Math.max(fullAt[index], now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+            fullAt[index] = next;
+            return true;
+        }
+
+        synchronized boolean shouldWarn(int index, long now) {
+            if (now - lastWarning[index] < WARNING_COOLDOWN) {
+                return false;
+            }
+            lastWarning[index] = now;
+            return true;
+        }
+    }
+}
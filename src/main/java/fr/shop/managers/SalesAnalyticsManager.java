@@ -0,0 +1,274 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.SalesTimeSeries;
+import fr.shop.data.TradeRecord;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Statistiques de ventes par shop et par item, agrégées en buckets horaires et journaliers
+ * et sauvegardées périodiquement dans analytics.dat
+ */
+public class SalesAnalyticsManager {
+
+    private static final int FILE_VERSION = 1;
+
+    // Taille des buffers circulaires
+    private static final int SHOP_HOURS = 7 * 24;  // 1 semaine d'heures
+    private static final int SHOP_DAYS = 120;      // ~4 mois de jours
+    private static final int ITEM_HOURS = 24;      // 1 jour d'heures
+    private static final int ITEM_DAYS = 7;        // 1 semaine de jours
+
+    private final PlayerShops plugin;
+    private final File analyticsFile;
+    private final Map<String, ShopSales> salesByShop;
+    private volatile boolean dirty = false;
+
+    public SalesAnalyticsManager(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.analyticsFile = new File(plugin.getDataFolder(), "analytics.dat");
+        this.salesByShop = new ConcurrentHashMap<>();
+
+        load();
+        startSaveTask();
+    }
+
+    private void startSaveTask() {
+        plugin.getShopScheduler().runAsyncTimer(() -> {
+            if (dirty) {
+                plugin.getMetrics().time("persistence.analytics", this::save);
+            }
+        }, 20L * 60L * 5L, 20L * 60L * 5L); // Sauvegarder toutes les 5 minutes
+    }
+
+    // ===============================
+    // ENREGISTREMENT
+    // ===============================
+
+    /**
+     * Ajoute une transaction de chest shop aux statistiques
+     */
+    public void recordTrade(TradeRecord trade) {
+        if (trade.getShopId().isEmpty()) return;
+
+        ShopSales sales = salesByShop.computeIfAbsent(trade.getShopId(), k -> new ShopSales());
+        sales.total.record(trade.getTimestamp(), trade.getTotal(), trade.getItemAmount(), trade.isSellMode());
+
+        // Enregistré dans compute : la sauvegarde ne peut pas retirer l'item entre sa création et la vente
+        sales.items.compute(trade.getItemKey(), (key, item) -> {
+            if (item == null) {
+                item = new ItemSales(trade.getItemName());
+            }
+            item.series.record(trade.getTimestamp(), trade.getTotal(), trade.getItemAmount(), trade.isSellMode());
+            return item;
+        });
+
+        dirty = true;
+    }
+
+    /**
+     * Efface les statistiques d'un shop (changement de propriétaire)
+     */
+    public void clearShop(String shopId) {
+        if (salesByShop.remove(shopId) != null) {
+            dirty = true;
+        }
+    }
+
+    // ===============================
+    // REQUÊTES
+    // ===============================
+
+    /**
+     * Cumul des ventes d'un shop sur une période
+     */
+    public SalesTimeSeries.Totals getShopTotals(String shopId, Period period) {
+        SalesTimeSeries.Totals totals = new SalesTimeSeries.Totals();
+        ShopSales sales = salesByShop.get(shopId);
+        if (sales != null) {
+            period.sum(sales.total, System.currentTimeMillis(), totals);
+        }
+        return totals;
+    }
+
+    /**
+     * Items les plus vendus/achetés d'un shop sur une période (par montant échangé)
+     */
+    public List<ItemStats> getTopItems(String shopId, Period period, int limit) {
+        List<ItemStats> result = new ArrayList<>();
+        ShopSales sales = salesByShop.get(shopId);
+        if (sales == null) return result;
+
+        long now = System.currentTimeMillis();
+        for (ItemSales item : sales.items.values()) {
+            SalesTimeSeries.Totals totals = new SalesTimeSeries.Totals();
+            period.sum(item.series, now, totals);
+            if (totals.getTrades() > 0) {
+                result.add(new ItemStats(item.name, totals));
+            }
+        }
+
+        result.sort((a, b) -> Long.compare(
+                b.getTotals().getRevenue() + b.getTotals().getSpent(),
+                a.getTotals().getRevenue() + a.getTotals().getSpent()));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // ===============================
+    // PERSISTANCE
+    // ===============================
+
+    /**
+     * Sauvegarde binaire compacte (gzip), écrite dans un fichier temporaire puis déplacée
+     */
+    public synchronized void save() {
+        dirty = false;
+        File tempFile = new File(plugin.getDataFolder(), "analytics.dat.tmp");
+        long now = System.currentTimeMillis();
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("analytics");
+
+        try {
+            plugin.getDataFolder().mkdirs();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+
+                out.writeInt(FILE_VERSION);
+
+                List<Map.Entry<String, ShopSales>> shops = new ArrayList<>(salesByShop.entrySet());
+                out.writeInt(shops.size());
+                for (Map.Entry<String, ShopSales> entry : shops) {
+                    ShopSales sales = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    sales.total.writeTo(out);
+
+                    // Les items sans vente récente sont retirés de la mémoire et du fichier
+                    for (String itemKey : sales.items.keySet()) {
+                        sales.items.computeIfPresent(itemKey, (key, item) -> item.series.isEmpty(now) ? null : item);
+                    }
+                    List<Map.Entry<String, ItemSales>> items = new ArrayList<>(sales.items.entrySet());
+
+                    out.writeInt(items.size());
+                    for (Map.Entry<String, ItemSales> item : items) {
+                        out.writeUTF(item.getKey());
+                        out.writeUTF(item.getValue().name);
+                        item.getValue().series.writeTo(out);
+                    }
+                }
+            }
+
+            Files.move(tempFile.toPath(), analyticsFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            event.complete(salesByShop.size(), analyticsFile);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().severe("Erreur lors de la sauvegarde des statistiques de ventes: " + e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private void load() {
+        if (!analyticsFile.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(analyticsFile))))) {
+
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                plugin.getLogger().warning("Version de analytics.dat inconnue (" + version + "), statistiques ignorées");
+                return;
+            }
+
+            int shopCount = in.readInt();
+            for (int i = 0; i < shopCount; i++) {
+                String shopId = in.readUTF();
+                ShopSales sales = new ShopSales();
+                sales.total.readFrom(in);
+
+                int itemCount = in.readInt();
+                for (int j = 0; j < itemCount; j++) {
+                    String itemKey = in.readUTF();
+                    ItemSales item = new ItemSales(in.readUTF());
+                    item.series.readFrom(in);
+                    sales.items.put(itemKey, item);
+                }
+
+                salesByShop.put(shopId, sales);
+            }
+
+            plugin.getLogger().info("Statistiques de ventes chargées pour " + salesByShop.size() + " shop(s)");
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors du chargement des statistiques de ventes: " + e.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        if (dirty) {
+            save();
+        }
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Périodes disponibles pour /shop stats
+     */
+    public enum Period {
+        HOUR("Heure en cours"),
+        DAY("Dernières 24h"),
+        WEEK("7 derniers jours");
+
+        private final String displayName;
+
+        Period(String displayName) {
+            this.displayName = displayName;
+        }
+
+        void sum(SalesTimeSeries series, long now, SalesTimeSeries.Totals totals) {
+            switch (this) {
+                case HOUR -> series.sumHours(now, 1, totals);
+                case DAY -> series.sumHours(now, 24, totals);
+                case WEEK -> series.sumDays(now, 7, totals);
+            }
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static class ShopSales {
+        private final SalesTimeSeries total = new SalesTimeSeries(SHOP_HOURS, SHOP_DAYS);
+        private final Map<String, ItemSales> items = new ConcurrentHashMap<>();
+    }
+
+    private static class ItemSales {
+        private final String name;
+        private final SalesTimeSeries series = new SalesTimeSeries(ITEM_HOURS, ITEM_DAYS);
+
+        ItemSales(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ItemStats {
+        private final String name;
+        private final SalesTimeSeries.Totals totals;
+
+        public ItemStats(String name, SalesTimeSeries.Totals totals) {
+            this.name = name;
+            this.totals = totals;
+        }
+
+        public String getName() { return name; }
+        public SalesTimeSeries.Totals getTotals() { return totals; }
+    }
+}
@@ -2,6 +2,8 @@ package fr.shop.managers;
 
 import fr.shop.PlayerShops;
 import fr.shop.data.Zone;
+import fr.shop.metrics.MetricsRegistry;
+import fr.shop.metrics.jfr.BackupSliceEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -12,7 +14,6 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
@@ -26,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 public class ShopBackupManager {
 
     private final PlayerShops plugin;
+    private final MessageManager messages;
     private final ZoneManager zoneManager;
 
     private File backupsFile;
@@ -55,6 +57,7 @@ public class ShopBackupManager {
 
     public ShopBackupManager(PlayerShops plugin, ZoneManager zoneManager) {
         this.plugin = plugin;
+        this.messages = plugin.getMessageManager();
         this.zoneManager = zoneManager;
 
         initializeBackupFile();
@@ -96,59 +99,48 @@ public class ShopBackupManager {
         CompletableFuture<BackupResult> future = new CompletableFuture<>();
 
         if (initiator != null) {
-            initiator.sendMessage("§a§lSHOP §8» §aDébut de la sauvegarde compressée de la zone §e" + zoneId + "§a...");
+            messages.send(initiator, "backups.zone-started", "zone", zoneId);
         }
 
         // Étape 1: Collecte des données dans le thread principal
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    CompressedWorldData worldData = collectCompressedWorldData(zone);
-
-                    // Étape 2: Traitement et sauvegarde de manière asynchrone
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                BackupResult result = processCompressedBackupData(zone, worldData);
-
-                                // Retour au thread principal pour les messages
-                                new BukkitRunnable() {
-                                    @Override
-                                    public void run() {
-                                        if (initiator != null) {
-                                            if (result.isSuccess()) {
-                                                initiator.sendMessage("§a§lSHOP §8» §aSauvegarde compressée terminée!");
-                                                initiator.sendMessage("§7§lSHOP §8» §7Blocs sauvegardés: §e" + result.getBlocksSaved());
-                                                initiator.sendMessage("§7§lSHOP §8» §7Compression: §a" + worldData.getCompressionRatio() + "%");
-                                                initiator.sendMessage("§7§lSHOP §8» §7Entités supprimées: §e" + result.getEntitiesRemoved());
-                                            } else {
-                                                initiator.sendMessage("§c§lSHOP §8» §cErreur lors de la sauvegarde: " + result.getErrorMessage());
-                                            }
-                                        }
-                                        future.complete(result);
-                                    }
-                                }.runTask(plugin);
-
-                            } catch (Exception e) {
-                                BackupResult errorResult = new BackupResult(zoneId, false, e.getMessage(), 0, 0);
-                                new BukkitRunnable() {
-                                    @Override
-                                    public void run() {
-                                        future.complete(errorResult);
-                                    }
-                                }.runTask(plugin);
+        plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+            try {
+                CompressedWorldData worldData;
+                try (MetricsRegistry.Sample ignored = plugin.getMetrics().time("backups.collect")) {
+                    worldData = collectCompressedWorldData(zone);
+                }
+
+                // Étape 2: Traitement et sauvegarde de manière asynchrone
+                plugin.getShopScheduler().runAsync(() -> {
+                    try {
+                        BackupResult result = processCompressedBackupData(zone, worldData);
+
+                        // Retour au thread principal pour les messages
+                        plugin.getShopScheduler().runGlobal(() -> {
+                            if (initiator != null) {
+                                if (result.isSuccess()) {
+                                    messages.send(initiator, "backups.done");
+                                    messages.send(initiator, "backups.blocks-saved", "blocks", String.valueOf(result.getBlocksSaved()));
+                                    messages.send(initiator, "backups.compression", "ratio", String.valueOf(worldData.getCompressionRatio()));
+                                    messages.send(initiator, "backups.entities-removed", "entities", String.valueOf(result.getEntitiesRemoved()));
+                                } else {
+                                    messages.send(initiator, "backups.failed", "error", result.getErrorMessage());
+                                }
                             }
-                        }
-                    }.runTaskAsynchronously(plugin);
+                            future.complete(result);
+                        });
 
-                } catch (Exception e) {
-                    BackupResult errorResult = new BackupResult(zoneId, false, e.getMessage(), 0, 0);
-                    future.complete(errorResult);
-                }
+                    } catch (Exception e) {
+                        BackupResult errorResult = new BackupResult(zoneId, false, e.getMessage(), 0, 0);
+                        plugin.getShopScheduler().runGlobal(() -> future.complete(errorResult));
+                    }
+                });
+
+            } catch (Exception e) {
+                BackupResult errorResult = new BackupResult(zoneId, false, e.getMessage(), 0, 0);
+                future.complete(errorResult);
             }
-        }.runTask(plugin);
+        });
 
         return future;
     }
@@ -160,7 +152,7 @@ public class ShopBackupManager {
         Collection<Zone> allZones = zoneManager.getAllZones();
 
         if (initiator != null) {
-            initiator.sendMessage("§a§lSHOP §8» §aDébut de la sauvegarde compressée de §e" + allZones.size() + " §azones...");
+            messages.send(initiator, "backups.all-started", "count", String.valueOf(allZones.size()));
         }
 
         CompletableFuture<List<BackupResult>> future = new CompletableFuture<>();
@@ -183,9 +175,9 @@ public class ShopBackupManager {
                         .mapToDouble(r -> Double.parseDouble(r.getCompressionInfo().replaceAll("[^0-9.]", "")))
                         .average().orElse(0);
 
-                initiator.sendMessage("§a§lSHOP §8» §aSauvegarde compressée terminée!");
-                initiator.sendMessage("§7§lSHOP §8» §7Succès: §e" + successful + "§7/§e" + zones.size());
-                initiator.sendMessage("§7§lSHOP §8» §7Compression moyenne: §a" + String.format("%.1f", avgCompression) + "%");
+                messages.send(initiator, "backups.done");
+                messages.send(initiator, "backups.all-summary", "successful", String.valueOf(successful), "total", String.valueOf(zones.size()));
+                messages.send(initiator, "backups.average-compression", "ratio", String.format("%.1f", avgCompression));
             }
             future.complete(results);
             return;
@@ -193,63 +185,47 @@ public class ShopBackupManager {
 
         Zone zone = zones.get(index);
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    CompressedWorldData worldData = collectCompressedWorldData(zone);
-
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                BackupResult result = processCompressedBackupData(zone, worldData);
-                                result.setCompressionInfo(worldData.getCompressionRatio() + "%");
-                                results.add(result);
-
-                                if (initiator != null && (index + 1) % 5 == 0) {
-                                    new BukkitRunnable() {
-                                        @Override
-                                        public void run() {
-                                            initiator.sendMessage("§7§lSHOP §8» §7Progression: §e" + (index + 1) + "§7/§e" + zones.size());
-                                        }
-                                    }.runTask(plugin);
-                                }
+        plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+            try {
+                CompressedWorldData worldData;
+                try (MetricsRegistry.Sample ignored = plugin.getMetrics().time("backups.collect")) {
+                    worldData = collectCompressedWorldData(zone);
+                }
 
-                                new BukkitRunnable() {
-                                    @Override
-                                    public void run() {
-                                        processZonesSequentially(zones, results, initiator, future, index + 1);
-                                    }
-                                }.runTask(plugin);
-
-                            } catch (Exception e) {
-                                BackupResult errorResult = new BackupResult(zone.getId(), false, e.getMessage(), 0, 0);
-                                results.add(errorResult);
-
-                                new BukkitRunnable() {
-                                    @Override
-                                    public void run() {
-                                        processZonesSequentially(zones, results, initiator, future, index + 1);
-                                    }
-                                }.runTask(plugin);
-                            }
+                plugin.getShopScheduler().runAsync(() -> {
+                    try {
+                        BackupResult result = processCompressedBackupData(zone, worldData);
+                        result.setCompressionInfo(worldData.getCompressionRatio() + "%");
+                        results.add(result);
+
+                        if (initiator != null && (index + 1) % 5 == 0) {
+                            plugin.getShopScheduler().runGlobal(() -> messages.send(initiator, "backups.progress",
+                                    "current", String.valueOf(index + 1), "total", String.valueOf(zones.size())));
                         }
-                    }.runTaskAsynchronously(plugin);
 
-                } catch (Exception e) {
-                    BackupResult errorResult = new BackupResult(zone.getId(), false, e.getMessage(), 0, 0);
-                    results.add(errorResult);
-                    processZonesSequentially(zones, results, initiator, future, index + 1);
-                }
+                        plugin.getShopScheduler().runGlobal(() -> processZonesSequentially(zones, results, initiator, future, index + 1));
+
+                    } catch (Exception e) {
+                        BackupResult errorResult = new BackupResult(zone.getId(), false, e.getMessage(), 0, 0);
+                        results.add(errorResult);
+
+                        plugin.getShopScheduler().runGlobal(() -> processZonesSequentially(zones, results, initiator, future, index + 1));
+                    }
+                });
+
+            } catch (Exception e) {
+                BackupResult errorResult = new BackupResult(zone.getId(), false, e.getMessage(), 0, 0);
+                results.add(errorResult);
+                processZonesSequentially(zones, results, initiator, future, index + 1);
             }
-        }.runTask(plugin);
+        });
     }
 
     /**
      * Collecte les données du monde de manière compressée
      */
     private CompressedWorldData collectCompressedWorldData(Zone zone) throws Exception {
+        BackupSliceEvent event = BackupSliceEvent.start("capture", zone.getId());
         World world = Bukkit.getWorld(zone.getWorldName());
         if (world == null) {
             throw new Exception("Monde introuvable");
@@ -299,6 +275,7 @@ public class ShopBackupManager {
             }
         }
 
+        event.complete(data.getOriginalBlockCount(), data.entitiesToRemove.size());
         return data;
     }
 
@@ -351,16 +328,13 @@ public class ShopBackupManager {
             // Supprimer les entités (dans le thread principal)
             int entitiesRemoved = 0;
             if (!worldData.entitiesToRemove.isEmpty()) {
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        for (Entity entity : worldData.entitiesToRemove) {
-                            if (entity != null && !entity.isDead()) {
-                                entity.remove();
-                            }
+                plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+                    for (Entity entity : worldData.entitiesToRemove) {
+                        if (entity != null && !entity.isDead()) {
+                            entity.remove();
                         }
                     }
-                }.runTask(plugin);
+                });
 
                 entitiesRemoved = worldData.entitiesToRemove.size();
             }
@@ -404,60 +378,44 @@ public class ShopBackupManager {
         CompletableFuture<RestoreResult> future = new CompletableFuture<>();
 
         if (initiator != null) {
-            initiator.sendMessage("§a§lSHOP §8» §aDébut de la restauration compressée de la zone §e" + zoneId + "§a...");
+            messages.send(initiator, "backups.restore-started", "zone", zoneId);
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    CompressedBackupData backupData = loadCompressedBackupFromConfig(zoneId);
-                    if (backupData == null) {
-                        RestoreResult errorResult = new RestoreResult(zoneId, false, "Sauvegarde corrompue", 0, 0);
-                        new BukkitRunnable() {
-                            @Override
-                            public void run() {
-                                future.complete(errorResult);
-                            }
-                        }.runTask(plugin);
-                        return;
-                    }
-
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                RestoreResult result = performCompressedRestore(zone, backupData);
-
-                                if (initiator != null) {
-                                    if (result.isSuccess()) {
-                                        initiator.sendMessage("§a§lSHOP §8» §aRestauration compressée terminée!");
-                                        initiator.sendMessage("§7§lSHOP §8» §7Blocs restaurés: §e" + result.getBlocksRestored());
-                                        initiator.sendMessage("§7§lSHOP §8» §7Entités supprimées: §e" + result.getEntitiesRemoved());
-                                    } else {
-                                        initiator.sendMessage("§c§lSHOP §8» §cErreur lors de la restauration: " + result.getErrorMessage());
-                                    }
-                                }
+        plugin.getShopScheduler().runAsync(() -> {
+            try {
+                CompressedBackupData backupData = loadCompressedBackupFromConfig(zoneId);
+                if (backupData == null) {
+                    RestoreResult errorResult = new RestoreResult(zoneId, false, "Sauvegarde corrompue", 0, 0);
+                    plugin.getShopScheduler().runGlobal(() -> future.complete(errorResult));
+                    return;
+                }
 
-                                future.complete(result);
-                            } catch (Exception e) {
-                                RestoreResult errorResult = new RestoreResult(zoneId, false, e.getMessage(), 0, 0);
-                                future.complete(errorResult);
+                plugin.getShopScheduler().runAt(zone.getCenterLocation(), () -> {
+                    try {
+                        RestoreResult result = plugin.getMetrics().time("backups.restore", () -> performCompressedRestore(zone, backupData));
+
+                        if (initiator != null) {
+                            if (result.isSuccess()) {
+                                messages.send(initiator, "backups.restore-done");
+                                messages.send(initiator, "backups.blocks-restored", "blocks", String.valueOf(result.getBlocksRestored()));
+                                messages.send(initiator, "backups.entities-removed", "entities", String.valueOf(result.getEntitiesRemoved()));
+                            } else {
+                                messages.send(initiator, "backups.restore-failed", "error", result.getErrorMessage());
                             }
                         }
-                    }.runTask(plugin);
-
-                } catch (Exception e) {
-                    RestoreResult errorResult = new RestoreResult(zoneId, false, e.getMessage(), 0, 0);
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            future.complete(errorResult);
-                        }
-                    }.runTask(plugin);
-                }
+
+                        future.complete(result);
+                    } catch (Exception e) {
+                        RestoreResult errorResult = new RestoreResult(zoneId, false, e.getMessage(), 0, 0);
+                        future.complete(errorResult);
+                    }
+                });
+
+            } catch (Exception e) {
+                RestoreResult errorResult = new RestoreResult(zoneId, false, e.getMessage(), 0, 0);
+                plugin.getShopScheduler().runGlobal(() -> future.complete(errorResult));
             }
-        }.runTaskAsynchronously(plugin);
+        });
 
         return future;
     }
@@ -466,6 +424,7 @@ public class ShopBackupManager {
      * Effectue la restauration depuis le format compressé
      */
     private RestoreResult performCompressedRestore(Zone zone, CompressedBackupData backupData) {
+        BackupSliceEvent event = BackupSliceEvent.start("restore", zone.getId());
         try {
             World world = Bukkit.getWorld(zone.getWorldName());
             if (world == null) {
@@ -537,6 +496,7 @@ public class ShopBackupManager {
                 }
             }
 
+            event.complete(blocksRestored, entitiesRemoved);
             return new RestoreResult(zone.getId(), true, null, blocksRestored, entitiesRemoved);
 
         } catch (Exception e) {
@@ -572,17 +532,7 @@ public class ShopBackupManager {
 
             List<String> rangeStrings = new ArrayList<>();
             for (BlockRange range : entry.getValue().ranges) {
-                String materialCode = MATERIAL_SHORTCUTS.getOrDefault(range.material, range.material.name());
-
-                if (range.startY == range.endY) {
-                    // Bloc unique: "Y:MAT" ou "Y:MAT:data"
-                    rangeStrings.add(range.startY + ":" + materialCode +
-                            (needsBlockData(range) ? ":" + range.blockData : ""));
-                } else {
-                    // Range: "Y1-Y2:MAT" ou "Y1-Y2:MAT:data"
-                    rangeStrings.add(range.startY + "-" + range.endY + ":" + materialCode +
-                            (needsBlockData(range) ? ":" + range.blockData : ""));
-                }
+                rangeStrings.add(encodeBlockRange(range));
             }
 
             columnSection.set("ranges", rangeStrings);
@@ -598,6 +548,20 @@ public class ShopBackupManager {
         saveBackupsConfig();
     }
 
+    /**
+     * Encode une range : "Y:MAT", "Y1-Y2:MAT", "Y:MAT:data", etc.
+     */
+    private String encodeBlockRange(BlockRange range) {
+        String materialCode = MATERIAL_SHORTCUTS.getOrDefault(range.material, range.material.name());
+        String data = needsBlockData(range) ? ":" + range.blockData : "";
+
+        if (range.startY == range.endY) {
+            // Bloc unique
+            return range.startY + ":" + materialCode + data;
+        }
+        return range.startY + "-" + range.endY + ":" + materialCode + data;
+    }
+
     /**
      * Vérifie si les données de bloc sont nécessaires
      */
@@ -3,15 +3,15 @@ package fr.shop.managers;
 import fr.shop.PlayerShops;
 import fr.shop.data.Shop;
 import fr.shop.data.Zone;
-import fr.shop.hooks.PrisonTycoonHook;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -20,23 +20,28 @@ import java.util.stream.Collectors;
 public class ShopManager {
 
     private final PlayerShops plugin;
-    private final PrisonTycoonHook hook;
+    private final EconomyManager economy;
     private final ConfigManager configManager;
+    private final MessageManager messages;
     private final ZoneManager zoneManager;
-    private final Map<String, Shop> shops;
+    private final ShopRegistry shops;
     private final Map<UUID, Long> lastMessageTime;
     private final Set<UUID> playersNearShops;
+    private final AdvertisementBoard advertisementBoard;
 
     public ShopManager(PlayerShops plugin, ZoneManager zoneManager) {
         this.plugin = plugin;
-        this.hook = plugin.getPrisonTycoonHook();
+        this.economy = plugin.getEconomyManager();
         this.configManager = plugin.getConfigManager();
+        this.messages = plugin.getMessageManager();
         this.zoneManager = zoneManager;
-        this.shops = new HashMap<>();
-        this.lastMessageTime = new HashMap<>();
-        this.playersNearShops = new HashSet<>();
+        this.shops = new ShopRegistry();
+        this.lastMessageTime = new ConcurrentHashMap<>();
+        this.playersNearShops = ConcurrentHashMap.newKeySet();
+        this.advertisementBoard = new AdvertisementBoard(plugin);
 
         loadShops();
+        advertisementBoard.rebuild(shops.values());
         startRentCheckTask();
         startProximityCheckTask();
     }
@@ -44,37 +49,47 @@ public class ShopManager {
     private void loadShops() {
         // Charger les shops existants
         Map<String, Shop> loadedShops = configManager.loadShopsFromConfig();
-        shops.putAll(loadedShops);
+        shops.mutate(table -> {
+            table.putAll(loadedShops);
 
-        // Si la création automatique est activée, synchroniser avec les zones
-        if (configManager.isAutoCreateShopsEnabled()) {
-            configManager.synchronizeShopsWithZones(shops, zoneManager);
-        }
+            // Si la création automatique est activée, synchroniser avec les zones
+            if (configManager.isAutoCreateShopsEnabled()) {
+                configManager.synchronizeShopsWithZones(table, zoneManager);
+            }
+        });
 
         plugin.getLogger().info("Chargé " + shops.size() + " shop(s) total");
     }
 
     public void saveAll() {
-        configManager.saveShopsToConfig(shops);
+        plugin.getMetrics().time("persistence.shops", this::writeShops);
+    }
+
+    private void writeShops() {
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("shops");
+        configManager.saveShopsToConfig(shops.snapshot().getShops());
+        event.complete(shops.size(), 0);
         plugin.getLogger().info("Sauvegardé " + shops.size() + " shop(s)");
     }
 
+    /**
+     * Signale la modification d'un shop (statut, propriétaire, annonce) au registre (republication
+     * de l'instantané), à la liste des shops et au tableau des annonces
+     */
+    public void shopChanged(Shop shop) {
+        shops.refresh();
+        advertisementBoard.update(shop);
+        if (plugin.getShopGUI() != null) {
+            plugin.getShopGUI().invalidateShop(shop.getId());
+        }
+    }
+
     private void startRentCheckTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkExpiredRents();
-            }
-        }.runTaskTimer(plugin, 0L, 20L * 60L * 5L); // Vérifier toutes les 5 minutes
+        plugin.getShopScheduler().runGlobalTimer(this::checkExpiredRents, 1L, 20L * 60L * 5L); // Vérifier toutes les 5 minutes
     }
 
     private void startProximityCheckTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkPlayerProximity();
-            }
-        }.runTaskTimer(plugin, 0L, 20L); // Vérifier chaque seconde
+        plugin.getShopScheduler().runGlobalTimer(this::checkPlayerProximity, 1L, 20L); // Vérifier chaque seconde
     }
 
     private void checkExpiredRents() {
@@ -89,6 +104,11 @@ public class ShopManager {
                 }
             }
         }
+
+        // Passages RENTED → GRACE_PERIOD → EXPIRED dus au temps seul
+        if (plugin.getShopGUI() != null) {
+            plugin.getShopGUI().refreshShopStatuses();
+        }
     }
 
     private void startGracePeriod(Shop shop) {
@@ -100,10 +120,11 @@ public class ShopManager {
         // Informer le propriétaire si il est en ligne
         Player owner = shop.getOwnerId() != null ? Bukkit.getPlayer(shop.getOwnerId()) : null;
         if (owner != null) {
-            owner.sendMessage("§e§lSHOP §8» §eVotre shop §e" + shop.getId() + " §eest entré en période de grâce!");
-            owner.sendMessage("§e§lSHOP §8» §eVous avez 24h pour prolonger avant la fermeture définitive.");
+            messages.send(owner, "shops.grace-period-started", "shop", shop.getId());
+            messages.send(owner, "shops.grace-period-warning");
         }
 
+        shopChanged(shop);
         saveAll();
     }
 
@@ -113,7 +134,7 @@ public class ShopManager {
         // Informer le propriétaire si il est en ligne
         Player owner = shop.getOwnerId() != null ? Bukkit.getPlayer(shop.getOwnerId()) : null;
         if (owner != null) {
-            owner.sendMessage("§c§lSHOP §8» §cVotre shop §e" + shop.getId() + " §ca été fermé définitivement!");
+            messages.send(owner, "shops.closed", "shop", shop.getId());
         }
 
         // TODO: Sauvegarder le contenu dans une database
@@ -128,6 +149,9 @@ public class ShopManager {
         // Supprimer les visuels
         plugin.getVisualManager().removeShopVisuals(shopId);
 
+        // Les statistiques de ventes appartenaient à l'ancien propriétaire
+        plugin.getSalesAnalyticsManager().clearShop(shopId);
+
         shop.setRented(false);
         shop.setInGracePeriod(false);
         shop.setOwnerId(null);
@@ -140,48 +164,51 @@ public class ShopManager {
         shop.setNpcLocation(null);
         shop.setAdvertisement(null);
         shop.setAdvertisementBoostExpiry(0);
+        plugin.getCommerceManager().unregisterChestShops(shop.getChestShops());
         shop.getChestShops().clear();
         shop.setBeaconLocation(null);
         shop.setHasBeacon(false);
 
+        shopChanged(shop);
         saveAll();
     }
 
     private void checkPlayerProximity() {
-        Set<UUID> currentlyNearShops = new HashSet<>();
-
         for (Player player : Bukkit.getOnlinePlayers()) {
-            boolean nearShop = false;
-
-            for (Shop shop : shops.values()) {
-                if (shop.isRented() && shop.getCustomMessage() != null &&
-                        shop.isNearShop(player.getLocation(), 5.0, zoneManager)) {
-
-                    nearShop = true;
-                    currentlyNearShops.add(player.getUniqueId());
-
-                    // Vérifier si le joueur n'était pas déjà proche
-                    if (!playersNearShops.contains(player.getUniqueId())) {
-                        // Vérifier le cooldown des messages (5 secondes)
-                        long lastMsg = lastMessageTime.getOrDefault(player.getUniqueId(), 0L);
-                        if (System.currentTimeMillis() - lastMsg > 5000) {
-                            // Envoyer le message personnalisé
-                            String message = ChatColor.translateAlternateColorCodes('&', shop.getCustomMessage());
-                            player.sendMessage("§6§lSHOP §8» " + message);
-                            lastMessageTime.put(player.getUniqueId(), System.currentTimeMillis());
-                        }
+            plugin.getShopScheduler().executeForEntity(player, () -> plugin.getMetrics().time("proximity.check", () -> checkPlayerProximity(player)));
+        }
+    }
+
+    /**
+     * Message personnalisé du shop le plus proche, exécuté sur le thread qui possède le joueur
+     */
+    private void checkPlayerProximity(Player player) {
+        UUID playerId = player.getUniqueId();
+
+        for (Shop shop : shops.values()) {
+            if (shop.isRented() && shop.getCustomMessage() != null &&
+                    shop.isNearShop(player.getLocation(), 5.0, zoneManager)) {
+
+                // Vérifier si le joueur n'était pas déjà proche
+                if (playersNearShops.add(playerId)) {
+                    // Vérifier le cooldown des messages (5 secondes)
+                    long lastMsg = lastMessageTime.getOrDefault(playerId, 0L);
+                    if (System.currentTimeMillis() - lastMsg > 5000) {
+                        // Envoyer le message personnalisé
+                        messages.send(player, "info.approach-message", "message", shop.getDisplayCustomMessage());
+                        lastMessageTime.put(playerId, System.currentTimeMillis());
                     }
-                    break; // Un seul message par proximité
                 }
-            }
-
-            if (!nearShop) {
-                currentlyNearShops.remove(player.getUniqueId());
+                return; // Un seul message par proximité
             }
         }
 
-        playersNearShops.clear();
-        playersNearShops.addAll(currentlyNearShops);
+        playersNearShops.remove(playerId);
+    }
+
+    public void handlePlayerQuit(UUID playerId) {
+        playersNearShops.remove(playerId);
+        lastMessageTime.remove(playerId);
     }
 
     // ===============================
@@ -191,31 +218,31 @@ public class ShopManager {
     public boolean claimShop(Player player, String shopId) {
         Shop shop = shops.get(shopId);
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cShop introuvable!");
+            messages.send(player, "shops.not-found");
             return false;
         }
 
         if (shop.getStatus() != Shop.ShopStatus.AVAILABLE) {
-            player.sendMessage("§c§lSHOP §8» §cCe shop n'est pas disponible!");
+            messages.send(player, "shops.unavailable");
             return false;
         }
 
         // Vérifier si le joueur a déjà un shop
         Shop existingShop = getPlayerShop(player.getUniqueId());
         if (existingShop != null) {
-            player.sendMessage("§c§lSHOP §8» §cVous possédez déjà le shop §e" + existingShop.getId() + "§c!");
+            messages.send(player, "shops.already-owner", "shop", existingShop.getId());
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getRentPrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getRentPrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "Location shop " + shopId)) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "Location shop " + shopId)) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
@@ -225,11 +252,12 @@ public class ShopManager {
         shop.setOwnerName(player.getName());
         shop.setRentExpiry(System.currentTimeMillis() + configManager.getRentDuration());
 
-        player.sendMessage("§a§lSHOP §8» §aVous avez revendiqué le shop §e" + shopId + " §apour §e" + price + " §abeacons!");
+        messages.send(player, "shops.claimed", "shop", shopId, "price", String.valueOf(price));
 
         // Mettre à jour les visuels (même si vides au début)
         plugin.getVisualManager().updateShopVisuals(shop);
 
+        shopChanged(shop);
         saveAll();
         return true;
     }
@@ -237,19 +265,19 @@ public class ShopManager {
     public boolean extendShopRent(Player player) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getRentPrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getRentPrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons pour prolonger! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons-extend", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "Extension shop " + shop.getId())) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "Extension shop " + shop.getId())) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
@@ -261,11 +289,12 @@ public class ShopManager {
         if (shop.isInGracePeriod()) {
             shop.setInGracePeriod(false);
             shop.setGraceExpiry(0);
-            player.sendMessage("§a§lSHOP §8» §aVotre shop sort de la période de grâce!");
+            messages.send(player, "shops.grace-period-ended");
         }
 
-        player.sendMessage("§a§lSHOP §8» §aVotre shop a été prolongé de 3 jours pour §e" + price + " §abeacons!");
+        messages.send(player, "shops.extended", "price", String.valueOf(price));
 
+        shopChanged(shop);
         saveAll();
         return true;
     }
@@ -273,25 +302,25 @@ public class ShopManager {
     public boolean addCustomMessage(Player player, String message) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getCustomMessagePrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getCustomMessagePrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "Message personnalisé")) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "Message personnalisé")) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
         shop.setCustomMessage(message);
-        player.sendMessage("§a§lSHOP §8» §aMessage d'approche défini!");
-        player.sendMessage("§7§lSHOP §8» §7Aperçu: " + ChatColor.translateAlternateColorCodes('&', message));
+        messages.send(player, "shops.custom-message-set");
+        messages.send(player, "shops.preview", "text", ChatColor.translateAlternateColorCodes('&', message));
 
         saveAll();
         return true;
@@ -300,17 +329,17 @@ public class ShopManager {
     public boolean removeCustomMessage(Player player) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (shop.getCustomMessage() == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas de message personnalisé!");
+            messages.send(player, "shops.no-custom-message");
             return false;
         }
 
         shop.setCustomMessage(null);
-        player.sendMessage("§a§lSHOP §8» §aMessage personnalisé supprimé!");
+        messages.send(player, "shops.custom-message-removed");
 
         saveAll();
         return true;
@@ -319,24 +348,24 @@ public class ShopManager {
     public boolean addFloatingText(Player player, String text) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (shop.getFloatingTexts().size() >= 3) {
-            player.sendMessage("§c§lSHOP §8» §cVous avez atteint la limite de textes flottants! §7(3 max)");
+            messages.send(player, "shops.max-floating-texts");
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getFloatingTextPrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getFloatingTextPrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "Texte flottant")) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "Texte flottant")) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
@@ -346,8 +375,8 @@ public class ShopManager {
         Shop.FloatingText floatingText = new Shop.FloatingText(text, headLocation);
         shop.addFloatingText(floatingText);
 
-        player.sendMessage("§a§lSHOP §8» §aTexte flottant ajouté au niveau de votre tête!");
-        player.sendMessage("§7§lSHOP §8» §7Aperçu: " + ChatColor.translateAlternateColorCodes('&', text));
+        messages.send(player, "shops.floating-text-added");
+        messages.send(player, "shops.preview", "text", ChatColor.translateAlternateColorCodes('&', text));
 
         // Mettre à jour l'affichage visuel
         plugin.getVisualManager().updateFloatingTexts(shop);
@@ -359,17 +388,17 @@ public class ShopManager {
     public boolean removeFloatingText(Player player, int index) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (index < 0 || index >= shop.getFloatingTexts().size()) {
-            player.sendMessage("§c§lSHOP §8» §cIndex invalide! Utilisez §e/shop remove text §cpour voir la liste.");
+            messages.send(player, "shops.invalid-floating-text");
             return false;
         }
 
         shop.removeFloatingText(index);
-        player.sendMessage("§a§lSHOP §8» §aTexte flottant supprimé!");
+        messages.send(player, "shops.floating-text-removed");
 
         // Mettre à jour l'affichage visuel
         plugin.getVisualManager().updateFloatingTexts(shop);
@@ -381,44 +410,44 @@ public class ShopManager {
     public void listFloatingTexts(Player player) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return;
         }
 
         if (shop.getFloatingTexts().isEmpty()) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez aucun texte flottant!");
+            messages.send(player, "shops.no-floating-texts");
             return;
         }
 
-        player.sendMessage("§6§lSHOP §8» §6Vos textes flottants:");
+        messages.send(player, "shops.floating-texts.header");
         for (int i = 0; i < shop.getFloatingTexts().size(); i++) {
             Shop.FloatingText ft = shop.getFloatingTexts().get(i);
-            player.sendMessage("§7" + (i + 1) + ". " + ChatColor.translateAlternateColorCodes('&', ft.getText()));
+            messages.send(player, "shops.floating-texts.entry", "index", String.valueOf(i + 1), "text", ft.getDisplayText());
         }
-        player.sendMessage("§7Utilisez §e/shop remove text <numéro> §7pour supprimer.");
+        messages.send(player, "shops.floating-texts.hint");
     }
 
     public boolean addNPC(Player player, String npcName) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (shop.hasNPC()) {
-            player.sendMessage("§c§lSHOP §8» §cVous avez déjà un PNJ dans votre shop!");
+            messages.send(player, "shops.npc-exists");
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getNpcPrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getNpcPrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "PNJ")) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "PNJ")) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
@@ -426,7 +455,7 @@ public class ShopManager {
         shop.setNpcName(npcName);
         shop.setNpcLocation(player.getLocation());
 
-        player.sendMessage("§a§lSHOP §8» §aPNJ §e" + ChatColor.translateAlternateColorCodes('&', npcName) + " §aajouté!");
+        messages.send(player, "shops.npc-added", "name", ChatColor.translateAlternateColorCodes('&', npcName));
 
         // Mettre à jour l'affichage visuel
         plugin.getVisualManager().updateNPC(shop);
@@ -438,12 +467,12 @@ public class ShopManager {
     public boolean removeNPC(Player player) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (!shop.hasNPC()) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas de PNJ!");
+            messages.send(player, "shops.no-npc");
             return false;
         }
 
@@ -451,7 +480,7 @@ public class ShopManager {
         shop.setNpcName(null);
         shop.setNpcLocation(null);
 
-        player.sendMessage("§a§lSHOP §8» §aPNJ supprimé!");
+        messages.send(player, "shops.npc-removed");
 
         // Mettre à jour l'affichage visuel
         plugin.getVisualManager().removeNPC(shop.getId());
@@ -463,24 +492,24 @@ public class ShopManager {
     public boolean addMember(Player owner, String memberName) {
         Shop shop = getPlayerShop(owner.getUniqueId());
         if (shop == null) {
-            owner.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(owner, "shops.no-shop");
             return false;
         }
 
         Player member = Bukkit.getPlayer(memberName);
         if (member == null) {
-            owner.sendMessage("§c§lSHOP §8» §cJoueur introuvable!");
+            messages.send(owner, "shops.player-not-found");
             return false;
         }
 
         if (shop.isMember(member.getUniqueId())) {
-            owner.sendMessage("§c§lSHOP §8» §cCe joueur est déjà membre de votre shop!");
+            messages.send(owner, "shops.already-member");
             return false;
         }
 
         shop.addMember(member.getUniqueId());
-        owner.sendMessage("§a§lSHOP §8» §e" + memberName + " §aa été ajouté à votre shop!");
-        member.sendMessage("§a§lSHOP §8» §aVous avez été ajouté au shop de §e" + owner.getName() + "§a!");
+        messages.send(owner, "shops.member-added", "player", memberName);
+        messages.send(member, "shops.added-to-shop", "owner", owner.getName());
 
         saveAll();
         return true;
@@ -489,7 +518,7 @@ public class ShopManager {
     public boolean removeMember(Player owner, String memberName) {
         Shop shop = getPlayerShop(owner.getUniqueId());
         if (shop == null) {
-            owner.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(owner, "shops.no-shop");
             return false;
         }
 
@@ -508,15 +537,15 @@ public class ShopManager {
         }
 
         if (memberId == null || !shop.isMember(memberId)) {
-            owner.sendMessage("§c§lSHOP §8» §cCe joueur n'est pas membre de votre shop!");
+            messages.send(owner, "shops.not-member");
             return false;
         }
 
         shop.removeMember(memberId);
-        owner.sendMessage("§a§lSHOP §8» §e" + memberName + " §aa été retiré de votre shop!");
+        messages.send(owner, "shops.member-removed", "player", memberName);
 
         if (member != null) {
-            member.sendMessage("§c§lSHOP §8» §cVous avez été retiré du shop de §e" + owner.getName() + "§c!");
+            messages.send(member, "shops.removed-from-shop", "owner", owner.getName());
         }
 
         saveAll();
@@ -526,35 +555,36 @@ public class ShopManager {
     public boolean boostAdvertisement(Player player) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (shop.getAdvertisement() == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous devez d'abord créer une annonce!");
+            messages.send(player, "shops.no-advertisement");
             return false;
         }
 
         if (shop.isAdvertisementBoosted()) {
-            player.sendMessage("§c§lSHOP §8» §cVotre annonce est déjà boostée!");
+            messages.send(player, "shops.already-boosted");
             return false;
         }
 
-        long price = hook.calculatePrice(player.getUniqueId(), configManager.getBoostPrice());
+        long price = economy.getPrice(player.getUniqueId(), configManager.getBoostPrice());
 
-        if (!hook.hasBeacons(player.getUniqueId(), price)) {
-            player.sendMessage("§c§lSHOP §8» §cVous n'avez pas assez de beacons! §7(§e" + price + " §7beacons requis)");
+        if (!economy.hasBeacons(player.getUniqueId(), price)) {
+            messages.send(player, "shops.not-enough-beacons", "price", String.valueOf(price));
             return false;
         }
 
-        if (!hook.processBeaconTransaction(player, price, "Boost annonce")) {
-            player.sendMessage("§c§lSHOP §8» §cErreur lors de la transaction!");
+        if (!economy.chargeBeacons(player.getUniqueId(), price, "Boost annonce")) {
+            messages.send(player, "shops.transaction-failed");
             return false;
         }
 
         shop.setAdvertisementBoostExpiry(System.currentTimeMillis() + configManager.getBoostDuration());
-        player.sendMessage("§a§lSHOP §8» §aVotre annonce a été boostée pour 1 heure!");
+        messages.send(player, "shops.boosted");
 
+        shopChanged(shop);
         saveAll();
         return true;
     }
@@ -562,17 +592,17 @@ public class ShopManager {
     public boolean placeBarrel(Player player, Location location) {
         Shop shop = getPlayerShop(player.getUniqueId());
         if (shop == null) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne possédez aucun shop!");
+            messages.send(player, "shops.no-shop");
             return false;
         }
 
         if (!shop.containsLocation(location, zoneManager)) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne pouvez placer des beacons que dans votre shop!");
+            messages.send(player, "shops.beacon-outside-shop");
             return false;
         }
 
         if (shop.hasBeacon()) {
-            player.sendMessage("§c§lSHOP §8» §cVous ne pouvez avoir qu'un seul beacon dans votre shop!");
+            messages.send(player, "shops.one-beacon-only");
             return false;
         }
 
@@ -592,10 +622,7 @@ public class ShopManager {
     }
 
     public Shop getPlayerShop(UUID playerId) {
-        return shops.values().stream()
-                .filter(shop -> shop.isRented() && Objects.equals(shop.getOwnerId(), playerId))
-                .findFirst()
-                .orElse(null);
+        return shops.snapshot().getRentedShop(playerId);
     }
 
     public Shop getShopAtLocation(Location location) {
@@ -609,6 +636,10 @@ public class ShopManager {
         return new ArrayList<>(shops.values());
     }
 
+    public int getShopCount() {
+        return shops.size();
+    }
+
     public List<Shop> getRentedShops() {
         return shops.values().stream()
                 .filter(shop -> shop.isRented() && shop.getStatus() == Shop.ShopStatus.RENTED)
@@ -622,15 +653,11 @@ public class ShopManager {
     }
 
     public List<Shop> getShopsWithAdvertisements() {
-        return shops.values().stream()
-                .filter(shop -> shop.isRented() && shop.getAdvertisement() != null && shop.getAdvertisement().isActive())
-                .sorted((a, b) -> {
-                    // Trier par boost puis par date de création
-                    if (a.isAdvertisementBoosted() && !b.isAdvertisementBoosted()) return -1;
-                    if (!a.isAdvertisementBoosted() && b.isAdvertisementBoosted()) return 1;
-                    return Long.compare(b.getAdvertisement().getCreatedAt(), a.getAdvertisement().getCreatedAt());
-                })
-                .collect(Collectors.toList());
+        return advertisementBoard.getAll();
+    }
+
+    public AdvertisementBoard getAdvertisementBoard() {
+        return advertisementBoard;
     }
 
     public boolean canPlayerBuild(Player player, Location location) {
@@ -669,7 +696,14 @@ public class ShopManager {
     }
 
     public Map<String, Shop> getShops() {
-        return new HashMap<>(shops);
+        return shops.snapshot().getShops();
+    }
+
+    /**
+     * Instantané cohérent des shops, lisible depuis n'importe quel thread
+     */
+    public ShopRegistry.Snapshot getSnapshot() {
+        return shops.snapshot();
     }
 
     /**
@@ -677,7 +711,11 @@ public class ShopManager {
      */
     public void resynchronizeWithZones() {
         if (configManager.isAutoCreateShopsEnabled()) {
-            configManager.synchronizeShopsWithZones(shops, zoneManager);
+            shops.mutate(table -> configManager.synchronizeShopsWithZones(table, zoneManager));
+            advertisementBoard.rebuild(shops.values());
+            if (plugin.getShopGUI() != null) {
+                plugin.getShopGUI().invalidateAllShops();
+            }
             saveAll();
         }
     }
@@ -0,0 +1,95 @@
+package fr.shop.managers;
+
+import fr.shop.data.Shop;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Registre des shops publié par instantanés immuables (copy-on-write)
+ * Les lectures (thread principal, chat asynchrone, sauvegardes, exports) lisent l'instantané courant
+ * sans verrou ; les écritures passent toutes par {@link #mutate} et sont sérialisées
+ */
+public class ShopRegistry {
+
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyMap());
+
+    // ===============================
+    // LECTURE
+    // ===============================
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public Shop get(String shopId) {
+        return snapshot.shops.get(shopId);
+    }
+
+    public Collection<Shop> values() {
+        return snapshot.shops.values();
+    }
+
+    public int size() {
+        return snapshot.shops.size();
+    }
+
+    // ===============================
+    // ÉCRITURE
+    // ===============================
+
+    /**
+     * Applique une modification sur une copie de la table puis publie le nouvel instantané
+     */
+    public void mutate(Consumer<Map<String, Shop>> mutation) {
+        synchronized (writeLock) {
+            Map<String, Shop> copy = new LinkedHashMap<>(snapshot.shops);
+            mutation.accept(copy);
+            snapshot = new Snapshot(snapshot.version + 1, copy);
+        }
+    }
+
+    /**
+     * Republie l'instantané après la modification d'un shop (propriétaire, location),
+     * pour que les index dérivés soient recalculés
+     */
+    public void refresh() {
+        mutate(shops -> {});
+    }
+
+    /**
+     * État cohérent du registre à un instant donné
+     * La table et l'index des propriétaires ne changent plus une fois publiés
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<String, Shop> shops;
+        private final Map<UUID, Shop> rentedByOwner;
+
+        private Snapshot(long version, Map<String, Shop> shops) {
+            this.version = version;
+            this.shops = Collections.unmodifiableMap(shops);
+
+            Map<UUID, Shop> byOwner = new HashMap<>();
+            for (Shop shop : shops.values()) {
+                if (shop.isRented() && shop.getOwnerId() != null) {
+                    byOwner.putIfAbsent(shop.getOwnerId(), shop);
+                }
+            }
+            this.rentedByOwner = Collections.unmodifiableMap(byOwner);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Map<String, Shop> getShops() {
+            return shops;
+        }
+
+        public Shop getRentedShop(UUID ownerId) {
+            return rentedByOwner.get(ownerId);
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package fr.shop.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.*;
+
+/**
+ * Paramètres de config.yml lus et validés une seule fois, immuables
+ * Un rechargement produit un nouvel objet (publié par ConfigManager) : les getters ne sont
+ * que des lectures de champs et ne passent plus par les chemins de FileConfiguration
+ */
+public final class ShopSettings {
+
+    // Configuration par défaut
+    static final long DEFAULT_RENT_PRICE = 1000;
+    static final long DEFAULT_RENT_DURATION = 3 * 24 * 60 * 60 * 1000L; // 3 jours
+    static final long DEFAULT_GRACE_DURATION = 24 * 60 * 60 * 1000L; // 1 jour
+    static final long DEFAULT_CUSTOM_MESSAGE_PRICE = 100;
+    static final long DEFAULT_MESSAGE_COOLDOWN = 5000L; // 5 secondes
+    static final long DEFAULT_FLOATING_TEXT_PRICE = 50;
+    static final int DEFAULT_MAX_FLOATING_TEXTS = 3;
+    static final long DEFAULT_NPC_PRICE = 500;
+    static final long DEFAULT_BOOST_PRICE = 200;
+    static final long DEFAULT_BOOST_DURATION = 60 * 60 * 1000L; // 1 heure
+    static final String DEFAULT_MARKET_WORLD = "Market";
+    private static final long DEFAULT_BALANCE_CACHE_DURATION = 2000L; // 2 secondes
+    private static final long DEFAULT_LOCAL_STARTING_COINS = 1000000L;
+    private static final long DEFAULT_LOCAL_STARTING_BEACONS = 100000L;
+    private static final int DEFAULT_TRADE_HISTORY_SIZE = 100;
+    private static final long DEFAULT_TRADE_JOURNAL_RETENTION = 30 * 24 * 60 * 60 * 1000L; // 30 jours
+    private static final double DEFAULT_VISUAL_VIEW_DISTANCE = 48.0;
+    private static final long DEFAULT_VISIBILITY_UPDATE_INTERVAL = 10L; // 0,5 seconde
+    private static final double DEFAULT_VISUAL_TICK_BUDGET = 2.0; // millisecondes
+    private static final int DEFAULT_VISUAL_MAX_OPERATIONS_PER_TICK = 20;
+    private static final int DEFAULT_PRELOADED_TELEPORT_ZONES = 3;
+    private static final int DEFAULT_SCAN_RADIUS = 300;
+    private static final long DEFAULT_NOTIFICATION_WINDOW = 40L; // 2 secondes
+    private static final String DEFAULT_METRICS_EXPORTER_HOST = "127.0.0.1";
+    private static final int DEFAULT_METRICS_EXPORTER_PORT = 9464;
+    private static final long DEFAULT_METRICS_GAUGE_INTERVAL = 100L; // 5 secondes
+
+    private static final Set<String> NPC_RENDERERS = Set.of("display", "villager");
+    private static final Set<String> ECONOMY_PROVIDERS = Set.of("prisontycoon", "local");
+
+    // Location et personnalisation
+    private final long rentPrice;
+    private final long rentDuration;
+    private final long graceDuration;
+    private final long customMessagePrice;
+    private final long messageCooldown;
+    private final long floatingTextPrice;
+    private final int maxFloatingTexts;
+    private final long npcPrice;
+    private final long boostPrice;
+    private final long boostDuration;
+
+    // Visuels
+    private final double visualViewDistance;
+    private final long visibilityUpdateInterval;
+    private final long visualTickBudgetNanos;
+    private final String npcRendererType;
+    private final int visualMaxOperationsPerTick;
+
+    // Monde, zones et téléportations
+    private final String marketWorldName;
+    private final boolean autoCreateShops;
+    private final int scanRadius;
+    private final boolean zoneTeleportEnabled;
+    private final boolean teleportSafetyCheck;
+    private final int teleportDelay;
+    private final String priorityTeleportPermission;
+    private final int preloadedTeleportZones;
+
+    // Économie et journal
+    private final String economyProvider;
+    private final long balanceCacheDuration;
+    private final long localStartingCoins;
+    private final long localStartingBeacons;
+    private final long notificationWindow;
+    private final int tradeHistorySize;
+    private final long tradeJournalRetention;
+
+    // Limitation des interactions
+    private final Map<String, RateLimit> rateLimits;
+
+    // Exporteur de métriques et rechargement
+    private final boolean metricsExporterEnabled;
+    private final String metricsExporterHost;
+    private final int metricsExporterPort;
+    private final long metricsGaugeInterval;
+    private final boolean configWatchEnabled;
+
+    private final List<String> warnings;
+
+    private ShopSettings(Reader reader) {
+        this.rentPrice = reader.getLong("settings.rent.price", DEFAULT_RENT_PRICE, 0L);
+        this.rentDuration = reader.getLong("settings.rent.duration", DEFAULT_RENT_DURATION, 1L);
+        this.graceDuration = reader.getLong("settings.rent.grace_duration", DEFAULT_GRACE_DURATION, 0L);
+        this.customMessagePrice = reader.getLong("settings.customization.custom-message.price", DEFAULT_CUSTOM_MESSAGE_PRICE, 0L);
+        this.messageCooldown = reader.getLong("settings.customization.custom-message.cooldown", DEFAULT_MESSAGE_COOLDOWN, 0L);
+        this.floatingTextPrice = reader.getLong("settings.customization.floating-text.price", DEFAULT_FLOATING_TEXT_PRICE, 0L);
+        this.maxFloatingTexts = reader.getInt("settings.customization.floating-text.max-per-shop", DEFAULT_MAX_FLOATING_TEXTS, 0);
+        this.npcPrice = reader.getLong("settings.customization.npc.price", DEFAULT_NPC_PRICE, 0L);
+        this.boostPrice = reader.getLong("settings.advertisement.boost.price", DEFAULT_BOOST_PRICE, 0L);
+        this.boostDuration = reader.getLong("settings.advertisement.boost.duration", DEFAULT_BOOST_DURATION, 1L);
+
+        this.visualViewDistance = reader.getDouble("settings.visuals.view_distance", DEFAULT_VISUAL_VIEW_DISTANCE, 1.0);
+        this.visibilityUpdateInterval = reader.getLong("settings.visuals.visibility_update_interval", DEFAULT_VISIBILITY_UPDATE_INTERVAL, 1L);
+        this.visualTickBudgetNanos = (long) (reader.getDouble("settings.visuals.tick_budget_ms", DEFAULT_VISUAL_TICK_BUDGET, 0.1) * 1000000L);
+        this.npcRendererType = reader.getChoice("settings.visuals.npc_renderer", "display", NPC_RENDERERS);
+        this.visualMaxOperationsPerTick = reader.getInt("settings.visuals.max_operations_per_tick", DEFAULT_VISUAL_MAX_OPERATIONS_PER_TICK, 1);
+
+        this.marketWorldName = reader.getString("settings.world.market_world", DEFAULT_MARKET_WORLD);
+        this.autoCreateShops = reader.getBoolean("settings.world.auto_create_shops", true);
+        this.scanRadius = reader.getInt("settings.zones.scan_radius", DEFAULT_SCAN_RADIUS, 1);
+        this.zoneTeleportEnabled = reader.getBoolean("teleportation.enable_zone_teleports", true);
+        this.teleportSafetyCheck = reader.getBoolean("teleportation.teleport_safety_check", true);
+        this.teleportDelay = reader.getInt("teleportation.teleport_delay", 0, 0);
+        this.priorityTeleportPermission = reader.getString("permissions.advanced-features.priority-teleport", "playershops.vip.teleport");
+        this.preloadedTeleportZones = reader.getInt("teleportation.preloaded_zones", DEFAULT_PRELOADED_TELEPORT_ZONES, 0);
+
+        this.economyProvider = reader.getChoice("settings.economy.provider", "prisontycoon", ECONOMY_PROVIDERS);
+        this.balanceCacheDuration = reader.getLong("settings.economy.balance_cache_duration", DEFAULT_BALANCE_CACHE_DURATION, 0L);
+        this.localStartingCoins = reader.getLong("settings.economy.local.starting_coins", DEFAULT_LOCAL_STARTING_COINS, 0L);
+        this.localStartingBeacons = reader.getLong("settings.economy.local.starting_beacons", DEFAULT_LOCAL_STARTING_BEACONS, 0L);
+        this.notificationWindow = reader.getLong("settings.journal.notification_window", DEFAULT_NOTIFICATION_WINDOW, 1L);
+        this.tradeHistorySize = reader.getInt("settings.journal.history_per_shop", DEFAULT_TRADE_HISTORY_SIZE, 0);
+        this.tradeJournalRetention = reader.getLong("settings.journal.retention", DEFAULT_TRADE_JOURNAL_RETENTION, 0L);
+
+        this.rateLimits = reader.getRateLimits("settings.rate_limits");
+
+        this.metricsExporterEnabled = reader.getBoolean("settings.metrics.exporter.enabled", false);
+        this.metricsExporterHost = reader.getString("settings.metrics.exporter.host", DEFAULT_METRICS_EXPORTER_HOST);
+        this.metricsExporterPort = reader.getInt("settings.metrics.exporter.port", DEFAULT_METRICS_EXPORTER_PORT, 0, 65535);
+        this.metricsGaugeInterval = reader.getLong("settings.metrics.exporter.gauge_interval", DEFAULT_METRICS_GAUGE_INTERVAL, 20L);
+        this.configWatchEnabled = reader.getBoolean("settings.config.watch_file", true);
+
+        this.warnings = List.copyOf(reader.warnings);
+    }
+
+    /**
+     * Lit et valide la configuration : une valeur invalide ou hors bornes est remplacée
+     * (valeur par défaut ou borne la plus proche) et signalée dans getWarnings()
+     */
+    public static ShopSettings parse(FileConfiguration config) {
+        return new ShopSettings(new Reader(config));
+    }
+
+    // ===============================
+    // GETTERS POUR LES PRIX ET DURÉES
+    // ===============================
+
+    public long getRentPrice() {
+        return rentPrice;
+    }
+
+    public long getRentDuration() {
+        return rentDuration;
+    }
+
+    public long getGraceDuration() {
+        return graceDuration;
+    }
+
+    public long getCustomMessagePrice() {
+        return customMessagePrice;
+    }
+
+    public long getMessageCooldown() {
+        return messageCooldown;
+    }
+
+    public long getFloatingTextPrice() {
+        return floatingTextPrice;
+    }
+
+    public int getMaxFloatingTexts() {
+        return maxFloatingTexts;
+    }
+
+    public long getNpcPrice() {
+        return npcPrice;
+    }
+
+    public long getBoostPrice() {
+        return boostPrice;
+    }
+
+    public long getBoostDuration() {
+        return boostDuration;
+    }
+
+    // ===============================
+    // GETTERS POUR LES VISUELS
+    // ===============================
+
+    public double getVisualViewDistance() {
+        return visualViewDistance;
+    }
+
+    public long getVisibilityUpdateInterval() {
+        return visibilityUpdateInterval;
+    }
+
+    public long getVisualTickBudgetNanos() {
+        return visualTickBudgetNanos;
+    }
+
+    public String getNpcRendererType() {
+        return npcRendererType;
+    }
+
+    public int getVisualMaxOperationsPerTick() {
+        return visualMaxOperationsPerTick;
+    }
+
+    // ===============================
+    // GETTERS POUR LE MONDE, LES ZONES ET LES TÉLÉPORTATIONS
+    // ===============================
+
+    public String getMarketWorldName() {
+        return marketWorldName;
+    }
+
+    public boolean isAutoCreateShopsEnabled() {
+        return autoCreateShops;
+    }
+
+    public int getScanRadius() {
+        return scanRadius;
+    }
+
+    public boolean isZoneTeleportEnabled() {
+        return zoneTeleportEnabled;
+    }
+
+    public boolean isTeleportSafetyCheckEnabled() {
+        return teleportSafetyCheck;
+    }
+
+    public int getTeleportDelay() {
+        return teleportDelay;
+    }
+
+    public String getPriorityTeleportPermission() {
+        return priorityTeleportPermission;
+    }
+
+    public int getPreloadedTeleportZones() {
+        return preloadedTeleportZones;
+    }
+
+    // ===============================
+    // GETTERS POUR L'ÉCONOMIE ET LE JOURNAL
+    // ===============================
+
+    public String getEconomyProvider() {
+        return economyProvider;
+    }
+
+    public long getBalanceCacheDuration() {
+        return balanceCacheDuration;
+    }
+
+    public long getLocalStartingCoins() {
+        return localStartingCoins;
+    }
+
+    public long getLocalStartingBeacons() {
+        return localStartingBeacons;
+    }
+
+    public long getNotificationWindow() {
+        return notificationWindow;
+    }
+
+    public int getTradeHistorySize() {
+        return tradeHistorySize;
+    }
+
+    public long getTradeJournalRetention() {
+        return tradeJournalRetention;
+    }
+
+    /**
+     * Débit configuré pour un type d'action, null s'il n'est pas dans config.yml
+     */
+    public RateLimit getRateLimit(String action) {
+        return rateLimits.get(action);
+    }
+
+    // ===============================
+    // GETTERS POUR L'EXPORTEUR ET LE RECHARGEMENT
+    // ===============================
+
+    public boolean isMetricsExporterEnabled() {
+        return metricsExporterEnabled;
+    }
+
+    public String getMetricsExporterHost() {
+        return metricsExporterHost;
+    }
+
+    public int getMetricsExporterPort() {
+        return metricsExporterPort;
+    }
+
+    public long getMetricsGaugeInterval() {
+        return metricsGaugeInterval;
+    }
+
+    public boolean isConfigWatchEnabled() {
+        return configWatchEnabled;
+    }
+
+    /**
+     * Valeurs corrigées pendant la lecture, à signaler dans la console
+     */
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    public static final class RateLimit {
+        private final double rate;
+        private final int burst;
+
+        RateLimit(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        /**
+         * Actions par seconde, NaN si seule la rafale est configurée
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * Rafale tolérée, -1 si seul le débit est configuré
+         */
+        public int getBurst() {
+            return burst;
+        }
+    }
+
+    /**
+     * Lecture typée avec bornes ; les problèmes sont collectés plutôt que levés,
+     * pour qu'un seul champ invalide n'empêche pas le reste de la configuration
+     */
+    private static final class Reader {
+        private final FileConfiguration config;
+        private final List<String> warnings = new ArrayList<>();
+
+        Reader(FileConfiguration config) {
+            this.config = config;
+        }
+
+        long getLong(String path, long def, long min) {
+            if (!config.isSet(path)) return def;
+            if (!isNumber(path)) {
+                warnings.add(path + ": nombre attendu, valeur par défaut " + def + " utilisée");
+                return def;
+            }
+            long value = config.getLong(path);
+            if (value < min) {
+                warnings.add(path + ": " + value + " est inférieur au minimum, " + min + " utilisé");
+                return min;
+            }
+            return value;
+        }
+
+        int getInt(String path, int def, int min) {
+            return getInt(path, def, min, Integer.MAX_VALUE);
+        }
+
+        int getInt(String path, int def, int min, int max) {
+            if (!config.isSet(path)) return def;
+            if (!isNumber(path)) {
+                warnings.add(path + ": nombre attendu, valeur par défaut " + def + " utilisée");
+                return def;
+            }
+            int value = config.getInt(path);
+            if (value < min || value > max) {
+                int clamped = Math.max(min, Math.min(max, value));
+                warnings.add(path + ": " + value + " est hors bornes, " + clamped + " utilisé");
+                return clamped;
+            }
+            return value;
+        }
+
+        double getDouble(String path, double def, double min) {
+            if (!config.isSet(path)) return def;
+            if (!isNumber(path)) {
+                warnings.add(path + ": nombre attendu, valeur par défaut " + def + " utilisée");
+                return def;
+            }
+            double value = config.getDouble(path);
+            if (!(value >= min)) {
+                warnings.add(path + ": " + value + " est inférieur au minimum, " + min + " utilisé");
+                return min;
+            }
+            return value;
+        }
+
+        boolean getBoolean(String path, boolean def) {
+            if (!config.isSet(path)) return def;
+            if (!config.isBoolean(path)) {
+                warnings.add(path + ": true ou false attendu, " + def + " utilisé");
+                return def;
+            }
+            return config.getBoolean(path);
+        }
+
+        String getString(String path, String def) {
+            String value = config.getString(path, def);
+            if (value == null || value.isBlank()) {
+                warnings.add(path + ": valeur vide, \"" + def + "\" utilisé");
+                return def;
+            }
+            return value;
+        }
+
+        String getChoice(String path, String def, Set<String> choices) {
+            String value = getString(path, def).toLowerCase(Locale.ROOT);
+            if (!choices.contains(value)) {
+                warnings.add(path + ": \"" + value + "\" inconnu (attendu: " + String.join(", ", choices) + "), \"" + def + "\" utilisé");
+                return def;
+            }
+            return value;
+        }
+
+        Map<String, RateLimit> getRateLimits(String path) {
+            ConfigurationSection section = config.getConfigurationSection(path);
+            if (section == null) return Map.of();
+
+            Map<String, RateLimit> limits = new HashMap<>();
+            for (String action : section.getKeys(false)) {
+                String actionPath = path + "." + action;
+                double rate = config.isSet(actionPath + ".rate") ? getDouble(actionPath + ".rate", 0.0, 0.0) : Double.NaN;
+                int burst = config.isSet(actionPath + ".burst") ? getInt(actionPath + ".burst", 0, 0) : -1;
+                limits.put(action, new RateLimit(rate, burst));
+            }
+            return Map.copyOf(limits);
+        }
+
+        private boolean isNumber(String path) {
+            return config.isInt(path) || config.isLong(path) || config.isDouble(path);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.Zone;
+import fr.shop.scheduler.ShopScheduler;
+import fr.shop.scheduler.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service de téléportation : les chunks de destination sont chargés de façon asynchrone
+ * avant un teleportAsync, le délai et la vérification de sécurité de la configuration sont appliqués,
+ * et les points de téléportation des zones les plus visitées restent chargés (tickets de chunk)
+ */
+public class TeleportManager {
+
+    private static final int SAFE_SEARCH_HEIGHT = 8;
+    private static final double MAX_MOVE_DISTANCE_SQUARED = 1.0;
+    private static final long TICKET_REFRESH_INTERVAL = 20L * 60L * 5L; // 5 minutes
+
+    private static final Set<Material> DANGEROUS_GROUND = EnumSet.of(
+            Material.LAVA, Material.MAGMA_BLOCK, Material.CACTUS, Material.FIRE, Material.SOUL_FIRE,
+            Material.CAMPFIRE, Material.SOUL_CAMPFIRE, Material.SWEET_BERRY_BUSH, Material.POWDER_SNOW
+    );
+
+    private final PlayerShops plugin;
+    private final ConfigManager configManager;
+    private final MessageManager messages;
+    private final ShopScheduler scheduler;
+    private final Map<UUID, TaskHandle> pendingTeleports;
+
+    // Points de téléportation préchargés
+    private final Map<String, Integer> zoneVisits;
+    private final Map<String, Location> ticketedZones; // Zone -> destination dont le chunk a un ticket
+
+    public TeleportManager(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.messages = plugin.getMessageManager();
+        this.scheduler = plugin.getShopScheduler();
+        this.pendingTeleports = new ConcurrentHashMap<>();
+        this.zoneVisits = new ConcurrentHashMap<>();
+        this.ticketedZones = new HashMap<>();
+
+        startTicketRefreshTask();
+    }
+
+    private void startTicketRefreshTask() {
+        scheduler.runGlobalTimer(this::refreshZoneTickets, TICKET_REFRESH_INTERVAL, TICKET_REFRESH_INTERVAL);
+    }
+
+    // ===============================
+    // TÉLÉPORTATION
+    // ===============================
+
+    /**
+     * Téléporte un joueur vers une zone (point de téléportation, sinon centre)
+     *
+     * @return false si la zone n'a aucune destination ou si les téléportations de zones sont désactivées
+     */
+    public boolean teleportToZone(Player player, Zone zone, String successMessage) {
+        if (!configManager.isZoneTeleportEnabled()) {
+            messages.send(player, "teleport.disabled");
+            return false;
+        }
+
+        Location destination = getZoneDestination(zone);
+        if (destination == null) {
+            messages.send(player, "teleport.no-destination");
+            return false;
+        }
+
+        zoneVisits.merge(zone.getId(), 1, Integer::sum);
+        teleport(player, destination, successMessage);
+        return true;
+    }
+
+    /**
+     * Téléporte un joueur après le délai configuré ; tout changement de bloc pendant le délai
+     * l'annule (voir handlePlayerMove)
+     */
+    public void teleport(Player player, Location destination, String successMessage) {
+        cancelPending(player.getUniqueId());
+
+        int delay = configManager.getTeleportDelay();
+        if (delay <= 0 || player.hasPermission(configManager.getPriorityTeleportPermission())) {
+            performTeleport(player, destination, successMessage);
+            return;
+        }
+
+        Location start = player.getLocation();
+        messages.send(player, "teleport.delayed", "delay", String.valueOf(delay));
+
+        // Chargement anticipé pendant le délai
+        destination.getWorld().getChunkAtAsync(destination);
+
+        TaskHandle task = scheduler.runForEntityLater(player, () -> {
+            pendingTeleports.remove(player.getUniqueId());
+
+            Location current = player.getLocation();
+            if (!current.getWorld().equals(start.getWorld()) || current.distanceSquared(start) > MAX_MOVE_DISTANCE_SQUARED) {
+                messages.send(player, "teleport.cancelled-moved");
+                return;
+            }
+
+            performTeleport(player, destination, successMessage);
+        }, delay * 20L);
+
+        pendingTeleports.put(player.getUniqueId(), task);
+    }
+
+    private void performTeleport(Player player, Location destination, String successMessage) {
+        World world = destination.getWorld();
+
+        // Le chunk est chargé hors du thread principal ; les blocs sont lus par la région
+        // de destination, puis le joueur est déplacé depuis son propre thread
+        world.getChunkAtAsync(destination).thenAccept(chunk -> scheduler.executeAt(destination, () -> {
+            if (!player.isOnline()) return;
+
+            Location target = configManager.isTeleportSafetyCheckEnabled() ? findSafeLocation(destination) : destination;
+            if (target == null) {
+                messages.send(player, "teleport.unsafe");
+                return;
+            }
+
+            scheduler.executeForEntity(player, () -> player.teleportAsync(target).thenAccept(success -> {
+                if (success && successMessage != null) {
+                    player.sendMessage(successMessage);
+                } else if (!success) {
+                    messages.send(player, "teleport.failed");
+                }
+            }));
+        }));
+    }
+
+    public boolean cancelPending(UUID playerId) {
+        TaskHandle task = pendingTeleports.remove(playerId);
+        if (task == null) return false;
+
+        task.cancel();
+        return true;
+    }
+
+    // ===============================
+    // DESTINATIONS
+    // ===============================
+
+    public Location getZoneDestination(Zone zone) {
+        if (zone.hasTeleportLocation()) {
+            return zone.getTeleportLocation();
+        }
+        return zone.getCenterLocation();
+    }
+
+    /**
+     * Cherche, dans la colonne de la destination, une position avec deux blocs libres
+     * au-dessus d'un sol solide et sans danger (en montant d'abord, puis en descendant)
+     */
+    private Location findSafeLocation(Location destination) {
+        World world = destination.getWorld();
+        int x = destination.getBlockX();
+        int y = destination.getBlockY();
+        int z = destination.getBlockZ();
+
+        for (int offset = 0; offset <= SAFE_SEARCH_HEIGHT; offset++) {
+            if (isSafe(world, x, y + offset, z)) {
+                return withY(destination, y + offset);
+            }
+            if (offset > 0 && isSafe(world, x, y - offset, z)) {
+                return withY(destination, y - offset);
+            }
+        }
+        return null;
+    }
+
+    private boolean isSafe(World world, int x, int y, int z) {
+        if (y <= world.getMinHeight() || y + 1 >= world.getMaxHeight()) return false;
+
+        Block feet = world.getBlockAt(x, y, z);
+        Block head = world.getBlockAt(x, y + 1, z);
+        Block ground = world.getBlockAt(x, y - 1, z);
+
+        return feet.isPassable() && !feet.isLiquid() && !DANGEROUS_GROUND.contains(feet.getType())
+                && head.isPassable() && !head.isLiquid()
+                && ground.getType().isSolid() && !DANGEROUS_GROUND.contains(ground.getType());
+    }
+
+    private Location withY(Location location, int y) {
+        Location result = location.clone();
+        result.setY(y);
+        return result;
+    }
+
+    // ===============================
+    // PRÉCHARGEMENT DES ZONES
+    // ===============================
+
+    /**
+     * Garde un ticket sur le chunk de destination des zones les plus visitées
+     * Les compteurs sont divisés par deux à chaque passage pour suivre les tendances récentes
+     */
+    private void refreshZoneTickets() {
+        int limit = configManager.getPreloadedTeleportZones();
+
+        Set<String> wanted = new HashSet<>();
+        zoneVisits.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> wanted.add(entry.getKey()));
+
+        // Tickets devenus inutiles
+        Iterator<Map.Entry<String, Location>> iterator = ticketedZones.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Location> entry = iterator.next();
+            if (!wanted.contains(entry.getKey())) {
+                iterator.remove();
+                if (!isChunkTicketed(entry.getValue())) {
+                    removeTicket(entry.getValue());
+                }
+            }
+        }
+
+        // Nouveaux tickets
+        for (String zoneId : wanted) {
+            if (ticketedZones.containsKey(zoneId)) continue;
+
+            Zone zone = plugin.getZoneManager().getZone(zoneId);
+            Location destination = zone != null ? getZoneDestination(zone) : null;
+            if (destination == null || destination.getWorld() == null) continue;
+
+            scheduler.executeAt(destination, () ->
+                    destination.getWorld().addPluginChunkTicket(destination.getBlockX() >> 4, destination.getBlockZ() >> 4, plugin));
+            ticketedZones.put(zoneId, destination);
+        }
+
+        zoneVisits.replaceAll((zoneId, visits) -> visits / 2);
+        zoneVisits.values().removeIf(visits -> visits == 0);
+    }
+
+    private boolean isChunkTicketed(Location destination) {
+        for (Location other : ticketedZones.values()) {
+            if (other.getWorld() == destination.getWorld()
+                    && other.getBlockX() >> 4 == destination.getBlockX() >> 4
+                    && other.getBlockZ() >> 4 == destination.getBlockZ() >> 4) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeTicket(Location destination) {
+        if (destination.getWorld() != null) {
+            scheduler.executeAt(destination, () ->
+                    destination.getWorld().removePluginChunkTicket(destination.getBlockX() >> 4, destination.getBlockZ() >> 4, plugin));
+        }
+    }
+
+    // ===============================
+    // NETTOYAGE
+    // ===============================
+
+    /**
+     * Annule la téléportation en attente d'un joueur qui change de bloc pendant le délai
+     */
+    public void handlePlayerMove(Player player) {
+        if (cancelPending(player.getUniqueId())) {
+            messages.send(player, "teleport.cancelled-moved");
+        }
+    }
+
+    public void handlePlayerQuit(UUID playerId) {
+        cancelPending(playerId);
+    }
+
+    public void shutdown() {
+        for (TaskHandle task : pendingTeleports.values()) {
+            task.cancel();
+        }
+        pendingTeleports.clear();
+
+        // Les tickets du plugin sont retirés par le serveur à sa désactivation
+        ticketedZones.clear();
+    }
+}
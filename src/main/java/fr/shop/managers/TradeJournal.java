@@ -0,0 +1,691 @@
+package fr.shop.managers;
+
+import fr.shop.PlayerShops;
+import fr.shop.data.TradeRecord;
+import fr.shop.hooks.EconomyProvider;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
+import fr.shop.scheduler.TaskHandle;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Journal des transactions de chest shop (ajout seul, en deux phases)
+ * PREPARE -> COMMIT (items en séquestre) ou ABORT (annulée) -> SETTLE (bénéficiaire crédité)
+ * Les entrées sont écrites par lots hors du thread principal (un seul fsync par lot) et chaque ajout rend un
+ * acquittement complété après ce fsync : l'argent et les items ne bougent qu'une fois l'entrée qui les couvre
+ * sur disque (débit et séquestre après PREPARE, livraison après COMMIT, remboursement après ABORT,
+ * crédit après SETTLE). Le journal est rejoué au démarrage
+ * <p>
+ * Les entrées sont réparties en segments (journal/trades-N.journal) : le compactage fait basculer les écritures
+ * sur un nouveau segment, puis réécrit les segments scellés sans bloquer les écritures
+ * <p>
+ * Fenêtres restantes en cas d'arrêt brutal (au plus un lot d'écriture chacune) :
+ * - débit refusé par l'économie, avant l'écriture de ABORT : le payeur est remboursé sans avoir été débité
+ * - items en séquestre, avant l'écriture de COMMIT : le payeur est remboursé et les items retirés ne sont pas
+ *   rendus (aucune valeur n'est dupliquée ; le coffre n'est de toute façon sauvegardé qu'avec son chunk)
+ * - entre l'écriture de SETTLE et la réponse de l'économie au crédit : le bénéficiaire n'est pas crédité
+ */
+public class TradeJournal {
+
+    private static final byte PREPARE = 1;
+    private static final byte COMMIT = 2;
+    private static final byte ABORT = 3;
+    private static final byte SETTLE = 4;
+    private static final byte ARCHIVE = 5; // Transaction terminée (réécrite lors du compactage)
+    private static final byte UNSETTLE = 6; // Crédit refusé par l'économie : la transaction redevient à régler
+
+    private static final String SEGMENT_PREFIX = "trades-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int MAX_ENTRY_SIZE = 64 * 1024;
+    private static final long MIN_COMPACTION_INTERVAL = 20L * 60L; // 1 minute
+    private static final long MAX_COMPACTION_INTERVAL = 20L * 60L * 60L; // 1 heure
+
+    private final PlayerShops plugin;
+    private final File journalFolder;
+    private volatile int historySize;
+    private volatile long retention;
+
+    private final AtomicLong nextId;
+    private final Queue<PendingEntry> pendingEntries;
+    private final Map<String, Deque<TradeRecord>> historyByShop;
+    private final Object writeLock = new Object();
+    private final Object compactionLock = new Object();
+
+    private FileChannel channel;
+    private int activeSegment;
+    private TaskHandle flushTask;
+    private TaskHandle compactionTask = TaskHandle.NONE;
+    private long writtenEntries = 0;
+    private long compactedAtEntries = 0; // writtenEntries lors de la dernière bascule de segment
+    private long writtenBatches = 0;
+
+    public TradeJournal(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.journalFolder = new File(plugin.getDataFolder(), "journal");
+        this.historySize = plugin.getConfigManager().getTradeHistorySize();
+        this.retention = plugin.getConfigManager().getTradeJournalRetention();
+        this.nextId = new AtomicLong(1);
+        this.pendingEntries = new ConcurrentLinkedQueue<>();
+        this.historyByShop = new ConcurrentHashMap<>();
+
+        replayAndReconcile();
+        startFlushTask();
+        startCompactionTask();
+
+        plugin.getConfigManager().addSettingsListener((previous, current) -> {
+            historySize = current.getTradeHistorySize();
+            retention = current.getTradeJournalRetention();
+            if (previous.getTradeJournalRetention() != current.getTradeJournalRetention()) {
+                compactionTask.cancel();
+                startCompactionTask();
+            }
+        });
+    }
+
+    private void startFlushTask() {
+        this.flushTask = plugin.getShopScheduler().runAsyncTimer(this::flush, 1L, 1L); // Écriture groupée à chaque tick
+    }
+
+    /**
+     * Compacte le journal à chaque dixième de la durée de conservation (entre une minute et une heure)
+     */
+    private void startCompactionTask() {
+        long retentionTicks = retention / 50L;
+        long interval = Math.max(MIN_COMPACTION_INTERVAL, Math.min(MAX_COMPACTION_INTERVAL, retentionTicks / 10L));
+        this.compactionTask = plugin.getShopScheduler().runAsyncTimer(this::compactNow, interval, interval);
+    }
+
+    // ===============================
+    // ÉCRITURE
+    // ===============================
+
+    public long nextTradeId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Phase 1: le payeur ne doit être débité qu'après l'acquittement
+     *
+     * @return acquittement, false si l'entrée n'a pas pu être écrite (la transaction ne doit pas avoir lieu)
+     */
+    public CompletableFuture<Boolean> prepare(TradeRecord trade) {
+        return append(PREPARE, trade::writeTo);
+    }
+
+    /**
+     * Phase 2: le payeur est débité et les items sont en séquestre, à livrer après l'acquittement
+     */
+    public CompletableFuture<Boolean> commit(TradeRecord trade) {
+        CompletableFuture<Boolean> written = append(COMMIT, out -> out.writeLong(trade.getId()));
+        written.thenAccept(success -> {
+            if (success) addToHistory(trade);
+        });
+        return written;
+    }
+
+    /**
+     * Transaction annulée : un payeur déjà débité n'est remboursé qu'après l'acquittement,
+     * sans quoi le rejeu le rembourserait une seconde fois
+     */
+    public CompletableFuture<Boolean> abort(long tradeId) {
+        return append(ABORT, out -> out.writeLong(tradeId));
+    }
+
+    /**
+     * Transactions à créditer au bénéficiaire après l'acquittement (une seule entrée groupée pour tout le versement)
+     *
+     * @return acquittement, false si les entrées n'ont pas pu être écrites (le crédit doit être reporté)
+     */
+    public CompletableFuture<Boolean> settle(Collection<Long> tradeIds) {
+        return append(SETTLE, tradeIds);
+    }
+
+    /**
+     * Le crédit annoncé par settle a été refusé : les transactions seront recréditées au démarrage
+     */
+    public void unsettle(Collection<Long> tradeIds) {
+        append(UNSETTLE, tradeIds);
+    }
+
+    private CompletableFuture<Boolean> append(byte type, EntryWriter writer) {
+        try {
+            return enqueue(entry(type, writer), 1);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors de l'écriture dans le journal des transactions: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private CompletableFuture<Boolean> append(byte type, Collection<Long> tradeIds) {
+        if (tradeIds.isEmpty()) return CompletableFuture.completedFuture(true);
+
+        try {
+            ByteArrayOutputStream entries = new ByteArrayOutputStream(tradeIds.size() * 17);
+            for (long tradeId : tradeIds) {
+                entries.writeBytes(entry(type, out -> out.writeLong(tradeId)));
+            }
+            return enqueue(entries.toByteArray(), tradeIds.size());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors de l'écriture dans le journal des transactions: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private CompletableFuture<Boolean> enqueue(byte[] data, int count) {
+        PendingEntry entry = new PendingEntry(data, count);
+        pendingEntries.add(entry);
+        return entry.written;
+    }
+
+    private byte[] entry(byte type, EntryWriter writer) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeByte(type);
+        writer.write(out);
+        return frame(payload.toByteArray());
+    }
+
+    /**
+     * Encadre une entrée: [taille][contenu][crc32]
+     */
+    private byte[] frame(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteArrayOutputStream framed = new ByteArrayOutputStream(payload.length + 8);
+        DataOutputStream out = new DataOutputStream(framed);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+        return framed.toByteArray();
+    }
+
+    /**
+     * Écrit toutes les entrées en attente en un seul lot suivi d'un seul fsync, puis les acquitte
+     */
+    public void flush() {
+        if (pendingEntries.isEmpty()) return;
+
+        List<PendingEntry> batch = new ArrayList<>();
+        boolean written;
+        synchronized (writeLock) {
+            PendingEntry entry;
+            while ((entry = pendingEntries.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) return;
+            written = plugin.getMetrics().time("persistence.journal", () -> writeBatch(batch));
+        }
+
+        // Hors du verrou : les suites des acquittements peuvent ajouter de nouvelles entrées
+        for (PendingEntry entry : batch) {
+            entry.written.complete(written);
+        }
+    }
+
+    private boolean writeBatch(List<PendingEntry> batch) {
+        int count = 0;
+        int size = 0;
+        for (PendingEntry entry : batch) {
+            count += entry.count;
+            size += entry.data.length;
+        }
+
+        if (channel == null) {
+            plugin.getLogger().severe("Journal des transactions indisponible, " + count + " entrée(s) refusée(s)");
+            return false;
+        }
+
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("journal");
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (PendingEntry entry : batch) {
+            buffer.put(entry.data);
+        }
+        buffer.flip();
+
+        long start = -1;
+        try {
+            start = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+
+            writtenEntries += count;
+            writtenBatches++;
+            event.complete(count, size);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Impossible d'écrire " + count + " entrée(s) du journal des transactions: " + e.getMessage());
+            truncateFailedBatch(start);
+            return false;
+        }
+    }
+
+    /**
+     * Retire un lot écrit en partie : les lots suivants ne doivent pas être cachés derrière une entrée incomplète
+     */
+    private void truncateFailedBatch(long start) {
+        if (start < 0) return;
+        try {
+            channel.truncate(start);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Impossible de retirer le lot incomplet du journal des transactions: " + e.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        compactionTask.cancel();
+
+        // Les suites des derniers acquittements peuvent encore ajouter des entrées (annulations)
+        while (!pendingEntries.isEmpty()) {
+            flush();
+        }
+
+        synchronized (writeLock) {
+            closeChannel();
+        }
+    }
+
+    // ===============================
+    // SEGMENTS
+    // ===============================
+
+    private File segmentFile(int index) {
+        return new File(journalFolder, SEGMENT_PREFIX + index + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Numéros des segments présents, dans l'ordre d'écriture
+     */
+    private List<Integer> listSegments() {
+        List<Integer> segments = new ArrayList<>();
+        File[] files = journalFolder.listFiles();
+        if (files == null) return segments;
+
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) continue;
+            try {
+                segments.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private FileChannel openSegment(int index) {
+        try {
+            journalFolder.mkdirs();
+            return FileChannel.open(segmentFile(index).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Impossible d'ouvrir le journal des transactions: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Erreur lors de la fermeture du journal des transactions: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    // ===============================
+    // REJEU ET RÉCONCILIATION
+    // ===============================
+
+    private void replayAndReconcile() {
+        List<Integer> segments = listSegments();
+        JournalState state = readJournal(segments);
+        Map<Long, TradeRecord> prepared = state.prepared;
+        Map<Long, TradeRecord> unsettled = state.unsettled;
+        List<TradeRecord> finished = new ArrayList<>(state.finished.values());
+
+        nextId.set(state.maxId + 1);
+
+        // Nouveau segment actif : une éventuelle fin incomplète du précédent n'est plus jamais suivie d'écritures
+        int lastSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        synchronized (writeLock) {
+            this.channel = openSegment(lastSegment + 1);
+            this.activeSegment = lastSegment + 1;
+        }
+
+        // Transactions interrompues avant la livraison: rembourser le payeur
+        EconomyProvider economy = plugin.getEconomyManager().getProvider();
+        int refunded = 0;
+        Iterator<TradeRecord> preparedIterator = prepared.values().iterator();
+        while (preparedIterator.hasNext()) {
+            TradeRecord trade = preparedIterator.next();
+            if (economy.addCoins(trade.getPayerId(), trade.getTotal())) {
+                preparedIterator.remove();
+                appendReconciliation(ABORT, trade.getId());
+                refunded++;
+            }
+        }
+
+        // Transactions livrées mais jamais créditées: créditer le bénéficiaire
+        int credited = 0;
+        Iterator<TradeRecord> unsettledIterator = unsettled.values().iterator();
+        while (unsettledIterator.hasNext()) {
+            TradeRecord trade = unsettledIterator.next();
+            if (economy.addCoins(trade.getPayeeId(), trade.getTotal())) {
+                unsettledIterator.remove();
+                appendReconciliation(SETTLE, trade.getId());
+                finished.add(trade);
+                credited++;
+            }
+        }
+
+        // Historique
+        finished.sort(Comparator.comparingLong(TradeRecord::getId));
+        for (TradeRecord trade : finished) {
+            addToHistory(trade);
+        }
+        for (TradeRecord trade : unsettled.values()) {
+            addToHistory(trade);
+        }
+
+        if (!segments.isEmpty()) {
+            compactSegments(lastSegment);
+        }
+
+        plugin.getLogger().info("Journal des transactions: " + state.entries + " entrée(s) rejouée(s), "
+                + refunded + " remboursement(s), " + credited + " crédit(s) rétabli(s)");
+        if (!prepared.isEmpty() || !unsettled.isEmpty()) {
+            plugin.getLogger().severe((prepared.size() + unsettled.size()) + " transaction(s) n'ont pas pu être réconciliées, nouvel essai au prochain démarrage");
+        }
+    }
+
+    /**
+     * Écrit immédiatement une entrée de réconciliation au démarrage (évite un double remboursement si le compactage échoue)
+     */
+    private void appendReconciliation(byte type, long tradeId) {
+        try {
+            PendingEntry entry = new PendingEntry(entry(type, out -> out.writeLong(tradeId)), 1);
+            synchronized (writeLock) {
+                if (writeBatch(List.of(entry))) return;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors de l'écriture dans le journal des transactions: " + e.getMessage());
+        }
+        plugin.getLogger().severe("Impossible d'écrire la réconciliation de la transaction " + tradeId);
+    }
+
+    /**
+     * État des transactions d'après les segments donnés, lus dans l'ordre
+     * (chaque segment est lu jusqu'à sa première entrée invalide)
+     */
+    private JournalState readJournal(List<Integer> segments) {
+        JournalState state = new JournalState();
+        for (int index : segments) {
+            readSegment(segmentFile(index), state);
+        }
+        return state;
+    }
+
+    private void readSegment(File segment, JournalState state) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            while (true) {
+                byte[] payload = readEntry(in, segment);
+                if (payload == null) break;
+                state.entries++;
+
+                DataInputStream entry = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = entry.readByte();
+
+                switch (type) {
+                    case PREPARE -> {
+                        TradeRecord trade = TradeRecord.readFrom(entry);
+                        state.prepared.put(trade.getId(), trade);
+                        state.maxId = Math.max(state.maxId, trade.getId());
+                    }
+                    case COMMIT -> {
+                        TradeRecord trade = state.prepared.remove(entry.readLong());
+                        if (trade != null) state.unsettled.put(trade.getId(), trade);
+                    }
+                    case ABORT -> state.prepared.remove(entry.readLong());
+                    case SETTLE -> {
+                        TradeRecord trade = state.unsettled.remove(entry.readLong());
+                        if (trade != null) state.finished.put(trade.getId(), trade);
+                    }
+                    case UNSETTLE -> {
+                        TradeRecord trade = state.finished.remove(entry.readLong());
+                        if (trade != null) state.unsettled.put(trade.getId(), trade);
+                    }
+                    case ARCHIVE -> {
+                        TradeRecord trade = TradeRecord.readFrom(entry);
+                        state.finished.put(trade.getId(), trade);
+                        state.maxId = Math.max(state.maxId, trade.getId());
+                    }
+                    default -> plugin.getLogger().warning("Entrée inconnue dans le journal des transactions: " + type);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Erreur lors de la lecture du journal des transactions (" + segment.getName() + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lit une entrée encadrée, null en fin de fichier ou sur une entrée incomplète/corrompue
+     */
+    private byte[] readEntry(DataInputStream in, File segment) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        if (length <= 0 || length > MAX_ENTRY_SIZE) {
+            plugin.getLogger().warning("Journal des transactions tronqué (" + segment.getName() + ", taille d'entrée invalide)");
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+            int expectedCrc = in.readInt();
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                plugin.getLogger().warning("Journal des transactions tronqué (" + segment.getName() + ", somme de contrôle invalide)");
+                return null;
+            }
+        } catch (EOFException e) {
+            // Écriture interrompue par un arrêt brutal
+            plugin.getLogger().warning("Journal des transactions tronqué (" + segment.getName() + ", dernière entrée incomplète)");
+            return null;
+        }
+
+        return payload;
+    }
+
+    // ===============================
+    // COMPACTAGE
+    // ===============================
+
+    /**
+     * Compactage en fonctionnement (tâche asynchrone) : seule la bascule vers un nouveau segment se fait
+     * sous le verrou d'écriture, les segments scellés sont réécrits pendant que les transactions continuent
+     */
+    private void compactNow() {
+        int sealed;
+        synchronized (writeLock) {
+            if (channel == null || writtenEntries == compactedAtEntries) return;
+
+            FileChannel next = openSegment(activeSegment + 1);
+            if (next == null) return;
+
+            sealed = activeSegment;
+            closeChannel(); // Chaque lot écrit a déjà été synchronisé
+            this.channel = next;
+            this.activeSegment = sealed + 1;
+            this.compactedAtEntries = writtenEntries;
+        }
+
+        plugin.getMetrics().time("persistence.journal_compaction", () -> compactSegments(sealed));
+    }
+
+    /**
+     * Réécrit les segments scellés jusqu'à upTo en un seul : transactions terminées récentes + transactions
+     * non réconciliées. Le segment compacté remplace le plus récent d'entre eux, puis les plus anciens sont supprimés
+     * (relus avant lui après un arrêt entre les deux étapes, ils ne changent pas l'état obtenu)
+     */
+    private void compactSegments(int upTo) {
+        synchronized (compactionLock) {
+            List<Integer> sealed = new ArrayList<>();
+            for (int index : listSegments()) {
+                if (index <= upTo) sealed.add(index);
+            }
+            if (sealed.isEmpty()) return;
+
+            JournalState state = readJournal(sealed);
+            int target = sealed.get(sealed.size() - 1);
+            File tempFile = new File(journalFolder, SEGMENT_PREFIX + target + SEGMENT_SUFFIX + ".tmp");
+            long minTimestamp = System.currentTimeMillis() - retention;
+
+            try {
+                try (FileOutputStream fileOut = new FileOutputStream(tempFile);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+
+                    for (TradeRecord trade : state.finished.values()) {
+                        if (trade.getTimestamp() < minTimestamp) continue;
+                        writeCompacted(out, ARCHIVE, trade);
+                    }
+                    for (TradeRecord trade : state.prepared.values()) {
+                        writeCompacted(out, PREPARE, trade);
+                    }
+                    for (TradeRecord trade : state.unsettled.values()) {
+                        writeCompacted(out, PREPARE, trade);
+                        out.write(entry(COMMIT, payload -> payload.writeLong(trade.getId())));
+                    }
+
+                    out.flush();
+                    fileOut.getFD().sync();
+                }
+
+                Files.move(tempFile.toPath(), segmentFile(target).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Impossible de compacter le journal des transactions: " + e.getMessage());
+                tempFile.delete();
+                return;
+            }
+
+            for (int index : sealed) {
+                if (index != target) {
+                    segmentFile(index).delete();
+                }
+            }
+            plugin.getLogger().fine("Journal des transactions compacté: " + sealed.size() + " segment(s) -> " + segmentFile(target).length() + " octets");
+        }
+    }
+
+    private void writeCompacted(DataOutputStream out, byte type, TradeRecord trade) throws IOException {
+        out.write(entry(type, trade::writeTo));
+    }
+
+    // ===============================
+    // HISTORIQUE DES VENTES
+    // ===============================
+
+    private void addToHistory(TradeRecord trade) {
+        if (trade.getShopId().isEmpty()) return;
+
+        Deque<TradeRecord> history = historyByShop.computeIfAbsent(trade.getShopId(), k -> new ArrayDeque<>());
+        synchronized (history) {
+            history.addFirst(trade);
+            while (history.size() > historySize) {
+                history.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Dernières transactions d'un shop pour son propriétaire actuel, de la plus récente à la plus ancienne
+     */
+    public List<TradeRecord> getShopHistory(String shopId, UUID ownerId) {
+        List<TradeRecord> result = new ArrayList<>();
+        Deque<TradeRecord> history = historyByShop.get(shopId);
+        if (history == null) return result;
+
+        synchronized (history) {
+            for (TradeRecord trade : history) {
+                if (trade.getOwnerId().equals(ownerId)) {
+                    result.add(trade);
+                }
+            }
+        }
+        return result;
+    }
+
+    // ===============================
+    // STATISTIQUES
+    // ===============================
+
+    public int getPendingEntryCount() {
+        return pendingEntries.size();
+    }
+
+    public long getWrittenEntries() {
+        synchronized (writeLock) {
+            return writtenEntries;
+        }
+    }
+
+    public long getWrittenBatches() {
+        synchronized (writeLock) {
+            return writtenBatches;
+        }
+    }
+
+    /**
+     * Transactions relues dans le journal, par état
+     */
+    private static class JournalState {
+        final Map<Long, TradeRecord> prepared = new LinkedHashMap<>();
+        final Map<Long, TradeRecord> unsettled = new LinkedHashMap<>();
+        final Map<Long, TradeRecord> finished = new LinkedHashMap<>();
+        long maxId = 0;
+        int entries = 0;
+    }
+
+    /**
+     * Entrées encadrées en attente d'écriture, acquittées après le fsync de leur lot
+     */
+    private static class PendingEntry {
+        final byte[] data;
+        final int count;
+        final CompletableFuture<Boolean> written = new CompletableFuture<>();
+
+        PendingEntry(byte[] data, int count) {
+            this.data = data;
+            this.count = count;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
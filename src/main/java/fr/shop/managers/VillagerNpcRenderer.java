@@ -0,0 +1,148 @@
+package fr.shop.managers;
+
+import fr.shop.data.Shop;
+import fr.shop.scheduler.ShopScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Villager;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PNJ sous forme de villageois sans IA (ancien rendu, conservé en option)
+ * Les villageois sont sauvegardés avec leur chunk et réadoptés grâce au marquage de leur PDC
+ * Les suppressions passent par l'ordonnanceur du villageois (thread de sa région sous Folia)
+ */
+public class VillagerNpcRenderer implements NpcRenderer {
+
+    private final NamespacedKey visualShopKey;
+    private final NamespacedKey visualRoleKey;
+    private final String role;
+    private final ShopScheduler scheduler;
+    private final Map<String, Villager> npcs;
+    private final Map<UUID, String> shopByEntity;
+
+    public VillagerNpcRenderer(NamespacedKey visualShopKey, NamespacedKey visualRoleKey, String role, ShopScheduler scheduler) {
+        this.visualShopKey = visualShopKey;
+        this.visualRoleKey = visualRoleKey;
+        this.role = role;
+        this.scheduler = scheduler;
+        this.npcs = new ConcurrentHashMap<>();
+        this.shopByEntity = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public int render(Shop shop, Location location, String name) {
+        String shopId = shop.getId();
+
+        Villager villager = npcs.get(shopId);
+        if (villager != null && scheduler.isOwnedByCurrentRegion(villager)
+                && villager.isValid() && villager.getWorld().equals(location.getWorld())) {
+            // Mise à jour sur place (PNJ resté dans la région de sa nouvelle position)
+            if (!name.equals(villager.getCustomName())) {
+                villager.setCustomName(name);
+            }
+            if (villager.getLocation().distanceSquared(location) > 0.0001) {
+                villager.teleport(location);
+            }
+            return 0;
+        }
+
+        int operations = remove(shopId);
+
+        // Attendre le chargement des entités du chunk : un PNJ existant y sera réadopté
+        if (!location.isChunkLoaded() || !location.getChunk().isEntitiesLoaded()) return operations;
+
+        Villager spawned = location.getWorld().spawn(location, Villager.class, entity -> {
+            entity.setAI(false);
+            entity.setInvulnerable(true);
+            entity.setSilent(true);
+            entity.setCollidable(false);
+            entity.setCustomNameVisible(true);
+            entity.setProfession(Villager.Profession.LIBRARIAN);
+            entity.setVillagerType(Villager.Type.PLAINS);
+            entity.setVillagerLevel(5);
+            entity.setCustomName(name);
+
+            // Empêcher le commerce
+            entity.setRecipes(new ArrayList<>());
+
+            PersistentDataContainer container = entity.getPersistentDataContainer();
+            container.set(visualShopKey, PersistentDataType.STRING, shopId);
+            container.set(visualRoleKey, PersistentDataType.STRING, role);
+        });
+
+        npcs.put(shopId, spawned);
+        shopByEntity.put(spawned.getUniqueId(), shopId);
+        return operations + 1;
+    }
+
+    @Override
+    public int remove(String shopId) {
+        Villager villager = npcs.remove(shopId);
+        if (villager == null) return 0;
+
+        shopByEntity.remove(villager.getUniqueId());
+        if (!scheduler.isOwnedByCurrentRegion(villager)) {
+            scheduler.runForEntity(villager, villager::remove);
+            return 1;
+        }
+        if (villager.isValid()) {
+            villager.remove();
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean adopt(String shopId, Entity entity) {
+        if (!(entity instanceof Villager villager)) return false;
+
+        Villager current = npcs.get(shopId);
+        if (current != null && current.isValid() && !current.equals(villager)) return false;
+
+        npcs.put(shopId, villager);
+        shopByEntity.put(villager.getUniqueId(), shopId);
+        return true;
+    }
+
+    @Override
+    public void forgetChunk(Chunk chunk) {
+        // Le villageois est sauvegardé avec le chunk, il sera réadopté au rechargement
+        Iterator<Map.Entry<String, Villager>> iterator = npcs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Villager villager = iterator.next().getValue();
+            Location loc = villager.getLocation();
+            if (villager.getWorld().equals(chunk.getWorld())
+                    && loc.getBlockX() >> 4 == chunk.getX() && loc.getBlockZ() >> 4 == chunk.getZ()) {
+                shopByEntity.remove(villager.getUniqueId());
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public String getShopId(Entity entity) {
+        return shopByEntity.get(entity.getUniqueId());
+    }
+
+    @Override
+    public boolean hasNPC(String shopId) {
+        return npcs.containsKey(shopId);
+    }
+
+    @Override
+    public void shutdown() {
+        // Les villageois restent dans leur chunk et seront réadoptés
+        npcs.clear();
+        shopByEntity.clear();
+    }
+}
@@ -2,217 +2,396 @@ package fr.shop.managers;
 
 import fr.shop.PlayerShops;
 import fr.shop.data.Shop;
-import org.bukkit.ChatColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.EntityType;
-import org.bukkit.entity.Villager;
-import org.bukkit.scheduler.BukkitRunnable;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Gestionnaire pour l'affichage des NPCs et textes flottants
+ * Les visuels sont réconciliés uniquement pour les shops modifiés (dirty set) et les chunks
+ * qui se chargent : aucune entité n'est créée dans un chunk déchargé, et les PNJ déjà
+ * présents dans le monde (marqués dans leur PDC) sont réadoptés au lieu d'être dupliqués
  */
-public class VisualManager {
+public class VisualManager implements Listener {
+
+    private static final String ROLE_NPC = "npc";
 
     private final PlayerShops plugin;
-    private final Map<String, List<ArmorStand>> floatingTexts;
-    private final Map<String, Villager> npcs;
+    private final FloatingTextRenderer textRenderer;
+    private final EntityVisibilityTracker visibility;
+    private final NpcRenderer npcRenderer;
+
+    // Réconciliation
+    private final Set<String> dirtyShops;
+    private final Map<String, Set<String>> shopsByChunk;  // Chunk -> shops ayant des visuels dedans
+    private final Map<String, Set<String>> chunksByShop;  // Shop -> chunks indexés
+
+    // Marquage des entités
+    private final NamespacedKey visualShopKey;
+    private final NamespacedKey visualRoleKey;
 
     public VisualManager(PlayerShops plugin) {
         this.plugin = plugin;
-        this.floatingTexts = new ConcurrentHashMap<>();
-        this.npcs = new ConcurrentHashMap<>();
+        this.dirtyShops = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.shopsByChunk = new ConcurrentHashMap<>();
+        this.chunksByShop = new ConcurrentHashMap<>();
+        this.visualShopKey = new NamespacedKey(plugin, "visual_shop");
+        this.visualRoleKey = new NamespacedKey(plugin, "visual_role");
+
+        this.visibility = new EntityVisibilityTracker(plugin);
+        this.textRenderer = new FloatingTextRenderer(visibility, plugin.getShopScheduler());
+        this.npcRenderer = createNpcRenderer();
 
-        startUpdateTask();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        // Les chunks déjà chargés n'émettront pas d'EntitiesLoadEvent : leurs PNJ sont réadoptés d'abord
+        adoptLoadedNPCs();
+
+        // Première réconciliation de tous les shops
+        for (Shop shop : plugin.getShopManager().getAllShops()) {
+            markDirty(shop.getId());
+        }
+
+        startReconcileTask();
     }
 
-    private void startUpdateTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                updateAllVisuals();
-            }
-        }.runTaskTimer(plugin, 20L, 20L * 30L); // Mise à jour toutes les 30 secondes
+    private NpcRenderer createNpcRenderer() {
+        String type = plugin.getConfigManager().getNpcRendererType();
+        if ("villager".equalsIgnoreCase(type)) {
+            return new VillagerNpcRenderer(visualShopKey, visualRoleKey, ROLE_NPC, plugin.getShopScheduler());
+        }
+        return new DisplayNpcRenderer(visibility, plugin.getShopScheduler());
+    }
+
+    private void startReconcileTask() {
+        plugin.getShopScheduler().runGlobalTimer(this::processDirtyShops, 1L, 1L);
     }
 
     // ===============================
-    // TEXTES FLOTTANTS
+    // RÉCONCILIATION
     // ===============================
 
-    public void updateFloatingTexts(Shop shop) {
-        String shopId = shop.getId();
+    /**
+     * Demande la réconciliation des visuels d'un shop au prochain tick
+     */
+    public void markDirty(String shopId) {
+        dirtyShops.add(shopId);
+    }
+
+    /**
+     * Réconcilie les shops en attente dans l'ordre, sous un budget de temps et d'opérations
+     * (créations/suppressions d'entités) par tick ; le reste attend le tick suivant
+     * Un shop marqué plusieurs fois n'est traité qu'une fois, vers son état final
+     * Les shops dont la région appartient à un autre thread (Folia) y sont confiés et comptent
+     * pour une opération ; un shop sans visuel placé (supprimé ou remis à zéro) est traité ici,
+     * les renderers confiant la suppression de chaque entité à sa propre région
+     */
+    private void processDirtyShops() {
+        if (dirtyShops.isEmpty()) return;
+
+        ShopSettings settings = plugin.getConfigManager().getSettings();
+        long deadline = System.nanoTime() + settings.getVisualTickBudgetNanos();
+        int maxOperations = settings.getVisualMaxOperationsPerTick();
+        int operations = 0;
+
+        while (operations < maxOperations && System.nanoTime() < deadline) {
+            String shopId = pollDirtyShop();
+            if (shopId == null) break;
+
+            Location anchor = getVisualAnchor(shopId);
+            if (anchor == null || plugin.getShopScheduler().isOwnedByCurrentRegion(anchor)) {
+                operations += plugin.getMetrics().time("visuals.reconcile", () -> reconcile(shopId));
+            } else {
+                plugin.getShopScheduler().runAt(anchor, () -> plugin.getMetrics().time("visuals.reconcile", () -> reconcile(shopId)));
+                operations++;
+            }
+        }
+    }
 
-        // Supprimer les anciens textes
-        removeFloatingTexts(shopId);
+    private String pollDirtyShop() {
+        synchronized (dirtyShops) {
+            Iterator<String> iterator = dirtyShops.iterator();
+            if (!iterator.hasNext()) return null;
 
-        if (!shop.isRented() || shop.getFloatingTexts().isEmpty()) {
-            return;
+            String shopId = iterator.next();
+            iterator.remove();
+            return shopId;
         }
+    }
 
-        List<ArmorStand> armorStands = new ArrayList<>();
+    /**
+     * Position dont la région possède les visuels du shop (PNJ, sinon premier texte flottant)
+     * Null si le shop n'a aucun visuel placé : rien à créer, seulement à supprimer
+     */
+    private Location getVisualAnchor(String shopId) {
+        Shop shop = plugin.getShopManager().getShop(shopId);
+        if (shop == null) return null;
 
+        if (shop.hasNPC() && shop.getNpcLocation() != null && shop.getNpcLocation().getWorld() != null) {
+            return shop.getNpcLocation();
+        }
         for (Shop.FloatingText floatingText : shop.getFloatingTexts()) {
-            Location loc = floatingText.getLocation().clone();
+            Location loc = floatingText.getLocation();
+            if (loc != null && loc.getWorld() != null) {
+                return loc;
+            }
+        }
+        return null;
+    }
 
-            if (loc.getWorld() == null) continue;
+    /**
+     * Aligne les entités d'un shop sur son état (shop supprimé ou non loué = aucun visuel)
+     *
+     * @return nombre d'entités créées ou supprimées
+     */
+    private int reconcile(String shopId) {
+        Shop shop = plugin.getShopManager().getShop(shopId);
+
+        if (shop == null || !shop.isRented()) {
+            unindexShop(shopId);
+            return textRenderer.remove(shopId) + npcRenderer.remove(shopId);
+        }
 
-            ArmorStand armorStand = (ArmorStand) loc.getWorld().spawnEntity(loc, EntityType.ARMOR_STAND);
-            armorStand.setVisible(false);
-            armorStand.setGravity(false);
-            armorStand.setCanPickupItems(false);
-            armorStand.setCustomNameVisible(true);
-            armorStand.setMarker(true);
-            armorStand.setSmall(true);
-            armorStand.setInvulnerable(true);
+        int operations = textRenderer.update(shop) + reconcileNPC(shop);
+        indexShop(shop);
+        return operations;
+    }
 
-            String text = ChatColor.translateAlternateColorCodes('&', floatingText.getText());
-            armorStand.setCustomName(text);
+    private int reconcileNPC(Shop shop) {
+        if (!shop.hasNPC() || shop.getNpcLocation() == null || shop.getNpcLocation().getWorld() == null) {
+            return npcRenderer.remove(shop.getId());
+        }
 
-            armorStands.add(armorStand);
+        String npcName = "§e" + shop.getDisplayNpcName();
+        return npcRenderer.render(shop, shop.getNpcLocation(), npcName);
+    }
+
+    // ===============================
+    // INDEX DES CHUNKS
+    // ===============================
+
+    private synchronized void indexShop(Shop shop) {
+        Set<String> chunks = new HashSet<>();
+        if (shop.hasNPC() && shop.getNpcLocation() != null && shop.getNpcLocation().getWorld() != null) {
+            chunks.add(chunkKey(shop.getNpcLocation()));
+        }
+        for (Shop.FloatingText floatingText : shop.getFloatingTexts()) {
+            Location loc = floatingText.getLocation();
+            if (loc != null && loc.getWorld() != null) {
+                chunks.add(chunkKey(loc));
+            }
         }
 
-        if (!armorStands.isEmpty()) {
-            floatingTexts.put(shopId, armorStands);
+        Set<String> previous = chunksByShop.get(shop.getId());
+        if (chunks.equals(previous)) return;
+
+        unindexShop(shop.getId());
+        if (chunks.isEmpty()) return;
+
+        chunksByShop.put(shop.getId(), chunks);
+        for (String chunk : chunks) {
+            shopsByChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(shop.getId());
         }
     }
 
-    public void removeFloatingTexts(String shopId) {
-        List<ArmorStand> stands = floatingTexts.remove(shopId);
-        if (stands != null) {
-            for (ArmorStand stand : stands) {
-                if (stand != null && !stand.isDead()) {
-                    stand.remove();
+    private synchronized void unindexShop(String shopId) {
+        Set<String> chunks = chunksByShop.remove(shopId);
+        if (chunks == null) return;
+
+        for (String chunk : chunks) {
+            Set<String> shopIds = shopsByChunk.get(chunk);
+            if (shopIds != null) {
+                shopIds.remove(shopId);
+                if (shopIds.isEmpty()) {
+                    shopsByChunk.remove(chunk);
                 }
             }
         }
     }
 
+    private String chunkKey(Location loc) {
+        return loc.getWorld().getName() + ";" + (loc.getBlockX() >> 4) + ";" + (loc.getBlockZ() >> 4);
+    }
+
+    private String chunkKey(Chunk chunk) {
+        return chunk.getWorld().getName() + ";" + chunk.getX() + ";" + chunk.getZ();
+    }
+
+    /**
+     * Marque les shops ayant des visuels dans un chunk (les événements de chunk arrivent
+     * sur le thread de la région sous Folia, l'index est donc lu sous verrou)
+     */
+    private synchronized void markChunkDirty(Chunk chunk) {
+        Set<String> shopIds = shopsByChunk.get(chunkKey(chunk));
+        if (shopIds != null) {
+            dirtyShops.addAll(shopIds);
+        }
+    }
+
     // ===============================
-    // NPCs
+    // CYCLE DE VIE DES CHUNKS
     // ===============================
 
-    public void updateNPC(Shop shop) {
-        String shopId = shop.getId();
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        // Les textes flottants (non persistants) sont recréés
+        markChunkDirty(event.getChunk());
+    }
 
-        // Supprimer l'ancien NPC
-        removeNPC(shopId);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            adoptNPC(entity);
+        }
+
+        // Les PNJ manquants peuvent maintenant être créés sans doublon
+        markChunkDirty(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        if (shopsByChunk.containsKey(chunkKey(event.getChunk()))) {
+            npcRenderer.forgetChunk(event.getChunk());
+            textRenderer.forgetChunk(event.getChunk());
+        }
+    }
+
+    /**
+     * Réadopte les PNJ des chunks déjà chargés à l'activation (rechargement du plugin),
+     * chaque chunk sur le thread de sa région, avant la première réconciliation
+     */
+    private void adoptLoadedNPCs() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                Location location = new Location(world, chunk.getX() << 4, 0, chunk.getZ() << 4);
+                plugin.getShopScheduler().executeAt(location, () -> {
+                    if (!chunk.isEntitiesLoaded()) return; // L'EntitiesLoadEvent s'en chargera
+
+                    for (Entity entity : chunk.getEntities()) {
+                        adoptNPC(entity);
+                    }
+                    markChunkDirty(chunk);
+                });
+            }
+        }
+    }
+
+    /**
+     * Réadopte un PNJ marqué au chargement de son chunk, ou le supprime s'il est en trop
+     * (doublon, shop sans PNJ, ou PNJ d'un autre type de rendu)
+     */
+    private void adoptNPC(Entity entity) {
+        PersistentDataContainer container = entity.getPersistentDataContainer();
+        String shopId = container.get(visualShopKey, PersistentDataType.STRING);
+        if (shopId == null || !ROLE_NPC.equals(container.get(visualRoleKey, PersistentDataType.STRING))) return;
+
+        Shop shop = plugin.getShopManager().getShop(shopId);
+        boolean wanted = shop != null && shop.isRented() && shop.hasNPC();
 
-        if (!shop.isRented() || !shop.hasNPC() || shop.getNpcLocation() == null) {
+        if (!wanted || !npcRenderer.adopt(shopId, entity)) {
+            entity.remove();
             return;
         }
+        markDirty(shopId);
+    }
 
-        Location npcLoc = shop.getNpcLocation().clone();
-        if (npcLoc.getWorld() == null) return;
+    // ===============================
+    // CLICS SUR LES PNJ
+    // ===============================
 
-        Villager villager = (Villager) npcLoc.getWorld().spawnEntity(npcLoc, EntityType.VILLAGER);
-        villager.setAI(false);
-        villager.setInvulnerable(true);
-        villager.setCustomNameVisible(true);
-        villager.setProfession(Villager.Profession.LIBRARIAN);
-        villager.setVillagerType(Villager.Type.PLAINS);
-        villager.setVillagerLevel(5);
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onNpcInteract(PlayerInteractEntityEvent event) {
+        String shopId = npcRenderer.getShopId(event.getRightClicked());
+        if (shopId == null) return;
 
-        String npcName = ChatColor.translateAlternateColorCodes('&', shop.getNpcName());
-        villager.setCustomName("§e" + npcName);
+        event.setCancelled(true); // Pas de commerce avec les villageois
+        if (event.getHand() == EquipmentSlot.HAND) {
+            handleNpcClick(event.getPlayer(), shopId);
+        }
+    }
 
-        // Empêcher le commerce
-        villager.setRecipes(new ArrayList<>());
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onNpcDamage(EntityDamageByEntityEvent event) {
+        String shopId = npcRenderer.getShopId(event.getEntity());
+        if (shopId == null) return;
 
-        npcs.put(shopId, villager);
+        event.setCancelled(true);
+        if (event.getDamager() instanceof Player player) {
+            handleNpcClick(player, shopId);
+        }
     }
 
-    public void removeNPC(String shopId) {
-        Villager villager = npcs.remove(shopId);
-        if (villager != null && !villager.isDead()) {
-            villager.remove();
+    private void handleNpcClick(Player player, String shopId) {
+        Shop shop = plugin.getShopManager().getShop(shopId);
+        if (shop == null || !shop.isRented()) return;
+
+        String npcName = shop.getNpcName() != null ? shop.getDisplayNpcName() : "PNJ";
+        if (shop.getCustomMessage() != null) {
+            plugin.getMessageManager().send(player, "npc.custom-message", "npc", npcName, "message", shop.getDisplayCustomMessage());
+        } else {
+            plugin.getMessageManager().send(player, "npc.welcome", "npc", npcName, "owner", shop.getOwnerName());
         }
     }
 
     // ===============================
-    // MISE À JOUR GLOBALE
+    // API (RÉCONCILIÉE AU TICK SUIVANT)
     // ===============================
 
-    public void updateAllVisuals() {
-        for (Shop shop : plugin.getShopManager().getAllShops()) {
-            if (shop.isRented()) {
-                // Vérifier si les visuels existent toujours
-                boolean updateFloating = false;
-                boolean updateNPC = false;
-
-                // Vérifier les textes flottants
-                List<ArmorStand> stands = floatingTexts.get(shop.getId());
-                if (stands != null) {
-                    for (ArmorStand stand : stands) {
-                        if (stand == null || stand.isDead()) {
-                            updateFloating = true;
-                            break;
-                        }
-                    }
-                } else if (!shop.getFloatingTexts().isEmpty()) {
-                    updateFloating = true;
-                }
+    public void updateFloatingTexts(Shop shop) {
+        markDirty(shop.getId());
+    }
 
-                // Vérifier le NPC
-                Villager villager = npcs.get(shop.getId());
-                if (villager != null) {
-                    if (villager.isDead()) {
-                        updateNPC = true;
-                    }
-                } else if (shop.hasNPC()) {
-                    updateNPC = true;
-                }
+    public void removeFloatingTexts(String shopId) {
+        markDirty(shopId);
+    }
 
-                // Mettre à jour si nécessaire
-                if (updateFloating) {
-                    updateFloatingTexts(shop);
-                }
-                if (updateNPC) {
-                    updateNPC(shop);
-                }
-            } else {
-                // Shop pas loué, supprimer les visuels
-                removeFloatingTexts(shop.getId());
-                removeNPC(shop.getId());
-            }
-        }
+    public void updateNPC(Shop shop) {
+        markDirty(shop.getId());
+    }
+
+    public void removeNPC(String shopId) {
+        markDirty(shopId);
     }
 
     public void updateShopVisuals(Shop shop) {
-        updateFloatingTexts(shop);
-        updateNPC(shop);
+        markDirty(shop.getId());
     }
 
     public void removeShopVisuals(String shopId) {
-        removeFloatingTexts(shopId);
-        removeNPC(shopId);
+        markDirty(shopId);
     }
 
     // ===============================
     // NETTOYAGE
     // ===============================
 
-    public void shutdown() {
-        // Supprimer tous les visuels
-        for (List<ArmorStand> stands : floatingTexts.values()) {
-            for (ArmorStand stand : stands) {
-                if (stand != null && !stand.isDead()) {
-                    stand.remove();
-                }
-            }
-        }
-        floatingTexts.clear();
+    public void handlePlayerQuit(UUID playerId) {
+        visibility.forgetViewer(playerId);
+    }
 
-        for (Villager villager : npcs.values()) {
-            if (villager != null && !villager.isDead()) {
-                villager.remove();
-            }
-        }
-        npcs.clear();
+    public void shutdown() {
+        textRenderer.shutdown();
+        npcRenderer.shutdown();
+        visibility.clear();
+        dirtyShops.clear();
     }
 
     // ===============================
@@ -220,15 +399,18 @@ public class VisualManager {
     // ===============================
 
     public boolean hasFloatingTexts(String shopId) {
-        return floatingTexts.containsKey(shopId);
+        return textRenderer.hasTexts(shopId);
     }
 
     public boolean hasNPC(String shopId) {
-        return npcs.containsKey(shopId);
+        return npcRenderer.hasNPC(shopId);
     }
 
     public int getFloatingTextCount(String shopId) {
-        List<ArmorStand> stands = floatingTexts.get(shopId);
-        return stands != null ? stands.size() : 0;
+        return textRenderer.getTextCount(shopId);
+    }
+
+    public int getDirtyShopCount() {
+        return dirtyShops.size();
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package fr.shop.managers;
 
 import fr.shop.PlayerShops;
 import fr.shop.data.Zone;
+import fr.shop.metrics.jfr.PersistenceFlushEvent;
+import fr.shop.metrics.jfr.ZoneLookupEvent;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -109,7 +111,12 @@ public class ZoneManager {
      * Sauvegarde toutes les zones (optimisé - seulement les beacons)
      */
     public void saveZones() {
+        plugin.getMetrics().time("persistence.zones", this::writeZones);
+    }
+
+    private void writeZones() {
         long startTime = System.currentTimeMillis();
+        PersistenceFlushEvent event = PersistenceFlushEvent.start("zones");
 
         ConfigurationSection zonesSection = zonesConfig.createSection("zones");
 
@@ -119,6 +126,7 @@ public class ZoneManager {
         }
 
         saveZonesConfig();
+        event.complete(zones.size(), zonesFile);
 
         long duration = System.currentTimeMillis() - startTime;
         plugin.getLogger().info("Sauvegardé " + zones.size() + " zones en " + duration + "ms");
@@ -190,11 +198,22 @@ public class ZoneManager {
     public Zone getZoneAtLocation(Location location) {
         if (location == null) return null;
 
+        ZoneLookupEvent event = ZoneLookupEvent.sample();
+        Zone zone = plugin.getMetrics().time("zones.lookup", () -> lookupZone(location));
+        if (event != null) {
+            event.complete(location.getWorld().getName(), zone);
+        }
+        return zone;
+    }
+
+    private Zone lookupZone(Location location) {
         // Vérifier d'abord le cache
         Zone cachedZone = locationCache.get(location);
         if (cachedZone != null) {
+            plugin.getMetrics().increment("zones.cache_hit");
             return cachedZone;
         }
+        plugin.getMetrics().increment("zones.cache_miss");
 
         // Rechercher seulement dans les zones du bon monde (optimisation majeure)
         List<Zone> worldZones = zonesByWorld.get(location.getWorld().getName());
@@ -6,10 +6,10 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import fr.shop.PlayerShops;
 import fr.shop.data.Zone;
+import fr.shop.metrics.jfr.WorldScanEvent;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -47,60 +47,57 @@ public class ZoneScanner {
 
         long startTime = System.currentTimeMillis();
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    // Phase 1: Chercher tous les beacons ET bamboo_mosaic
-                    sendMessage(initiator, "§7§lSHOP §8» §7Phase 1: Recherche des beacons et téléportations...");
-                    ScanResults scanResults = findAllBeacons(world); // Utiliser la nouvelle méthode
-
-                    sendMessage(initiator, "§7§lSHOP §8» §7Trouvé §e" + scanResults.beacons.size() + " §7beacons et §e" + scanResults.bambooMosaics.size() + " §7téléportations.");
-
-                    // Phase 2: Créer les zones avec téléportations
-                    sendMessage(initiator, "§7§lSHOP §8» §7Phase 2: Création des zones avec téléportations...");
-                    List<Zone> zones = createZonesFromBeacons(scanResults, world.getName());
-
-                    // Phase 3: Sauvegarder les zones
-                    sendMessage(initiator, "§7§lSHOP §8» §7Phase 3: Sauvegarde des zones...");
-                    zoneManager.clearZonesForWorld(world.getName());
-                    zones.forEach(zoneManager::addZone);
-                    zoneManager.saveZones();
-
-                    long zonesWithTeleport = zones.stream().mapToLong(z -> z.hasTeleportLocation() ? 1 : 0).sum();
-
-                    long duration = System.currentTimeMillis() - startTime;
-                    ScanResult result = new ScanResult(world.getName(), scanResults.beacons.size(), zones.size(), duration);
-
-                    // Envoyer le message final depuis le thread principal
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            sendMessage(initiator, "§a§lSHOP §8» §aScan terminé!");
-                            sendMessage(initiator, "§7§lSHOP §8» §7Beacons trouvés: §e" + scanResults.beacons.size());
-                            sendMessage(initiator, "§7§lSHOP §8» §7Téléportations trouvées: §e" + scanResults.bambooMosaics.size());
-                            sendMessage(initiator, "§7§lSHOP §8» §7Zones créées: §e" + zones.size());
-                            sendMessage(initiator, "§7§lSHOP §8» §7Zones avec téléportation: §e" + zonesWithTeleport);
-                            sendMessage(initiator, "§7§lSHOP §8» §7Durée: §e" + (duration / 1000.0) + "s");
-                        }
-                    }.runTask(plugin);
-
-                    plugin.getLogger().info("Scan terminé - Beacons: " + result.getBeaconsFound() +
-                            ", Téléportations: " + scanResults.bambooMosaics.size() +
-                            ", Zones: " + result.getZonesCreated() +
-                            ", Zones avec téléportation: " + zonesWithTeleport +
-                            ", Durée: " + (duration / 1000.0) + "s");
-
-                    isScanning = false;
-                    future.complete(result);
-
-                } catch (Exception e) {
-                    plugin.getLogger().log(Level.SEVERE, "Erreur critique durant le scan asynchrone:", e);
-                    isScanning = false;
-                    future.completeExceptionally(e);
-                }
+        plugin.getShopScheduler().runAsync(() -> {
+            WorldScanEvent event = WorldScanEvent.start(world.getName());
+            try {
+                // Phase 1: Chercher tous les beacons ET bamboo_mosaic
+                sendMessage(initiator, "§7§lSHOP §8» §7Phase 1: Recherche des beacons et téléportations...");
+                ScanResults scanResults = findAllBeacons(world); // Utiliser la nouvelle méthode
+
+                sendMessage(initiator, "§7§lSHOP §8» §7Trouvé §e" + scanResults.beacons.size() + " §7beacons et §e" + scanResults.bambooMosaics.size() + " §7téléportations.");
+
+                // Phase 2: Créer les zones avec téléportations
+                sendMessage(initiator, "§7§lSHOP §8» §7Phase 2: Création des zones avec téléportations...");
+                List<Zone> zones = createZonesFromBeacons(scanResults, world.getName());
+
+                // Phase 3: Sauvegarder les zones
+                sendMessage(initiator, "§7§lSHOP §8» §7Phase 3: Sauvegarde des zones...");
+                zoneManager.clearZonesForWorld(world.getName());
+                zones.forEach(zoneManager::addZone);
+                zoneManager.saveZones();
+
+                long zonesWithTeleport = zones.stream().mapToLong(z -> z.hasTeleportLocation() ? 1 : 0).sum();
+
+                long duration = System.currentTimeMillis() - startTime;
+                plugin.getMetrics().record("scans.world", duration * 1_000_000L);
+                event.complete(scanResults.beacons.size(), scanResults.bambooMosaics.size(), zones.size());
+                ScanResult result = new ScanResult(world.getName(), scanResults.beacons.size(), zones.size(), duration);
+
+                // Envoyer le message final depuis le thread principal
+                plugin.getShopScheduler().runGlobal(() -> {
+                    sendMessage(initiator, "§a§lSHOP §8» §aScan terminé!");
+                    sendMessage(initiator, "§7§lSHOP §8» §7Beacons trouvés: §e" + scanResults.beacons.size());
+                    sendMessage(initiator, "§7§lSHOP §8» §7Téléportations trouvées: §e" + scanResults.bambooMosaics.size());
+                    sendMessage(initiator, "§7§lSHOP §8» §7Zones créées: §e" + zones.size());
+                    sendMessage(initiator, "§7§lSHOP §8» §7Zones avec téléportation: §e" + zonesWithTeleport);
+                    sendMessage(initiator, "§7§lSHOP §8» §7Durée: §e" + (duration / 1000.0) + "s");
+                });
+
+                plugin.getLogger().info("Scan terminé - Beacons: " + result.getBeaconsFound() +
+                        ", Téléportations: " + scanResults.bambooMosaics.size() +
+                        ", Zones: " + result.getZonesCreated() +
+                        ", Zones avec téléportation: " + zonesWithTeleport +
+                        ", Durée: " + (duration / 1000.0) + "s");
+
+                isScanning = false;
+                future.complete(result);
+
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Erreur critique durant le scan asynchrone:", e);
+                isScanning = false;
+                future.completeExceptionally(e);
             }
-        }.runTaskAsynchronously(plugin);
+        });
 
         return future;
     }
@@ -114,7 +111,7 @@ public class ZoneScanner {
         ScanResults results = new ScanResults();
         com.sk89q.worldedit.world.World faweWorld = BukkitAdapter.adapt(bukkitWorld);
 
-        int scanRadius = 300;
+        int scanRadius = plugin.getConfigManager().getScanRadius();
         BlockVector3 min = BlockVector3.at(-scanRadius, faweWorld.getMinY(), -scanRadius);
         BlockVector3 max = BlockVector3.at(scanRadius, faweWorld.getMaxY(), scanRadius);
 
@@ -0,0 +1,303 @@
+package fr.shop.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fr.shop.PlayerShops;
+import fr.shop.data.Shop;
+import fr.shop.managers.ConfigManager;
+import fr.shop.managers.ZoneManager;
+import fr.shop.scheduler.TaskHandle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exporteur HTTP des métriques au format Prometheus (texte 0.0.4) ou OpenMetrics selon l'en-tête Accept
+ * Une requête ne lit que des compteurs sans verrou (MetricsRegistry) et le dernier relevé des jauges,
+ * fait périodiquement sur le thread principal : le thread principal n'est jamais sollicité par un scrape
+ */
+public class MetricsExporter {
+
+    private static final String PATH = "/metrics";
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String[] CACHES = {"zones", "economy"};
+
+    private final PlayerShops plugin;
+    private final MetricsRegistry metrics;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private TaskHandle gaugeTask;
+    private volatile Gauges gauges;
+
+    public MetricsExporter(PlayerShops plugin) {
+        this.plugin = plugin;
+        this.metrics = plugin.getMetrics();
+        this.gaugeTask = TaskHandle.NONE;
+        this.gauges = Gauges.EMPTY;
+    }
+
+    // ===============================
+    // CYCLE DE VIE
+    // ===============================
+
+    public void start() throws IOException {
+        ConfigManager config = plugin.getConfigManager();
+        InetSocketAddress address = new InetSocketAddress(config.getMetricsExporterHost(), config.getMetricsExporterPort());
+        if (address.isUnresolved()) {
+            throw new IOException("Adresse d'écoute introuvable: " + config.getMetricsExporterHost());
+        }
+        if (!address.getAddress().isLoopbackAddress()) {
+            plugin.getLogger().warning("L'exporteur de métriques écoute sur une adresse non locale (" + address + ")");
+        }
+
+        server = HttpServer.create(address, 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PlayerShops-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+
+        metrics.setExporting(true);
+        long interval = config.getMetricsGaugeInterval();
+        gaugeTask = plugin.getShopScheduler().runGlobalTimer(this::refreshGauges, 1L, interval);
+
+        server.start();
+        plugin.getLogger().info("Exporteur de métriques démarré sur http://" + address.getHostString() + ":" + address.getPort() + PATH);
+    }
+
+    public void stop() {
+        gaugeTask.cancel();
+        gaugeTask = TaskHandle.NONE;
+        metrics.setExporting(false);
+
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    // ===============================
+    // JAUGES (THREAD PRINCIPAL)
+    // ===============================
+
+    /**
+     * Relève les effectifs (shops par statut, zones, beacons, chest shops) et publie un instantané
+     */
+    private void refreshGauges() {
+        Map<Shop.ShopStatus, Integer> shopsByStatus = new EnumMap<>(Shop.ShopStatus.class);
+        for (Shop.ShopStatus status : Shop.ShopStatus.values()) {
+            shopsByStatus.put(status, 0);
+        }
+        for (Shop shop : plugin.getShopManager().getAllShops()) {
+            shopsByStatus.merge(shop.getStatus(), 1, Integer::sum);
+        }
+
+        ZoneManager.ZoneStats zoneStats = plugin.getZoneManager().getStats();
+        gauges = new Gauges(shopsByStatus, zoneStats.getTotalZones(), zoneStats.getTotalBeacons(), zoneStats.getTotalBlocks(),
+                plugin.getCommerceManager().getChestShopCount(), plugin.getEconomyManager().getPendingCreditCount(),
+                System.currentTimeMillis());
+    }
+
+    // ===============================
+    // HTTP (THREAD DE L'EXPORTEUR)
+    // ===============================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().equals(PATH)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+            byte[] body = render(openMetrics).getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", openMetrics ? OPENMETRICS_CONTENT_TYPE : PROMETHEUS_CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String render(boolean openMetrics) {
+        Exposition out = new Exposition(openMetrics);
+        Gauges snapshot = gauges;
+
+        // Effectifs
+        out.family("playershops_shops", "gauge", "Shops par statut");
+        for (Map.Entry<Shop.ShopStatus, Integer> entry : snapshot.shopsByStatus.entrySet()) {
+            out.sample("playershops_shops", "status", entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+        out.gauge("playershops_zones", "Zones détectées", snapshot.zones);
+        out.gauge("playershops_beacons", "Beacons dans les zones", snapshot.beacons);
+        out.gauge("playershops_zone_blocks", "Blocs couverts par les zones", snapshot.zoneBlocks);
+        out.gauge("playershops_chest_shops", "Chest shops enregistrés", snapshot.chestShops);
+        out.gauge("playershops_pending_credits", "Versements de coins en attente", snapshot.pendingCredits);
+        out.gauge("playershops_gauges_refreshed_seconds", "Date du dernier relevé des effectifs", snapshot.refreshedAt / 1000.0);
+
+        // Mesures continues (remises à zéro par un nouveau profilage)
+        out.gauge("playershops_metrics_start_time_seconds", "Début des mesures en cours", metrics.getStartedAt() / 1000.0);
+        out.counter("playershops_ticks", "Ticks serveur écoulés depuis le début des mesures", metrics.getTicks());
+
+        out.family("playershops_subsystem_seconds", "counter", "Temps serveur cumulé par sous-système (à rapporter à playershops_ticks)");
+        for (Map.Entry<String, Long> entry : metrics.getSubsystemNanos().entrySet()) {
+            out.sample("playershops_subsystem_seconds_total", "subsystem", entry.getKey(), entry.getValue() / 1e9);
+        }
+
+        Map<String, Long> counters = metrics.getCounters();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            out.counter("playershops_" + sanitize(entry.getKey()), "Compteur " + entry.getKey(), entry.getValue());
+        }
+
+        out.family("playershops_cache_hit_ratio", "gauge", "Taux de succès des caches depuis le début des mesures");
+        for (String cache : CACHES) {
+            long hits = counters.getOrDefault(cache + ".cache_hit", 0L);
+            long misses = counters.getOrDefault(cache + ".cache_miss", 0L);
+            if (hits + misses > 0) {
+                out.sample("playershops_cache_hit_ratio", "cache", cache, (double) hits / (hits + misses));
+            }
+        }
+
+        // Latences : transactions, sauvegardes (persistence.*), backups et restaurations (backups.*), etc.
+        List<MetricsRegistry.OperationStats> operations = metrics.getOperationStats();
+        out.family("playershops_operation_seconds", "summary", "Durée des opérations");
+        for (MetricsRegistry.OperationStats stats : operations) {
+            String operation = Exposition.label("operation", stats.getName());
+            out.sample("playershops_operation_seconds", operation + ",quantile=\"0.5\"", stats.getP50Nanos() / 1e9);
+            out.sample("playershops_operation_seconds", operation + ",quantile=\"0.99\"", stats.getP99Nanos() / 1e9);
+            out.sample("playershops_operation_seconds_sum", operation, stats.getTotalNanos() / 1e9);
+            out.sample("playershops_operation_seconds_count", operation, stats.getCount());
+        }
+        out.family("playershops_operation_max_seconds", "gauge", "Durée maximale des opérations");
+        for (MetricsRegistry.OperationStats stats : operations) {
+            out.sample("playershops_operation_max_seconds", "operation", stats.getName(), stats.getMaxNanos() / 1e9);
+        }
+
+        return out.finish();
+    }
+
+    private static String sanitize(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            result.append((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ? c : '_');
+        }
+        return result.toString();
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Dernier relevé des effectifs, immuable
+     */
+    private static class Gauges {
+        private static final Gauges EMPTY = new Gauges(new EnumMap<>(Shop.ShopStatus.class), 0, 0, 0, 0, 0, 0L);
+
+        private final Map<Shop.ShopStatus, Integer> shopsByStatus;
+        private final int zones;
+        private final int beacons;
+        private final int zoneBlocks;
+        private final int chestShops;
+        private final int pendingCredits;
+        private final long refreshedAt;
+
+        Gauges(Map<Shop.ShopStatus, Integer> shopsByStatus, int zones, int beacons, int zoneBlocks, int chestShops,
+               int pendingCredits, long refreshedAt) {
+            this.shopsByStatus = Collections.unmodifiableMap(shopsByStatus);
+            this.zones = zones;
+            this.beacons = beacons;
+            this.zoneBlocks = zoneBlocks;
+            this.chestShops = chestShops;
+            this.pendingCredits = pendingCredits;
+            this.refreshedAt = refreshedAt;
+        }
+    }
+
+    /**
+     * Écriture du texte d'exposition (les compteurs n'ont le suffixe _total
+     * dans les métadonnées qu'au format Prometheus)
+     */
+    private static class Exposition {
+        private final StringBuilder out = new StringBuilder(4096);
+        private final boolean openMetrics;
+
+        Exposition(boolean openMetrics) {
+            this.openMetrics = openMetrics;
+        }
+
+        void family(String name, String type, String help) {
+            String metadataName = !openMetrics && type.equals("counter") ? name + "_total" : name;
+            out.append("# HELP ").append(metadataName).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            out.append("# TYPE ").append(metadataName).append(' ').append(type).append('\n');
+        }
+
+        void gauge(String name, String help, double value) {
+            family(name, "gauge", help);
+            sample(name, "", value);
+        }
+
+        void counter(String name, String help, long value) {
+            family(name, "counter", help);
+            sample(name + "_total", "", value);
+        }
+
+        void sample(String name, String labelName, String labelValue, double value) {
+            sample(name, label(labelName, labelValue), value);
+        }
+
+        void sample(String name, String labels, double value) {
+            out.append(name);
+            if (!labels.isEmpty()) {
+                out.append('{').append(labels).append('}');
+            }
+            out.append(' ');
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                out.append((long) value);
+            } else {
+                out.append(value);
+            }
+            out.append('\n');
+        }
+
+        static String label(String name, String value) {
+            return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+        }
+
+        String finish() {
+            if (openMetrics) {
+                out.append("# EOF\n");
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package fr.shop.metrics;
+
+import fr.shop.scheduler.ShopScheduler;
+import fr.shop.scheduler.TaskHandle;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registre de mesures des chemins chauds : compteurs, histogrammes de latence par opération
+ * et temps cumulé par tick pour chaque sous-système
+ * Les opérations sont nommées "sous-système.opération" (ex: "zones.lookup")
+ * Les mesures sont prises pendant un profilage (/shopadmin profile) ou en continu lorsque
+ * l'exporteur HTTP est actif ; sinon time() renvoie une mesure vide : aucune allocation ni lecture d'horloge
+ */
+public class MetricsRegistry {
+
+    private static final Sample NOOP = () -> {};
+
+    private final ShopScheduler scheduler;
+    private final Map<String, LatencyHistogram> operations;
+    private final Map<String, LongAdder> subsystems;
+    private final Map<String, LongAdder> counters;
+    private final AtomicLong ticks;
+
+    private volatile boolean enabled;   // Enregistrement actif (profilage ou export)
+    private volatile boolean profiling;
+    private volatile boolean exporting;
+    private volatile long startedAt;
+    private TaskHandle tickTask;
+
+    public MetricsRegistry(ShopScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.operations = new ConcurrentHashMap<>();
+        this.subsystems = new ConcurrentHashMap<>();
+        this.counters = new ConcurrentHashMap<>();
+        this.ticks = new AtomicLong();
+        this.tickTask = TaskHandle.NONE;
+    }
+
+    // ===============================
+    // PROFILAGE
+    // ===============================
+
+    /**
+     * Démarre une nouvelle session de profilage (les mesures précédentes sont effacées,
+     * ce que l'exporteur présente comme une remise à zéro des compteurs)
+     */
+    public synchronized void start() {
+        reset();
+        profiling = true;
+        updateRecording();
+    }
+
+    public synchronized void stop() {
+        profiling = false;
+        updateRecording();
+    }
+
+    /**
+     * Profilage en cours (l'export continu n'en est pas un)
+     */
+    public boolean isEnabled() {
+        return profiling;
+    }
+
+    /**
+     * Mesures en cours d'enregistrement (profilage ou export)
+     */
+    public boolean isRecording() {
+        return enabled;
+    }
+
+    /**
+     * Mesures continues pour l'exporteur, indépendantes des sessions de profilage
+     */
+    public synchronized void setExporting(boolean exporting) {
+        if (exporting && !enabled) {
+            reset();
+        }
+        this.exporting = exporting;
+        updateRecording();
+    }
+
+    private void reset() {
+        operations.clear();
+        subsystems.clear();
+        counters.clear();
+        ticks.set(0);
+        startedAt = System.currentTimeMillis();
+    }
+
+    private void updateRecording() {
+        boolean recording = profiling || exporting;
+        if (recording && tickTask == TaskHandle.NONE) {
+            tickTask = scheduler.runGlobalTimer(ticks::incrementAndGet, 1L, 1L);
+        } else if (!recording) {
+            tickTask.cancel();
+            tickTask = TaskHandle.NONE;
+        }
+        enabled = recording;
+    }
+
+    // ===============================
+    // ENREGISTREMENT
+    // ===============================
+
+    /**
+     * Chronomètre une opération, à utiliser dans un try-with-resources
+     */
+    public Sample time(String operation) {
+        if (!enabled) return NOOP;
+
+        long start = System.nanoTime();
+        return () -> record(operation, System.nanoTime() - start);
+    }
+
+    /**
+     * Chronomètre une tâche
+     */
+    public void time(String operation, Runnable task) {
+        try (Sample ignored = time(operation)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Chronomètre une tâche et renvoie son résultat
+     */
+    public <T> T time(String operation, Supplier<T> task) {
+        try (Sample ignored = time(operation)) {
+            return task.get();
+        }
+    }
+
+    public void record(String operation, long nanos) {
+        if (!enabled) return;
+
+        operations.computeIfAbsent(operation, k -> new LatencyHistogram()).record(nanos);
+        subsystems.computeIfAbsent(subsystemOf(operation), k -> new LongAdder()).add(nanos);
+    }
+
+    public void increment(String counter) {
+        if (!enabled) return;
+
+        counters.computeIfAbsent(counter, k -> new LongAdder()).increment();
+    }
+
+    public void add(String counter, long amount) {
+        if (!enabled) return;
+
+        counters.computeIfAbsent(counter, k -> new LongAdder()).add(amount);
+    }
+
+    private String subsystemOf(String operation) {
+        int dot = operation.indexOf('.');
+        return dot < 0 ? operation : operation.substring(0, dot);
+    }
+
+    // ===============================
+    // LECTURE
+    // ===============================
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Statistiques par opération, les plus coûteuses en temps cumulé d'abord
+     */
+    public List<OperationStats> getOperationStats() {
+        List<OperationStats> stats = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : operations.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            stats.add(new OperationStats(entry.getKey(), histogram.getCount(), histogram.getTotalNanos(),
+                    histogram.getPercentileNanos(0.50), histogram.getPercentileNanos(0.99), histogram.getMaxNanos()));
+        }
+        stats.sort(Comparator.comparingLong(OperationStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    /**
+     * Millisecondes consommées par tick pour chaque sous-système (temps inclusif :
+     * une recherche de zone faite dans un listener compte dans les deux)
+     */
+    public Map<String, Double> getMillisPerTick() {
+        long elapsedTicks = Math.max(1, ticks.get());
+
+        Map<String, Double> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : subsystems.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum() / 1_000_000.0 / elapsedTicks);
+        }
+        return result;
+    }
+
+    /**
+     * Temps cumulé (nanosecondes) par sous-système depuis le début des mesures
+     */
+    public Map<String, Long> getSubsystemNanos() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : subsystems.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    // ===============================
+    // CLASSES INTERNES
+    // ===============================
+
+    /**
+     * Mesure en cours, enregistrée à la fermeture
+     */
+    public interface Sample extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static class OperationStats {
+        private final String name;
+        private final long count;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        public OperationStats(String name, long count, long totalNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
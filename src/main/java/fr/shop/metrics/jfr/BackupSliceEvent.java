@@ -0,0 +1,42 @@
+package fr.shop.metrics.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Tranche de sauvegarde ou de restauration exécutée sur le thread de la zone
+ * (capture des blocs et entités, ou réécriture des blocs)
+ */
+@Name("fr.shop.BackupSlice")
+@Label("Tranche de backup")
+@Category({"PlayerShops", "Backups"})
+public class BackupSliceEvent extends Event {
+
+    @Label("Opération")
+    private String operation;
+
+    @Label("Zone")
+    private String zoneId;
+
+    @Label("Blocs")
+    private int blockCount;
+
+    @Label("Entités supprimées")
+    private int entitiesRemoved;
+
+    /**
+     * @param operation "capture", "restore", "market_capture" ou "market_restore"
+     */
+    public static BackupSliceEvent start(String operation, String zoneId) {
+        BackupSliceEvent event = new BackupSliceEvent();
+        event.operation = operation;
+        event.zoneId = zoneId;
+        event.begin();
+        return event;
+    }
+
+    public void complete(int blockCount, int entitiesRemoved) {
+        this.blockCount = blockCount;
+        this.entitiesRemoved = entitiesRemoved;
+        commit();
+    }
+}
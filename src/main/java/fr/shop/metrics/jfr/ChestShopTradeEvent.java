@@ -0,0 +1,58 @@
+package fr.shop.metrics.jfr;
+
+import fr.shop.data.TradeRecord;
+import jdk.jfr.*;
+
+/**
+ * Achat ou vente dans un chest shop, de la vérification du stock au crédit du journal
+ */
+@Name("fr.shop.ChestShopTrade")
+@Label("Transaction chest shop")
+@Category({"PlayerShops", "Commerce"})
+public class ChestShopTradeEvent extends Event {
+
+    @Label("Transaction")
+    private long tradeId;
+
+    @Label("Shop")
+    private String shopId;
+
+    @Label("Item")
+    private String itemKey;
+
+    @Label("Vente au shop")
+    private boolean sellMode;
+
+    @Label("Lots")
+    private int lots;
+
+    @Label("Items")
+    private int itemAmount;
+
+    @Label("Montant")
+    private long total;
+
+    // Instance partagée quand l'événement n'est pas enregistré : aucune allocation par transaction
+    private static final ChestShopTradeEvent NOOP = new ChestShopTradeEvent();
+
+    public static ChestShopTradeEvent start() {
+        if (!NOOP.isEnabled()) return NOOP;
+
+        ChestShopTradeEvent event = new ChestShopTradeEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(TradeRecord trade) {
+        if (this == NOOP || !shouldCommit()) return;
+
+        this.tradeId = trade.getId();
+        this.shopId = trade.getShopId();
+        this.itemKey = trade.getItemKey();
+        this.sellMode = trade.isSellMode();
+        this.lots = trade.getLots();
+        this.itemAmount = trade.getItemAmount();
+        this.total = trade.getTotal();
+        commit();
+    }
+}
@@ -0,0 +1,34 @@
+package fr.shop.metrics.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Ouverture d'un menu, de la construction de l'inventaire à son envoi au joueur
+ */
+@Name("fr.shop.GuiOpen")
+@Label("Ouverture de menu")
+@Category({"PlayerShops", "GUI"})
+public class GuiOpenEvent extends Event {
+
+    @Label("Titre")
+    private String title;
+
+    @Label("Joueur")
+    private String player;
+
+    @Label("Slots")
+    private int slots;
+
+    public static GuiOpenEvent start() {
+        GuiOpenEvent event = new GuiOpenEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(String title, String player, int slots) {
+        this.title = title;
+        this.player = player;
+        this.slots = slots;
+        commit();
+    }
+}
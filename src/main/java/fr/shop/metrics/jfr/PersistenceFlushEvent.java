@@ -0,0 +1,49 @@
+package fr.shop.metrics.jfr;
+
+import jdk.jfr.*;
+
+import java.io.File;
+
+/**
+ * Écriture d'un fichier de données (shops, zones, journal, analytics, crédits)
+ */
+@Name("fr.shop.PersistenceFlush")
+@Label("Écriture des données")
+@Category({"PlayerShops", "Persistance"})
+public class PersistenceFlushEvent extends Event {
+
+    @Label("Cible")
+    private String target;
+
+    @Label("Entrées")
+    private int entries;
+
+    @Label("Octets écrits")
+    @DataAmount
+    private long bytesWritten;
+
+    public static PersistenceFlushEvent start(String target) {
+        PersistenceFlushEvent event = new PersistenceFlushEvent();
+        event.target = target;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param bytesWritten taille écrite, 0 si inconnue
+     */
+    public void complete(int entries, long bytesWritten) {
+        this.entries = entries;
+        this.bytesWritten = bytesWritten;
+        commit();
+    }
+
+    /**
+     * Taille lue sur le fichier écrit, seulement si l'événement est enregistré
+     */
+    public void complete(int entries, File file) {
+        if (!shouldCommit()) return;
+
+        complete(entries, file.length());
+    }
+}
@@ -0,0 +1,38 @@
+package fr.shop.metrics.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Scan complet d'un monde à la recherche des beacons de zones
+ */
+@Name("fr.shop.WorldScan")
+@Label("Scan de monde")
+@Category({"PlayerShops", "Zones"})
+public class WorldScanEvent extends Event {
+
+    @Label("Monde")
+    private String world;
+
+    @Label("Beacons trouvés")
+    private int beaconsFound;
+
+    @Label("Téléportations trouvées")
+    private int teleportsFound;
+
+    @Label("Zones créées")
+    private int zonesCreated;
+
+    public static WorldScanEvent start(String world) {
+        WorldScanEvent event = new WorldScanEvent();
+        event.world = world;
+        event.begin();
+        return event;
+    }
+
+    public void complete(int beaconsFound, int teleportsFound, int zonesCreated) {
+        this.beaconsFound = beaconsFound;
+        this.teleportsFound = teleportsFound;
+        this.zonesCreated = zonesCreated;
+        commit();
+    }
+}
@@ -0,0 +1,48 @@
+package fr.shop.metrics.jfr;
+
+import fr.shop.data.Zone;
+import jdk.jfr.*;
+
+/**
+ * Recherche de zone par position, échantillonnée (une sur SAMPLE_RATE) :
+ * c'est l'opération la plus fréquente du plugin
+ */
+@Name("fr.shop.ZoneLookup")
+@Label("Recherche de zone")
+@Category({"PlayerShops", "Zones"})
+@StackTrace(false)
+public class ZoneLookupEvent extends Event {
+
+    private static final int SAMPLE_RATE = 64; // Puissance de deux
+
+    private static int calls; // Compteur approximatif, les courses entre threads sont sans importance
+
+    @Label("Monde")
+    private String world;
+
+    @Label("Zone")
+    private String zoneId;
+
+    @Label("Trouvée")
+    private boolean found;
+
+    /**
+     * Événement démarré si cette recherche est échantillonnée et JFR actif, null sinon
+     */
+    public static ZoneLookupEvent sample() {
+        if ((++calls & (SAMPLE_RATE - 1)) != 0) return null;
+
+        ZoneLookupEvent event = new ZoneLookupEvent();
+        if (!event.isEnabled()) return null;
+
+        event.begin();
+        return event;
+    }
+
+    public void complete(String world, Zone zone) {
+        this.world = world;
+        this.zoneId = zone != null ? zone.getId() : null;
+        this.found = zone != null;
+        commit();
+    }
+}
@@ -0,0 +1,107 @@
+package fr.shop.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordonnanceur Folia : chaque variante est routée vers le planificateur qui possède les données
+ * (région globale, région d'une position, entité, pool asynchrone)
+ */
+public class FoliaShopScheduler implements ShopScheduler {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+
+    public FoliaShopScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return wrap(Bukkit.getGlobalRegionScheduler().run(plugin, scheduled -> task.run()));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delay) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delay)));
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delay), Math.max(1L, period)));
+    }
+
+    @Override
+    public TaskHandle runAt(Location location, Runnable task) {
+        return wrap(Bukkit.getRegionScheduler().run(plugin, location, scheduled -> task.run()));
+    }
+
+    @Override
+    public TaskHandle runAtLater(Location location, Runnable task, long delay) {
+        return wrap(Bukkit.getRegionScheduler().runDelayed(plugin, location, scheduled -> task.run(), Math.max(1L, delay)));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public TaskHandle runForEntity(Entity entity, Runnable task) {
+        ScheduledTask scheduled = entity.getScheduler().run(plugin, t -> task.run(), null);
+        return scheduled != null ? wrap(scheduled) : TaskHandle.NONE;
+    }
+
+    @Override
+    public TaskHandle runForEntityLater(Entity entity, Runnable task, long delay) {
+        ScheduledTask scheduled = entity.getScheduler().runDelayed(plugin, t -> task.run(), null, Math.max(1L, delay));
+        return scheduled != null ? wrap(scheduled) : TaskHandle.NONE;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        return wrap(Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run()));
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        return wrap(Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delay) * MILLIS_PER_TICK, Math.max(1L, period) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+
+    private TaskHandle wrap(ScheduledTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package fr.shop.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Ordonnanceur Paper : toutes les variantes synchrones s'exécutent sur le thread principal
+ */
+public class PaperShopScheduler implements ShopScheduler {
+
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    public PaperShopScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = Bukkit.getScheduler();
+    }
+
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return wrap(scheduler.runTask(plugin, task));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delay) {
+        return wrap(scheduler.runTaskLater(plugin, task, delay));
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(scheduler.runTaskTimer(plugin, task, delay, period));
+    }
+
+    @Override
+    public TaskHandle runAt(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public TaskHandle runAtLater(Location location, Runnable task, long delay) {
+        return runGlobalLater(task, delay);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public TaskHandle runForEntity(Entity entity, Runnable task) {
+        return runGlobal(() -> {
+            if (entity.isValid()) task.run();
+        });
+    }
+
+    @Override
+    public TaskHandle runForEntityLater(Entity entity, Runnable task, long delay) {
+        return runGlobalLater(() -> {
+            if (entity.isValid()) task.run();
+        }, delay);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        return wrap(scheduler.runTaskAsynchronously(plugin, task));
+    }
+
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delay, long period) {
+        return wrap(scheduler.runTaskTimerAsynchronously(plugin, task, delay, period));
+    }
+
+    @Override
+    public void cancelAll() {
+        scheduler.cancelTasks(plugin);
+    }
+
+    private TaskHandle wrap(BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package fr.shop.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Ordonnanceur du plugin, indépendant du serveur (Paper ou Folia)
+ * - global : état du plugin sans lien avec un bloc ni une entité
+ * - région : blocs et entités autour d'une position
+ * - entité : un joueur ou une entité (suit l'entité entre les régions)
+ * - async : entrées/sorties (fichiers, réseau)
+ * Les délais et périodes sont exprimés en ticks
+ */
+public interface ShopScheduler {
+
+    /**
+     * Choisit l'implémentation selon le serveur
+     */
+    static ShopScheduler create(Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaShopScheduler(plugin);
+        } catch (ClassNotFoundException e) {
+            return new PaperShopScheduler(plugin);
+        }
+    }
+
+    boolean isFolia();
+
+    // ===============================
+    // GLOBAL
+    // ===============================
+
+    TaskHandle runGlobal(Runnable task);
+
+    TaskHandle runGlobalLater(Runnable task, long delay);
+
+    TaskHandle runGlobalTimer(Runnable task, long delay, long period);
+
+    // ===============================
+    // RÉGION
+    // ===============================
+
+    TaskHandle runAt(Location location, Runnable task);
+
+    TaskHandle runAtLater(Location location, Runnable task, long delay);
+
+    /**
+     * Exécute immédiatement si le thread courant possède la région, sinon planifie sur celle-ci
+     */
+    default void executeAt(Location location, Runnable task) {
+        if (isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            runAt(location, task);
+        }
+    }
+
+    boolean isOwnedByCurrentRegion(Location location);
+
+    // ===============================
+    // ENTITÉ
+    // ===============================
+
+    /**
+     * Tâche ignorée si l'entité a été retirée (joueur déconnecté) avant son exécution
+     */
+    TaskHandle runForEntity(Entity entity, Runnable task);
+
+    TaskHandle runForEntityLater(Entity entity, Runnable task, long delay);
+
+    /**
+     * Exécute immédiatement si le thread courant possède l'entité, sinon planifie sur son thread
+     */
+    default void executeForEntity(Entity entity, Runnable task) {
+        if (isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            runForEntity(entity, task);
+        }
+    }
+
+    boolean isOwnedByCurrentRegion(Entity entity);
+
+    // ===============================
+    // ASYNCHRONE
+    // ===============================
+
+    TaskHandle runAsync(Runnable task);
+
+    TaskHandle runAsyncTimer(Runnable task, long delay, long period);
+
+    void cancelAll();
+}
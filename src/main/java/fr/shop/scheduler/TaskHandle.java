@@ -0,0 +1,22 @@
+package fr.shop.scheduler;
+
+/**
+ * Tâche planifiée, annulable quelle que soit l'implémentation de l'ordonnanceur
+ */
+public interface TaskHandle {
+
+    TaskHandle NONE = new TaskHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    void cancel();
+
+    boolean isCancelled();
+}